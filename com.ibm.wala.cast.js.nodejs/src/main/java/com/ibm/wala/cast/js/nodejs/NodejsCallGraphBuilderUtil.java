@@ -70,11 +70,14 @@ public class NodejsCallGraphBuilderUtil extends JSCallGraphUtil {
     String mainFileClassName =
         NodejsRequiredSourceModule.convertFileToClassName(workingDir, mainFile);
 
+    NodejsRequiredSourceModule mainModule =
+        new NodejsRequiredSourceModule(mainFileClassName, mainFile, mainSourceModule);
+
     Module[] files =
         new Module[] {
           JSCallGraphUtil.getPrologueFile("prologue.js"),
           JSCallGraphUtil.getPrologueFile("extended-prologue.js"),
-          new NodejsRequiredSourceModule(mainFileClassName, mainFile, mainSourceModule)
+          mainModule
         };
 
     CAstAnalysisScope scope = new CAstAnalysisScope(files, loaders, languages);
@@ -101,6 +104,17 @@ public class NodejsCallGraphBuilderUtil extends JSCallGraphUtil {
         new NodejsRequireTargetSelector(workingDir, baseSelector);
     options.setSelector(requireTargetSelector);
 
+    // Resolve and parse the statically required modules up front, so the solver does not have to
+    // wait for the file system or the parser when it reaches a require call
+    try {
+      requireTargetSelector
+          .getModuleResolver()
+          .prepare(Collections.singleton(mainModule), Runtime.getRuntime().availableProcessors());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new WalaException("interrupted while preparing required modules", e);
+    }
+
     JSCFABuilder builder =
         new JSZeroOrOneXCFABuilder(
             cha, options, cache, null, null, ZeroXInstanceKeys.ALLOCATIONS, true);
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.js.nodejs;
+
+import com.ibm.wala.cast.js.ipa.callgraph.JSCallGraphUtil;
+import com.ibm.wala.cast.tree.CAstEntity;
+import com.ibm.wala.classLoader.SourceFileModule;
+import com.ibm.wala.util.collections.HashSetFactory;
+import com.ibm.wala.util.graph.Graph;
+import com.ibm.wala.util.graph.impl.SlowSparseNumberedGraph;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves Nodejs require targets to modules, memoizing the result of every resolution.
+ *
+ * <p>Before call graph construction starts, {@link #prepare(Collection, int)} can find the modules
+ * that are required with a string literal, transitively, and translate them to CAst on several
+ * threads. The call graph builder then only has to look up the resolution and translate the
+ * prepared CAst to IR when the pointer analysis reaches a require call, rather than waiting for the
+ * file system and the parser. Requires that are not found statically are still resolved on demand.
+ */
+public class NodejsModuleResolver {
+
+  /** a call of require with a single string literal */
+  private static final Pattern REQUIRE =
+      Pattern.compile("\\brequire\\s*\\(\\s*(['\"])([^'\"\\\\]+)\\1\\s*\\)");
+
+  private final File rootDir;
+
+  // resolved modules, by requiring directory and target
+  private final Map<String, SourceFileModule> resolved = new ConcurrentHashMap<>();
+
+  // class names of the modules statically required by every prepared module, by class name
+  private final Map<String, Set<String>> dependencies = new ConcurrentHashMap<>();
+
+  // CAst of the prepared modules that have not been taken yet, by class name
+  private final Map<String, CAstEntity> translations = new ConcurrentHashMap<>();
+
+  public NodejsModuleResolver(File rootDir) {
+    if (rootDir == null) {
+      throw new IllegalArgumentException("rootDir is null");
+    }
+    this.rootDir = rootDir;
+  }
+
+  private static String key(File dir, String target) {
+    if (NodejsRequiredCoreModule.isCoreModule(target)) {
+      return target;
+    }
+    return dir.getAbsoluteFile().toPath().normalize().toString() + File.pathSeparatorChar + target;
+  }
+
+  /**
+   * Resolve target as required from a module in dir, see {@link
+   * NodejsRequireTargetSelector#resolve(File, File, String)}. Safe to call from several threads.
+   */
+  public SourceFileModule resolve(File dir, String target) throws IOException {
+    String key = key(dir, target);
+    SourceFileModule module = resolved.get(key);
+    if (module == null) {
+      module = NodejsRequireTargetSelector.resolve(rootDir, dir, target);
+      SourceFileModule previous = resolved.putIfAbsent(key, module);
+      if (previous != null) {
+        module = previous;
+      }
+    }
+    return module;
+  }
+
+  /**
+   * Resolve the modules statically required by roots, and the modules they require in turn, and
+   * translate them to CAst. The roots themselves are only scanned for requires.
+   *
+   * @param nThreads number of threads to resolve and translate modules on
+   */
+  public void prepare(Collection<? extends SourceFileModule> roots, int nThreads)
+      throws InterruptedException {
+    if (nThreads < 1) {
+      throw new IllegalArgumentException("invalid number of threads: " + nThreads);
+    }
+    ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+    try {
+      ExecutorCompletionService<List<SourceFileModule>> tasks =
+          new ExecutorCompletionService<>(pool);
+      Set<String> seen = HashSetFactory.make();
+      int pending = 0;
+      for (SourceFileModule root : roots) {
+        if (seen.add(root.getClassName())) {
+          tasks.submit(() -> process(root, false));
+          pending++;
+        }
+      }
+      while (pending > 0) {
+        List<SourceFileModule> required;
+        try {
+          required = tasks.take().get();
+        } catch (ExecutionException e) {
+          throw new RuntimeException(e.getCause());
+        }
+        pending--;
+        for (SourceFileModule module : required) {
+          if (seen.add(module.getClassName())) {
+            tasks.submit(() -> process(module, true));
+            pending++;
+          }
+        }
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  // translate module if asked to, and resolve the modules it requires with a string literal
+  private List<SourceFileModule> process(SourceFileModule module, boolean translate) {
+    List<SourceFileModule> result = new ArrayList<>();
+    Set<String> required = HashSetFactory.make();
+    File file = module.getFile();
+    try {
+      if (translate) {
+        CAstEntity tree = JSCallGraphUtil.translateToCAst(module);
+        if (tree != null) {
+          translations.put(module.getClassName(), tree);
+        }
+      }
+      if (file.getName().endsWith(".json")) {
+        return result;
+      }
+      String source = new String(Files.readAllBytes(file.toPath()), Charset.defaultCharset());
+      File dir = file.getParentFile();
+      Matcher matcher = REQUIRE.matcher(source);
+      while (matcher.find()) {
+        try {
+          SourceFileModule target = resolve(dir, matcher.group(2));
+          required.add(target.getClassName());
+          result.add(target);
+        } catch (IOException | RuntimeException e) {
+          // not resolvable statically; left to the call graph builder
+        }
+      }
+    } catch (IOException e) {
+      // unreadable; the call graph builder will report it if the module is required
+    } finally {
+      dependencies.put(module.getClassName(), required);
+    }
+    return result;
+  }
+
+  /**
+   * Take the CAst prepared for a module, if any. The resolver forgets it, so each tree is
+   * translated to IR at most once.
+   *
+   * @return the CAst of the module with the given class name, or null
+   */
+  public CAstEntity takeTranslation(String className) {
+    return translations.remove(className);
+  }
+
+  /** @return class names of the modules statically required by the given prepared module */
+  public Set<String> getDependencies(String className) {
+    Set<String> result = dependencies.get(className);
+    return result == null ? Collections.emptySet() : Collections.unmodifiableSet(result);
+  }
+
+  /**
+   * @return the prepared modules, by class name, with an edge from every module to each module it
+   *     requires
+   */
+  public Graph<String> getDependencyGraph() {
+    SlowSparseNumberedGraph<String> result = SlowSparseNumberedGraph.make();
+    for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+      if (!result.containsNode(entry.getKey())) {
+        result.addNode(entry.getKey());
+      }
+      for (String target : entry.getValue()) {
+        if (!result.containsNode(target)) {
+          result.addNode(target);
+        }
+        result.addEdge(entry.getKey(), target);
+      }
+    }
+    return result;
+  }
+}
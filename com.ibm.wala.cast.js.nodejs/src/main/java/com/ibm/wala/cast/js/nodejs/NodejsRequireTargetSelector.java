@@ -14,6 +14,7 @@ import com.ibm.wala.cast.js.ipa.callgraph.JSCallGraphUtil;
 import com.ibm.wala.cast.js.loader.JavaScriptLoader;
 import com.ibm.wala.cast.js.ssa.JavaScriptInvoke;
 import com.ibm.wala.cast.js.types.JavaScriptTypes;
+import com.ibm.wala.cast.tree.CAstEntity;
 import com.ibm.wala.cast.types.AstMethodReference;
 import com.ibm.wala.classLoader.CallSiteReference;
 import com.ibm.wala.classLoader.IClass;
@@ -54,15 +55,21 @@ import org.json.JSONObject;
  */
 public class NodejsRequireTargetSelector implements MethodTargetSelector {
 
-  private final File rootDir;
   private final MethodTargetSelector base;
   private PropagationCallGraphBuilder builder;
 
+  private final NodejsModuleResolver resolver;
+
   private final HashMap<String, IMethod> previouslyRequired = HashMapFactory.make();
 
   public NodejsRequireTargetSelector(File rootDir, MethodTargetSelector base) {
-    this.rootDir = rootDir;
     this.base = base;
+    this.resolver = new NodejsModuleResolver(rootDir);
+  }
+
+  /** @return the resolver used to find required modules, which may be prepared ahead of time */
+  public NodejsModuleResolver getModuleResolver() {
+    return resolver;
   }
 
   public void setCallGraphBuilder(PropagationCallGraphBuilder builder) {
@@ -100,7 +107,7 @@ public class NodejsRequireTargetSelector implements MethodTargetSelector {
       for (String target : targets) {
         try {
           File workingDir = new File(receiver.getSourceFileName()).getParentFile();
-          SourceModule sourceModule = resolve(rootDir, workingDir, target);
+          SourceModule sourceModule = resolver.resolve(workingDir, target);
           if (previouslyRequired.containsKey(sourceModule.getClassName())) {
             return previouslyRequired.get(sourceModule.getClassName());
           }
@@ -114,7 +121,14 @@ public class NodejsRequireTargetSelector implements MethodTargetSelector {
             className = 'L' + sourceModule.getClassName() + "/jsonModule";
           }
 
-          JSCallGraphUtil.loadAdditionalFile(builder.getClassHierarchy(), jsLoader, sourceModule);
+          CAstEntity tree = resolver.takeTranslation(sourceModule.getClassName());
+          if (tree != null) {
+            JSCallGraphUtil.loadAdditionalFile(
+                builder.getClassHierarchy(), jsLoader, sourceModule, tree);
+          } else {
+            JSCallGraphUtil.loadAdditionalFile(
+                builder.getClassHierarchy(), jsLoader, sourceModule);
+          }
           IClass script =
               builder
                   .getClassHierarchy()
@@ -284,7 +298,8 @@ public class NodejsRequireTargetSelector implements MethodTargetSelector {
   private static List<File> nodeModulePaths(File rootDir, File d) throws IOException {
     LinkedList<File> dirs = new LinkedList<>();
 
-    while (d.getCanonicalPath().startsWith(rootDir.getCanonicalPath())
+    String root = rootDir.getCanonicalPath();
+    while (d.getCanonicalPath().startsWith(root)
         && d.toPath().getNameCount() > 0) {
       // 4.a.
       if (!d.getName().equals("node_modules")) {
@@ -97,17 +97,21 @@ public class NodejsRequiredCoreModule extends NodejsRequiredSourceModule {
 
   private static final Map<String, File> names = HashMapFactory.make();
 
-  public static NodejsRequiredCoreModule make(String name) throws IOException {
-    if (!names.containsKey(name)) {
+  /**
+   * The source of a core module is copied to a temporary file the first time the module is made;
+   * later calls reuse that file. Safe to call from several threads.
+   */
+  public static synchronized NodejsRequiredCoreModule make(String name) throws IOException {
+    File file = names.get(name);
+    if (file == null) {
       java.nio.file.Path p = Files.createTempDirectory("nodejs");
-      File f = new File(p.toFile(), name + ".js");
-      f.deleteOnExit();
+      file = new File(p.toFile(), name + ".js");
+      file.deleteOnExit();
       p.toFile().deleteOnExit();
-      names.put(name, f);
-    }
-    File file = names.get(name);
-    try (InputStream module = getModule(name)) {
-      TemporaryFile.streamToFile(file, module);
+      try (InputStream module = getModule(name)) {
+        TemporaryFile.streamToFile(file, module);
+      }
+      names.put(name, file);
     }
     SourceFileModule sourceFileModule =
         CAstCallGraphUtil.makeSourceModule(file.toURI().toURL(), file.getName());
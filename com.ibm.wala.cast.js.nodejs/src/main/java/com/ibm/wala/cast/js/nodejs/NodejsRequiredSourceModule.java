@@ -39,8 +39,8 @@ public class NodejsRequiredSourceModule extends SourceFileModule {
   private static final String DIRNAME_PLACEHOLDER = "/*/ WALA-INSERT-DIRNAME-HERE /*/";
   private static final String CODE_PLACEHOLDER = "/*/ WALA-INSERT-CODE-HERE /*/";
 
-  private static String MODULE_WRAPPER_SOURCE = null;
-  private static String JSON_WRAPPER_SOURCE = null;
+  private static volatile String MODULE_WRAPPER_SOURCE = null;
+  private static volatile String JSON_WRAPPER_SOURCE = null;
 
   private final String className;
 
@@ -106,9 +106,11 @@ public class NodejsRequiredSourceModule extends SourceFileModule {
     return className;
   }
 
-  private static void loadWrapperSources() throws IOException {
-    MODULE_WRAPPER_SOURCE = loadWrapperSource(MODULE_WRAPPER_FILENAME);
-    JSON_WRAPPER_SOURCE = loadWrapperSource(JSON_WRAPPER_FILENAME);
+  private static synchronized void loadWrapperSources() throws IOException {
+    if (MODULE_WRAPPER_SOURCE == null || JSON_WRAPPER_SOURCE == null) {
+      JSON_WRAPPER_SOURCE = loadWrapperSource(JSON_WRAPPER_FILENAME);
+      MODULE_WRAPPER_SOURCE = loadWrapperSource(MODULE_WRAPPER_FILENAME);
+    }
   }
 
   private static String loadWrapperSource(String filename) throws IOException {
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.js.nodejs.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.ibm.wala.cast.js.ipa.callgraph.JSCallGraphUtil;
+import com.ibm.wala.cast.js.nodejs.NodejsModuleResolver;
+import com.ibm.wala.cast.js.nodejs.NodejsRequiredSourceModule;
+import com.ibm.wala.cast.js.translator.CAstRhinoTranslatorFactory;
+import com.ibm.wala.util.graph.Graph;
+import java.io.File;
+import java.net.URL;
+import java.util.Collections;
+import org.junit.Test;
+
+public class NodejsModuleResolverTest {
+
+  @Test
+  public void testPrepareStaticCircular() throws Exception {
+    URL fileUrl =
+        getClass()
+            .getClassLoader()
+            .getResource("NodejsRequireTargetSelectorResolve/requireStaticCircular/index.js");
+    File index = new File(fileUrl.toURI());
+    File dir = index.getParentFile();
+
+    JSCallGraphUtil.setTranslatorFactory(new CAstRhinoTranslatorFactory());
+    NodejsModuleResolver resolver = new NodejsModuleResolver(dir);
+    resolver.prepare(Collections.singleton(NodejsRequiredSourceModule.make(dir, index)), 2);
+
+    assertEquals(Collections.singleton("lib1"), resolver.getDependencies("index"));
+    assertEquals(Collections.singleton("lib2"), resolver.getDependencies("lib1"));
+    assertEquals(Collections.singleton("lib1"), resolver.getDependencies("lib2"));
+
+    Graph<String> graph = resolver.getDependencyGraph();
+    assertEquals(3, graph.getNumberOfNodes());
+    assertTrue(graph.hasEdge("lib2", "lib1"));
+
+    // required modules are translated once, the root is left to the class loader
+    assertNotNull(resolver.takeTranslation("lib1"));
+    assertNull(resolver.takeTranslation("lib1"));
+    assertNull(resolver.takeTranslation("index"));
+
+    // resolutions are memoized
+    assertSame(resolver.resolve(dir, "./lib2"), resolver.resolve(dir, "./lib2"));
+  }
+}
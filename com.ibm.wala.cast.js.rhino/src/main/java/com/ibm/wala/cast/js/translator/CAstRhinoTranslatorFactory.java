@@ -11,13 +11,20 @@
 package com.ibm.wala.cast.js.translator;
 
 import com.ibm.wala.cast.ir.translator.TranslatorToCAst;
+import com.ibm.wala.cast.loader.CAstEntityCache;
 import com.ibm.wala.cast.tree.CAst;
 import com.ibm.wala.classLoader.ModuleEntry;
 
-public class CAstRhinoTranslatorFactory implements JavaScriptTranslatorFactory {
+public class CAstRhinoTranslatorFactory
+    implements JavaScriptTranslatorFactory, CAstEntityCache.Configuration {
 
   @Override
   public TranslatorToCAst make(CAst ast, ModuleEntry M) {
     return new CAstRhinoTranslator(M, false);
   }
+
+  @Override
+  public String getCAstCacheConfiguration() {
+    return getClass().getName();
+  }
 }
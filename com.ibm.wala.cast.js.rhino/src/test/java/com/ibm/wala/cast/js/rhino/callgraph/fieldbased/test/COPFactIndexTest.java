@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.js.rhino.callgraph.fieldbased.test;
+
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.COPFactIndex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.FuncVertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.VarVertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.VertexFactory;
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.ssa.SSAContextActivateInstruction;
+import com.ibm.wala.ssa.SSAContextAdaptInstruction;
+import com.ibm.wala.ssa.SSAInstruction;
+import com.ibm.wala.ssa.SymbolTable;
+import com.ibm.wala.types.TypeName;
+import com.ibm.wala.util.collections.HashSetFactory;
+import com.ibm.wala.util.collections.Iterator2Collection;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class COPFactIndexTest {
+
+  private final VertexFactory factory = new VertexFactory();
+
+  private final COPFactIndex index = new COPFactIndex();
+
+  private static Set<Object> set(Object... layers) {
+    return HashSetFactory.make(Arrays.asList(layers));
+  }
+
+  /** @return the factory's vertex of a function with the given name, distinct from all others */
+  private FuncVertex function(String name) {
+    TypeName typeName = TypeName.string2TypeName('L' + name);
+    IClass klass =
+        (IClass)
+            Proxy.newProxyInstance(
+                IClass.class.getClassLoader(),
+                new Class<?>[] {IClass.class},
+                (proxy, method, args) -> {
+                  switch (method.getName()) {
+                    case "getName":
+                      return typeName;
+                    case "hashCode":
+                      return System.identityHashCode(proxy);
+                    case "equals":
+                      return proxy == args[0];
+                    case "toString":
+                      return name;
+                    default:
+                      throw new UnsupportedOperationException(method.getName());
+                  }
+                });
+    return factory.makeFuncVertex(klass);
+  }
+
+  private Set<Object> active(FuncVertex func) {
+    return Iterator2Collection.toSet(index.getActiveLayers(func).iterator());
+  }
+
+  /** Index a function that activates the given layer and adapts its first parameter with it. */
+  private void activates(FuncVertex func, String layer) {
+    SymbolTable symtab = new SymbolTable(1);
+    int vn = symtab.getConstant(layer);
+    SSAInstruction[] instructions = {
+      new SSAContextActivateInstruction(0, vn), null, new SSAContextAdaptInstruction(2, 1, vn)
+    };
+    index.addFunction(func, instructions, symtab, factory);
+  }
+
+  @Test
+  public void testEdgesBeforeAndAfterActivations() {
+    FuncVertex f = function("f");
+    FuncVertex g = function("g");
+    FuncVertex h = function("h");
+
+    // an edge reported before any layer is known propagates once the caller activates one
+    index.addCallEdge(g, h);
+    activates(f, "A");
+    Assert.assertEquals(set("A"), active(f));
+    Assert.assertEquals(Collections.emptySet(), active(g));
+    Assert.assertEquals(Collections.emptySet(), active(h));
+
+    // a later edge into g makes A active in g and, transitively, in h
+    index.addCallEdge(f, g);
+    Assert.assertEquals(set("A"), active(g));
+    Assert.assertEquals(set("A"), active(h));
+
+    // a layer activated in g reaches h but not the caller f
+    activates(g, "B");
+    Assert.assertEquals(set("A"), active(f));
+    Assert.assertEquals(set("A", "B"), active(g));
+    Assert.assertEquals(set("A", "B"), active(h));
+
+    Set<VarVertex> adapted = index.getAdaptedObjects("B");
+    Assert.assertEquals(Collections.singleton(factory.makeVarVertex(g, 1)), adapted);
+    Assert.assertNotEquals(factory.makeVarVertex(f, 1), factory.makeVarVertex(g, 1));
+    Assert.assertEquals(
+        Collections.singleton(factory.makeVarVertex(f, 1)), index.getAdaptedObjects("A"));
+  }
+
+  @Test
+  public void testCycles() {
+    FuncVertex f = function("f");
+    FuncVertex g = function("g");
+    FuncVertex h = function("h");
+
+    index.addCallEdge(f, g);
+    index.addCallEdge(g, h);
+    index.addCallEdge(h, g);
+    index.addCallEdge(h, h);
+    activates(h, "A");
+    Assert.assertEquals(Collections.emptySet(), active(f));
+    Assert.assertEquals(set("A"), active(g));
+    Assert.assertEquals(set("A"), active(h));
+
+    activates(f, "B");
+    Assert.assertEquals(set("B"), active(f));
+    Assert.assertEquals(set("A", "B"), active(g));
+    Assert.assertEquals(set("A", "B"), active(h));
+  }
+
+  @Test
+  public void testAddFunctionIsIdempotent() {
+    FuncVertex f = function("f");
+    FuncVertex g = function("g");
+    index.addCallEdge(f, g);
+
+    activates(f, "A");
+    activates(f, "A");
+    // re-indexing under another layer name is ignored, too
+    activates(f, "B");
+
+    Assert.assertEquals(1, index.getActivations(f).size());
+    Assert.assertEquals(1, index.getAdaptations(f).size());
+    Assert.assertEquals(Collections.singleton(f), index.getFunctionsWithCOPInstructions());
+    Assert.assertEquals(set("A"), active(g));
+    Assert.assertEquals(1, index.getAdaptedObjects("A").size());
+    Assert.assertTrue(index.getAdaptedObjects("B").isEmpty());
+  }
+}
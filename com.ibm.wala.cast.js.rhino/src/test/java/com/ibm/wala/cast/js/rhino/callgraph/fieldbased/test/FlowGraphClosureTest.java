@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.js.rhino.callgraph.fieldbased.test;
+
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.CompactFlowGraph;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.FlowGraphClosure;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.PropVertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.Vertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.VertexFactory;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.collections.HashSetFactory;
+import com.ibm.wala.util.collections.Iterator2Collection;
+import java.util.Arrays;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FlowGraphClosureTest {
+
+  private static Set<PropVertex> set(PropVertex... vs) {
+    return HashSetFactory.make(Arrays.asList(vs));
+  }
+
+  private static Set<PropVertex> reaching(FlowGraphClosure<PropVertex> closure, Vertex v) {
+    return Iterator2Collection.toSet(closure.getReachingSet(v).iterator());
+  }
+
+  private static void addEdge(
+      CompactFlowGraph graph, FlowGraphClosure<PropVertex> closure, Vertex from, Vertex to) {
+    if (graph.addEdge(from.getNumber(), to.getNumber())) {
+      closure.addEdge(from.getNumber(), to.getNumber());
+    }
+  }
+
+  @Test
+  public void testCyclesAndUnknown() throws CancelException {
+    VertexFactory factory = new VertexFactory();
+    CompactFlowGraph graph = new CompactFlowGraph(factory);
+    PropVertex a = factory.makePropVertex("a");
+    PropVertex b = factory.makePropVertex("b");
+    PropVertex c = factory.makePropVertex("c");
+    PropVertex d = factory.makePropVertex("d");
+    Vertex unknown = factory.makeUnknownVertex();
+
+    graph.addEdge(a.getNumber(), b.getNumber());
+    graph.addEdge(b.getNumber(), c.getNumber());
+    graph.addEdge(c.getNumber(), b.getNumber());
+    graph.addEdge(d.getNumber(), unknown.getNumber());
+    graph.addEdge(unknown.getNumber(), c.getNumber());
+
+    FlowGraphClosure<PropVertex> closure = new FlowGraphClosure<>(graph, PropVertex.class);
+    closure.solve(null);
+
+    Assert.assertEquals(set(a), reaching(closure, a));
+    Assert.assertEquals(set(a, b, c), reaching(closure, b));
+    Assert.assertEquals(set(a, b, c), reaching(closure, c));
+    Assert.assertEquals(set(d), reaching(closure, d));
+    Assert.assertTrue(closure.getReachingSet(unknown).isEmpty());
+  }
+
+  @Test
+  public void testIncrementalUpdate() throws CancelException {
+    VertexFactory factory = new VertexFactory();
+    CompactFlowGraph graph = new CompactFlowGraph(factory);
+    PropVertex a = factory.makePropVertex("a");
+    PropVertex b = factory.makePropVertex("b");
+    PropVertex c = factory.makePropVertex("c");
+
+    graph.addEdge(b.getNumber(), c.getNumber());
+    FlowGraphClosure<PropVertex> closure = new FlowGraphClosure<>(graph, PropVertex.class);
+    closure.solve(null);
+    Assert.assertEquals(set(b, c), reaching(closure, c));
+
+    // a was not in the graph when the closure was solved
+    addEdge(graph, closure, a, b);
+    Assert.assertEquals(set(a, b), reaching(closure, b));
+    Assert.assertEquals(set(a, b, c), reaching(closure, c));
+
+    addEdge(graph, closure, c, a);
+    for (PropVertex v : Arrays.asList(a, b, c)) {
+      Assert.assertEquals(set(a, b, c), reaching(closure, v));
+    }
+  }
+}
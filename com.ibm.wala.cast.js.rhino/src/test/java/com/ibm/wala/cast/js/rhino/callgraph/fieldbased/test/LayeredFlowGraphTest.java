@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.js.rhino.callgraph.fieldbased.test;
+
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.FlowGraph;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.FuncVertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.VarVertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.VertexFactory;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.collections.HashSetFactory;
+import com.ibm.wala.util.collections.Iterator2Collection;
+import java.util.Arrays;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LayeredFlowGraphTest {
+
+  private static Set<FuncVertex> set(FuncVertex... vs) {
+    return HashSetFactory.make(Arrays.asList(vs));
+  }
+
+  private static Set<FuncVertex> reaching(FlowGraph flowGraph, VarVertex v, String layer)
+      throws CancelException {
+    return Iterator2Collection.toSet(flowGraph.getReachingSet(v, layer, null).iterator());
+  }
+
+  @Test
+  public void testContextInterning() {
+    VertexFactory factory = new VertexFactory();
+    FuncVertex f = factory.makeFuncVertex(null);
+    VarVertex d = factory.makeVarVertex(f, 1);
+    VarVertex a = factory.makeVarVertex(f, 1, "A");
+    VarVertex b = factory.makeVarVertex(f, 1, "B");
+
+    // creating a layered vertex does not evict the vertices of other contexts
+    Assert.assertSame(d, factory.makeVarVertex(f, 1));
+    Assert.assertSame(d, factory.makeVarVertex(f, 1, VertexFactory.DEFAULT_CONTEXT_NAME));
+    Assert.assertSame(a, factory.makeVarVertex(f, 1, "A"));
+    Assert.assertSame(b, factory.makeVarVertex(f, 1, "B"));
+    Assert.assertNotSame(a, b);
+
+    Assert.assertEquals(3, factory.getNumberOfContexts());
+    Assert.assertEquals(VertexFactory.DEFAULT_CONTEXT, factory.getContextId(d.getNumber()));
+    Assert.assertEquals(factory.getContextId("A"), factory.getContextId(a.getNumber()));
+    Assert.assertEquals("B", factory.getContextName(factory.getContextId(b.getNumber())));
+  }
+
+  @Test
+  public void testLayerViews() throws CancelException {
+    FlowGraph flowGraph = new FlowGraph();
+    VertexFactory factory = flowGraph.getVertexFactory();
+    FuncVertex f = factory.makeFuncVertex(null);
+    FuncVertex g = new FuncVertex(null, "B");
+    VarVertex d = factory.makeVarVertex(f, 1);
+    VarVertex a = factory.makeVarVertex(f, 1, "A");
+
+    flowGraph.addEdge(f, d);
+    flowGraph.addEdge(g, d);
+    flowGraph.addEdge(d, a);
+
+    // g only flows into d in layer B
+    Assert.assertEquals(set(f), reaching(flowGraph, d, "A"));
+    Assert.assertEquals(set(f, g), reaching(flowGraph, d, "B"));
+    Assert.assertEquals(set(f), reaching(flowGraph, a, "A"));
+    Assert.assertTrue(reaching(flowGraph, a, "B").isEmpty());
+    Assert.assertFalse(flowGraph.getLayerView("B").containsNode(a));
+
+    // edges added later are propagated into the layer closures
+    FuncVertex h = new FuncVertex(null, "A");
+    flowGraph.addEdge(h, d);
+    Assert.assertEquals(set(f, h), reaching(flowGraph, a, "A"));
+    Assert.assertEquals(set(f, g), reaching(flowGraph, d, "B"));
+  }
+}
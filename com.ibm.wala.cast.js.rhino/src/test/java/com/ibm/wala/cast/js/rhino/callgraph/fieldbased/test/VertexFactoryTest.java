@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.js.rhino.callgraph.fieldbased.test;
+
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.FuncVertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.GlobalVertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.PropVertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.UnknownVertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.VarVertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.VertexFactory;
+import java.util.concurrent.CyclicBarrier;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VertexFactoryTest {
+
+  private static final int N_FACTORIES = 4;
+
+  private static final int N_VERTICES = 1000;
+
+  /** Factories built at the same time must agree on the shared vertices and number densely. */
+  @Test
+  public void testConcurrentFactories() throws InterruptedException {
+    VertexFactory[] factories = new VertexFactory[N_FACTORIES];
+    Throwable[] failures = new Throwable[N_FACTORIES];
+    CyclicBarrier start = new CyclicBarrier(N_FACTORIES);
+    Thread[] threads = new Thread[N_FACTORIES];
+    for (int t = 0; t < N_FACTORIES; t++) {
+      final int thread = t;
+      threads[t] =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                  VertexFactory factory = new VertexFactory();
+                  for (int i = 0; i < N_VERTICES; i++) {
+                    PropVertex p = factory.makePropVertex("p" + thread + '_' + i);
+                    Assert.assertEquals(VertexFactory.GLOBAL_NUMBER + 1 + i, p.getNumber());
+                  }
+                  factories[thread] = factory;
+                } catch (Throwable e) {
+                  failures[thread] = e;
+                }
+              });
+      threads[t].start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+
+    for (int t = 0; t < N_FACTORIES; t++) {
+      Assert.assertNull(failures[t]);
+      VertexFactory factory = factories[t];
+      Assert.assertSame(UnknownVertex.INSTANCE, factory.getVertex(VertexFactory.UNKNOWN_NUMBER));
+      Assert.assertSame(GlobalVertex.instance(), factory.getVertex(VertexFactory.GLOBAL_NUMBER));
+      Assert.assertEquals(VertexFactory.UNKNOWN_NUMBER, factory.number(UnknownVertex.INSTANCE));
+      Assert.assertEquals(VertexFactory.GLOBAL_NUMBER, factory.number(GlobalVertex.instance()));
+    }
+  }
+
+  /** Function vertices made outside the factory are numbered before they key other vertices. */
+  @Test
+  public void testUnnumberedFunctions() {
+    VertexFactory factory = new VertexFactory();
+    FuncVertex f = new FuncVertex(null, null);
+    FuncVertex g = new FuncVertex(null, null);
+    Assert.assertEquals(-1, f.getNumber());
+
+    VarVertex fv = factory.makeVarVertex(f, 3);
+    VarVertex gv = factory.makeVarVertex(g, 3);
+    Assert.assertNotSame(fv, gv);
+    Assert.assertSame(fv, factory.makeVarVertex(f, 3));
+    Assert.assertSame(f, factory.getVertex(f.getNumber()));
+    Assert.assertSame(g, factory.getVertex(g.getNumber()));
+    Assert.assertNotSame(factory.makeParamVertex(f, 1), factory.makeParamVertex(g, 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testForeignFunction() {
+    VertexFactory other = new VertexFactory();
+    FuncVertex f = new FuncVertex(null, null);
+    other.number(f);
+    VertexFactory factory = new VertexFactory();
+    factory.makePropVertex("p");
+    factory.makeVarVertex(f, 1);
+  }
+}
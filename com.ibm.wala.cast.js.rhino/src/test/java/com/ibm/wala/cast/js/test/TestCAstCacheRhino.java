@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.js.test;
+
+import static com.ibm.wala.cast.js.ipa.callgraph.JSCallGraphUtil.makeHierarchy;
+import static com.ibm.wala.cast.js.ipa.callgraph.JSCallGraphUtil.makeLoaders;
+import static com.ibm.wala.cast.js.ipa.callgraph.JSCallGraphUtil.setTranslatorFactory;
+
+import com.ibm.wala.cast.ipa.callgraph.CAstCallGraphUtil;
+import com.ibm.wala.cast.js.ipa.callgraph.JSCallGraphUtil;
+import com.ibm.wala.cast.js.loader.JavaScriptLoader;
+import com.ibm.wala.cast.js.loader.JavaScriptLoaderFactory;
+import com.ibm.wala.cast.js.translator.CAstRhinoLoopUnwindingTranslatorFactory;
+import com.ibm.wala.cast.js.translator.CAstRhinoTranslatorFactory;
+import com.ibm.wala.cast.js.util.JSCallGraphBuilderUtil;
+import com.ibm.wala.cast.loader.AstMethod;
+import com.ibm.wala.cast.loader.CAstEntityCache;
+import com.ibm.wala.cast.tree.rewrite.AstLoopUnwinder;
+import com.ibm.wala.cast.tree.rewrite.AstLoopUnwinder.UnwindKey;
+import com.ibm.wala.cast.tree.rewrite.CAstRewriter.RewriteContext;
+import com.ibm.wala.cast.tree.rewrite.CAstRewriterFactory;
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.classLoader.Module;
+import com.ibm.wala.ipa.callgraph.AnalysisScope;
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Check that scripts loaded from a {@link CAstEntityCache} give the same classes as parsing. */
+public class TestCAstCacheRhino {
+
+  @Before
+  public void setUp() {
+    setTranslatorFactory(new CAstRhinoTranslatorFactory());
+  }
+
+  private static SortedSet<String> load(CAstEntityCache cache)
+      throws IOException, ClassHierarchyException {
+    return load(makeLoaders(), cache);
+  }
+
+  private static SortedSet<String> load(JavaScriptLoaderFactory loaders, CAstEntityCache cache)
+      throws IOException, ClassHierarchyException {
+    loaders.setCAstCache(cache);
+    Module[] modules =
+        new Module[] {
+          JSCallGraphBuilderUtil.makeSourceModules("tests", "simple.js")[0],
+          JSCallGraphBuilderUtil.makeSourceModules("tests", "calls.js")[0],
+          JSCallGraphUtil.getPrologueFile("prologue.js")
+        };
+    AnalysisScope scope = CAstCallGraphUtil.makeScope(modules, loaders, JavaScriptLoader.JS);
+    IClassHierarchy cha = makeHierarchy(scope, loaders);
+
+    SortedSet<String> names = new TreeSet<>();
+    for (IClass c : cha) {
+      names.add(c.getName().toString());
+      // and what was translated from each function's CAst
+      for (IMethod m : c.getDeclaredMethods()) {
+        if (m instanceof AstMethod) {
+          AstMethod am = (AstMethod) m;
+          names.add(
+              m.getSignature()
+                  + ' '
+                  + Arrays.toString(am.cfg().getInstructions())
+                  + ' '
+                  + am.debugInfo().getCodeBodyPosition());
+        }
+      }
+    }
+    return names;
+  }
+
+  @Test
+  public void testWarmLoad() throws IOException, ClassHierarchyException {
+    CAstEntityCache cache = new CAstEntityCache();
+    SortedSet<String> cold = load(cache);
+    Assert.assertEquals(0, cache.getHits());
+    Assert.assertEquals(3, cache.getMisses());
+
+    Assert.assertEquals(cold, load(cache));
+    Assert.assertEquals(3, cache.getHits());
+    Assert.assertEquals(cold, load(null));
+  }
+
+  /** A cache on disk must give a later run, with a fresh cache, the same translations. */
+  @Test
+  public void testPersistentWarmLoad() throws IOException, ClassHierarchyException {
+    File dir = Files.createTempDirectory("cast-cache").toFile();
+    try {
+      CAstEntityCache cache = JavaScriptLoader.makePersistentCAstCache(dir);
+      SortedSet<String> cold = load(cache);
+      Assert.assertEquals(0, cache.getHits());
+      Assert.assertEquals(3, dir.list().length);
+
+      CAstEntityCache warm = JavaScriptLoader.makePersistentCAstCache(dir);
+      Assert.assertEquals(cold, load(warm));
+      Assert.assertEquals(3, warm.getHits());
+      Assert.assertEquals(3, warm.getDiskHits());
+      Assert.assertEquals(0, warm.getMisses());
+
+      warm.clear();
+      Assert.assertEquals(0, dir.list().length);
+    } finally {
+      for (File f : dir.listFiles()) {
+        f.delete();
+      }
+      dir.delete();
+    }
+  }
+
+  @Test
+  public void testConfigurationInKey() throws IOException, ClassHierarchyException {
+    CAstEntityCache cache = new CAstEntityCache();
+    setTranslatorFactory(new CAstRhinoLoopUnwindingTranslatorFactory(2));
+    load(cache);
+    Assert.assertEquals(3, cache.getMisses());
+
+    // the same translator, unwinding loops differently, must not see those entries
+    setTranslatorFactory(new CAstRhinoLoopUnwindingTranslatorFactory(3));
+    load(cache);
+    Assert.assertEquals(0, cache.getHits());
+    Assert.assertEquals(6, cache.getMisses());
+
+    setTranslatorFactory(new CAstRhinoLoopUnwindingTranslatorFactory(2));
+    load(cache);
+    Assert.assertEquals(3, cache.getHits());
+  }
+
+  @Test
+  public void testUnknownConfigurationNotCached() throws IOException, ClassHierarchyException {
+    CAstEntityCache cache = new CAstEntityCache();
+    // a rewriter that cannot describe its configuration
+    CAstRewriterFactory<RewriteContext<UnwindKey>, UnwindKey> unwinder =
+        ast -> new AstLoopUnwinder(ast, true, 2);
+    SortedSet<String> names = load(makeLoaders(unwinder), cache);
+    Assert.assertFalse(names.isEmpty());
+    Assert.assertEquals(0, cache.getHits());
+    Assert.assertEquals(0, cache.getMisses());
+  }
+}
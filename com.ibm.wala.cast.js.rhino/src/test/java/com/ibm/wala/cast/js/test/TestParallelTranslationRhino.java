@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.js.test;
+
+import static com.ibm.wala.cast.js.ipa.callgraph.JSCallGraphUtil.makeHierarchy;
+import static com.ibm.wala.cast.js.ipa.callgraph.JSCallGraphUtil.makeLoaders;
+import static com.ibm.wala.cast.js.ipa.callgraph.JSCallGraphUtil.setTranslatorFactory;
+
+import com.ibm.wala.cast.ipa.callgraph.CAstCallGraphUtil;
+import com.ibm.wala.cast.js.ipa.callgraph.JSCallGraphUtil;
+import com.ibm.wala.cast.js.loader.JavaScriptLoader;
+import com.ibm.wala.cast.js.loader.JavaScriptLoaderFactory;
+import com.ibm.wala.cast.js.translator.CAstRhinoTranslatorFactory;
+import com.ibm.wala.cast.js.util.JSCallGraphBuilderUtil;
+import com.ibm.wala.cast.loader.CAstAbstractModuleLoader;
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.classLoader.Module;
+import com.ibm.wala.classLoader.ModuleEntry;
+import com.ibm.wala.ipa.callgraph.AnalysisScope;
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Check that translating scripts to CAst in parallel gives the same classes as sequentially. */
+public class TestParallelTranslationRhino {
+
+  private static final String[] SCRIPTS = {
+    "simple.js", "calls.js", "args.js", "dispatch.js", "control-flow.js"
+  };
+
+  @Before
+  public void setUp() {
+    setTranslatorFactory(new CAstRhinoTranslatorFactory());
+  }
+
+  private static SortedSet<String> translate(int threads)
+      throws IOException, ClassHierarchyException {
+    JavaScriptLoaderFactory loaders = makeLoaders();
+    loaders.setTranslationThreads(threads);
+    List<Module> modules = new ArrayList<>();
+    for (String script : SCRIPTS) {
+      modules.add(JSCallGraphBuilderUtil.makeSourceModules("tests", script)[0]);
+    }
+    modules.add(JSCallGraphUtil.getPrologueFile("prologue.js"));
+    AnalysisScope scope =
+        CAstCallGraphUtil.makeScope(
+            modules.toArray(new Module[0]), loaders, JavaScriptLoader.JS);
+    IClassHierarchy cha = makeHierarchy(scope, loaders);
+
+    Map<ModuleEntry, Long> times =
+        ((CAstAbstractModuleLoader) loaders.getTheLoader()).getCAstTranslationTimes();
+    Assert.assertEquals(modules.size(), times.size());
+    for (long t : times.values()) {
+      Assert.assertTrue(t >= 0);
+    }
+
+    SortedSet<String> names = new TreeSet<>();
+    for (IClass c : cha) {
+      names.add(c.getName().toString());
+    }
+    return names;
+  }
+
+  @Test
+  public void testSameClasses() throws IOException, ClassHierarchyException {
+    SortedSet<String> sequential = translate(1);
+    Assert.assertFalse(sequential.isEmpty());
+    Assert.assertEquals(sequential, translate(4));
+  }
+}
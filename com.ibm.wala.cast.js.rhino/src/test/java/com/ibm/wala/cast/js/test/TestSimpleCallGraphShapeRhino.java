@@ -10,13 +10,16 @@
  */
 package com.ibm.wala.cast.js.test;
 
+import com.ibm.wala.cast.ipa.callgraph.PropertyKeyIndex;
 import com.ibm.wala.cast.js.ipa.callgraph.JSCFABuilder;
 import com.ibm.wala.cast.js.translator.CAstRhinoTranslatorFactory;
 import com.ibm.wala.cast.js.util.JSCallGraphBuilderUtil;
 import com.ibm.wala.ipa.callgraph.propagation.PropagationCallGraphBuilder;
 import com.ibm.wala.util.CancelException;
 import com.ibm.wala.util.WalaException;
+import com.ibm.wala.util.intset.IntIterator;
 import java.io.IOException;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -37,6 +40,29 @@ public class TestSimpleCallGraphShapeRhino extends TestSimpleCallGraphShape {
     // just make sure this does not crash
   }
 
+  @Test
+  public void testPropertyKeyIndex()
+      throws IOException, IllegalArgumentException, CancelException, WalaException {
+    JSCFABuilder b = JSCallGraphBuilderUtil.makeScriptCGBuilder("tests", "property_index.js");
+    b.makeCallGraph(b.getOptions());
+    PropertyKeyIndex index = b.getPropertyKeyIndex();
+
+    // constant names are indexed by property, numbers and strings alike
+    Assert.assertFalse(index.getObjects(index.getPropertyId("a")).isEmpty());
+    Assert.assertFalse(index.getObjects(index.getPropertyId("b")).isEmpty());
+    Assert.assertFalse(index.getObjects(index.getPropertyId("1")).isEmpty());
+
+    // computed names share the wildcard entry of their object
+    Assert.assertFalse(index.getObjects(PropertyKeyIndex.ANY_PROPERTY).isEmpty());
+    for (IntIterator objs = index.getObjects(PropertyKeyIndex.ANY_PROPERTY).intIterator();
+        objs.hasNext(); ) {
+      int obj = objs.next();
+      Assert.assertTrue(
+          index.get(true, obj, PropertyKeyIndex.ANY_PROPERTY) != null
+              || index.get(false, obj, PropertyKeyIndex.ANY_PROPERTY) != null);
+    }
+  }
+
   @Test
   public void testRewriterDoesNotChangeLabelsBug()
       throws IOException, IllegalArgumentException, CancelException, WalaException {
@@ -29,6 +29,7 @@ import com.ibm.wala.cast.js.ipa.summaries.JavaScriptConstructorFunctions.JavaScr
 import com.ibm.wala.cast.js.loader.JavaScriptLoader;
 import com.ibm.wala.cast.js.types.JavaScriptMethods;
 import com.ibm.wala.cast.types.AstMethodReference;
+import com.ibm.wala.cast.util.COPDiagnostics;
 import com.ibm.wala.classLoader.CallSiteReference;
 import com.ibm.wala.classLoader.IClass;
 import com.ibm.wala.classLoader.IMethod;
@@ -74,13 +75,9 @@ public abstract class FieldBasedCallGraphBuilder {
   protected final JavaScriptConstructorFunctions constructors;
   public final MethodTargetSelector targetSelector;
   protected final boolean supportFullPointerAnalysis;
+  protected final COPDiagnostics copDiagnostics;
 
   private static final boolean LOG_TIMINGS = true;
-  
-  // allows toggling COP features dynamically  
-  // without interfering with the original logic
-  private static final boolean ENABLE_COP_ANALYSIS = true;
-
 
   public FieldBasedCallGraphBuilder(
       IClassHierarchy cha,
@@ -93,6 +90,10 @@ public abstract class FieldBasedCallGraphBuilder {
     this.constructors = new JavaScriptConstructorFunctions(cha);
     this.targetSelector = setupMethodTargetSelector(constructors, options);
     this.supportFullPointerAnalysis = supportFullPointerAnalysis;
+    this.copDiagnostics =
+        options instanceof JSAnalysisOptions
+            ? ((JSAnalysisOptions) options).getCOPDiagnostics()
+            : COPDiagnostics.DISABLED;
   }
 
   private static MethodTargetSelector setupMethodTargetSelector(
@@ -116,14 +117,10 @@ public abstract class FieldBasedCallGraphBuilder {
   // Flow Graph extension with COP features
   
   protected FlowGraph flowGraphFactory() {
-	    FlowGraphBuilder builder = new FlowGraphBuilder(cha, cache, supportFullPointerAnalysis);
+	    FlowGraphBuilder builder =
+	        new FlowGraphBuilder(cha, cache, supportFullPointerAnalysis, copDiagnostics);
 	    FlowGraph flowGraph = builder.buildFlowGraph();
-	    
-	    if (ENABLE_COP_ANALYSIS) {
-	        System.out.println("COP analysis enabled: Extending flow graph with contextual elements.");
-	        extendFlowGraphWithCOP(flowGraph);
-	    }
-
+	    extendFlowGraphWithCOP(flowGraph);
 	    return flowGraph;
 	}
   
@@ -139,8 +136,6 @@ public abstract class FieldBasedCallGraphBuilder {
 
 	    flowGraph.addEdge(contextVertex, objectVertex);
 	    flowGraph.addEdge(objectVertex, traitVertex);
-	    
-	    System.out.println("COP extensions added to flow graph.");
 	}
 
 
@@ -186,10 +181,7 @@ public abstract class FieldBasedCallGraphBuilder {
       FlowGraph flowGraph = buildFlowGraph(monitor);
       MonitorUtil.done(monitor);
 
-      if (ENABLE_COP_ANALYSIS) {
-          System.out.println("Processing COP analysis in call graph.");
-          analyzeContextOperations(flowGraph);
-      }
+      analyzeContextOperations(flowGraph);
 
       if (LOG_TIMINGS) {
           fgEnd = System.currentTimeMillis();
@@ -215,10 +207,8 @@ public abstract class FieldBasedCallGraphBuilder {
   private void analyzeContextOperations(FlowGraph flowGraph) {
       for (CallVertex call : flowGraph.getVertexFactory().getCallVertices()) {
           if ("adapt".equals(call.getSite().getDeclaredTarget().getName().toString())) {
-              System.out.println("Processing context adaptation at " + call);
               handleAdaptationCall(flowGraph, call);
           } else if ("activate".equals(call.getSite().getDeclaredTarget().getName().toString())) {
-              System.out.println("Processing context activation at " + call);
               handleActivationCall(flowGraph, call);
           }
       }
@@ -241,10 +231,7 @@ public abstract class FieldBasedCallGraphBuilder {
   public JSCallGraph extract(FlowGraph flowGraph, Iterable<? extends Entrypoint> eps, IProgressMonitor monitor) throws CancelException {
       JSCallGraph callGraph = super.extract(flowGraph, eps, monitor);
 
-      if (ENABLE_COP_ANALYSIS) {
-          System.out.println("Processing COP-specific methods in call graph extraction.");
-          handleCOPInCallGraph(callGraph, flowGraph);
-      }
+      handleCOPInCallGraph(callGraph, flowGraph);
 
       return callGraph;
   }
@@ -255,11 +242,9 @@ public abstract class FieldBasedCallGraphBuilder {
   private void handleCOPInCallGraph(JSCallGraph callGraph, FlowGraph flowGraph) {
       for (CallVertex call : flowGraph.getVertexFactory().getCallVertices()) {
           if ("adapt".equals(call.getSite().getDeclaredTarget().getName().toString())) {
-              System.out.println("Adding COP adaptation to call graph.");
               CGNode caller = callGraph.findOrCreateNode(call.getCaller().getConcreteType().getMethod(AstMethodReference.fnSelector), Everywhere.EVERYWHERE);
               callGraph.addEdge(caller, callGraph.getFakeRootNode());
           } else if ("activate".equals(call.getSite().getDeclaredTarget().getName().toString())) {
-              System.out.println("Adding COP activation to call graph.");
               CGNode caller = callGraph.findOrCreateNode(call.getCaller().getConcreteType().getMethod(AstMethodReference.fnSelector), Everywhere.EVERYWHERE);
               callGraph.addEdge(callGraph.getFakeRootNode(), caller);
           }
@@ -276,10 +261,8 @@ public abstract class FieldBasedCallGraphBuilder {
 	        String functionName = call.getCallSite().getDeclaredTarget().getName().toString();
 	        
 	        if ("adapt".equals(functionName)) {
-	            System.out.println("Handling adapt context call at " + call);
 	            handleAdaptation(callGraph, call);
 	        } else if ("activate".equals(functionName)) {
-	            System.out.println("Handling activate context call at " + call);
 	            handleActivation(callGraph, call);
 	        }
 	    }
@@ -292,16 +275,12 @@ public abstract class FieldBasedCallGraphBuilder {
   
   	private void handleAdaptation(JSCallGraph callGraph, CallVertex call) {
 	    CGNode caller = callGraph.findOrCreateNode(call.getCaller().getConcreteType().getMethod(AstMethodReference.fnSelector), Everywhere.EVERYWHERE);
-	    System.out.println("Adapting object with context: " + call);
-
 	    // Link adaptation logic to function calls
 	    callGraph.addEdge(caller, callGraph.getFakeRootNode());
 	}
 
 	private void handleActivation(JSCallGraph callGraph, CallVertex call) {
 	    CGNode caller = callGraph.findOrCreateNode(call.getCaller().getConcreteType().getMethod(AstMethodReference.fnSelector), Everywhere.EVERYWHERE);
-	    System.out.println("Activating context for: " + call);
-	
 	    // Link activation logic to global context management
 	    callGraph.addEdge(callGraph.getFakeRootNode(), caller);
 	}
@@ -345,6 +324,8 @@ public abstract class FieldBasedCallGraphBuilder {
     for (Pair<CallVertex, FuncVertex> edge : edges) {
       CallVertex callVertex = edge.fst;
       FuncVertex targetVertex = edge.snd;
+      // builders that do not report edges while building the flow graph get them here
+      flowgraph.getCOPFacts().addCallEdge(callVertex.getCaller(), targetVertex);
       IClass kaller = callVertex.getCaller().getConcreteType();
       CGNode caller =
           cg.findOrCreateNode(
@@ -424,6 +405,7 @@ public abstract class FieldBasedCallGraphBuilder {
     CallSiteReference reflectiveCallSite =
         functionPrototypeCallNode.getIR().iterateCallSites().next();
     for (FuncVertex f : reflectiveTargets) {
+      flowgraph.getCOPFacts().addCallEdge(callVertex.getCaller(), f);
       IMethod reflectiveTgtMethod =
           targetSelector.getCalleeTarget(
               functionPrototypeCallNode, reflectiveCallSite, f.getConcreteType());
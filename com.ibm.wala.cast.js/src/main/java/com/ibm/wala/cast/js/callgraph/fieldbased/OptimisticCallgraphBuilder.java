@@ -102,6 +102,7 @@ public class OptimisticCallgraphBuilder extends FieldBasedCallGraphBuilder {
     VertexFactory factory = flowgraph.getVertexFactory();
     JavaScriptInvoke invk = c.getInstruction();
     FuncVertex caller = c.getCaller();
+    flowgraph.getCOPFacts().addCallEdge(caller, callee);
 
     int offset = 0;
     if (invk.getDeclaredTarget()
@@ -137,6 +138,8 @@ public class OptimisticCallgraphBuilder extends FieldBasedCallGraphBuilder {
     OrdinalSet<FuncVertex> realCallees = flowgraph.getReachingSet(receiverVertex, monitor);
     System.err.println("callees " + realCallees + " for " + caller);
     for (FuncVertex realCallee : realCallees) {
+      flowgraph.getCOPFacts().addCallEdge(caller, realCallee);
+
       // flow from arguments to parameters
       for (int i = 2; i < invk.getNumberOfPositionalParameters(); ++i)
         flowgraph.addEdge(
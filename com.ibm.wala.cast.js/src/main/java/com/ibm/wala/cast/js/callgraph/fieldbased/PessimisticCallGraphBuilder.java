@@ -112,6 +112,7 @@ public class PessimisticCallGraphBuilder extends FieldBasedCallGraphBuilder {
           // check whether this is a local call
           if (use instanceof JavaScriptInvoke && ((JavaScriptInvoke) use).getFunction() == defn) {
             JavaScriptInvoke use_invk = (JavaScriptInvoke) use;
+            flowgraph.getCOPFacts().addCallEdge(caller, callee);
 
             // yes, so add edges from arguments to parameters...
             for (int i = 2; i < use_invk.getNumberOfPositionalParameters(); ++i)
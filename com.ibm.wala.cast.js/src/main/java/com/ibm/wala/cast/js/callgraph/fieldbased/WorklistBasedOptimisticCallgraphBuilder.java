@@ -29,9 +29,14 @@ import com.ibm.wala.util.MonitorUtil;
 import com.ibm.wala.util.MonitorUtil.IProgressMonitor;
 import com.ibm.wala.util.collections.HashMapFactory;
 import com.ibm.wala.util.collections.HashSetFactory;
-import com.ibm.wala.util.collections.Iterator2Iterable;
-import com.ibm.wala.util.collections.MapUtil;
+import com.ibm.wala.util.collections.IntStack;
 import com.ibm.wala.util.collections.Pair;
+import com.ibm.wala.util.intset.BitVector;
+import com.ibm.wala.util.intset.BitVectorIntSet;
+import com.ibm.wala.util.intset.IntIterator;
+import com.ibm.wala.util.intset.IntSet;
+import com.ibm.wala.util.intset.MutableIntSet;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 
@@ -65,7 +70,7 @@ public class WorklistBasedOptimisticCallgraphBuilder extends FieldBasedCallGraph
 
   @Override
   public FlowGraph buildFlowGraph(IProgressMonitor monitor) throws CancelException {
-    builder = new FlowGraphBuilder(cha, cache, false);
+    builder = new FlowGraphBuilder(cha, cache, false, copDiagnostics);
     return builder.buildFlowGraph();
   }
 
@@ -73,34 +78,42 @@ public class WorklistBasedOptimisticCallgraphBuilder extends FieldBasedCallGraph
   public Set<Pair<CallVertex, FuncVertex>> extractCallGraphEdges(
       FlowGraph flowgraph, IProgressMonitor monitor) throws CancelException {
     VertexFactory factory = flowgraph.getVertexFactory();
-    Set<Vertex> worklist = HashSetFactory.make();
-    Map<Vertex, Set<FuncVertex>> reachingFunctions = HashMapFactory.make();
+    Worklist worklist = new Worklist();
+    // for every vertex number, the numbers of the function vertices reaching it
+    ReachingFunctions reachingFunctions = new ReachingFunctions();
     Map<VarVertex, Pair<JavaScriptInvoke, Boolean>> reflectiveCalleeVertices =
         HashMapFactory.make();
 
     for (Vertex v : flowgraph) {
       if (v instanceof FuncVertex) {
-        FuncVertex fv = (FuncVertex) v;
+        int fv = flowgraph.getNumber(v);
         worklist.add(fv);
-        MapUtil.findOrCreateSet(reachingFunctions, fv).add(fv);
+        reachingFunctions.get(fv).add(fv);
       }
     }
 
     while (!worklist.isEmpty()) {
       MonitorUtil.throwExceptionIfCanceled(monitor);
 
-      Vertex v = worklist.iterator().next();
-      worklist.remove(v);
-      Set<FuncVertex> vReach = MapUtil.findOrCreateSet(reachingFunctions, v);
-      for (Vertex w : Iterator2Iterable.make(flowgraph.getSucc(v))) {
+      int v = worklist.take();
+      MutableIntSet vReach = reachingFunctions.get(v);
+      // edges may be added to v while we iterate, so re-read the count each time
+      for (int i = 0; i < flowgraph.getSuccCount(v); i++) {
         MonitorUtil.throwExceptionIfCanceled(monitor);
 
-        Set<FuncVertex> wReach = MapUtil.findOrCreateSet(reachingFunctions, w);
+        int wNum = flowgraph.getSucc(v, i);
+        if (wNum == v) {
+          continue;
+        }
+        Vertex w = flowgraph.getVertex(wNum);
+        MutableIntSet wReach = reachingFunctions.get(wNum);
         boolean changed = false;
         if (w instanceof CallVertex) {
-          for (FuncVertex fv : vReach) {
-            if (wReach.add(fv)) {
+          for (IntIterator fs = vReach.intIterator(); fs.hasNext(); ) {
+            int fvNum = fs.next();
+            if (wReach.add(fvNum)) {
               changed = true;
+              FuncVertex fv = (FuncVertex) flowgraph.getVertex(fvNum);
               CallVertex callVertex = (CallVertex) w;
               addCallEdge(flowgraph, callVertex, fv, worklist);
 
@@ -119,18 +132,23 @@ public class WorklistBasedOptimisticCallgraphBuilder extends FieldBasedCallGraph
                 // we only add dataflow edges for Function.prototype.call
                 boolean isCall = fullName.equals("Lprologue.js/Function_prototype_call");
                 reflectiveCalleeVertices.put(reflectiveCalleeVertex, Pair.make(invk, isCall));
-                for (FuncVertex fw :
-                    MapUtil.findOrCreateSet(reachingFunctions, reflectiveCalleeVertex))
+                IntSet reflectiveReach =
+                    reachingFunctions.get(flowgraph.getNumber(reflectiveCalleeVertex));
+                for (IntIterator fws = reflectiveReach.intIterator(); fws.hasNext(); ) {
+                  FuncVertex fw = (FuncVertex) flowgraph.getVertex(fws.next());
                   addReflectiveCallEdge(
                       flowgraph, reflectiveCalleeVertex, invk, fw, worklist, isCall);
+                }
               }
             }
           }
         } else if (handleCallApply && reflectiveCalleeVertices.containsKey(w)) {
           Pair<JavaScriptInvoke, Boolean> invkAndIsCall = reflectiveCalleeVertices.get(w);
-          for (FuncVertex fv : vReach) {
-            if (wReach.add(fv)) {
+          for (IntIterator fs = vReach.intIterator(); fs.hasNext(); ) {
+            int fvNum = fs.next();
+            if (wReach.add(fvNum)) {
               changed = true;
+              FuncVertex fv = (FuncVertex) flowgraph.getVertex(fvNum);
               addReflectiveCallEdge(
                   flowgraph, (VarVertex) w, invkAndIsCall.fst, fv, worklist, invkAndIsCall.snd);
             }
@@ -139,25 +157,30 @@ public class WorklistBasedOptimisticCallgraphBuilder extends FieldBasedCallGraph
 
           changed = wReach.addAll(vReach);
         }
-        if (changed) worklist.add(w);
+        if (changed) worklist.add(wNum);
       }
     }
 
     Set<Pair<CallVertex, FuncVertex>> res = HashSetFactory.make();
-    for (Map.Entry<Vertex, Set<FuncVertex>> entry : reachingFunctions.entrySet()) {
-      final Vertex v = entry.getKey();
-      if (v instanceof CallVertex)
-        for (FuncVertex fv : entry.getValue()) res.add(Pair.make((CallVertex) v, fv));
+    for (int v = 0; v <= flowgraph.getMaxNumber(); v++) {
+      IntSet reach = reachingFunctions.find(v);
+      Vertex c = flowgraph.getVertex(v);
+      if (reach != null && c instanceof CallVertex) {
+        for (IntIterator fs = reach.intIterator(); fs.hasNext(); ) {
+          res.add(Pair.make((CallVertex) c, (FuncVertex) flowgraph.getVertex(fs.next())));
+        }
+      }
     }
     return res;
   }
 
   // add flow corresponding to a new call edge
   private void addCallEdge(
-      FlowGraph flowgraph, CallVertex c, FuncVertex callee, Set<Vertex> worklist) {
+      FlowGraph flowgraph, CallVertex c, FuncVertex callee, Worklist worklist) {
     VertexFactory factory = flowgraph.getVertexFactory();
     FuncVertex caller = c.getCaller();
     JavaScriptInvoke invk = c.getInstruction();
+    flowgraph.getCOPFacts().addCallEdge(caller, callee);
 
     int offset = 0;
     if (invk.getDeclaredTarget()
@@ -186,9 +209,9 @@ public class WorklistBasedOptimisticCallgraphBuilder extends FieldBasedCallGraph
         worklist);
   }
 
-  public void addFlowEdge(FlowGraph flowgraph, Vertex from, Vertex to, Set<Vertex> worklist) {
+  public void addFlowEdge(FlowGraph flowgraph, Vertex from, Vertex to, Worklist worklist) {
     flowgraph.addEdge(from, to);
-    worklist.add(from);
+    worklist.add(flowgraph.getNumber(from));
   }
 
   // add data flow corresponding to a reflective invocation via Function.prototype.call
@@ -199,10 +222,11 @@ public class WorklistBasedOptimisticCallgraphBuilder extends FieldBasedCallGraph
       VarVertex reflectiveCallee,
       JavaScriptInvoke invk,
       FuncVertex realCallee,
-      Set<Vertex> worklist,
+      Worklist worklist,
       boolean isFunctionPrototypeCall) {
     VertexFactory factory = flowgraph.getVertexFactory();
     FuncVertex caller = reflectiveCallee.getFunction();
+    flowgraph.getCOPFacts().addCallEdge(caller, realCallee);
 
     if (isFunctionPrototypeCall) {
       // flow from arguments to parameters
@@ -222,4 +246,48 @@ public class WorklistBasedOptimisticCallgraphBuilder extends FieldBasedCallGraph
         factory.makeVarVertex(caller, invk.getDef()),
         worklist);
   }
+
+  /** A set of vertex numbers still to be processed, without duplicates. */
+  public static class Worklist {
+    private final IntStack stack = new IntStack();
+
+    private final BitVector members = new BitVector();
+
+    public void add(int v) {
+      if (!members.get(v)) {
+        members.set(v);
+        stack.push(v);
+      }
+    }
+
+    public boolean isEmpty() {
+      return stack.isEmpty();
+    }
+
+    /** remove and return some vertex number from this worklist */
+    public int take() {
+      int v = stack.pop();
+      members.clear(v);
+      return v;
+    }
+  }
+
+  /** the sets of function vertex numbers reaching each vertex, indexed by vertex number */
+  private static class ReachingFunctions {
+    private MutableIntSet[] sets = new MutableIntSet[16];
+
+    MutableIntSet find(int v) {
+      return v < sets.length ? sets[v] : null;
+    }
+
+    MutableIntSet get(int v) {
+      if (v >= sets.length) {
+        sets = Arrays.copyOf(sets, Math.max(v + 1, sets.length * 2));
+      }
+      if (sets[v] == null) {
+        sets[v] = new BitVectorIntSet();
+      }
+      return sets[v];
+    }
+  }
 }
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph;
+
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.CallVertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.FuncVertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.VarVertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.VertexFactory;
+import com.ibm.wala.ssa.IR;
+import com.ibm.wala.ssa.SSAContextActivateInstruction;
+import com.ibm.wala.ssa.SSAContextAdaptInstruction;
+import com.ibm.wala.ssa.SSAInstruction;
+import com.ibm.wala.ssa.SymbolTable;
+import com.ibm.wala.util.collections.HashMapFactory;
+import com.ibm.wala.util.collections.HashSetFactory;
+import com.ibm.wala.util.collections.IntStack;
+import com.ibm.wala.util.intset.BitVectorIntSet;
+import com.ibm.wala.util.intset.IntIterator;
+import com.ibm.wala.util.intset.MutableMapping;
+import com.ibm.wala.util.intset.OrdinalSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of the context-oriented programming (COP) facts of a program, built once per {@link
+ * FlowGraph} while its functions are visited.
+ *
+ * <p>For every function, the index keeps the {@link SSAContextAdaptInstruction}s and {@link
+ * SSAContextActivateInstruction}s it contains, so they need not be searched for again. It also maps
+ * every layer to the objects adapted with it. A layer is identified by the string constant naming
+ * it or, failing that, by the {@link VarVertex} of the variable holding it.
+ *
+ * <p>Finally, the index maintains the set of layers that may be active in every function: those it
+ * activates itself, plus those active in any of its callers. Call edges are reported through {@link
+ * #addCallEdge(FuncVertex, FuncVertex)} as they are discovered, and only the resulting changes are
+ * propagated, so queries are answered by a lookup. The optimistic builders report every edge as
+ * they add its data flow; {@link
+ * com.ibm.wala.cast.js.callgraph.fieldbased.FieldBasedCallGraphBuilder#extract} reports the edges
+ * of the extracted call graph, so the index is complete for every builder once the call graph has
+ * been extracted.
+ */
+public class COPFactIndex {
+
+  private final Map<FuncVertex, List<SSAContextAdaptInstruction>> adaptations =
+      HashMapFactory.make();
+
+  private final Map<FuncVertex, List<SSAContextActivateInstruction>> activations =
+      HashMapFactory.make();
+
+  // numbering of functions and layers
+  private final MutableMapping<FuncVertex> functions = MutableMapping.make();
+  private final MutableMapping<Object> layers = MutableMapping.make();
+
+  // objects adapted with every layer, by layer number
+  private final ArrayList<Set<VarVertex>> adaptedObjects = new ArrayList<>();
+
+  // callees and active layers of every function, by function number
+  private final ArrayList<BitVectorIntSet> callees = new ArrayList<>();
+  private final ArrayList<BitVectorIntSet> activeLayers = new ArrayList<>();
+
+  // functions already indexed
+  private final Set<FuncVertex> indexed = HashSetFactory.make();
+
+  private int functionNumber(FuncVertex func) {
+    int n = functions.add(func);
+    if (n == callees.size()) {
+      callees.add(new BitVectorIntSet());
+      activeLayers.add(new BitVectorIntSet());
+    }
+    return n;
+  }
+
+  private int layerNumber(Object layer) {
+    int n = layers.add(layer);
+    if (n == adaptedObjects.size()) {
+      adaptedObjects.add(HashSetFactory.make());
+    }
+    return n;
+  }
+
+  private static Object layerOf(
+      FuncVertex func, SymbolTable symtab, VertexFactory factory, int vn) {
+    if (symtab.isStringConstant(vn)) {
+      return symtab.getStringValue(vn);
+    }
+    return factory.makeVarVertex(func, vn);
+  }
+
+  /**
+   * Index the COP instructions of a function, scanning its IR once. Indexing a function that has
+   * already been indexed does nothing.
+   *
+   * @param func the vertex of the function
+   * @param ir the IR of the function
+   * @param factory the vertex factory of the flow graph, used to make variable vertices
+   */
+  public void addFunction(FuncVertex func, IR ir, VertexFactory factory) {
+    addFunction(func, ir.getInstructions(), ir.getSymbolTable(), factory);
+  }
+
+  /**
+   * Index the COP instructions of a function. Indexing a function that has already been indexed
+   * does nothing.
+   *
+   * @param func the vertex of the function
+   * @param instructions the instructions of the function; null entries are skipped
+   * @param symtab the symbol table of the function, used to name layers held in string constants
+   * @param factory the vertex factory of the flow graph, used to make variable vertices
+   */
+  public void addFunction(
+      FuncVertex func, SSAInstruction[] instructions, SymbolTable symtab, VertexFactory factory) {
+    if (!indexed.add(func)) {
+      return;
+    }
+    List<SSAContextAdaptInstruction> adapts = new ArrayList<>(0);
+    List<SSAContextActivateInstruction> activates = new ArrayList<>(0);
+    for (SSAInstruction inst : instructions) {
+      if (inst instanceof SSAContextAdaptInstruction) {
+        adapts.add((SSAContextAdaptInstruction) inst);
+      } else if (inst instanceof SSAContextActivateInstruction) {
+        activates.add((SSAContextActivateInstruction) inst);
+      }
+    }
+    if (adapts.isEmpty() && activates.isEmpty()) {
+      return;
+    }
+    adaptations.put(func, adapts);
+    activations.put(func, activates);
+
+    for (SSAContextAdaptInstruction adapt : adapts) {
+      int layer = layerNumber(layerOf(func, symtab, factory, adapt.getTraitVar()));
+      adaptedObjects.get(layer).add(factory.makeVarVertex(func, adapt.getObjectVar()));
+    }
+
+    if (!activates.isEmpty()) {
+      BitVectorIntSet own = new BitVectorIntSet();
+      for (SSAContextActivateInstruction activate : activates) {
+        own.add(layerNumber(layerOf(func, symtab, factory, activate.getContextVar())));
+      }
+      propagate(functionNumber(func), own);
+    }
+  }
+
+  /** Record that caller may call callee, making the layers active in caller active in callee. */
+  public void addCallEdge(FuncVertex caller, FuncVertex callee) {
+    int from = functionNumber(caller);
+    int to = functionNumber(callee);
+    if (callees.get(from).add(to) && !activeLayers.get(from).isEmpty()) {
+      propagate(to, activeLayers.get(from));
+    }
+  }
+
+  // add layers to the active layers of function f and everything f transitively calls
+  private void propagate(int f, BitVectorIntSet layers) {
+    if (!activeLayers.get(f).addAll(layers)) {
+      return;
+    }
+    IntStack worklist = new IntStack();
+    worklist.push(f);
+    while (!worklist.isEmpty()) {
+      int g = worklist.pop();
+      BitVectorIntSet active = activeLayers.get(g);
+      for (IntIterator it = callees.get(g).intIterator(); it.hasNext(); ) {
+        int h = it.next();
+        if (h != g && activeLayers.get(h).addAll(active)) {
+          worklist.push(h);
+        }
+      }
+    }
+  }
+
+  /** @return the adapt instructions of func, in instruction order */
+  public List<SSAContextAdaptInstruction> getAdaptations(FuncVertex func) {
+    List<SSAContextAdaptInstruction> result = adaptations.get(func);
+    return result == null ? Collections.emptyList() : Collections.unmodifiableList(result);
+  }
+
+  /** @return the activate instructions of func, in instruction order */
+  public List<SSAContextActivateInstruction> getActivations(FuncVertex func) {
+    List<SSAContextActivateInstruction> result = activations.get(func);
+    return result == null ? Collections.emptyList() : Collections.unmodifiableList(result);
+  }
+
+  /** @return the functions containing adapt or activate instructions */
+  public Set<FuncVertex> getFunctionsWithCOPInstructions() {
+    return Collections.unmodifiableSet(adaptations.keySet());
+  }
+
+  /** @return the layers seen so far */
+  public Iterable<Object> getLayers() {
+    return layers;
+  }
+
+  /** @return the objects adapted with the given layer */
+  public Set<VarVertex> getAdaptedObjects(Object layer) {
+    int n = layers.getMappedIndex(layer);
+    return n < 0 ? Collections.emptySet() : Collections.unmodifiableSet(adaptedObjects.get(n));
+  }
+
+  /** @return the layers that may be active while func runs */
+  public OrdinalSet<Object> getActiveLayers(FuncVertex func) {
+    int n = functions.getMappedIndex(func);
+    if (n < 0 || activeLayers.get(n).isEmpty()) {
+      return OrdinalSet.empty();
+    }
+    return new OrdinalSet<>(new BitVectorIntSet(activeLayers.get(n)), layers);
+  }
+
+  /** @return the layers that may be active at the given call site */
+  public OrdinalSet<Object> getActiveLayers(CallVertex call) {
+    return getActiveLayers(call.getCaller());
+  }
+
+  /** @return the objects adapted with some layer that may be active at the given call site */
+  public Set<VarVertex> getActiveAdaptedObjects(CallVertex call) {
+    int n = functions.getMappedIndex(call.getCaller());
+    if (n < 0) {
+      return Collections.emptySet();
+    }
+    Set<VarVertex> result = HashSetFactory.make();
+    for (IntIterator it = activeLayers.get(n).intIterator(); it.hasNext(); ) {
+      result.addAll(adaptedObjects.get(it.next()));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph;
+
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.Vertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.VertexFactory;
+import com.ibm.wala.util.collections.LongHashMap;
+import com.ibm.wala.util.graph.AbstractNumberedGraph;
+import com.ibm.wala.util.graph.NumberedEdgeManager;
+import com.ibm.wala.util.graph.NumberedNodeManager;
+import com.ibm.wala.util.graph.impl.NumberedNodeIterator;
+import com.ibm.wala.util.intset.BitVector;
+import com.ibm.wala.util.intset.IntSet;
+import com.ibm.wala.util.intset.MutableSparseIntSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A flow graph representation whose nodes are the numbers assigned by a {@link VertexFactory} and
+ * whose edges are kept in primitive adjacency arrays.
+ *
+ * <p>Besides the {@link com.ibm.wala.util.graph.NumberedGraph} interface, this graph offers an
+ * int-level API ({@link #addEdge(int, int)}, {@link #getSuccCount(int)}, {@link #getSucc(int,
+ * int)}, ...) that lets clients such as {@link
+ * com.ibm.wala.cast.js.callgraph.fieldbased.WorklistBasedOptimisticCallgraphBuilder} traverse the
+ * graph without allocating. Nodes and edges cannot be removed.
+ */
+public class CompactFlowGraph extends AbstractNumberedGraph<Vertex> {
+
+  private static final int[] NO_EDGES = new int[0];
+
+  private static final Object PRESENT = Boolean.TRUE;
+
+  private final VertexFactory factory;
+
+  private final Nodes nodeManager = new Nodes();
+
+  private final Edges edgeManager = new Edges();
+
+  // numbers of the nodes contained in this graph
+  private final BitVector nodes = new BitVector();
+
+  private int numberOfNodes = 0;
+
+  // successors and predecessors of each node number; only the first succCount[n] entries of
+  // succ[n] are valid, and likewise for pred
+  private int[][] succ = new int[0][];
+  private int[] succCount = new int[0];
+  private int[][] pred = new int[0][];
+  private int[] predCount = new int[0];
+
+  // all edges, keyed by LongHashMap.key(from, to)
+  private final LongHashMap<Object> edges = new LongHashMap<>();
+
+  public CompactFlowGraph(VertexFactory factory) {
+    if (factory == null) {
+      throw new IllegalArgumentException("factory is null");
+    }
+    this.factory = factory;
+  }
+
+  @Override
+  protected NumberedNodeManager<Vertex> getNodeManager() {
+    return nodeManager;
+  }
+
+  @Override
+  protected NumberedEdgeManager<Vertex> getEdgeManager() {
+    return edgeManager;
+  }
+
+  private void ensureCapacity(int n) {
+    if (n >= succ.length) {
+      int size = Math.max(n + 1, succ.length * 2);
+      succ = Arrays.copyOf(succ, size);
+      succCount = Arrays.copyOf(succCount, size);
+      pred = Arrays.copyOf(pred, size);
+      predCount = Arrays.copyOf(predCount, size);
+    }
+  }
+
+  /** add the node numbered n, which must have been assigned by the factory of this graph */
+  public void addNode(int n) {
+    if (factory.getVertex(n) == null) {
+      throw new IllegalArgumentException("unknown vertex number " + n);
+    }
+    if (!nodes.get(n)) {
+      nodes.set(n);
+      numberOfNodes++;
+      ensureCapacity(n);
+    }
+  }
+
+  public boolean containsNode(int n) {
+    return n >= 0 && nodes.get(n);
+  }
+
+  /**
+   * add an edge between two node numbers, adding the nodes first if necessary
+   *
+   * @return true iff the edge was not in the graph before
+   */
+  public boolean addEdge(int from, int to) {
+    addNode(from);
+    addNode(to);
+    if (edges.putIfAbsent(LongHashMap.key(from, to), PRESENT) != null) {
+      return false;
+    }
+    succ[from] = append(succ[from], succCount[from]++, to);
+    pred[to] = append(pred[to], predCount[to]++, from);
+    return true;
+  }
+
+  private static int[] append(int[] a, int size, int x) {
+    if (a == null) {
+      a = new int[2];
+    } else if (size == a.length) {
+      a = Arrays.copyOf(a, size * 2);
+    }
+    a[size] = x;
+    return a;
+  }
+
+  public boolean hasEdge(int from, int to) {
+    return edges.containsKey(LongHashMap.key(from, to));
+  }
+
+  public int getSuccCount(int n) {
+    return n < succCount.length ? succCount[n] : 0;
+  }
+
+  /** @return the i-th successor of the node numbered n */
+  public int getSucc(int n, int i) {
+    if (i >= getSuccCount(n)) {
+      throw new IndexOutOfBoundsException(i + " >= " + getSuccCount(n));
+    }
+    return succ[n][i];
+  }
+
+  public int getPredCount(int n) {
+    return n < predCount.length ? predCount[n] : 0;
+  }
+
+  /** @return the i-th predecessor of the node numbered n */
+  public int getPred(int n, int i) {
+    if (i >= getPredCount(n)) {
+      throw new IndexOutOfBoundsException(i + " >= " + getPredCount(n));
+    }
+    return pred[n][i];
+  }
+
+  /** @return the number of edges in this graph */
+  public int getNumberOfEdges() {
+    return edges.size();
+  }
+
+  private int numberOf(Vertex v) {
+    if (v == null) {
+      throw new IllegalArgumentException("null vertex");
+    }
+    int n = v.getNumber();
+    return n >= 0 && nodes.get(n) && factory.getVertex(n) == v ? n : -1;
+  }
+
+  private int checkedNumberOf(Vertex v) {
+    int n = numberOf(v);
+    if (n < 0) {
+      throw new IllegalArgumentException("node not in graph: " + v);
+    }
+    return n;
+  }
+
+  private Iterator<Vertex> iterate(final int[] a, final int size) {
+    return new Iterator<Vertex>() {
+      private int i = 0;
+
+      @Override
+      public boolean hasNext() {
+        return i < size;
+      }
+
+      @Override
+      public Vertex next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return factory.getVertex(a[i++]);
+      }
+    };
+  }
+
+  private static IntSet toIntSet(int[] a, int size) {
+    MutableSparseIntSet result = MutableSparseIntSet.createMutableSparseIntSet(size);
+    for (int i = 0; i < size; i++) {
+      result.add(a[i]);
+    }
+    return result;
+  }
+
+  private class Nodes implements NumberedNodeManager<Vertex> {
+
+    @Override
+    public Iterator<Vertex> iterator() {
+      return new Iterator<Vertex>() {
+        private int next = nodes.nextSetBit(0);
+
+        @Override
+        public boolean hasNext() {
+          return next >= 0;
+        }
+
+        @Override
+        public Vertex next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          Vertex result = factory.getVertex(next);
+          next = nodes.nextSetBit(next + 1);
+          return result;
+        }
+      };
+    }
+
+    @Override
+    public Stream<Vertex> stream() {
+      return StreamSupport.stream(
+          Spliterators.spliterator(iterator(), numberOfNodes, Spliterator.ORDERED), false);
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+      return numberOfNodes;
+    }
+
+    @Override
+    public void addNode(Vertex n) {
+      CompactFlowGraph.this.addNode(factory.number(n));
+    }
+
+    @Override
+    public void removeNode(Vertex n) throws UnsupportedOperationException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean containsNode(Vertex n) {
+      return n != null && numberOf(n) >= 0;
+    }
+
+    @Override
+    public int getNumber(Vertex n) {
+      return numberOf(n);
+    }
+
+    @Override
+    public Vertex getNode(int number) {
+      return CompactFlowGraph.this.containsNode(number) ? factory.getVertex(number) : null;
+    }
+
+    @Override
+    public int getMaxNumber() {
+      return nodes.max();
+    }
+
+    @Override
+    public Iterator<Vertex> iterateNodes(IntSet s) {
+      return new NumberedNodeIterator<>(s, this);
+    }
+  }
+
+  private class Edges implements NumberedEdgeManager<Vertex> {
+
+    @Override
+    public Iterator<Vertex> getPredNodes(Vertex n) {
+      int i = checkedNumberOf(n);
+      return iterate(pred[i] == null ? NO_EDGES : pred[i], predCount[i]);
+    }
+
+    @Override
+    public int getPredNodeCount(Vertex n) {
+      return predCount[checkedNumberOf(n)];
+    }
+
+    @Override
+    public Iterator<Vertex> getSuccNodes(Vertex n) {
+      int i = checkedNumberOf(n);
+      return iterate(succ[i] == null ? NO_EDGES : succ[i], succCount[i]);
+    }
+
+    @Override
+    public int getSuccNodeCount(Vertex n) {
+      return succCount[checkedNumberOf(n)];
+    }
+
+    @Override
+    public void addEdge(Vertex src, Vertex dst) {
+      CompactFlowGraph.this.addEdge(factory.number(src), factory.number(dst));
+    }
+
+    @Override
+    public void removeEdge(Vertex src, Vertex dst) throws UnsupportedOperationException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeAllIncidentEdges(Vertex node) throws UnsupportedOperationException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeIncomingEdges(Vertex node) throws UnsupportedOperationException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeOutgoingEdges(Vertex node) throws UnsupportedOperationException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean hasEdge(Vertex src, Vertex dst) {
+      int from = numberOf(src);
+      int to = numberOf(dst);
+      return from >= 0 && to >= 0 && CompactFlowGraph.this.hasEdge(from, to);
+    }
+
+    @Override
+    public IntSet getSuccNodeNumbers(Vertex node) {
+      int i = checkedNumberOf(node);
+      return toIntSet(succ[i], succCount[i]);
+    }
+
+    @Override
+    public IntSet getPredNodeNumbers(Vertex node) {
+      int i = checkedNumberOf(node);
+      return toIntSet(pred[i], predCount[i]);
+    }
+  }
+}
@@ -17,7 +17,6 @@ import com.ibm.wala.cast.ipa.callgraph.AstHeapModel;
 import com.ibm.wala.cast.ir.ssa.AstGlobalWrite;
 import com.ibm.wala.cast.ir.ssa.AstIRFactory;
 import com.ibm.wala.cast.ir.ssa.AstPropertyWrite;
-import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.AbstractVertexVisitor;
 import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.CreationSiteVertex;
 import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.FuncVertex;
 import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.ObjectVertex;
@@ -33,6 +32,7 @@ import com.ibm.wala.cast.js.ssa.JavaScriptPropertyWrite;
 import com.ibm.wala.cast.js.ssa.SetPrototype;
 import com.ibm.wala.cast.js.types.JavaScriptTypes;
 import com.ibm.wala.cast.types.AstMethodReference;
+import com.ibm.wala.cast.util.COPDiagnostics;
 import com.ibm.wala.classLoader.IClass;
 import com.ibm.wala.classLoader.IField;
 import com.ibm.wala.classLoader.IMethod;
@@ -63,16 +63,13 @@ import com.ibm.wala.util.collections.HashSetFactory;
 import com.ibm.wala.util.collections.Iterator2Iterable;
 import com.ibm.wala.util.collections.MapUtil;
 import com.ibm.wala.util.collections.Pair;
-import com.ibm.wala.util.graph.Graph;
-import com.ibm.wala.util.graph.GraphReachability;
-import com.ibm.wala.util.graph.GraphSlicer;
 import com.ibm.wala.util.graph.NumberedGraph;
 import com.ibm.wala.util.graph.impl.ExtensionGraph;
-import com.ibm.wala.util.graph.impl.InvertedGraph;
 import com.ibm.wala.util.graph.impl.SlowSparseNumberedGraph;
 import com.ibm.wala.util.graph.traverse.DFS;
 import com.ibm.wala.util.intset.OrdinalSet;
 import com.ibm.wala.util.intset.OrdinalSetMapping;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
@@ -85,66 +82,59 @@ import java.util.Set;
  * @author mschaefer
  */
 public class FlowGraph implements Iterable<Vertex> {
-	
-  // Feature toggle to enable or disable COP analysis without affecting core functionality
-  private static final boolean enableCOPAnalysis = true;
 
-  // the actual flow graph representation
-  private final NumberedGraph<Vertex> graph;
+  // the actual flow graph representation, numbering vertices through this.factory
+  private final CompactFlowGraph graph;
 
   // a factory that allows us to build canonical vertices
   private final VertexFactory factory;
 
   // the transitive closure of the inverse of this.graph,
-  // but without paths going through the Unknown vertex
-  private GraphReachability<Vertex, FuncVertex> optimistic_closure;
+  // but without paths going through the Unknown vertex;
+  // kept up to date incrementally as edges are added once it has been computed
+  private FlowGraphClosure<FuncVertex> optimistic_closure;
+
+  // the same closures for the layer views of this.graph, indexed by context id; each is computed
+  // on demand and then kept up to date like optimistic_closure
+  private final ArrayList<FlowGraphClosure<FuncVertex>> layer_closures = new ArrayList<>();
+
+  // the COP instructions of the functions visited so far, and the layers they activate
+  private final COPFactIndex copFacts = new COPFactIndex();
 
   public FlowGraph() {
-    this.graph = new SlowSparseNumberedGraph<>(1);
-    this.factory = new VertexFactory();
+    this(COPDiagnostics.DISABLED);
+  }
+
+  /** @param diagnostics where COP events seen while building this flow graph are reported */
+  public FlowGraph(COPDiagnostics diagnostics) {
+    this.factory = new VertexFactory(diagnostics);
+    this.graph = new CompactFlowGraph(factory);
   }
 
-  // (re-)compute optimistic_closure
+  // compute optimistic_closure, unless it is already there
   private void compute_optimistic_closure(IProgressMonitor monitor) throws CancelException {
     if (optimistic_closure != null) return;
 
     optimistic_closure = computeClosure(graph, monitor, FuncVertex.class);
   }
 
-  private static <T> GraphReachability<Vertex, T> computeClosure(
-      NumberedGraph<Vertex> graph, IProgressMonitor monitor, final Class<?> type)
+  private static <T> FlowGraphClosure<T> computeClosure(
+      NumberedGraph<Vertex> graph, IProgressMonitor monitor, final Class<T> type)
       throws CancelException {
-    // prune flowgraph by taking out 'unknown' vertex
-    Graph<Vertex> pruned_flowgraph =
-        GraphSlicer.prune(
-            graph,
-            t ->
-                t.accept(
-                    new AbstractVertexVisitor<Boolean>() {
-                      @Override
-                      public Boolean visitVertex() {
-                        return true;
-                      }
-
-                      @Override
-                      public Boolean visitUnknownVertex(UnknownVertex unknownVertex) {
-                        return false;
-                      }
-                    }));
-
-    // compute transitive closure
-    GraphReachability<Vertex, T> optimistic_closure =
-        new GraphReachability<>(new InvertedGraph<>(pruned_flowgraph), type::isInstance);
-
-    optimistic_closure.solve(monitor);
-
-    return optimistic_closure;
+    // compute transitive closure, ignoring the 'unknown' vertex
+    FlowGraphClosure<T> closure = new FlowGraphClosure<>(graph, type);
+    closure.solve(monitor);
+    return closure;
   }
 
   public VertexFactory getVertexFactory() {
     return factory;
   }
 
+  public COPFactIndex getCOPFacts() {
+    return copFacts;
+  }
+
   /**
   public void addEdge(Vertex from, Vertex to) {
     if (!graph.containsNode(from)) graph.addNode(from);
@@ -161,20 +151,31 @@ public class FlowGraph implements Iterable<Vertex> {
    * they are not in there yet.
    */
   public void addEdge(Vertex from, Vertex to) {
-	    if (!graph.containsNode(from)) graph.addNode(from);
-	    if (!graph.containsNode(to)) graph.addNode(to);
-
-	    if (!graph.hasEdge(from, to)) {
-	        optimistic_closure = null;
-	        graph.addEdge(from, to);
-
-	        if (enableCOPAnalysis) {
-	            System.out.println("COP Flow Added: " + from + " -> " + to);
-	        }
-	    }
-	}
+    addEdge(factory.number(from), factory.number(to));
+  }
 
   
+  /**
+   * Adds an edge between the vertices numbered {@code from} and {@code to} by the {@link
+   * VertexFactory} of this flow graph.
+   *
+   * @return true iff the edge was not in the graph before
+   */
+  public boolean addEdge(int from, int to) {
+    if (graph.addEdge(from, to)) {
+      if (optimistic_closure != null) {
+        optimistic_closure.addEdge(from, to);
+      }
+      for (FlowGraphClosure<FuncVertex> closure : layer_closures) {
+        if (closure != null) {
+          closure.addEdge(from, to);
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
   /**
    * Adds an edge for context adaptation, linking the context to the adapted object and trait.
    */
@@ -182,9 +183,7 @@ public class FlowGraph implements Iterable<Vertex> {
       addEdge(contextVertex, objectVertex);
       addEdge(contextVertex, traitVertex);
       addEdge(objectVertex, traitVertex);
-
-      System.out.println("Added COP adaptation edges: Context " + contextVertex 
-                         + " -> Object " + objectVertex + " -> Trait " + traitVertex);
+      factory.getCOPDiagnostics().record(COPDiagnostics.Event.ADAPTATION, contextVertex);
   }
 
   /**
@@ -193,8 +192,7 @@ public class FlowGraph implements Iterable<Vertex> {
   public void addContextActivationEdge(VarVertex contextVertex) {
       VarVertex globalVertex = factory.makeGlobalVertex();
       addEdge(contextVertex, globalVertex);
-
-      System.out.println("Added COP activation edge: Context " + contextVertex + " -> Global");
+      factory.getCOPDiagnostics().record(COPDiagnostics.Event.ACTIVATION, contextVertex);
   }
 
 
@@ -207,13 +205,66 @@ public class FlowGraph implements Iterable<Vertex> {
     if (!graph.containsNode(dest)) return OrdinalSet.empty();
 
     compute_optimistic_closure(monitor);
-    return optimistic_closure.getReachableSet(dest);
+    return optimistic_closure.getReachingSet(dest);
+  }
+
+  /**
+   * @return a view of this flow graph containing only the vertices of the given COP layer and those
+   *     of the default context
+   */
+  public FlowGraphLayerView getLayerView(String layer) {
+    return new FlowGraphLayerView(graph, factory, factory.internContext(layer));
+  }
+
+  /**
+   * Computes the set of vertices that may reach {@code dest} within the {@link
+   * #getLayerView(String) view} of the given COP layer, along paths not containing an {@link
+   * UnknownVertex}.
+   */
+  public OrdinalSet<FuncVertex> getReachingSet(Vertex dest, String layer, IProgressMonitor monitor)
+      throws CancelException {
+    FlowGraphLayerView view = getLayerView(layer);
+    if (!view.containsNode(dest)) return OrdinalSet.empty();
+
+    int contextId = view.getContextId();
+    while (layer_closures.size() <= contextId) {
+      layer_closures.add(null);
+    }
+    if (layer_closures.get(contextId) == null) {
+      layer_closures.set(contextId, computeClosure(view, monitor, FuncVertex.class));
+    }
+    return layer_closures.get(contextId).getReachingSet(dest);
   }
 
   public Iterator<Vertex> getSucc(Vertex v) {
     return graph.getSuccNodes(v);
   }
 
+  /** @return the number of successors of the vertex numbered {@code v} */
+  public int getSuccCount(int v) {
+    return graph.getSuccCount(v);
+  }
+
+  /** @return the number of the {@code i}-th successor of the vertex numbered {@code v} */
+  public int getSucc(int v, int i) {
+    return graph.getSucc(v, i);
+  }
+
+  /** @return the number of v, assigning one if v has not been numbered yet */
+  public int getNumber(Vertex v) {
+    return factory.number(v);
+  }
+
+  /** @return the vertex numbered {@code v} */
+  public Vertex getVertex(int v) {
+    return factory.getVertex(v);
+  }
+
+  /** @return the largest vertex number in use */
+  public int getMaxNumber() {
+    return factory.getMaxNumber();
+  }
+
   @Override
   public Iterator<Vertex> iterator() {
     return graph.iterator();
@@ -227,11 +278,12 @@ public class FlowGraph implements Iterable<Vertex> {
       private final Map<Pair<PrototypeField, ObjectVertex>, PrototypeFieldVertex> proto =
           HashMapFactory.make();
 
-      private GraphReachability<Vertex, ObjectVertex> pointerAnalysis =
-          computeClosure(graph, monitor, ObjectVertex.class);
-
       private final ExtensionGraph<Vertex> dataflow = new ExtensionGraph<>(graph);
 
+      // updated incrementally as prototype edges are added to dataflow
+      private final FlowGraphClosure<ObjectVertex> pointerAnalysis =
+          computeClosure(dataflow, monitor, ObjectVertex.class);
+
       private IR getIR(final IAnalysisCacheView cache, FuncVertex func) {
         return cache.getIR(func.getConcreteType().getMethod(AstMethodReference.fnSelector));
       }
@@ -261,15 +313,17 @@ public class FlowGraph implements Iterable<Vertex> {
                     if (!dataflow.containsNode(prototype)) {
                       dataflow.addNode(prototype);
                     }
-                    dataflow.addEdge(p, prototype);
+                    if (!dataflow.hasEdge(p, prototype)) {
+                      dataflow.addEdge(p, prototype);
+                      pointerAnalysis.addEdge(
+                          dataflow.getNumber(p), dataflow.getNumber(prototype));
+                    }
                   }
                 }
               }
             }
           }
         }
-
-        pointerAnalysis = computeClosure(dataflow, monitor, ObjectVertex.class);
       }
 
       private PrototypeFieldVertex get(PrototypeField f, ObjectVertex o) {
@@ -294,7 +348,7 @@ public class FlowGraph implements Iterable<Vertex> {
       @Override
       public OrdinalSet<ObjectVertex> getPointsToSet(PointerKey key) {
         if (dataflow.containsNode((Vertex) key)) {
-          return pointerAnalysis.getReachableSet(key);
+          return pointerAnalysis.getReachingSet((Vertex) key);
         } else {
           return OrdinalSet.empty();
         }
@@ -304,11 +358,8 @@ public class FlowGraph implements Iterable<Vertex> {
       @Override
       public OrdinalSet<ObjectVertex> getPointsToSet(PointerKey key) {
           if (dataflow.containsNode((Vertex) key)) {
-              return pointerAnalysis.getReachableSet(key);
+              return pointerAnalysis.getReachingSet((Vertex) key);
           } else {
-              if (enableCOPAnalysis && key instanceof VarVertex) {
-                  System.out.println("COP PointsTo Analysis: " + key);
-              }
               return OrdinalSet.empty();
           }
       }
@@ -682,10 +733,6 @@ public class FlowGraph implements Iterable<Vertex> {
 	            succs.add(succ.toSourceLevelString(cache));
 	        }
 	    }
-	    
-	    if (enableCOPAnalysis) {
-	        edges.put("COP-Enabled", Set.of("true"));
-	    }
 
 	    // Filter out empty entries
 	    Map<String, Set<String>> filtered = HashMapFactory.make();
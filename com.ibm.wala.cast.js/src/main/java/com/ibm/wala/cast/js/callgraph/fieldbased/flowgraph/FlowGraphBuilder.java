@@ -10,8 +10,6 @@
  */
 package com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph;
 
-import com.ibm.wala.cast.js.ipa.callgraph.AdaptationFinder;
-import com.ibm.wala.cast.js.ipa.callgraph.ActivationFinder;
 import com.ibm.wala.cast.ir.ssa.AstGlobalWrite;
 import com.ibm.wala.cast.ir.ssa.AstLexicalAccess.Access;
 import com.ibm.wala.cast.ir.ssa.AstLexicalRead;
@@ -35,11 +33,14 @@ import com.ibm.wala.cast.js.util.Util;
 import com.ibm.wala.cast.loader.AstMethod;
 import com.ibm.wala.cast.loader.AstMethod.LexicalInformation;
 import com.ibm.wala.cast.types.AstMethodReference;
+import com.ibm.wala.cast.util.COPDiagnostics;
 import com.ibm.wala.classLoader.IClass;
 import com.ibm.wala.classLoader.IMethod;
 import com.ibm.wala.ipa.callgraph.IAnalysisCacheView;
 import com.ibm.wala.ipa.cha.IClassHierarchy;
 import com.ibm.wala.ssa.IR;
+import com.ibm.wala.ssa.SSAContextActivateInstruction;
+import com.ibm.wala.ssa.SSAContextAdaptInstruction;
 import com.ibm.wala.ssa.SSAGetCaughtExceptionInstruction;
 import com.ibm.wala.ssa.SSAGetInstruction;
 import com.ibm.wala.ssa.SSAInstruction;
@@ -67,15 +68,26 @@ public class FlowGraphBuilder {
   private final IClassHierarchy cha;
   private final IAnalysisCacheView cache;
   private final boolean supportFullPointerAnalysis;
-	//Feature toggle to selectively enable COP analysis without affecting original functionality
-	private static final boolean enableCOPAnalysis = true;
-
+  private final COPDiagnostics diagnostics;
 
   public FlowGraphBuilder(
       IClassHierarchy cha, IAnalysisCacheView cache, boolean supportPointerAnalysis) {
+    this(cha, cache, supportPointerAnalysis, COPDiagnostics.DISABLED);
+  }
+
+  /** @param diagnostics where COP events seen while building the flow graph are reported */
+  public FlowGraphBuilder(
+      IClassHierarchy cha,
+      IAnalysisCacheView cache,
+      boolean supportPointerAnalysis,
+      COPDiagnostics diagnostics) {
+    if (diagnostics == null) {
+      throw new IllegalArgumentException("diagnostics is null");
+    }
     this.cha = cha;
     this.cache = cache;
     this.supportFullPointerAnalysis = supportPointerAnalysis;
+    this.diagnostics = diagnostics;
   }
 
   /**
@@ -89,13 +101,7 @@ public class FlowGraphBuilder {
    * @return the completed flow graph
    */
   public FlowGraph buildFlowGraph() {
-	  
-    if (!enableCOPAnalysis) {
-	    System.out.println("COP analysis disabled; performing standard analysis.");
-	    return super.buildFlowGraph();
-	}
-
-    FlowGraph flowgraph = new FlowGraph();
+    FlowGraph flowgraph = new FlowGraph(diagnostics);
 
     addPrimitives(flowgraph);
 
@@ -126,15 +132,17 @@ public class FlowGraphBuilder {
 	        }
 	    }
 
-	    // Analyze context adaptation and activation
-	    if (enableCOPAnalysis) {
-	        for (SSAContextAdaptInstruction adapt : AdaptationFinder.findAdaptations(ir)) {
-	            handleContextAdaptation(flowgraph, adapt);
-	        }
+	    // Index and analyze context adaptation and activation
+	    VertexFactory factory = flowgraph.getVertexFactory();
+	    FuncVertex func = factory.makeFuncVertex(method.getDeclaringClass());
+	    COPFactIndex copFacts = flowgraph.getCOPFacts();
+	    copFacts.addFunction(func, ir, factory);
+	    for (SSAContextAdaptInstruction adapt : copFacts.getAdaptations(func)) {
+	        handleContextAdaptation(flowgraph, adapt);
+	    }
 
-	        for (SSAContextActivateInstruction activate : ActivationFinder.findActivations(ir)) {
-	            handleContextActivation(flowgraph, activate);
-	        }
+	    for (SSAContextActivateInstruction activate : copFacts.getActivations(func)) {
+	        handleContextActivation(flowgraph, activate);
 	    }
 
 	    // Process SSA phi and catch instructions (preserve existing logic)
@@ -168,9 +176,7 @@ public class FlowGraphBuilder {
 	      flowgraph.addEdge(contextVertex, objectVertex);
 	      flowgraph.addEdge(contextVertex, traitVertex);
 	      flowgraph.addEdge(objectVertex, traitVertex);
-	
-	      System.out.println("Context.adapt detected: Linking context " + contextVar 
-	                          + " with object " + objectVar + " and trait " + traitVar);
+	      diagnostics.record(COPDiagnostics.Event.ADAPTATION, invoke);
 	
 	      // Rewrite AST: Convert Context.adapt() to a static property assignment
 	      AstGlobalWrite rewriteInst = new AstGlobalWrite(
@@ -198,8 +204,7 @@ public class FlowGraphBuilder {
 
 	      // Model the activation effect by propagating traits to adapted objects
 	      flowgraph.addEdge(contextVertex, factory.makeGlobalVertex());
-
-	      System.out.println("Context.activate detected: Activating context " + contextVar);
+	      diagnostics.record(COPDiagnostics.Event.ACTIVATION, invoke);
 
 	      // Rewrite AST: Convert Context.activate() to static property copying
 	      AstPropertyWrite rewriteInst = new AstPropertyWrite(
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph;
+
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.UnknownVertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.Vertex;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.MonitorUtil;
+import com.ibm.wala.util.MonitorUtil.IProgressMonitor;
+import com.ibm.wala.util.collections.IntStack;
+import com.ibm.wala.util.graph.NumberedGraph;
+import com.ibm.wala.util.intset.BitVector;
+import com.ibm.wala.util.intset.BitVectorIntSet;
+import com.ibm.wala.util.intset.IntIterator;
+import com.ibm.wala.util.intset.IntSet;
+import com.ibm.wala.util.intset.MutableMapping;
+import com.ibm.wala.util.intset.OrdinalSet;
+import java.util.Arrays;
+
+/**
+ * For every vertex of a flow graph, the set of vertices of some type {@code S} (typically {@link
+ * com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.FuncVertex} or {@link
+ * com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.ObjectVertex}) that reach it along
+ * paths not containing an {@link UnknownVertex}.
+ *
+ * <p>{@link #solve} first condenses the strongly connected components of the graph, whose members
+ * all share one reaching set, and then computes these sets in a single pass over the components in
+ * topological order, or-ing whole bit vectors at a time. Edges added to the graph afterwards are
+ * reported through {@link #addEdge(int, int)}, which propagates only the resulting changes instead
+ * of solving again.
+ */
+public class FlowGraphClosure<S> {
+
+  private final NumberedGraph<Vertex> graph;
+
+  // graph, if it is a CompactFlowGraph whose adjacency arrays we can read directly
+  private final CompactFlowGraph compact;
+
+  private final Class<S> type;
+
+  // numbering of the vertices of type S, i.e., the domain of the reaching sets
+  private MutableMapping<S> domain = MutableMapping.make();
+
+  // reaching set of every vertex, by vertex number; the members of a component share one set
+  private BitVectorIntSet[] reach = new BitVectorIntSet[0];
+
+  // component of every vertex, by vertex number
+  private int[] componentOf = new int[0];
+
+  // members of every component, by component number
+  private int[][] members = new int[0][];
+
+  private int numberOfComponents = 0;
+
+  private boolean solved = false;
+
+  public FlowGraphClosure(NumberedGraph<Vertex> graph, Class<S> type) {
+    if (graph == null) {
+      throw new IllegalArgumentException("graph is null");
+    }
+    if (type == null) {
+      throw new IllegalArgumentException("type is null");
+    }
+    this.graph = graph;
+    this.compact = graph instanceof CompactFlowGraph ? (CompactFlowGraph) graph : null;
+    this.type = type;
+  }
+
+  /** @return the numbers of the successors of vertex number n */
+  private int[] succs(int n) {
+    if (compact != null) {
+      int[] result = new int[compact.getSuccCount(n)];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = compact.getSucc(n, i);
+      }
+      return result;
+    } else {
+      IntSet s = graph.getSuccNodeNumbers(graph.getNode(n));
+      int[] result = new int[s.size()];
+      int i = 0;
+      for (IntIterator it = s.intIterator(); it.hasNext(); ) {
+        result[i++] = it.next();
+      }
+      return result;
+    }
+  }
+
+  /** is n a vertex of the pruned graph, i.e., in the graph and not unknown? */
+  private boolean isLive(int n) {
+    Vertex v = graph.getNode(n);
+    return v != null && !(v instanceof UnknownVertex);
+  }
+
+  private void ensureCapacity(int n) {
+    if (n >= reach.length) {
+      int size = Math.max(n + 1, reach.length * 2);
+      reach = Arrays.copyOf(reach, size);
+      int old = componentOf.length;
+      componentOf = Arrays.copyOf(componentOf, size);
+      Arrays.fill(componentOf, old, size, -1);
+    }
+  }
+
+  private int newComponent(int[] nodes) {
+    if (numberOfComponents == members.length) {
+      members = Arrays.copyOf(members, Math.max(16, members.length * 2));
+    }
+    members[numberOfComponents] = nodes;
+    BitVectorIntSet set = new BitVectorIntSet();
+    for (int n : nodes) {
+      componentOf[n] = numberOfComponents;
+      reach[n] = set;
+      Vertex v = graph.getNode(n);
+      if (type.isInstance(v)) {
+        set.add(domain.add(type.cast(v)));
+      }
+    }
+    return numberOfComponents++;
+  }
+
+  /** make sure that vertex n, which may have been added after solving, has a component */
+  private void ensureVertex(int n) {
+    ensureCapacity(n);
+    if (componentOf[n] < 0) {
+      newComponent(new int[] {n});
+    }
+  }
+
+  /** compute the reaching sets of all vertices currently in the graph */
+  public void solve(IProgressMonitor monitor) throws CancelException {
+    domain = MutableMapping.make();
+    reach = new BitVectorIntSet[0];
+    componentOf = new int[0];
+    members = new int[0][];
+    numberOfComponents = 0;
+    int max = graph.getMaxNumber();
+    ensureCapacity(Math.max(max, 0));
+
+    // Tarjan's algorithm, without recursion; components are found in reverse topological order
+    int[] index = new int[max + 1];
+    int[] low = new int[max + 1];
+    Arrays.fill(index, -1);
+    BitVector onStack = new BitVector(max + 1);
+    IntStack stack = new IntStack();
+    IntStack callStack = new IntStack();
+    IntStack edgeStack = new IntStack();
+    int[][] succCache = new int[max + 1][];
+    int[] order = new int[max + 1];
+    int[] componentEnd = new int[max + 1];
+    int found = 0;
+    int nextIndex = 0;
+    int nComponents = 0;
+
+    for (int root = 0; root <= max; root++) {
+      if (index[root] >= 0 || !isLive(root)) {
+        continue;
+      }
+      MonitorUtil.throwExceptionIfCanceled(monitor);
+      index[root] = low[root] = nextIndex++;
+      stack.push(root);
+      onStack.set(root);
+      succCache[root] = succs(root);
+      callStack.push(root);
+      edgeStack.push(0);
+      while (!callStack.isEmpty()) {
+        int v = callStack.peek();
+        int e = edgeStack.pop();
+        int[] vs = succCache[v];
+        if (e < vs.length) {
+          edgeStack.push(e + 1);
+          int w = vs[e];
+          if (!isLive(w)) {
+            continue;
+          }
+          if (index[w] < 0) {
+            index[w] = low[w] = nextIndex++;
+            stack.push(w);
+            onStack.set(w);
+            succCache[w] = succs(w);
+            callStack.push(w);
+            edgeStack.push(0);
+          } else if (onStack.get(w)) {
+            low[v] = Math.min(low[v], index[w]);
+          }
+        } else {
+          callStack.pop();
+          succCache[v] = null;
+          if (!callStack.isEmpty()) {
+            int u = callStack.peek();
+            low[u] = Math.min(low[u], low[v]);
+          }
+          if (low[v] == index[v]) {
+            int w;
+            do {
+              w = stack.pop();
+              onStack.clear(w);
+              order[found++] = w;
+            } while (w != v);
+            componentEnd[nComponents++] = found;
+          }
+        }
+      }
+    }
+
+    // create the components in topological order, so that every component is complete by the
+    // time it is propagated to its successors
+    int[] first = new int[nComponents];
+    for (int c = nComponents - 1; c >= 0; c--) {
+      int start = c == 0 ? 0 : componentEnd[c - 1];
+      first[c] = newComponent(Arrays.copyOfRange(order, start, componentEnd[c]));
+    }
+    for (int c = nComponents - 1; c >= 0; c--) {
+      MonitorUtil.throwExceptionIfCanceled(monitor);
+      int[] nodes = members[first[c]];
+      BitVectorIntSet set = reach[nodes[0]];
+      for (int n : nodes) {
+        for (int w : succs(n)) {
+          if (isLive(w) && reach[w] != set) {
+            reach[w].addAll(set);
+          }
+        }
+      }
+    }
+
+    solved = true;
+  }
+
+  /**
+   * Update the reaching sets after an edge from vertex number {@code from} to vertex number {@code
+   * to} has been added to the graph. Does nothing if the closure has not been solved yet.
+   */
+  public void addEdge(int from, int to) {
+    if (!solved || !isLive(from) || !isLive(to)) {
+      return;
+    }
+    ensureVertex(from);
+    ensureVertex(to);
+    if (reach[from] == reach[to] || !reach[to].addAll(reach[from])) {
+      return;
+    }
+    IntStack worklist = new IntStack();
+    BitVector pending = new BitVector();
+    worklist.push(componentOf[to]);
+    pending.set(componentOf[to]);
+    while (!worklist.isEmpty()) {
+      int c = worklist.pop();
+      pending.clear(c);
+      int[] nodes = members[c];
+      BitVectorIntSet set = reach[nodes[0]];
+      for (int n : nodes) {
+        for (int w : succs(n)) {
+          if (!isLive(w)) {
+            continue;
+          }
+          ensureVertex(w);
+          if (reach[w] != set && reach[w].addAll(set) && !pending.get(componentOf[w])) {
+            pending.set(componentOf[w]);
+            worklist.push(componentOf[w]);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the vertices of type {@code S} that reach v along paths not containing an {@link
+   *     UnknownVertex}, including v itself if it has that type. The result is a snapshot that does
+   *     not change when edges are added later.
+   */
+  public OrdinalSet<S> getReachingSet(Vertex v) {
+    if (!solved) {
+      throw new IllegalStateException("must call solve() before calling getReachingSet()");
+    }
+    if (!graph.containsNode(v) || v instanceof UnknownVertex) {
+      return OrdinalSet.empty();
+    }
+    int n = graph.getNumber(v);
+    ensureVertex(n);
+    return new OrdinalSet<>(new BitVectorIntSet(reach[n]), domain);
+  }
+
+  /** @return number of vertices of type {@code S} seen so far */
+  public int getDomainSize() {
+    return domain.getSize();
+  }
+}
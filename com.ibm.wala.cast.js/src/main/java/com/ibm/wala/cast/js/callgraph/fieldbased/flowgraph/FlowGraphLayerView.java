@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph;
+
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.Vertex;
+import com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices.VertexFactory;
+import com.ibm.wala.util.collections.FilterIterator;
+import com.ibm.wala.util.graph.AbstractNumberedGraph;
+import com.ibm.wala.util.graph.NumberedEdgeManager;
+import com.ibm.wala.util.graph.NumberedNodeManager;
+import com.ibm.wala.util.graph.impl.NumberedNodeIterator;
+import com.ibm.wala.util.intset.IntSet;
+import com.ibm.wala.util.intset.MutableSparseIntSet;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * A read-only view of a {@link CompactFlowGraph} restricted to the vertices of one COP layer
+ * context and the vertices of the default context, which are shared by all layers.
+ *
+ * <p>The view is backed by the graph and reflects later additions to it. Membership of a vertex is
+ * decided from the context id its {@link VertexFactory} recorded when numbering it, so the view
+ * costs nothing to create and does not copy the graph.
+ */
+public class FlowGraphLayerView extends AbstractNumberedGraph<Vertex> {
+
+  private final CompactFlowGraph graph;
+
+  private final VertexFactory factory;
+
+  private final int contextId;
+
+  private final Nodes nodeManager = new Nodes();
+
+  private final Edges edgeManager = new Edges();
+
+  public FlowGraphLayerView(CompactFlowGraph graph, VertexFactory factory, int contextId) {
+    if (graph == null) {
+      throw new IllegalArgumentException("graph is null");
+    }
+    if (factory == null) {
+      throw new IllegalArgumentException("factory is null");
+    }
+    if (contextId < 0 || contextId >= factory.getNumberOfContexts()) {
+      throw new IllegalArgumentException("unknown context id " + contextId);
+    }
+    this.graph = graph;
+    this.factory = factory;
+    this.contextId = contextId;
+  }
+
+  /** @return the context id of the layer seen through this view */
+  public int getContextId() {
+    return contextId;
+  }
+
+  /** is the vertex numbered n in this view? */
+  public boolean containsNode(int n) {
+    if (!graph.containsNode(n)) {
+      return false;
+    }
+    int c = factory.getContextId(n);
+    return c == VertexFactory.DEFAULT_CONTEXT || c == contextId;
+  }
+
+  private boolean inView(Vertex v) {
+    return containsNode(v.getNumber());
+  }
+
+  @Override
+  protected NumberedNodeManager<Vertex> getNodeManager() {
+    return nodeManager;
+  }
+
+  @Override
+  protected NumberedEdgeManager<Vertex> getEdgeManager() {
+    return edgeManager;
+  }
+
+  private int checkedNumberOf(Vertex v) {
+    int n = nodeManager.getNumber(v);
+    if (n < 0) {
+      throw new IllegalArgumentException("node not in view: " + v);
+    }
+    return n;
+  }
+
+  private class Nodes implements NumberedNodeManager<Vertex> {
+
+    @Override
+    public Iterator<Vertex> iterator() {
+      return new FilterIterator<>(graph.iterator(), FlowGraphLayerView.this::inView);
+    }
+
+    @Override
+    public Stream<Vertex> stream() {
+      return graph.stream().filter(FlowGraphLayerView.this::inView);
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+      int result = 0;
+      for (Iterator<Vertex> it = iterator(); it.hasNext(); it.next()) {
+        result++;
+      }
+      return result;
+    }
+
+    @Override
+    public void addNode(Vertex n) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeNode(Vertex n) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean containsNode(Vertex n) {
+      return n != null && getNumber(n) >= 0;
+    }
+
+    @Override
+    public int getNumber(Vertex n) {
+      int number = graph.getNumber(n);
+      return number >= 0 && FlowGraphLayerView.this.containsNode(number) ? number : -1;
+    }
+
+    @Override
+    public Vertex getNode(int number) {
+      return FlowGraphLayerView.this.containsNode(number) ? factory.getVertex(number) : null;
+    }
+
+    @Override
+    public int getMaxNumber() {
+      return graph.getMaxNumber();
+    }
+
+    @Override
+    public Iterator<Vertex> iterateNodes(IntSet s) {
+      return new NumberedNodeIterator<>(s, this);
+    }
+  }
+
+  private class Edges implements NumberedEdgeManager<Vertex> {
+
+    private IntSet succs(int n) {
+      MutableSparseIntSet result = MutableSparseIntSet.makeEmpty();
+      for (int i = 0; i < graph.getSuccCount(n); i++) {
+        int s = graph.getSucc(n, i);
+        if (containsNode(s)) {
+          result.add(s);
+        }
+      }
+      return result;
+    }
+
+    private IntSet preds(int n) {
+      MutableSparseIntSet result = MutableSparseIntSet.makeEmpty();
+      for (int i = 0; i < graph.getPredCount(n); i++) {
+        int p = graph.getPred(n, i);
+        if (containsNode(p)) {
+          result.add(p);
+        }
+      }
+      return result;
+    }
+
+    @Override
+    public Iterator<Vertex> getPredNodes(Vertex n) {
+      return nodeManager.iterateNodes(preds(checkedNumberOf(n)));
+    }
+
+    @Override
+    public int getPredNodeCount(Vertex n) {
+      return preds(checkedNumberOf(n)).size();
+    }
+
+    @Override
+    public Iterator<Vertex> getSuccNodes(Vertex n) {
+      return nodeManager.iterateNodes(succs(checkedNumberOf(n)));
+    }
+
+    @Override
+    public int getSuccNodeCount(Vertex n) {
+      return succs(checkedNumberOf(n)).size();
+    }
+
+    @Override
+    public void addEdge(Vertex src, Vertex dst) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeEdge(Vertex src, Vertex dst) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeAllIncidentEdges(Vertex node) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeIncomingEdges(Vertex node) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeOutgoingEdges(Vertex node) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean hasEdge(Vertex src, Vertex dst) {
+      int from = nodeManager.getNumber(src);
+      int to = nodeManager.getNumber(dst);
+      return from >= 0 && to >= 0 && graph.hasEdge(from, to);
+    }
+
+    @Override
+    public IntSet getSuccNodeNumbers(Vertex node) {
+      return succs(checkedNumberOf(node));
+    }
+
+    @Override
+    public IntSet getPredNodeNumbers(Vertex node) {
+      return preds(checkedNumberOf(node));
+    }
+  }
+}
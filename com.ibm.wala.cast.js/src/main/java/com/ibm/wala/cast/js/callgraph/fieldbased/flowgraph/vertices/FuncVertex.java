@@ -144,7 +144,6 @@ public class FuncVertex extends Vertex implements ObjectVertex {
       assert !sites.hasNext()
           : caller + " --> " + ctor + " @ " + site + " and " + sites.next() + '\n' + caller.getIR();
 
-      System.out.println("Returning creation sites for context: " + context);
       return NonNullSingletonIterator.make(
           Pair.make(caller, NewSiteReference.make(site.getProgramCounter(), klass.getReference())));
   }
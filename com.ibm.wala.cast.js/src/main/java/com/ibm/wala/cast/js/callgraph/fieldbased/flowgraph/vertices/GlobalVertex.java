@@ -18,6 +18,12 @@ public class GlobalVertex extends Vertex implements ObjectVertex {
     return global;
   }
 
+  /** shared by all flow graphs, so its number is fixed rather than assigned by a factory */
+  @Override
+  public int getNumber() {
+    return VertexFactory.GLOBAL_NUMBER;
+  }
+
   @Override
   public IClass getConcreteType() {
     return null;
@@ -21,6 +21,12 @@ public class UnknownVertex extends Vertex {
 
   private UnknownVertex() {}
 
+  /** shared by all flow graphs, so its number is fixed rather than assigned by a factory */
+  @Override
+  public int getNumber() {
+    return VertexFactory.UNKNOWN_NUMBER;
+  }
+
   @Override
   public <T> T accept(VertexVisitor<T> visitor) {
     return visitor.visitUnknownVertex(this);
@@ -19,6 +19,21 @@ import com.ibm.wala.ipa.callgraph.IAnalysisCacheView;
  * @author mschaefer
  */
 public abstract class Vertex {
+  /** number assigned by a {@link VertexFactory}, or -1 if none has been assigned yet */
+  private int number = -1;
+
+  /**
+   * @return the number of this vertex in the flow graph of its {@link VertexFactory}, or -1 if it
+   *     has not been numbered yet
+   */
+  public int getNumber() {
+    return number;
+  }
+
+  void setNumber(int number) {
+    this.number = number;
+  }
+
   public abstract <T> T accept(VertexVisitor<T> visitor);
 
   /**
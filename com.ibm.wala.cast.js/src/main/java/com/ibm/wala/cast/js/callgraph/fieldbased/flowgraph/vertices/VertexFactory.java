@@ -11,45 +11,199 @@
 package com.ibm.wala.cast.js.callgraph.fieldbased.flowgraph.vertices;
 
 import com.ibm.wala.cast.js.ssa.JavaScriptInvoke;
+import com.ibm.wala.cast.util.COPDiagnostics;
 import com.ibm.wala.classLoader.CallSiteReference;
 import com.ibm.wala.classLoader.IClass;
 import com.ibm.wala.classLoader.IMethod;
 import com.ibm.wala.types.TypeReference;
 import com.ibm.wala.util.collections.HashMapFactory;
+import com.ibm.wala.util.collections.LongHashMap;
 import com.ibm.wala.util.collections.Pair;
+import com.ibm.wala.util.intset.MutableMapping;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
  * A vertex factory is associated with a flow graph. It manages its vertex set, making sure that
  * vertices aren't unnecessarily created twice.
  *
+ * <p>Every vertex is also assigned a dense number, which the flow graph uses to represent its edges
+ * as primitive adjacency arrays. Vertices keyed by a function and an int (value number, parameter
+ * index or call site) are interned in {@link LongHashMap}s keyed by the function's number and that
+ * int, so looking them up does not allocate.
+ *
+ * <p>Variable and call vertices may additionally belong to a COP layer context. Context names are
+ * interned to small ints, numbered from {@link #DEFAULT_CONTEXT}, and each context has its own
+ * caches, so a vertex in one layer never evicts or replaces its counterpart in another.
+ *
  * @author mschaefer
  */
 public class VertexFactory {
-  private final Map<Pair<FuncVertex, CallSiteReference>, CallVertex> callVertexCache =
-      HashMapFactory.make();
-  private final Map<Pair<FuncVertex, CallSiteReference>, ReflectiveCallVertex>
-      reflectiveCallVertexCache = HashMapFactory.make();
+  /** number of {@link UnknownVertex#INSTANCE}, which is shared by all factories */
+  public static final int UNKNOWN_NUMBER = 0;
+
+  /** number of {@link GlobalVertex#instance()}, which is shared by all factories */
+  public static final int GLOBAL_NUMBER = 1;
+
+  /** name of the context of vertices that do not belong to any COP layer */
+  public static final String DEFAULT_CONTEXT_NAME = "default";
+
+  /** id of {@link #DEFAULT_CONTEXT_NAME} */
+  public static final int DEFAULT_CONTEXT = 0;
+
+  // all vertices numbered by this factory, indexed by their numbers
+  private final ArrayList<Vertex> vertices = new ArrayList<>();
+
+  // context id of every numbered vertex, indexed by vertex number
+  private int[] contextOf = new int[16];
+
+  // interned context names
+  private final MutableMapping<String> contexts = MutableMapping.make();
+
+  // caches of call and variable vertices, indexed by context id
+  private final ArrayList<LongHashMap<CallVertex>> callVertexCaches = new ArrayList<>();
+  private final ArrayList<LongHashMap<VarVertex>> varVertexCaches = new ArrayList<>();
+
+  private final LongHashMap<CallVertex> callVertexCache;
+  private final LongHashMap<ReflectiveCallVertex> reflectiveCallVertexCache = new LongHashMap<>();
   private final Map<IClass, FuncVertex> funcVertexCache = HashMapFactory.make();
-  private final Map<Pair<FuncVertex, Integer>, ParamVertex> paramVertexCache =
-      HashMapFactory.make();
+  private final LongHashMap<ParamVertex> paramVertexCache = new LongHashMap<>();
   private final Map<String, PropVertex> propVertexCache = HashMapFactory.make();
   private final Map<FuncVertex, RetVertex> retVertexCache = HashMapFactory.make();
   private final Map<FuncVertex, ArgVertex> argVertexCache = HashMapFactory.make();
-  private final Map<Pair<FuncVertex, Integer>, VarVertex> varVertexCache = HashMapFactory.make();
+  private final LongHashMap<VarVertex> varVertexCache;
   private final Map<Pair<String, String>, LexicalVarVertex> lexicalAccessVertexCache =
       HashMapFactory.make();
   private final Map<Pair<IMethod, Integer>, CreationSiteVertex> creationSites =
       HashMapFactory.make();
-  
+
   // Caches for COP
   
   private final Map<String, ContextVertex> contextVertexCache = HashMapFactory.make();
   private final Map<String, TraitVertex> traitVertexCache = HashMapFactory.make();
 
-  //Feature toggle to enable or disable COP analysis without affecting core functionality
-  private static final boolean enableCOPAnalysis = true;
+  private final COPDiagnostics diagnostics;
+
+  public VertexFactory() {
+    this(COPDiagnostics.DISABLED);
+  }
+
+  public VertexFactory(COPDiagnostics diagnostics) {
+    if (diagnostics == null) {
+      throw new IllegalArgumentException("diagnostics is null");
+    }
+    this.diagnostics = diagnostics;
+    internContext(DEFAULT_CONTEXT_NAME);
+    this.callVertexCache = callVertexCaches.get(DEFAULT_CONTEXT);
+    this.varVertexCache = varVertexCaches.get(DEFAULT_CONTEXT);
+    // the shared singletons have fixed numbers, so they are never renumbered here
+    vertices.add(UnknownVertex.INSTANCE);
+    vertices.add(GlobalVertex.instance());
+  }
+
+  /** @return where COP events seen while creating vertices are reported */
+  public COPDiagnostics getCOPDiagnostics() {
+    return diagnostics;
+  }
+
+  /**
+   * Number a vertex that was not created by this factory, such as a vertex derived through {@code
+   * withContext}. Vertices created by this factory are numbered already.
+   *
+   * @return the number of v
+   */
+  public int number(Vertex v) {
+    if (v == null) {
+      throw new IllegalArgumentException("v is null");
+    }
+    int n = v.getNumber();
+    if (n < 0) {
+      n = vertices.size();
+      v.setNumber(n);
+      vertices.add(v);
+      if (n >= contextOf.length) {
+        contextOf = Arrays.copyOf(contextOf, 2 * n);
+      }
+      contextOf[n] = internContext(contextName(v));
+    }
+    return n;
+  }
+
+  private static String contextName(Vertex v) {
+    String context = null;
+    if (v instanceof VarVertex) {
+      context = ((VarVertex) v).getContext();
+    } else if (v instanceof CallVertex) {
+      context = ((CallVertex) v).getContext();
+    } else if (v instanceof FuncVertex) {
+      context = ((FuncVertex) v).getContext();
+    }
+    return context == null ? DEFAULT_CONTEXT_NAME : context;
+  }
+
+  /** @return the id of the given context name, assigning a fresh one if necessary */
+  public int internContext(String context) {
+    if (context == null) {
+      throw new IllegalArgumentException("context is null");
+    }
+    int id = contexts.add(context);
+    if (id == callVertexCaches.size()) {
+      callVertexCaches.add(new LongHashMap<>());
+      varVertexCaches.add(new LongHashMap<>());
+    }
+    return id;
+  }
+
+  /** @return the id of the given context name, or -1 if no vertex uses it */
+  public int getContextId(String context) {
+    return contexts.getMappedIndex(context);
+  }
+
+  /** @return the name of the context with the given id */
+  public String getContextName(int contextId) {
+    return contexts.getMappedObject(contextId);
+  }
+
+  /** @return the number of contexts interned so far, including the default one */
+  public int getNumberOfContexts() {
+    return contexts.getSize();
+  }
+
+  /** @return the context id of the vertex with the given number */
+  public int getContextId(int vertexNumber) {
+    if (getVertex(vertexNumber) == null) {
+      throw new IllegalArgumentException("unknown vertex number " + vertexNumber);
+    }
+    return contextOf[vertexNumber];
+  }
+
+  private <V extends Vertex> V register(V v) {
+    number(v);
+    return v;
+  }
+
+  /** @return the vertex with the given number, or null if there is none */
+  public Vertex getVertex(int number) {
+    return number >= 0 && number < vertices.size() ? vertices.get(number) : null;
+  }
+
+  /** @return the largest number assigned so far */
+  public int getMaxNumber() {
+    return vertices.size() - 1;
+  }
+
+  // numbers func first, so that vertices of functions not made here get distinct keys
+  private long key(FuncVertex func, int index) {
+    int n = number(func);
+    if (getVertex(n) != func) {
+      throw new IllegalArgumentException(func + " was numbered by another factory");
+    }
+    return LongHashMap.key(n, index);
+  }
 
   /**
   public CallVertex makeCallVertex(FuncVertex func, JavaScriptInvoke invk) {
@@ -63,40 +217,67 @@ public class VertexFactory {
   
   public CallVertex makeCallVertex(FuncVertex func, JavaScriptInvoke invk) {
 	    CallSiteReference site = invk.getCallSite();
-	    Pair<FuncVertex, CallSiteReference> key = Pair.make(func, site);
+	    long key = key(func, site.getProgramCounter());
 	    CallVertex value = callVertexCache.get(key);
 	    
 	    if (value == null) {
-	        value = new CallVertex(func, site, invk);
+	        value = register(new CallVertex(func, site, invk));
 	        callVertexCache.put(key, value);
 	    }
-
-	    if (enableCOPAnalysis) {
-	        System.out.println("COP Call Detected: " + func + " at " + site);
-	    }
 	    return value;
 	}
 
+  /**
+   * @return the call vertex for invk in the given COP context; in any context other than the
+   *     default one, this is a layered variant of {@link #makeCallVertex(FuncVertex,
+   *     JavaScriptInvoke)}
+   */
+  public CallVertex makeCallVertex(FuncVertex func, JavaScriptInvoke invk, String context) {
+    CallVertex call = makeCallVertex(func, invk);
+    int contextId = internContext(context);
+    return contextId == DEFAULT_CONTEXT ? call : layer(call, contextId);
+  }
+
+  private CallVertex layer(CallVertex call, int contextId) {
+    LongHashMap<CallVertex> cache = callVertexCaches.get(contextId);
+    long key = key(call.getCaller(), call.getSite().getProgramCounter());
+    CallVertex value = cache.get(key);
+    if (value == null) {
+      cache.put(key, value = register(call.withContext(getContextName(contextId))));
+      diagnostics.record(COPDiagnostics.Event.LAYERED_CALL_VERTEX, value);
+    }
+    return value;
+  }
+
   public ReflectiveCallVertex makeReflectiveCallVertex(FuncVertex func, JavaScriptInvoke invk) {
     CallSiteReference site = invk.getCallSite();
-    Pair<FuncVertex, CallSiteReference> key = Pair.make(func, site);
+    long key = key(func, site.getProgramCounter());
     ReflectiveCallVertex value = reflectiveCallVertexCache.get(key);
     if (value == null) {
-      reflectiveCallVertexCache.put(key, value = new ReflectiveCallVertex(func, site, invk));
+      reflectiveCallVertexCache.put(
+          key, value = register(new ReflectiveCallVertex(func, site, invk)));
     }
     return value;
   }
 
+  /** @return the call vertices of the default context */
   public Iterable<CallVertex> getCallVertices() {
     return callVertexCache.values();
   }
 
+  /** @return the call vertices of the given context */
+  public Iterable<CallVertex> getCallVertices(String context) {
+    int contextId = getContextId(context);
+    return contextId < 0 ? Collections.emptySet() : callVertexCaches.get(contextId).values();
+  }
+
   public CreationSiteVertex makeCreationSiteVertex(
       IMethod method, int instruction, TypeReference createdType) {
     Pair<IMethod, Integer> key = Pair.make(method, instruction);
     CreationSiteVertex value = creationSites.get(key);
     if (value == null) {
-      creationSites.put(key, value = new CreationSiteVertex(method, instruction, createdType));
+      creationSites.put(
+          key, value = register(new CreationSiteVertex(method, instruction, createdType)));
     }
     return value;
   }
@@ -107,7 +288,7 @@ public class VertexFactory {
 
   public FuncVertex makeFuncVertex(IClass klass) {
     FuncVertex value = funcVertexCache.get(klass);
-    if (value == null) funcVertexCache.put(klass, value = new FuncVertex(klass));
+    if (value == null) funcVertexCache.put(klass, value = register(new FuncVertex(klass, null)));
     return value;
   }
 
@@ -116,15 +297,15 @@ public class VertexFactory {
   }
 
   public ParamVertex makeParamVertex(FuncVertex func, int index) {
-    Pair<FuncVertex, Integer> key = Pair.make(func, index);
+    long key = key(func, index);
     ParamVertex value = paramVertexCache.get(key);
-    if (value == null) paramVertexCache.put(key, value = new ParamVertex(func, index));
+    if (value == null) paramVertexCache.put(key, value = register(new ParamVertex(func, index)));
     return value;
   }
 
   public PropVertex makePropVertex(String name) {
     PropVertex value = propVertexCache.get(name);
-    if (value == null) propVertexCache.put(name, value = new PropVertex(name));
+    if (value == null) propVertexCache.put(name, value = register(new PropVertex(name)));
     return value;
   }
 
@@ -134,7 +315,7 @@ public class VertexFactory {
 
   public RetVertex makeRetVertex(FuncVertex func) {
     RetVertex value = retVertexCache.get(func);
-    if (value == null) retVertexCache.put(func, value = new RetVertex(func));
+    if (value == null) retVertexCache.put(func, value = register(new RetVertex(func)));
     return value;
   }
 
@@ -144,7 +325,7 @@ public class VertexFactory {
 
   public ArgVertex makeArgVertex(FuncVertex func) {
     ArgVertex value = argVertexCache.get(func);
-    if (value == null) argVertexCache.put(func, value = new ArgVertex(func));
+    if (value == null) argVertexCache.put(func, value = register(new ArgVertex(func)));
     return value;
   }
 
@@ -165,30 +346,38 @@ public class VertexFactory {
   }
   */
   
-  public VarVertex makeVarVertex(FuncVertex func, int valueNumber, String context) {
-	    Pair<FuncVertex, Integer> key = Pair.make(func, valueNumber);
-	    VarVertex value = varVertexCache.get(key);
-
-	    if (value == null || !value.getContext().equals(context)) {
-	        value = new VarVertex(func, valueNumber, context);
-	        varVertexCache.put(key, value);
-	    }
-
-	    // Handle COP adaptation logic and integration with CallVertex
-	    if (enableCOPAnalysis) {
-	        System.out.println("Creating VarVertex with COP support: " + value);
-
-	        // If there is an associated CallVertex, update its context as well
-	        CallVertex relatedCall = callVertexCache.get(Pair.make(func, CallSiteReference.make(0, value.getFunction().getConcreteType().getReference(), false)));
-	        if (relatedCall != null && !relatedCall.getContext().equals(context)) {
-	            callVertexCache.put(Pair.make(func, relatedCall.getSite()), relatedCall.withContext(context));
-	            System.out.println("Updated CallVertex to match new context: " + relatedCall);
-	        }
-	    }
-	    return value;
-	}
-
+  public VarVertex makeVarVertex(FuncVertex func, int valueNumber) {
+    long key = key(func, valueNumber);
+    VarVertex value = varVertexCache.get(key);
+    if (value == null) {
+      varVertexCache.put(
+          key, value = register(new VarVertex(func, valueNumber, DEFAULT_CONTEXT_NAME)));
+    }
+    return value;
+  }
 
+  /**
+   * @return the vertex for value number valueNumber of func in the given COP context. The first
+   *     time a variable of func is created in a layer, the call vertex at the first call site of
+   *     func is layered as well.
+   */
+  public VarVertex makeVarVertex(FuncVertex func, int valueNumber, String context) {
+    int contextId = internContext(context);
+    if (contextId == DEFAULT_CONTEXT) {
+      return makeVarVertex(func, valueNumber);
+    }
+    LongHashMap<VarVertex> cache = varVertexCaches.get(contextId);
+    long key = key(func, valueNumber);
+    VarVertex value = cache.get(key);
+    if (value == null) {
+      cache.put(key, value = register(new VarVertex(func, valueNumber, context)));
+      CallVertex relatedCall = callVertexCache.get(key(func, 0));
+      if (relatedCall != null) {
+        layer(relatedCall, contextId);
+      }
+    }
+    return value;
+  }
 
   /**
    * Creates a context vertex to represent an execution context in COP.
@@ -197,6 +386,7 @@ public class VertexFactory {
       ContextVertex value = contextVertexCache.get(contextName);
       if (value == null) {
           contextVertexCache.put(contextName, value = new ContextVertex(contextName));
+          diagnostics.record(COPDiagnostics.Event.CONTEXT_VERTEX, value);
       }
       return value;
   }
@@ -213,15 +403,31 @@ public class VertexFactory {
   }
 
   
+  /** @return the variable vertices of all contexts */
   public Iterable<VarVertex> getVarVertices() {
-    return varVertexCache.values();
+    if (varVertexCaches.size() == 1) {
+      return varVertexCache.values();
+    }
+    List<VarVertex> result = new ArrayList<>();
+    for (LongHashMap<VarVertex> cache : varVertexCaches) {
+      for (VarVertex v : cache.values()) {
+        result.add(v);
+      }
+    }
+    return result;
+  }
+
+  /** @return the variable vertices of the given context */
+  public Iterable<VarVertex> getVarVertices(String context) {
+    int contextId = getContextId(context);
+    return contextId < 0 ? Collections.emptySet() : varVertexCaches.get(contextId).values();
   }
 
   public LexicalVarVertex makeLexicalAccessVertex(String definer, String name) {
     Pair<String, String> key = Pair.make(definer, name);
     LexicalVarVertex value = lexicalAccessVertexCache.get(key);
     if (value == null)
-      lexicalAccessVertexCache.put(key, value = new LexicalVarVertex(definer, name));
+      lexicalAccessVertexCache.put(key, value = register(new LexicalVarVertex(definer, name)));
     return value;
   }
   
@@ -233,9 +439,6 @@ public class VertexFactory {
   }
   */
   public GlobalVertex global() {
-	    if (enableCOPAnalysis) {
-	        System.out.println("Accessing Global Context Vertex in COP mode");
-	    }
 	    return global;
 	}
 
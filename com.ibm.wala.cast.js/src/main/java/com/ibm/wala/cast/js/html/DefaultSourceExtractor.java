@@ -28,6 +28,19 @@ public class DefaultSourceExtractor extends DomLessSourceExtractor {
 
   public static Supplier<JSSourceExtractor> factory = DefaultSourceExtractor::new;
 
+  /** makes extractors that keep the extracted scripts in memory */
+  public static Supplier<JSSourceExtractor> inMemoryFactory =
+      () -> new DefaultSourceExtractor(true);
+
+  public DefaultSourceExtractor() {
+    this(false);
+  }
+
+  /** @param inMemory see {@link DomLessSourceExtractor#isInMemory()} */
+  public DefaultSourceExtractor(boolean inMemory) {
+    super(inMemory);
+  }
+
   protected static class HtmlCallBack extends DomLessSourceExtractor.HtmlCallback {
 
     private final HashMap<String, String> constructors = HashMapFactory.make();
@@ -44,6 +44,10 @@ public class DomLessSourceExtractor extends JSSourceExtractor {
 
   public static Supplier<JSSourceExtractor> factory = DomLessSourceExtractor::new;
 
+  /** makes extractors that keep the extracted scripts in memory, see {@link #isInMemory()} */
+  public static Supplier<JSSourceExtractor> inMemoryFactory =
+      () -> new DomLessSourceExtractor(true);
+
   protected interface IGeneratorCallback extends IHtmlCallback {
     void writeToFinalRegion(SourceRegion finalRegion);
   }
@@ -314,6 +318,30 @@ public class DomLessSourceExtractor extends JSSourceExtractor {
   /** for storing the name of the temp file created by extractSources() */
   private File tempFile;
 
+  private final boolean inMemory;
+
+  public DomLessSourceExtractor() {
+    this(false);
+  }
+
+  /**
+   * @param inMemory if true, extracted scripts are kept in memory, rather than written to a
+   *     temporary file to be read back by the translator
+   */
+  public DomLessSourceExtractor(boolean inMemory) {
+    this.inMemory = inMemory;
+  }
+
+  /**
+   * Are extracted scripts kept in memory? If so, {@link #extractSources(URL, IHtmlParser,
+   * IUrlResolver, Reader)} returns {@link MappedSourceStringModule}s, no file is written and {@link
+   * #getTempFile()} returns {@code null}. Unlike temporary files, nothing is left behind, so this
+   * suits extracting many pages, possibly concurrently.
+   */
+  public boolean isInMemory() {
+    return inMemory;
+  }
+
   @Override
   public Set<MappedSourceModule> extractSources(
       URL entrypointUrl, IHtmlParser htmlParser, IUrlResolver urlResolver, Reader inputStreamReader)
@@ -326,6 +354,17 @@ public class DomLessSourceExtractor extends JSSourceExtractor {
     SourceRegion finalRegion = new SourceRegion();
     htmlCallback.writeToFinalRegion(finalRegion);
 
+    if (inMemory) {
+      FileMapping fileMapping = finalRegion.getFileMapping();
+      if (fileMapping == null) {
+        fileMapping = new EmptyFileMapping();
+      }
+      String name = inMemoryModuleName(entrypointUrl);
+      MappedSourceModule module =
+          new MappedSourceStringModule(name, finalRegion.getSource(), entrypointUrl, fileMapping);
+      return Collections.singleton(module);
+    }
+
     // writing the final region into one SourceFileModule.
     File outputFile = createOutputFile(entrypointUrl, DELETE_UPON_EXIT, USE_TEMP_NAME);
     tempFile = outputFile;
@@ -341,6 +380,17 @@ public class DomLessSourceExtractor extends JSSourceExtractor {
     return Collections.singleton(singleFileModule);
   }
 
+  /**
+   * The name of the in-memory module of a page: its file name, distinguished from pages of the same
+   * file name by a hash of its whole URL, so that extracting a page always yields the same name.
+   */
+  static String inMemoryModuleName(URL url) {
+    return new File(url.getFile()).getName()
+        + '_'
+        + Integer.toHexString(url.toExternalForm().hashCode())
+        + ".js";
+  }
+
   protected IGeneratorCallback createHtmlCallback(URL entrypointUrl, IUrlResolver urlResolver) {
     return new HtmlCallback(entrypointUrl, urlResolver);
   }
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.js.html;
+
+import com.ibm.wala.classLoader.Module;
+import com.ibm.wala.classLoader.ModuleEntry;
+import com.ibm.wala.util.collections.NonNullSingletonIterator;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+
+/**
+ * A {@link MappedSourceModule} whose source is held in memory, such as the scripts extracted from
+ * an HTML page. Each call to {@link #getInputStream()} or {@link #getInputReader()} reads the
+ * source afresh, so the module can be translated more than once.
+ */
+public class MappedSourceStringModule implements MappedSourceModule {
+
+  private final String name;
+
+  private final String source;
+
+  private final URL url;
+
+  private final FileMapping fileMapping;
+
+  /**
+   * @param name the name of the module
+   * @param source the source code
+   * @param url the URL positions in the source are reported against, unless mapped by fileMapping
+   * @param fileMapping maps positions in the source to their original positions
+   */
+  public MappedSourceStringModule(String name, String source, URL url, FileMapping fileMapping) {
+    if (source == null) {
+      throw new IllegalArgumentException("source is null");
+    }
+    this.name = name;
+    this.source = source;
+    this.url = url;
+    this.fileMapping = fileMapping;
+  }
+
+  /** @return the source code of this module */
+  public String getSource() {
+    return source;
+  }
+
+  @Override
+  public FileMapping getMapping() {
+    return fileMapping;
+  }
+
+  @Override
+  public Iterator<? extends ModuleEntry> getEntries() {
+    return new NonNullSingletonIterator<>(this);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public boolean isClassFile() {
+    return false;
+  }
+
+  @Override
+  public boolean isSourceFile() {
+    return true;
+  }
+
+  @Override
+  public InputStream getInputStream() {
+    // encoded as a file written by a FileWriter would be, for readers using the default charset
+    return new ByteArrayInputStream(source.getBytes(Charset.defaultCharset()));
+  }
+
+  @Override
+  public Reader getInputReader() {
+    return new StringReader(source);
+  }
+
+  @Override
+  public URL getURL() {
+    return url;
+  }
+
+  @Override
+  public boolean isModuleFile() {
+    return false;
+  }
+
+  @Override
+  public Module asModule() {
+    return this;
+  }
+
+  @Override
+  public String getClassName() {
+    return name;
+  }
+
+  @Override
+  public Module getContainer() {
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return "MappedSourceStringModule:" + name;
+  }
+}
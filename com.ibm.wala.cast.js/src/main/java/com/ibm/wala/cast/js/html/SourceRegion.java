@@ -93,6 +93,16 @@ public class SourceRegion {
     return fileMapping;
   }
 
+  /** @return the source code of this region */
+  public String getSource() {
+    return source.toString();
+  }
+
+  /** @return source location information of this region, or null if it has none */
+  public FileMapping getFileMapping() {
+    return fileMapping;
+  }
+
   public void write(SourceRegion otherRegion) {
     int rangeStart = source.length();
     String text = otherRegion.source.toString();
@@ -20,7 +20,14 @@ import java.io.Reader;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 public class WebUtil {
@@ -58,6 +65,49 @@ public class WebUtil {
     }
   }
 
+  /**
+   * Extract the scripts of several pages concurrently. The pages do not share any state, so the
+   * extractors should keep their scripts in memory, e.g. {@link
+   * DomLessSourceExtractor#inMemoryFactory}, to avoid creating a temporary file for every page.
+   *
+   * @param nThreads number of pages to extract at once
+   * @return the extracted sources of every page, in the order of urls, once per occurrence
+   */
+  public static List<Set<MappedSourceModule>> extractScriptsFromHTML(
+      Collection<URL> urls, Supplier<JSSourceExtractor> fSourceExtractor, int nThreads)
+      throws Error {
+    if (nThreads < 1) {
+      throw new IllegalArgumentException("invalid number of threads: " + nThreads);
+    }
+    ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+    try {
+      List<URL> pages = new ArrayList<>(urls);
+      List<Future<Pair<Set<MappedSourceModule>, File>>> pending = new ArrayList<>(pages.size());
+      for (URL url : pages) {
+        pending.add(pool.submit(() -> extractScriptFromHTML(url, fSourceExtractor)));
+      }
+      List<Set<MappedSourceModule>> result = new ArrayList<>(pages.size());
+      for (int i = 0; i < pages.size(); i++) {
+        try {
+          result.add(pending.get(i).get().fst);
+        } catch (ExecutionException x) {
+          if (x.getCause() instanceof Error) {
+            throw (Error) x.getCause();
+          } else if (x.getCause() instanceof RuntimeException) {
+            throw (RuntimeException) x.getCause();
+          }
+          throw new RuntimeException("trouble with " + pages.get(i), x.getCause());
+        } catch (InterruptedException x) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException("interrupted extracting " + pages.get(i), x);
+        }
+      }
+      return result;
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
   public static void main(String[] args) throws MalformedURLException, Error {
     System.err.println(
         extractScriptFromHTML(
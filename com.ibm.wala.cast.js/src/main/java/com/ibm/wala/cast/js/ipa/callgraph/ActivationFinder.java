@@ -1,8 +1,9 @@
 package com.ibm.wala.cast.js.ipa.callgraph;
 
-import com.ibm.wala.cast.js.ssa.SSAContextActivateInstruction;
+import com.ibm.wala.cast.util.COPDiagnostics;
 import com.ibm.wala.ipa.callgraph.CGNode;
 import com.ibm.wala.ssa.IR;
+import com.ibm.wala.ssa.SSAContextActivateInstruction;
 import com.ibm.wala.ssa.SSAInstruction;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,15 +35,17 @@ public class ActivationFinder {
     }
 
     /**
-     * Prints all detected activations within a function.
+     * Reports all detected activations within a function.
      *
      * @param node The call graph node to analyze.
+     * @param diagnostics Where each activation is recorded.
      */
-    public static void reportActivations(CGNode node) {
-        List<SSAContextActivateInstruction> activations = findActivations(node);
-        for (SSAContextActivateInstruction activate : activations) {
-            System.out.println("Found activation at index " + activate.iIndex() +
-                               " activating context " + activate.getContextVar());
+    public static void reportActivations(CGNode node, COPDiagnostics diagnostics) {
+        if (!diagnostics.isEnabled()) {
+            return;
+        }
+        for (SSAContextActivateInstruction activate : findActivations(node)) {
+            diagnostics.record(COPDiagnostics.Event.ACTIVATION, activate);
         }
     }
 }
@@ -1,8 +1,9 @@
 package com.ibm.wala.cast.js.ipa.callgraph;
 
-import com.ibm.wala.cast.js.ssa.SSAContextAdaptInstruction;
+import com.ibm.wala.cast.util.COPDiagnostics;
 import com.ibm.wala.ipa.callgraph.CGNode;
 import com.ibm.wala.ssa.IR;
+import com.ibm.wala.ssa.SSAContextAdaptInstruction;
 import com.ibm.wala.ssa.SSAInstruction;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,16 +35,17 @@ public class AdaptationFinder {
     }
 
     /**
-     * Prints all detected adaptations within a function.
+     * Reports all detected adaptations within a function.
      *
      * @param node The call graph node to analyze.
+     * @param diagnostics Where each adaptation is recorded.
      */
-    public static void reportAdaptations(CGNode node) {
-        List<SSAContextAdaptInstruction> adaptations = findAdaptations(node);
-        for (SSAContextAdaptInstruction adapt : adaptations) {
-            System.out.println("Found adaptation at index " + adapt.iIndex() + 
-                               " adapting object " + adapt.getObjectVar() +
-                               " with trait " + adapt.getTraitVar());
+    public static void reportAdaptations(CGNode node, COPDiagnostics diagnostics) {
+        if (!diagnostics.isEnabled()) {
+            return;
+        }
+        for (SSAContextAdaptInstruction adapt : findAdaptations(node)) {
+            diagnostics.record(COPDiagnostics.Event.ADAPTATION, adapt);
         }
     }
 }
@@ -10,6 +10,7 @@
  */
 package com.ibm.wala.cast.js.ipa.callgraph;
 
+import com.ibm.wala.cast.util.COPDiagnostics;
 import com.ibm.wala.ipa.callgraph.AnalysisOptions;
 import com.ibm.wala.ipa.callgraph.AnalysisScope;
 import com.ibm.wala.ipa.callgraph.Entrypoint;
@@ -24,6 +25,9 @@ public class JSAnalysisOptions extends AnalysisOptions {
 
   private boolean useLoadFileTargetSelector = true;
 
+  /** where the COP analysis reports its events; records nothing by default */
+  private COPDiagnostics copDiagnostics = COPDiagnostics.DISABLED;
+
   public JSAnalysisOptions(AnalysisScope scope, Iterable<? extends Entrypoint> e) {
     super(scope, e);
   }
@@ -44,4 +48,20 @@ public class JSAnalysisOptions extends AnalysisOptions {
   public void setUseLoadFileTargetSelector(boolean useIt) {
     this.useLoadFileTargetSelector = useIt;
   }
+
+  public COPDiagnostics getCOPDiagnostics() {
+    return copDiagnostics;
+  }
+
+  /**
+   * Set where the COP analysis reports its events. To also count events seen while building IRs,
+   * create the IR factory with {@link
+   * com.ibm.wala.cast.ir.ssa.AstIRFactory#makeDefaultFactory(COPDiagnostics)}.
+   */
+  public void setCOPDiagnostics(COPDiagnostics copDiagnostics) {
+    if (copDiagnostics == null) {
+      throw new IllegalArgumentException("null copDiagnostics");
+    }
+    this.copDiagnostics = copDiagnostics;
+  }
 }
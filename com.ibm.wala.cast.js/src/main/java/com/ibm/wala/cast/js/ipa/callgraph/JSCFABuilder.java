@@ -106,6 +106,19 @@ public abstract class JSCFABuilder extends JSSSAPropagationCallGraphBuilder {
             }
           }
 
+          @Override
+          public boolean hasPropertyNames() {
+            return true;
+          }
+
+          /** Constants name the property their string representation names, if it is known. */
+          @Override
+          public String getPropertyName(InstanceKey I, InstanceKey F) {
+            return F instanceof ConstantKey
+                ? JSCallGraphUtil.simulateToStringForPropertyNames(((ConstantKey<?>) F).getValue())
+                : null;
+          }
+
           /**
            * All values used as property names get implicitly converted to strings in JavaScript.
            */
@@ -16,6 +16,7 @@ import com.ibm.wala.cast.js.ssa.JavaScriptInvoke;
 import com.ibm.wala.cast.js.types.JavaScriptMethods;
 import com.ibm.wala.cast.js.types.JavaScriptTypes;
 import com.ibm.wala.cast.loader.DynamicCallSiteReference;
+import com.ibm.wala.cast.util.COPDiagnostics;
 import com.ibm.wala.cfg.InducedCFG;
 import com.ibm.wala.classLoader.CallSiteReference;
 import com.ibm.wala.classLoader.IMethod;
@@ -43,8 +44,14 @@ public class JSCallGraph extends AstCallGraph {
 
   public static class JSFakeRoot extends ScriptFakeRoot {
 
+    private final COPDiagnostics copDiagnostics;
+
     public JSFakeRoot(IClassHierarchy cha, AnalysisOptions options, IAnalysisCacheView cache) {
       super(fakeRoot, cha.lookupClass(JavaScriptTypes.FakeRoot), cha, options, cache);
+      this.copDiagnostics =
+          options instanceof JSAnalysisOptions
+              ? ((JSAnalysisOptions) options).getCOPDiagnostics()
+              : COPDiagnostics.DISABLED;
     }
 
     @Override
@@ -99,7 +106,7 @@ public class JSCallGraph extends AstCallGraph {
      * Adds flow edges to track the adaptation relationship.
      */
     private void handleContextAdaptation(JavaScriptInvoke invoke, int[] params) {
-        System.out.println("Handling context adaptation at site: " + invoke.getCallSite());
+        copDiagnostics.record(COPDiagnostics.Event.ADAPTATION, invoke.getCallSite());
 
         // Extract the object and trait being adapted from the instruction parameters
         int objectVar = params[1];  // The object being adapted
@@ -114,9 +121,6 @@ public class JSCallGraph extends AstCallGraph {
 
         addEdge(caller, objectNode);
         addEdge(objectNode, traitNode);
-
-        System.out.println("Context.adapt() linking object variable " + objectVar 
-                            + " to trait variable " + traitVar);
     }
     
     /**
@@ -124,7 +128,7 @@ public class JSCallGraph extends AstCallGraph {
      * Ensures proper propagation of context activation effects.
      */
     private void handleContextActivation(JavaScriptInvoke invoke, int[] params) {
-        System.out.println("Handling context activation at site: " + invoke.getCallSite());
+        copDiagnostics.record(COPDiagnostics.Event.ACTIVATION, invoke.getCallSite());
 
         // Extract the context variable from the instruction parameters
         int contextVar = params[1];
@@ -139,8 +143,6 @@ public class JSCallGraph extends AstCallGraph {
         // Add edges to propagate the context activation effect
         addEdge(caller, contextNode);
         addEdge(contextNode, globalNode);
-
-        System.out.println("Context.activate() activated for context variable " + contextVar);
     }
 
     /**
@@ -187,8 +187,37 @@ public class JSCallGraphUtil extends com.ibm.wala.cast.ipa.callgraph.CAstCallGra
 
   public static Set<String> loadAdditionalFile(
       IClassHierarchy cha, JavaScriptLoader cl, ModuleEntry M) throws IOException {
+    CAstEntity tree = translateToCAst(M);
+    return tree == null ? Collections.emptySet() : loadAdditionalFile(cha, cl, M, tree);
+  }
+
+  /**
+   * Translate M to CAst, without touching any class loader. Unlike the translation to IR, this may
+   * run concurrently for different modules, so it can be done ahead of time.
+   *
+   * @return the CAst of M, or null if M could not be translated
+   */
+  public static CAstEntity translateToCAst(ModuleEntry M) throws IOException {
     try {
       TranslatorToCAst toCAst = getTranslatorFactory().make(new CAstImpl(), M);
+      CAstEntity tree = toCAst.translateToCAst();
+      if (DEBUG) {
+        CAstPrinter.printTo(tree, new PrintWriter(System.err));
+      }
+      return tree;
+    } catch (Error | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Translate tree, the CAst of M, to IR in cl and add the resulting classes to cha.
+   *
+   * @return the names of the classes added
+   */
+  public static Set<String> loadAdditionalFile(
+      IClassHierarchy cha, JavaScriptLoader cl, ModuleEntry M, CAstEntity tree) {
+    try {
       final Set<String> names = new HashSet<>();
       AstTranslator toIR =
           new JSAstTranslator(cl) {
@@ -232,21 +261,12 @@ public class JSCallGraphUtil extends com.ibm.wala.cast.ipa.callgraph.CAstCallGra
               }
             }
           };
-      CAstEntity tree;
-      try {
-        tree = toCAst.translateToCAst();
-        if (DEBUG) {
-          CAstPrinter.printTo(tree, new PrintWriter(System.err));
-        }
-        toIR.translate(tree, M);
-        for (String name : names) {
-          IClass fcls = cl.lookupClass(name, cha);
-          cha.addClass(fcls);
-        }
-        return names;
-      } catch (Error e) {
-        return Collections.emptySet();
+      toIR.translate(tree, M);
+      for (String name : names) {
+        IClass fcls = cl.lookupClass(name, cha);
+        cha.addClass(fcls);
       }
+      return names;
     } catch (RuntimeException e) {
       return Collections.emptySet();
     }
@@ -48,6 +48,8 @@ import com.ibm.wala.cast.js.translator.JavaScriptTranslatorFactory;
 import com.ibm.wala.cast.js.types.JavaScriptTypes;
 import com.ibm.wala.cast.loader.AstMethod.DebuggingInformation;
 import com.ibm.wala.cast.loader.CAstAbstractModuleLoader;
+import com.ibm.wala.cast.loader.CAstEntityCache;
+import com.ibm.wala.cast.loader.CAstEntitySerializer;
 import com.ibm.wala.cast.tree.CAst;
 import com.ibm.wala.cast.tree.CAstEntity;
 import com.ibm.wala.cast.tree.CAstQualifier;
@@ -118,6 +120,7 @@ import com.ibm.wala.types.TypeReference;
 import com.ibm.wala.util.collections.HashSetFactory;
 import com.ibm.wala.util.collections.Pair;
 import com.ibm.wala.util.debug.Assertions;
+import java.io.File;
 import java.io.UnsupportedEncodingException;
 import java.util.Collection;
 import java.util.Collections;
@@ -1024,6 +1027,24 @@ public class JavaScriptLoader extends CAstAbstractModuleLoader {
     return translator;
   }
 
+  @Override
+  protected String getCAstCacheConfiguration() {
+    return CAstEntityCache.describe(translatorFactory, preprocessor);
+  }
+
+  /**
+   * @param directory where translations are kept across runs
+   * @return a cache of JavaScript translations that persists them in directory
+   * @see JavaScriptLoaderFactory#setCAstCache(CAstEntityCache)
+   */
+  public static CAstEntityCache makePersistentCAstCache(File directory) {
+    return new CAstEntityCache(
+        directory,
+        new CAstEntitySerializer(
+            Collections.singleton(JSAstTranslator.Any),
+            Collections.singleton(JavaScriptTypes.jsLoader)));
+  }
+
   @Override
   protected TranslatorToIR initTranslator(Set<Pair<CAstEntity, ModuleEntry>> topLevelEntities) {
     return new JSAstTranslator(this);
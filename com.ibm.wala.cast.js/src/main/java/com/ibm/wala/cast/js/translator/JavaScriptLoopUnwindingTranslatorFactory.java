@@ -11,6 +11,7 @@
 package com.ibm.wala.cast.js.translator;
 
 import com.ibm.wala.cast.ir.translator.TranslatorToCAst;
+import com.ibm.wala.cast.loader.CAstEntityCache;
 import com.ibm.wala.cast.tree.CAst;
 import com.ibm.wala.cast.tree.rewrite.AstLoopUnwinder;
 import com.ibm.wala.classLoader.ModuleEntry;
@@ -18,7 +19,7 @@ import com.ibm.wala.classLoader.SourceFileModule;
 import com.ibm.wala.classLoader.SourceModule;
 
 public abstract class JavaScriptLoopUnwindingTranslatorFactory
-    implements JavaScriptTranslatorFactory {
+    implements JavaScriptTranslatorFactory, CAstEntityCache.Configuration {
   private final int unwindFactor;
 
   protected JavaScriptLoopUnwindingTranslatorFactory(int unwindFactor) {
@@ -45,4 +46,9 @@ public abstract class JavaScriptLoopUnwindingTranslatorFactory
 
     return xlator;
   }
+
+  @Override
+  public String getCAstCacheConfiguration() {
+    return getClass().getName() + " unwind " + unwindFactor;
+  }
 }
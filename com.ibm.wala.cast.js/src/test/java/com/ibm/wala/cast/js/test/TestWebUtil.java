@@ -12,11 +12,22 @@ package com.ibm.wala.cast.js.test;
 
 import com.ibm.wala.cast.ir.translator.TranslatorToCAst.Error;
 import com.ibm.wala.cast.js.html.DefaultSourceExtractor;
+import com.ibm.wala.cast.js.html.DomLessSourceExtractor;
 import com.ibm.wala.cast.js.html.MappedSourceModule;
+import com.ibm.wala.cast.js.html.MappedSourceStringModule;
 import com.ibm.wala.cast.js.html.WebUtil;
 import com.ibm.wala.core.tests.util.WalaTestCase;
+import com.ibm.wala.util.collections.Pair;
+import com.ibm.wala.util.io.Streams;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -39,4 +50,52 @@ public class TestWebUtil extends WalaTestCase {
         WebUtil.extractScriptFromHTML(url, DefaultSourceExtractor.factory).fst;
     Assert.assertNotNull(mod);
   }
+
+  @Test
+  public void testInMemoryExtraction() throws Error {
+    URL url = getClass().getClassLoader().getResource("ajaxslt/test/xslt.html");
+    Pair<Set<MappedSourceModule>, File> onDisk =
+        WebUtil.extractScriptFromHTML(url, DefaultSourceExtractor.factory);
+    Pair<Set<MappedSourceModule>, File> inMemory =
+        WebUtil.extractScriptFromHTML(url, DefaultSourceExtractor.inMemoryFactory);
+    Assert.assertNull(inMemory.snd);
+    MappedSourceModule module = inMemory.fst.iterator().next();
+    Assert.assertTrue(module instanceof MappedSourceStringModule);
+    Assert.assertNotNull(module.getMapping());
+    // the same script as written to the temporary file
+    try (InputStream s1 = onDisk.fst.iterator().next().getInputStream();
+        InputStream s2 = module.getInputStream()) {
+      Assert.assertArrayEquals(
+          Streams.inputStream2ByteArray(s1), Streams.inputStream2ByteArray(s2));
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  @Test
+  public void testConcurrentExtraction() throws Error {
+    List<URL> urls =
+        Arrays.asList(
+            getClass().getClassLoader().getResource("ajaxslt/test/xslt.html"),
+            getClass().getClassLoader().getResource("ajaxslt/test/xpath.html"),
+            getClass().getClassLoader().getResource("ajaxslt/test/xslt.html"));
+    List<Set<MappedSourceModule>> mods =
+        WebUtil.extractScriptsFromHTML(urls, DomLessSourceExtractor.inMemoryFactory, 2);
+    Assert.assertEquals(urls.size(), mods.size());
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < urls.size(); i++) {
+      Assert.assertEquals(1, mods.get(i).size());
+      MappedSourceModule mod = mods.get(i).iterator().next();
+      Assert.assertEquals(urls.get(i), ((MappedSourceStringModule) mod).getURL());
+      names.add(mod.getName());
+    }
+    // names depend on the page only
+    Assert.assertEquals(names.get(0), names.get(2));
+    Assert.assertNotEquals(names.get(0), names.get(1));
+    Assert.assertEquals(
+        names,
+        WebUtil.extractScriptsFromHTML(urls, DomLessSourceExtractor.inMemoryFactory, 1).stream()
+            .map(mod -> mod.iterator().next().getName())
+            .collect(Collectors.toList()));
+  }
 }
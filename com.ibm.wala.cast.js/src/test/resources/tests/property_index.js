@@ -0,0 +1,16 @@
+function Obj() { }
+
+var o = new Obj();
+var a = "a";
+var b = "b";
+o[a] = function f() { };
+o[b] = function g() { };
+o[1] = 1;
+o["1"] = 2;
+
+for (var i = 0; i < 3; i++) {
+  o["x" + i] = o[a];
+}
+
+var y = o["x" + 1];
+o[a]();
@@ -26,4 +26,24 @@ public interface AstPointerKeyFactory extends PointerKeyFactory {
    * properties of I.
    */
   PointerKey getPointerKeyForObjectCatalog(InstanceKey I);
+
+  /**
+   * Does this factory name the properties that reflective accesses resolve to, through {@link
+   * #getPropertyName(InstanceKey, InstanceKey)}? If so, the builder indexes those accesses by
+   * property in a {@link PropertyKeyIndex}.
+   */
+  default boolean hasPropertyNames() {
+    return false;
+  }
+
+  /**
+   * Name the property of I that F denotes when used as a property name. Reflective accesses to I
+   * through names that denote the same property must resolve to the same pointer keys, and so must
+   * all those through names that denote no one property.
+   *
+   * @return the name of the property, or null if F denotes no one property
+   */
+  default String getPropertyName(InstanceKey I, InstanceKey F) {
+    return null;
+  }
 }
@@ -67,7 +67,7 @@ import com.ibm.wala.ssa.SSAInstruction;
 import com.ibm.wala.ssa.SSAPutInstruction;
 import com.ibm.wala.ssa.SymbolTable;
 import com.ibm.wala.util.collections.HashSetFactory;
-import com.ibm.wala.util.collections.Iterator2Iterable;
+import com.ibm.wala.util.collections.Iterator2Collection;
 import com.ibm.wala.util.collections.Pair;
 import com.ibm.wala.util.debug.Assertions;
 import com.ibm.wala.util.intset.IntSet;
@@ -77,6 +77,7 @@ import com.ibm.wala.util.intset.MutableMapping;
 import java.io.UTFDataFormatException;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 public abstract class AstSSAPropagationCallGraphBuilder extends SSAPropagationCallGraphBuilder {
@@ -117,6 +118,9 @@ public abstract class AstSSAPropagationCallGraphBuilder extends SSAPropagationCa
 
   public abstract GlobalObjectKey getGlobalObject(Atom language);
 
+  /** pointer keys of the properties accessed reflectively, by object and property name */
+  private final PropertyKeyIndex propertyKeyIndex = new PropertyKeyIndex();
+
   protected AstSSAPropagationCallGraphBuilder(
       IMethod fakeRootClass,
       AnalysisOptions options,
@@ -125,6 +129,11 @@ public abstract class AstSSAPropagationCallGraphBuilder extends SSAPropagationCa
     super(fakeRootClass, options, cache, pointerKeyFactory);
   }
 
+  /** @return the index of the pointer keys of properties accessed reflectively */
+  public PropertyKeyIndex getPropertyKeyIndex() {
+    return propertyKeyIndex;
+  }
+
   public SSAContextInterpreter makeDefaultContextInterpreters(
       SSAContextInterpreter appContextInterpreter, AnalysisOptions options, IClassHierarchy cha) {
     SSAContextInterpreter c = new DefaultSSAInterpreter(options, getAnalysisCache());
@@ -983,6 +992,70 @@ public abstract class AstSSAPropagationCallGraphBuilder extends SSAPropagationCa
       }
     }
 
+    /**
+     * The pointer keys of property field of object, as given by {@link
+     * #getPointerKeysForReflectedFieldRead(InstanceKey, InstanceKey)} or {@link
+     * #getPointerKeysForReflectedFieldWrite(InstanceKey, InstanceKey)}. If the pointer key factory
+     * names properties, they are looked up by property in the {@link PropertyKeyIndex} of the
+     * builder, and resolved once per object and property.
+     */
+    private PointerKey[] getPointerKeysForReflectedField(
+        boolean isLoadOperation, int objPtr, InstanceKey object, InstanceKey field) {
+      AstPointerKeyFactory factory = (AstPointerKeyFactory) getBuilder().getPointerKeyFactory();
+      PropertyKeyIndex index = null;
+      int property = PropertyKeyIndex.ANY_PROPERTY;
+      if (factory.hasPropertyNames()) {
+        index = getBuilder().getPropertyKeyIndex();
+        property = index.getPropertyId(factory.getPropertyName(object, field));
+        PointerKey[] keys = index.get(isLoadOperation, objPtr, property);
+        if (keys != null) {
+          return keys;
+        }
+      }
+      List<PointerKey> list =
+          Iterator2Collection.toList(
+              isLoadOperation
+                  ? getPointerKeysForReflectedFieldRead(object, field)
+                  : getPointerKeysForReflectedFieldWrite(object, field));
+      PointerKey[] keys = list.toArray(new PointerKey[0]);
+      if (index != null) {
+        index.put(isLoadOperation, objPtr, property, keys);
+      }
+      return keys;
+    }
+
+    private void fieldOperation(
+        boolean isLoadOperation,
+        ReflectedFieldAction action,
+        int objPtr,
+        InstanceKey object,
+        InstanceKey field,
+        boolean constObj,
+        boolean constProp) {
+      for (PointerKey pkey :
+          getPointerKeysForReflectedField(isLoadOperation, objPtr, object, field)) {
+        AbstractFieldPointerKey key = (AbstractFieldPointerKey) pkey;
+        if (DEBUG_PROPERTIES) action.dump(key, constObj, constProp);
+        action.action(key);
+      }
+    }
+
+    private void fieldOperation(
+        boolean isLoadOperation,
+        ReflectedFieldAction action,
+        InstanceKey object,
+        InstanceKey field,
+        boolean constObj,
+        boolean constProp) {
+      for (PointerKey pkey :
+          getPointerKeysForReflectedField(
+              isLoadOperation, system.findOrCreateIndexForInstanceKey(object), object, field)) {
+        AbstractFieldPointerKey key = (AbstractFieldPointerKey) pkey;
+        if (DEBUG_PROPERTIES) action.dump(key, constObj, constProp);
+        action.action(key);
+      }
+    }
+
     protected void newFieldFullOperation(
         final boolean isLoadOperation,
         final ReflectedFieldAction action,
@@ -993,45 +1066,40 @@ public abstract class AstSSAPropagationCallGraphBuilder extends SSAPropagationCa
             private final MutableIntSet doneReceiver = IntSetUtil.make();
             private final MutableIntSet doneField = IntSetUtil.make();
 
+            private void apply(int rptr, int fptr) {
+              fieldOperation(
+                  isLoadOperation,
+                  action,
+                  rptr,
+                  system.getInstanceKey(rptr),
+                  system.getInstanceKey(fptr),
+                  false,
+                  false);
+            }
+
             @Override
             public byte evaluate(PointsToSetVariable lhs, final PointsToSetVariable[] rhs) {
               final IntSetVariable<?> receivers = rhs[0];
               final IntSetVariable<?> fields = rhs[1];
               if (receivers.getValue() != null && fields.getValue() != null) {
+                // only pairs with a new receiver or a new field need to be visited
                 receivers
                     .getValue()
-                    .foreach(
+                    .foreachExcluding(
+                        doneReceiver,
                         rptr -> {
-                          final InstanceKey receiver = system.getInstanceKey(rptr);
-
                           if (!isLoadOperation) {
-                            PointerKey cat = getPointerKeyForObjectCatalog(receiver);
+                            PointerKey cat =
+                                getPointerKeyForObjectCatalog(system.getInstanceKey(rptr));
                             if (cat != null) {
                               system.newConstraint(cat, assignOperator, fieldKey);
                             }
                           }
-
-                          fields
-                              .getValue()
-                              .foreach(
-                                  fptr -> {
-                                    if (!doneField.contains(fptr) || !doneReceiver.contains(rptr)) {
-                                      InstanceKey field = system.getInstanceKey(fptr);
-                                      for (PointerKey pkey :
-                                          Iterator2Iterable.make(
-                                              isLoadOperation
-                                                  ? getPointerKeysForReflectedFieldRead(
-                                                      receiver, field)
-                                                  : getPointerKeysForReflectedFieldWrite(
-                                                      receiver, field))) {
-                                        AbstractFieldPointerKey key =
-                                            (AbstractFieldPointerKey) pkey;
-                                        if (DEBUG_PROPERTIES) action.dump(key, false, false);
-                                        action.action(key);
-                                      }
-                                    }
-                                  });
+                          fields.getValue().foreach(fptr -> apply(rptr, fptr));
                         });
+                doneReceiver.foreach(
+                    rptr ->
+                        fields.getValue().foreachExcluding(doneField, fptr -> apply(rptr, fptr)));
                 doneReceiver.addAll(receivers.getValue());
                 doneField.addAll(fields.getValue());
               }
@@ -1065,39 +1133,34 @@ public abstract class AstSSAPropagationCallGraphBuilder extends SSAPropagationCa
         final InstanceKey[] fieldsKeys) {
       system.newSideEffect(
           new UnaryOperator<PointsToSetVariable>() {
+            private final MutableIntSet previous = IntSetUtil.make();
+
             @Override
             public byte evaluate(PointsToSetVariable lhs, PointsToSetVariable rhs) {
               final IntSetVariable<?> objects = rhs;
               if (objects.getValue() != null) {
                 objects
                     .getValue()
-                    .foreach(
+                    .foreachExcluding(
+                        previous,
                         optr -> {
                           InstanceKey object = system.getInstanceKey(optr);
                           PointerKey objCatalog = getPointerKeyForObjectCatalog(object);
-                          for (InstanceKey fieldsKey : fieldsKeys) {
-                            if (isLoadOperation) {
-                              for (PointerKey pkey :
-                                  Iterator2Iterable.make(
-                                      getPointerKeysForReflectedFieldRead(object, fieldsKey))) {
-                                AbstractFieldPointerKey key = (AbstractFieldPointerKey) pkey;
-                                if (DEBUG_PROPERTIES) action.dump(key, true, false);
-                                action.action(key);
-                              }
-                            } else {
-                              if (objCatalog != null) {
-                                system.newConstraint(objCatalog, fieldsKey);
-                              }
-                              for (PointerKey pkey :
-                                  Iterator2Iterable.make(
-                                      getPointerKeysForReflectedFieldWrite(object, fieldsKey))) {
-                                AbstractFieldPointerKey key = (AbstractFieldPointerKey) pkey;
-                                if (DEBUG_PROPERTIES) action.dump(key, true, false);
-                                action.action(key);
-                              }
+                          for (int i = 0; i < fieldsKeys.length; i++) {
+                            if (!isLoadOperation && objCatalog != null) {
+                              system.newConstraint(objCatalog, fieldsKeys[i]);
                             }
+                            fieldOperation(
+                                isLoadOperation,
+                                action,
+                                optr,
+                                object,
+                                fieldsKeys[i],
+                                true,
+                                false);
                           }
                         });
+                previous.addAll(objects.getValue());
               }
               return NOT_CHANGED;
             }
@@ -1134,29 +1197,36 @@ public abstract class AstSSAPropagationCallGraphBuilder extends SSAPropagationCa
         }
       }
 
+      final int[] objPtrs = new int[objKeys.length];
+      for (int i = 0; i < objKeys.length; i++) {
+        objPtrs[i] = system.findOrCreateIndexForInstanceKey(objKeys[i]);
+      }
       system.newSideEffect(
           new UnaryOperator<PointsToSetVariable>() {
+            private final MutableIntSet previous = IntSetUtil.make();
+
             @Override
             public byte evaluate(PointsToSetVariable lhs, PointsToSetVariable rhs) {
               final IntSetVariable<?> fields = rhs;
               if (fields.getValue() != null) {
                 fields
                     .getValue()
-                    .foreach(
+                    .foreachExcluding(
+                        previous,
                         fptr -> {
                           InstanceKey field = system.getInstanceKey(fptr);
-                          for (InstanceKey objKey : objKeys) {
-                            for (PointerKey pkey :
-                                Iterator2Iterable.make(
-                                    isLoadOperation
-                                        ? getPointerKeysForReflectedFieldRead(objKey, field)
-                                        : getPointerKeysForReflectedFieldWrite(objKey, field))) {
-                              AbstractFieldPointerKey key = (AbstractFieldPointerKey) pkey;
-                              if (DEBUG_PROPERTIES) action.dump(key, false, true);
-                              action.action(key);
-                            }
+                          for (int i = 0; i < objKeys.length; i++) {
+                            fieldOperation(
+                                isLoadOperation,
+                                action,
+                                objPtrs[i],
+                                objKeys[i],
+                                field,
+                                false,
+                                true);
                           }
                         });
+                previous.addAll(fields.getValue());
               }
               return NOT_CHANGED;
             }
@@ -1187,24 +1257,10 @@ public abstract class AstSSAPropagationCallGraphBuilder extends SSAPropagationCa
       for (InstanceKey objKey : objKeys) {
         PointerKey objCatalog = getPointerKeyForObjectCatalog(objKey);
         for (InstanceKey fieldsKey : fieldsKeys) {
-          if (isLoadOperation) {
-            for (PointerKey pkey :
-                Iterator2Iterable.make(getPointerKeysForReflectedFieldRead(objKey, fieldsKey))) {
-              AbstractFieldPointerKey key = (AbstractFieldPointerKey) pkey;
-              if (DEBUG_PROPERTIES) action.dump(key, true, true);
-              action.action(key);
-            }
-          } else {
-            if (objCatalog != null) {
-              system.newConstraint(objCatalog, fieldsKey);
-            }
-            for (PointerKey pkey :
-                Iterator2Iterable.make(getPointerKeysForReflectedFieldWrite(objKey, fieldsKey))) {
-              AbstractFieldPointerKey key = (AbstractFieldPointerKey) pkey;
-              if (DEBUG_PROPERTIES) action.dump(key, true, true);
-              action.action(key);
-            }
+          if (!isLoadOperation && objCatalog != null) {
+            system.newConstraint(objCatalog, fieldsKey);
           }
+          fieldOperation(isLoadOperation, action, objKey, fieldsKey, true, true);
         }
       }
     }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.ipa.callgraph;
+
+import com.ibm.wala.ipa.callgraph.propagation.PointerKey;
+import com.ibm.wala.util.collections.LongHashMap;
+import com.ibm.wala.util.intset.EmptyIntSet;
+import com.ibm.wala.util.intset.IntSet;
+import com.ibm.wala.util.intset.IntSetUtil;
+import com.ibm.wala.util.intset.MutableIntSet;
+import com.ibm.wala.util.intset.MutableMapping;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An index of the field pointer keys that reflective property accesses resolve to, by object and
+ * property.
+ *
+ * <p>Property names are interned to ids, see {@link #getPropertyId(String)}. Every name that
+ * denotes no one property, such as a string computed at run time, shares the id {@link
+ * #ANY_PROPERTY}, so all of them take a single entry per object: they resolve to the wildcard key
+ * of the object alike. Objects are identified by the numbers the propagation system assigned them.
+ * An access then costs one hash lookup per distinct (object, property) match, however many names
+ * denote the property and however many properties the object has. Conversely, {@link
+ * #getObjects(int)} lists the objects a property was accessed on.
+ *
+ * <p>The index is filled by {@link AstSSAPropagationCallGraphBuilder} for pointer key factories
+ * that name properties, see {@link AstPointerKeyFactory#hasPropertyNames()}.
+ */
+public class PropertyKeyIndex {
+
+  /** the id of the names that denote no one property */
+  public static final int ANY_PROPERTY = 0;
+
+  // property names; the id of a name is its index plus one
+  private final MutableMapping<String> names = MutableMapping.make();
+
+  // pointer keys of read and written properties, by object and property id
+  private final LongHashMap<PointerKey[]> reads = new LongHashMap<>();
+
+  private final LongHashMap<PointerKey[]> writes = new LongHashMap<>();
+
+  // the objects each property was accessed on, by property id
+  private final List<MutableIntSet> objects = new ArrayList<>();
+
+  /**
+   * @param name a property name, or null for names that denote no one property
+   * @return the id of the property, interned on first use
+   */
+  public int getPropertyId(String name) {
+    return name == null ? ANY_PROPERTY : names.add(name) + 1;
+  }
+
+  /** @return the name of the property with the given id, or null for {@link #ANY_PROPERTY} */
+  public String getPropertyName(int property) {
+    if (property < ANY_PROPERTY || property > names.getSize()) {
+      throw new IllegalArgumentException("unknown property id " + property);
+    }
+    return property == ANY_PROPERTY ? null : names.getMappedObject(property - 1);
+  }
+
+  /**
+   * @param object the number of the object
+   * @param property the id of the property
+   * @return the pointer keys recorded for the property, or null if none were recorded
+   */
+  public PointerKey[] get(boolean isLoadOperation, int object, int property) {
+    return (isLoadOperation ? reads : writes).get(LongHashMap.key(object, property));
+  }
+
+  /** record the pointer keys for a property of an object */
+  public void put(boolean isLoadOperation, int object, int property, PointerKey[] keys) {
+    (isLoadOperation ? reads : writes).put(LongHashMap.key(object, property), keys);
+    while (objects.size() <= property) {
+      objects.add(null);
+    }
+    if (objects.get(property) == null) {
+      objects.set(property, IntSetUtil.make());
+    }
+    objects.get(property).add(object);
+  }
+
+  /** @return the numbers of the objects the property was read or written on */
+  public IntSet getObjects(int property) {
+    IntSet result = property < objects.size() ? objects.get(property) : null;
+    return result == null ? EmptyIntSet.instance : result;
+  }
+
+  /** @return the number of (object, property) pairs recorded, reads and writes apart */
+  public int size() {
+    return reads.size() + writes.size();
+  }
+}
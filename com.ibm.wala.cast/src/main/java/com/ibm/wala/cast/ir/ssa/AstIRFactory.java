@@ -4,6 +4,7 @@ import com.ibm.wala.cast.ir.ssa.SSAConversion.SSAInformation;
 import com.ibm.wala.cast.loader.AstMethod;
 import com.ibm.wala.cast.loader.AstMethod.LexicalInformation;
 import com.ibm.wala.cast.tree.CAstSourcePositionMap.Position;
+import com.ibm.wala.cast.util.COPDiagnostics;
 import com.ibm.wala.cfg.AbstractCFG;
 import com.ibm.wala.cfg.ControlFlowGraph;
 import com.ibm.wala.cfg.IBasicBlock;
@@ -17,7 +18,19 @@ import java.util.Map.Entry;
 
 public class AstIRFactory<T extends IMethod> implements IRFactory<T> {
 
-    private static final boolean enableCOPAnalysis = Boolean.getBoolean("enableCOPAnalysis");
+    private final COPDiagnostics diagnostics;
+
+    public AstIRFactory() {
+        this(COPDiagnostics.DISABLED);
+    }
+
+    /** @param diagnostics where COP events seen while building IRs are reported */
+    public AstIRFactory(COPDiagnostics diagnostics) {
+        if (diagnostics == null) {
+            throw new IllegalArgumentException("diagnostics is null");
+        }
+        this.diagnostics = diagnostics;
+    }
 
     public ControlFlowGraph<?, ?> makeCFG(final IMethod method) {
         return ((AstMethod) method).getControlFlowGraph();
@@ -49,9 +62,6 @@ public class AstIRFactory<T extends IMethod> implements IRFactory<T> {
 
         @Override
         public IR makeIR(IMethod method, Context context, SSAOptions options) {
-            if (enableCOPAnalysis) {
-                System.out.println("COP Analysis Enabled");
-            }
             return super.makeIR(method, context, options);
         }
 
@@ -73,7 +83,8 @@ public class AstIRFactory<T extends IMethod> implements IRFactory<T> {
             return lexicalInfo;
         }
 
-        private AstIR(AstMethod method, SSAInstruction[] instructions, SymbolTable symbolTable, SSACFG cfg, SSAOptions options) {
+        private AstIR(AstMethod method, SSAInstruction[] instructions, SymbolTable symbolTable, SSACFG cfg, SSAOptions options,
+                COPDiagnostics diagnostics) {
             super(method, instructions, symbolTable, cfg, options);
 
             lexicalInfo = method.cloneLexicalInfo();
@@ -83,7 +94,7 @@ public class AstIRFactory<T extends IMethod> implements IRFactory<T> {
             setupLocationMap();
 
             // Analyze and process COP constructs during IR creation
-            processCOPInstructions();
+            processCOPInstructions(diagnostics);
         }
 
         private void setCatchInstructions(SSACFG ssacfg, AbstractCFG<?, ?> oldcfg) {
@@ -98,10 +109,13 @@ public class AstIRFactory<T extends IMethod> implements IRFactory<T> {
             }
         }
 
-        private void processCOPInstructions() {
+        private void processCOPInstructions(COPDiagnostics diagnostics) {
+            if (!diagnostics.isEnabled()) {
+                return;
+            }
             for (SSAInstruction inst : getInstructions()) {
                 if (inst instanceof AstGlobalWrite || inst instanceof AstPropertyWrite) {
-                    System.out.println("COP instruction detected: " + inst);
+                    diagnostics.record(COPDiagnostics.Event.COP_INSTRUCTION, inst);
                 }
             }
         }
@@ -143,7 +157,8 @@ public class AstIRFactory<T extends IMethod> implements IRFactory<T> {
             instrs,
             ((AstMethod) method).symbolTable().copy(),
             new SSACFG(method, oldCfg, instrs),
-            options
+            options,
+            diagnostics
         );
 
         return newIR;
@@ -160,7 +175,7 @@ public class AstIRFactory<T extends IMethod> implements IRFactory<T> {
             traitVar          // Trait applied
         );
 
-        System.out.println("Handling context adaptation for objectVar: " + objectVar);
+        diagnostics.record(COPDiagnostics.Event.ADAPTATION, invoke);
         return rewriteInst;
     }
 
@@ -174,12 +189,17 @@ public class AstIRFactory<T extends IMethod> implements IRFactory<T> {
             invoke.getUse(0)  // Global object reference
         );
 
-        System.out.println("Handling context activation for contextVar: " + contextVar);
+        diagnostics.record(COPDiagnostics.Event.ACTIVATION, invoke);
         return rewriteInst;
     }
 
     public static IRFactory<IMethod> makeDefaultFactory() {
-        return new AstDefaultIRFactory<>(new AstIRFactory<>());
+        return makeDefaultFactory(COPDiagnostics.DISABLED);
+    }
+
+    /** @param diagnostics where COP events seen while building IRs are reported */
+    public static IRFactory<IMethod> makeDefaultFactory(COPDiagnostics diagnostics) {
+        return new AstDefaultIRFactory<>(new AstIRFactory<>(diagnostics));
     }
 
     @Override
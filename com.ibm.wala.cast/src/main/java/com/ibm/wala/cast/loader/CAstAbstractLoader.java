@@ -51,18 +51,18 @@ public abstract class CAstAbstractLoader implements IClassLoader {
     this(cha, null);
   }
 
-  private Set<Warning> messagesFor(ModuleEntry module) {
+  private synchronized Set<Warning> messagesFor(ModuleEntry module) {
     if (!errors.containsKey(module)) {
       errors.put(module, HashSetFactory.make());
     }
     return errors.get(module);
   }
 
-  public void addMessages(ModuleEntry module, Set<Warning> message) {
+  public synchronized void addMessages(ModuleEntry module, Set<Warning> message) {
     messagesFor(module).addAll(message);
   }
 
-  public void addMessage(ModuleEntry module, Warning message) {
+  public synchronized void addMessage(ModuleEntry module, Warning message) {
     messagesFor(module).add(message);
   }
 
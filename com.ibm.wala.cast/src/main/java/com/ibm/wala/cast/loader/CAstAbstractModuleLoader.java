@@ -49,12 +49,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * abstract class loader that performs CAst and IR generation for relevant entities in a list of
@@ -64,6 +70,8 @@ public abstract class CAstAbstractModuleLoader extends CAstAbstractLoader {
 
   private static final boolean DEBUG = false;
 
+  private static final boolean DEBUG_TIMING = false;
+
   public CAstAbstractModuleLoader(IClassHierarchy cha, IClassLoader parent) {
     super(cha, parent);
   }
@@ -110,16 +118,65 @@ public abstract class CAstAbstractModuleLoader extends CAstAbstractLoader {
    */
   protected void finishTranslation() {}
 
+  /** number of threads that translate modules to CAst; 1 means translate on the calling thread */
+  private int translationThreads = 1;
+
+  /** time spent translating each module entry to CAst, in nanoseconds, in module order */
+  private final Map<ModuleEntry, Long> translationTimes = new LinkedHashMap<>();
+
+  /** translations of unchanged sources; null if translations are not cached */
+  private CAstEntityCache castCache;
+
+  /**
+   * Consult cache before translating a source to CAst, and store new translations in it. Only
+   * languages that describe their translator through {@link #getCAstCacheConfiguration()} use it.
+   */
+  public void setCAstCache(CAstEntityCache cache) {
+    this.castCache = cache;
+  }
+
+  /**
+   * describe everything besides the source text that affects the CAst built for a source, e.g. the
+   * translator and preprocessors used. By default returns null, meaning that translations must not
+   * be cached.
+   */
+  protected String getCAstCacheConfiguration() {
+    return null;
+  }
+
+  /**
+   * Translate independent source modules to CAst on {@code threads} worker threads. Top-level
+   * entities are still merged, and IR is still generated, in module order on the thread calling
+   * {@link #init}, so the result does not depend on the number of threads. Subclasses must only
+   * enable this if their {@link TranslatorToCAst}s do not share mutable state.
+   */
+  public void setTranslationThreads(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("need at least one thread, got " + threads);
+    }
+    this.translationThreads = threads;
+  }
+
+  /**
+   * @return the time, in nanoseconds, spent translating each module entry to CAst during the last
+   *     {@link #init}, in module order; useful to spot pathological sources
+   */
+  public Map<ModuleEntry, Long> getCAstTranslationTimes() {
+    return Collections.unmodifiableMap(translationTimes);
+  }
+
   @Override
   public void init(final List<Module> modules) {
 
     final CAst ast = new CAstImpl();
 
     // convert everything to CAst
-    final Set<Pair<CAstEntity, ModuleEntry>> topLevelEntities = new LinkedHashSet<>();
+    final List<ModuleEntry> entries = new ArrayList<>();
     for (Module module : modules) {
-      translateModuleToCAst(module, ast, topLevelEntities, modules);
+      collectModuleEntries(module, entries);
     }
+    final Set<Pair<CAstEntity, ModuleEntry>> topLevelEntities = new LinkedHashSet<>();
+    translateModuleEntriesToCAst(entries, ast, topLevelEntities, modules);
 
     // generate IR as needed
     final TranslatorToIR xlatorToIR = initTranslator(topLevelEntities);
@@ -145,36 +202,137 @@ public abstract class CAstAbstractModuleLoader extends CAstAbstractLoader {
     finishTranslation();
   }
 
+  /** add all source entries of module, including those of nested modules, to entries */
+  private static void collectModuleEntries(Module module, List<ModuleEntry> entries) {
+    for (ModuleEntry me : Iterator2Iterable.make(module.getEntries())) {
+      if (me.isModuleFile()) {
+        // nested module
+        collectModuleEntries(me.asModule(), entries);
+      } else {
+        entries.add(me);
+      }
+    }
+  }
+
   /**
-   * translate moduleEntry to CAst and store result in topLevelEntities
+   * translate entries to CAst, possibly in parallel, and store the results in topLevelEntities in
+   * the order of entries
    *
-   * @param modules all mofules in the analysis
+   * @param modules all modules in the analysis
    */
-  private void translateModuleEntryToCAst(
-      ModuleEntry moduleEntry,
+  private void translateModuleEntriesToCAst(
+      List<ModuleEntry> entries,
       CAst ast,
       Set<Pair<CAstEntity, ModuleEntry>> topLevelEntities,
       List<Module> modules) {
-    try {
-      if (moduleEntry.isModuleFile()) {
-        // nested module
-        translateModuleToCAst(moduleEntry.asModule(), ast, topLevelEntities, modules);
-      } else {
-        TranslatorToCAst xlatorToCAst = getTranslatorToCAst(ast, moduleEntry, modules);
+    translationTimes.clear();
+    long[] nanos = new long[entries.size()];
+    CAstEntity[] results = new CAstEntity[entries.size()];
+    if (translationThreads == 1 || entries.size() < 2) {
+      for (int i = 0; i < entries.size(); i++) {
+        nanos[i] = System.nanoTime();
+        results[i] = translateModuleEntryToCAst(entries.get(i), ast, modules);
+        nanos[i] = System.nanoTime() - nanos[i];
+      }
+    } else {
+      ExecutorService pool =
+          Executors.newFixedThreadPool(Math.min(translationThreads, entries.size()));
+      try {
+        List<Future<CAstEntity>> futures = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+          final int index = i;
+          futures.add(
+              pool.submit(
+                  () -> {
+                    long start = System.nanoTime();
+                    try {
+                      return translateModuleEntryToCAst(entries.get(index), ast, modules);
+                    } finally {
+                      nanos[index] = System.nanoTime() - start;
+                    }
+                  }));
+        }
+        for (int i = 0; i < entries.size(); i++) {
+          results[i] = getTranslation(futures.get(i));
+        }
+      } finally {
+        pool.shutdownNow();
+      }
+    }
+    for (int i = 0; i < entries.size(); i++) {
+      if (DEBUG_TIMING) {
+        System.err.println("translated " + entries.get(i) + " in " + nanos[i] / 1000000 + "ms");
+      }
+      translationTimes.put(entries.get(i), nanos[i]);
+      if (results[i] != null) {
+        topLevelEntities.add(Pair.make(results[i], entries.get(i)));
+      }
+    }
+  }
 
-        CAstEntity fileEntity = null;
+  private static CAstEntity getTranslation(Future<CAstEntity> future) {
+    boolean interrupted = false;
+    try {
+      while (true) {
         try {
-          fileEntity = xlatorToCAst.translateToCAst();
-
-          if (DEBUG) {
-            CAstPrinter.printTo(fileEntity, new PrintWriter(System.err));
+          return future.get();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          // translateModuleEntryToCAst records ordinary failures as warnings
+          Throwable cause = e.getCause();
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          } else {
+            throw new IllegalStateException(cause);
           }
-          topLevelEntities.add(Pair.make(fileEntity, moduleEntry));
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
 
-        } catch (TranslatorToCAst.Error e) {
-          addMessages(moduleEntry, e.warning);
+  /**
+   * translate a (non-module) moduleEntry to CAst, recording any problem as a warning
+   *
+   * @param modules all modules in the analysis
+   * @return the top-level entity of moduleEntry, or null if it could not be translated
+   */
+  private CAstEntity translateModuleEntryToCAst(
+      ModuleEntry moduleEntry, CAst ast, List<Module> modules) {
+    try {
+      String key = null;
+      String configuration = castCache == null ? null : getCAstCacheConfiguration();
+      if (configuration != null) {
+        key = CAstEntityCache.key(moduleEntry, configuration);
+        CAstEntity cached = castCache.find(key);
+        if (cached != null) {
+          return cached;
         }
       }
+
+      TranslatorToCAst xlatorToCAst = getTranslatorToCAst(ast, moduleEntry, modules);
+
+      CAstEntity fileEntity = null;
+      try {
+        fileEntity = xlatorToCAst.translateToCAst();
+
+        if (DEBUG) {
+          CAstPrinter.printTo(fileEntity, new PrintWriter(System.err));
+        }
+        if (key != null && fileEntity != null) {
+          castCache.cache(key, fileEntity);
+        }
+        return fileEntity;
+
+      } catch (TranslatorToCAst.Error e) {
+        addMessages(moduleEntry, e.warning);
+      }
     } catch (final IOException e) {
       addMessage(
           moduleEntry,
@@ -197,21 +355,7 @@ public abstract class CAstAbstractModuleLoader extends CAstAbstractLoader {
             }
           });
     }
-  }
-
-  /**
-   * translate all relevant entities in the module to CAst, storing the results in topLevelEntities
-   *
-   * @param modules all modules in the analysis
-   */
-  private void translateModuleToCAst(
-      Module module,
-      CAst ast,
-      Set<Pair<CAstEntity, ModuleEntry>> topLevelEntities,
-      List<Module> modules) {
-    for (ModuleEntry me : Iterator2Iterable.make(module.getEntries())) {
-      translateModuleEntryToCAst(me, ast, topLevelEntities, modules);
-    }
+    return null;
   }
 
   public class DynamicCodeBody extends AstFunctionClass {
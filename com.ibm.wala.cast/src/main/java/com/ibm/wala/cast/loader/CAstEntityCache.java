@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.loader;
+
+import com.ibm.wala.cast.tree.CAstEntity;
+import com.ibm.wala.classLoader.ModuleEntry;
+import com.ibm.wala.core.util.ref.CacheReference;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of the top-level {@link CAstEntity} translated from each source {@link ModuleEntry},
+ * keyed by the entry's name, a hash of its contents, and the configuration of the translator that
+ * produced it. CAst trees are immutable, so one cache may be shared by any number of {@link
+ * CAstAbstractModuleLoader}s, and threads, in a process: unchanged sources, such as vendored
+ * libraries, are then parsed and rewritten only once.
+ *
+ * <p>Entries are held through {@link CacheReference}s, so the GC may reclaim them under memory
+ * pressure. A cache made with a directory also writes each entry there, through a {@link
+ * CAstEntitySerializer}, in a file named by its key; a later run, or a lookup after the GC
+ * reclaimed the entry, reads it back instead of translating again. Entries the serializer cannot
+ * write are kept in memory only.
+ *
+ * <p>Translators and rewriters take part in a key through {@link Configuration}. An object that
+ * does not implement it has an unknown configuration, and sources it translates are not cached.
+ */
+public class CAstEntityCache {
+
+  /** Something that affects the CAst built for a source, and can describe how. */
+  public interface Configuration {
+
+    /**
+     * @return a description of every setting of this object that affects the CAst it helps build;
+     *     objects configured differently must return different descriptions
+     */
+    String getCAstCacheConfiguration();
+  }
+
+  private static final CAstEntityCache DEFAULT = new CAstEntityCache();
+
+  /** suffix of the files entries are written to */
+  private static final String SUFFIX = ".cast";
+
+  private final ConcurrentMap<String, Object> entities = new ConcurrentHashMap<>();
+
+  /** where entries are kept across runs; null if they are not */
+  private final File directory;
+
+  /** writes and reads entries in directory */
+  private final CAstEntitySerializer serializer;
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong diskHits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  /** a cache in memory only */
+  public CAstEntityCache() {
+    this(null, null);
+  }
+
+  /**
+   * @param directory where entries are kept across runs, created if need be
+   * @param serializer writes and reads entries in directory
+   */
+  public CAstEntityCache(File directory, CAstEntitySerializer serializer) {
+    if ((directory == null) != (serializer == null)) {
+      throw new IllegalArgumentException("need both a directory and a serializer, or neither");
+    }
+    this.directory = directory;
+    this.serializer = serializer;
+  }
+
+  /** @return a cache shared by the whole process */
+  public static CAstEntityCache getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * @param parts the translators and rewriters used to build a CAst; null parts are skipped
+   * @return a description of the configuration of all parts, or null if some part does not
+   *     implement {@link Configuration}
+   */
+  public static String describe(Object... parts) {
+    StringBuilder result = new StringBuilder();
+    for (Object part : parts) {
+      if (part == null) {
+        continue;
+      }
+      if (!(part instanceof Configuration)) {
+        return null;
+      }
+      String c = ((Configuration) part).getCAstCacheConfiguration();
+      if (c == null) {
+        return null;
+      }
+      result.append(c).append(';');
+    }
+    return result.toString();
+  }
+
+  /**
+   * @param configuration describes everything besides the source text that affects translation,
+   *     e.g. the translator and rewriters used
+   * @return the key under which the translation of entry is cached
+   */
+  public static String key(ModuleEntry entry, String configuration) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    digest.update(configuration.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+    // positions in the CAst refer to the entry, so its name is part of the key too
+    digest.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+    try (InputStream s = entry.getInputStream()) {
+      byte[] buf = new byte[8192];
+      int n;
+      while ((n = s.read(buf)) > 0) {
+        digest.update(buf, 0, n);
+      }
+    }
+    StringBuilder result = new StringBuilder();
+    for (byte b : digest.digest()) {
+      result.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return result.toString();
+  }
+
+  /** @return the entity cached under key, in memory or on disk, or null if none */
+  public CAstEntity find(String key) {
+    Object ref = entities.get(key);
+    CAstEntity result = ref == null ? null : (CAstEntity) CacheReference.get(ref);
+    if (result == null) {
+      if (ref != null) {
+        entities.remove(key, ref);
+      }
+      result = read(key);
+      if (result != null) {
+        entities.put(key, CacheReference.make(result));
+        diskHits.incrementAndGet();
+      }
+    }
+    if (result == null) {
+      misses.incrementAndGet();
+    } else {
+      hits.incrementAndGet();
+    }
+    return result;
+  }
+
+  public void cache(String key, CAstEntity entity) {
+    entities.put(key, CacheReference.make(entity));
+    write(key, entity);
+  }
+
+  /** Forget all entries, in memory and on disk. */
+  public void clear() {
+    entities.clear();
+    if (directory != null) {
+      File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+      if (files != null) {
+        for (File f : files) {
+          f.delete();
+        }
+      }
+    }
+  }
+
+  /** @return the entity written under key, or null if there is none that can be read */
+  private CAstEntity read(String key) {
+    if (directory == null) {
+      return null;
+    }
+    File file = new File(directory, key + SUFFIX);
+    if (!file.isFile()) {
+      return null;
+    }
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      return serializer.read(in);
+    } catch (IOException | RuntimeException e) {
+      // written by an incompatible version, or damaged; translate again and overwrite it
+      return null;
+    }
+  }
+
+  /**
+   * Write entity under key, unless the serializer cannot write it. The file is written under a
+   * temporary name and then renamed, so concurrent readers, in this or other processes, never see
+   * it partially written.
+   */
+  private void write(String key, CAstEntity entity) {
+    if (directory == null) {
+      return;
+    }
+    Path tmp = null;
+    try {
+      Files.createDirectories(directory.toPath());
+      tmp = Files.createTempFile(directory.toPath(), key, ".tmp");
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+        serializer.write(entity, out);
+      }
+      Files.move(
+          tmp,
+          new File(directory, key + SUFFIX).toPath(),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      tmp = null;
+    } catch (IOException e) {
+      // not serializable, or the directory is unusable; the entry stays in memory only
+    } finally {
+      if (tmp != null) {
+        tmp.toFile().delete();
+      }
+    }
+  }
+
+  /** @return number of lookups answered from the cache */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** @return number of lookups answered by reading an entry from disk */
+  public long getDiskHits() {
+    return diskHits.get();
+  }
+
+  /** @return number of lookups that found nothing */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  @Override
+  public String toString() {
+    return "CAst cache: " + entities.size() + " entries, hits: " + hits + ", misses: " + misses;
+  }
+}
@@ -0,0 +1,903 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.loader;
+
+import com.ibm.wala.cast.tree.CAst;
+import com.ibm.wala.cast.tree.CAstAnnotation;
+import com.ibm.wala.cast.tree.CAstControlFlowMap;
+import com.ibm.wala.cast.tree.CAstEntity;
+import com.ibm.wala.cast.tree.CAstNode;
+import com.ibm.wala.cast.tree.CAstNodeTypeMap;
+import com.ibm.wala.cast.tree.CAstQualifier;
+import com.ibm.wala.cast.tree.CAstSourcePositionMap;
+import com.ibm.wala.cast.tree.CAstSourcePositionMap.Position;
+import com.ibm.wala.cast.tree.CAstSymbol;
+import com.ibm.wala.cast.tree.CAstType;
+import com.ibm.wala.cast.tree.impl.AbstractSourcePosition;
+import com.ibm.wala.cast.tree.impl.CAstControlFlowRecorder;
+import com.ibm.wala.cast.tree.impl.CAstImpl;
+import com.ibm.wala.cast.tree.impl.CAstNodeTypeMapRecorder;
+import com.ibm.wala.cast.tree.impl.CAstOperator;
+import com.ibm.wala.cast.tree.impl.CAstSourcePositionRecorder;
+import com.ibm.wala.cast.tree.impl.CAstSymbolImpl;
+import com.ibm.wala.cast.tree.impl.RangePosition;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.TypeReference;
+import com.ibm.wala.util.collections.EmptyIterator;
+import com.ibm.wala.util.collections.HashMapFactory;
+import com.ibm.wala.util.collections.Iterator2Iterable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.NotSerializableException;
+import java.io.Reader;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes a {@link CAstEntity} and the entities scoped in it to a stream, and reads them back, so
+ * that {@link CAstEntityCache} can keep translations across runs. What is written is what
+ * translation to IR reads: the AST, control flow, source positions, node types and the names and
+ * positions of arguments. Node identity is preserved within a stream.
+ *
+ * <p>Constants, control flow labels and symbols are written for the values translators commonly
+ * use: boxed primitives, strings, {@link CAstSymbolImpl}s, the {@link CAstType}s and class loaders
+ * given to the constructor, and {@link TypeReference}s in those loaders. An entity that holds any
+ * other value, or annotations, cannot be written, and {@link #write} throws a {@link
+ * NotSerializableException}. Signatures and qualifiers, which script languages do not have, are
+ * not kept.
+ */
+public class CAstEntitySerializer {
+
+  private static final int MAGIC = 0xCA57E17;
+
+  private static final int VERSION = 1;
+
+  // node tags
+  private static final byte NODE_NULL = 0;
+  private static final byte NODE_REF = 1;
+  private static final byte NODE_NEW = 2;
+  private static final byte NODE_OPERATOR = 3;
+  private static final byte NODE_EXCEPTION_TO_EXIT = 4;
+
+  // value tags
+  private static final byte VALUE_NULL = 0;
+  private static final byte VALUE_STRING = 1;
+  private static final byte VALUE_INT = 2;
+  private static final byte VALUE_LONG = 3;
+  private static final byte VALUE_SHORT = 4;
+  private static final byte VALUE_BYTE = 5;
+  private static final byte VALUE_CHAR = 6;
+  private static final byte VALUE_FLOAT = 7;
+  private static final byte VALUE_DOUBLE = 8;
+  private static final byte VALUE_BOOLEAN = 9;
+  private static final byte VALUE_SYMBOL = 10;
+  private static final byte VALUE_NULL_DEFAULT = 11;
+  private static final byte VALUE_TYPE = 12;
+  private static final byte VALUE_TYPE_REFERENCE = 13;
+  private static final byte VALUE_SWITCH_DEFAULT = 14;
+  private static final byte VALUE_NODE = 15;
+
+  // position tags
+  private static final byte POSITION_NULL = 0;
+  private static final byte POSITION_NO_INFORMATION = 1;
+  private static final byte POSITION_RANGE = 2;
+  private static final byte POSITION_GENERIC = 3;
+
+  /** the built-in operators, by name */
+  private static final Map<Object, CAstOperator> OPERATORS = HashMapFactory.make();
+
+  static {
+    for (Field f : CAstOperator.class.getFields()) {
+      if (Modifier.isStatic(f.getModifiers()) && f.getType() == CAstOperator.class) {
+        try {
+          CAstOperator op = (CAstOperator) f.get(null);
+          OPERATORS.put(op.getValue(), op);
+        } catch (IllegalAccessException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    }
+  }
+
+  /** types that may appear in entities, in the order they are numbered in streams */
+  private final List<CAstType> types;
+
+  /** class loaders of type references that may be written, by name */
+  private final Map<String, ClassLoaderReference> loaders = HashMapFactory.make();
+
+  /**
+   * @param types the types of entities and symbols that may be written; {@link CAstType#DYNAMIC}
+   *     is always allowed
+   * @param loaders the class loaders of {@link TypeReference}s that may be written, besides the
+   *     primordial, extension and application loaders
+   */
+  public CAstEntitySerializer(
+      Collection<CAstType> types, Collection<ClassLoaderReference> loaders) {
+    this.types = new ArrayList<>(types);
+    this.types.add(CAstType.DYNAMIC);
+    for (ClassLoaderReference l :
+        Arrays.asList(
+            ClassLoaderReference.Primordial,
+            ClassLoaderReference.Extension,
+            ClassLoaderReference.Application)) {
+      this.loaders.put(l.getName().toString(), l);
+    }
+    for (ClassLoaderReference l : loaders) {
+      this.loaders.put(l.getName().toString(), l);
+    }
+  }
+
+  /**
+   * @throws NotSerializableException if the entity holds a value this serializer cannot write;
+   *     the stream is then left in an undefined state
+   */
+  public void write(CAstEntity entity, DataOutputStream out) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    new EntityWriter(out).writeEntity(entity);
+  }
+
+  /**
+   * @throws StreamCorruptedException if the stream was not written by a compatible serializer
+   */
+  public CAstEntity read(DataInputStream in) throws IOException {
+    if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+      throw new StreamCorruptedException("not a CAst entity stream of version " + VERSION);
+    }
+    return new EntityReader(in).readEntity();
+  }
+
+  private class EntityWriter {
+    private final DataOutputStream out;
+
+    private final Map<CAstNode, Integer> nodes = new IdentityHashMap<>();
+
+    private final Map<String, Integer> urls = HashMapFactory.make();
+
+    EntityWriter(DataOutputStream out) {
+      this.out = out;
+    }
+
+    void writeString(String s) throws IOException {
+      if (s == null) {
+        out.writeInt(-1);
+      } else {
+        // not writeUTF, which is limited to 64K, less than some scripts' string literals
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+      }
+    }
+
+    void writeEntity(CAstEntity e) throws IOException {
+      if (e.getAnnotations() != null && !e.getAnnotations().isEmpty()) {
+        throw new NotSerializableException("annotations of " + e);
+      }
+      out.writeInt(e.getKind());
+      writeString(e.getName());
+      writeType(e.getType());
+
+      String[] names = e.getArgumentNames();
+      out.writeInt(names == null ? -1 : names.length);
+      if (names != null) {
+        for (String name : names) {
+          writeString(name);
+        }
+      }
+      CAstNode[] defaults = e.getArgumentDefaults();
+      out.writeInt(defaults == null ? -1 : defaults.length);
+      if (defaults != null) {
+        for (CAstNode d : defaults) {
+          writeNode(d);
+        }
+      }
+      int count = e.getArgumentCount();
+      out.writeInt(count);
+
+      writeNode(e.getAST());
+
+      Map<CAstNode, Collection<CAstEntity>> scoped = e.getAllScopedEntities();
+      out.writeInt(scoped.size());
+      for (Map.Entry<CAstNode, Collection<CAstEntity>> s : scoped.entrySet()) {
+        writeNode(s.getKey());
+        out.writeInt(s.getValue().size());
+        for (CAstEntity child : s.getValue()) {
+          writeEntity(child);
+        }
+      }
+
+      CAstControlFlowMap cfg = e.getControlFlow();
+      if (cfg == null) {
+        out.writeInt(-1);
+      } else {
+        Collection<CAstNode> mapped = cfg.getMappedNodes();
+        out.writeInt(mapped.size());
+        for (CAstNode from : mapped) {
+          writeNode(from);
+          Collection<Object> labels = cfg.getTargetLabels(from);
+          out.writeInt(labels.size());
+          for (Object label : labels) {
+            writeValue(label);
+            writeNode(cfg.getTarget(from, label));
+          }
+        }
+      }
+
+      CAstNodeTypeMap nodeTypes = e.getNodeTypeMap();
+      if (nodeTypes == null) {
+        out.writeInt(-1);
+      } else {
+        List<CAstNode> typed = new ArrayList<>();
+        for (CAstNode n : nodeTypes.getMappedNodes()) {
+          if (nodes.containsKey(n)) {
+            typed.add(n);
+          }
+        }
+        out.writeInt(typed.size());
+        for (CAstNode n : typed) {
+          writeNode(n);
+          writeType(nodeTypes.getNodeType(n));
+        }
+      }
+
+      // only positions of nodes that are written anyway
+      CAstSourcePositionMap positions = e.getSourceMap();
+      if (positions == null) {
+        out.writeInt(-1);
+      } else {
+        List<CAstNode> positioned = new ArrayList<>();
+        for (CAstNode n : Iterator2Iterable.make(positions.getMappedNodes())) {
+          if (nodes.containsKey(n)) {
+            positioned.add(n);
+          }
+        }
+        out.writeInt(positioned.size());
+        for (CAstNode n : positioned) {
+          writeNode(n);
+          writePosition(positions.getPosition(n));
+        }
+      }
+
+      writePosition(e.getPosition());
+      writePosition(e.getNamePosition());
+      // translators need not position implicit arguments, e.g. a JavaScript function and this
+      List<Position> argPositions = new ArrayList<>();
+      try {
+        for (int i = 0; i < count; i++) {
+          argPositions.add(e.getPosition(i));
+        }
+      } catch (IndexOutOfBoundsException ex) {
+        // no more positioned arguments
+      }
+      out.writeInt(argPositions.size());
+      for (Position p : argPositions) {
+        writePosition(p);
+      }
+    }
+
+    void writeNode(CAstNode n) throws IOException {
+      if (n == null) {
+        out.writeByte(NODE_NULL);
+        return;
+      }
+      Integer id = nodes.get(n);
+      if (id != null) {
+        out.writeByte(NODE_REF);
+        out.writeInt(id);
+        return;
+      }
+      if (n == CAstControlFlowMap.EXCEPTION_TO_EXIT) {
+        out.writeByte(NODE_EXCEPTION_TO_EXIT);
+      } else if (n instanceof CAstOperator) {
+        if (OPERATORS.get(n.getValue()) != n) {
+          throw new NotSerializableException("operator " + n);
+        }
+        out.writeByte(NODE_OPERATOR);
+        writeString((String) n.getValue());
+      } else {
+        out.writeByte(NODE_NEW);
+        out.writeInt(n.getKind());
+        if (n.getKind() == CAstNode.CONSTANT) {
+          writeValue(n.getValue());
+        } else {
+          if (n.getValue() != null) {
+            throw new NotSerializableException("value of " + n);
+          }
+          List<CAstNode> children = n.getChildren();
+          out.writeInt(children.size());
+          for (CAstNode c : children) {
+            writeNode(c);
+          }
+        }
+      }
+      // numbered after the children, as the reader only has the node once it has those
+      nodes.put(n, nodes.size());
+    }
+
+    void writeType(CAstType type) throws IOException {
+      if (type == null) {
+        out.writeInt(-1);
+        return;
+      }
+      for (int i = 0; i < types.size(); i++) {
+        if (types.get(i) == type) {
+          out.writeInt(i);
+          return;
+        }
+      }
+      throw new NotSerializableException("type " + type.getName());
+    }
+
+    void writeValue(Object v) throws IOException {
+      if (v == null) {
+        out.writeByte(VALUE_NULL);
+      } else if (v instanceof String) {
+        out.writeByte(VALUE_STRING);
+        writeString((String) v);
+      } else if (v instanceof Integer) {
+        out.writeByte(VALUE_INT);
+        out.writeInt((Integer) v);
+      } else if (v instanceof Long) {
+        out.writeByte(VALUE_LONG);
+        out.writeLong((Long) v);
+      } else if (v instanceof Short) {
+        out.writeByte(VALUE_SHORT);
+        out.writeShort((Short) v);
+      } else if (v instanceof Byte) {
+        out.writeByte(VALUE_BYTE);
+        out.writeByte((Byte) v);
+      } else if (v instanceof Character) {
+        out.writeByte(VALUE_CHAR);
+        out.writeChar((Character) v);
+      } else if (v instanceof Float) {
+        out.writeByte(VALUE_FLOAT);
+        out.writeFloat((Float) v);
+      } else if (v instanceof Double) {
+        out.writeByte(VALUE_DOUBLE);
+        out.writeDouble((Double) v);
+      } else if (v instanceof Boolean) {
+        out.writeByte(VALUE_BOOLEAN);
+        out.writeBoolean((Boolean) v);
+      } else if (v.getClass() == CAstSymbolImpl.class) {
+        CAstSymbol s = (CAstSymbol) v;
+        out.writeByte(VALUE_SYMBOL);
+        writeString(s.name());
+        writeType(s.type());
+        out.writeBoolean(s.isFinal());
+        out.writeBoolean(s.isCaseInsensitive());
+        writeValue(s.defaultInitValue());
+      } else if (v == CAstSymbol.NULL_DEFAULT_VALUE) {
+        out.writeByte(VALUE_NULL_DEFAULT);
+      } else if (v instanceof CAstType) {
+        out.writeByte(VALUE_TYPE);
+        writeType((CAstType) v);
+      } else if (v instanceof TypeReference) {
+        TypeReference t = (TypeReference) v;
+        String loader = t.getClassLoader().getName().toString();
+        if (!t.getClassLoader().equals(loaders.get(loader))) {
+          throw new NotSerializableException("loader of " + t);
+        }
+        out.writeByte(VALUE_TYPE_REFERENCE);
+        writeString(loader);
+        writeString(t.getName().toString());
+      } else if (v == CAstControlFlowMap.SWITCH_DEFAULT) {
+        out.writeByte(VALUE_SWITCH_DEFAULT);
+      } else if (v instanceof CAstNode) {
+        out.writeByte(VALUE_NODE);
+        writeNode((CAstNode) v);
+      } else {
+        throw new NotSerializableException(v.getClass().getName());
+      }
+    }
+
+    void writePosition(Position p) throws IOException {
+      if (p == null) {
+        out.writeByte(POSITION_NULL);
+      } else if (p == CAstSourcePositionMap.NO_INFORMATION) {
+        out.writeByte(POSITION_NO_INFORMATION);
+      } else {
+        boolean range = p.getClass() == RangePosition.class;
+        out.writeByte(range ? POSITION_RANGE : POSITION_GENERIC);
+        writeURL(p.getURL());
+        out.writeInt(p.getFirstLine());
+        out.writeInt(p.getLastLine());
+        out.writeInt(p.getFirstOffset());
+        out.writeInt(p.getLastOffset());
+        if (!range) {
+          out.writeInt(p.getFirstCol());
+          out.writeInt(p.getLastCol());
+        }
+      }
+    }
+
+    void writeURL(URL url) throws IOException {
+      if (url == null) {
+        out.writeInt(-1);
+        return;
+      }
+      String s = url.toString();
+      Integer id = urls.get(s);
+      if (id != null) {
+        out.writeInt(id);
+      } else {
+        out.writeInt(urls.size());
+        urls.put(s, urls.size());
+        writeString(s);
+      }
+    }
+  }
+
+  private class EntityReader {
+    private final DataInputStream in;
+
+    private final CAst ast = new CAstImpl();
+
+    private final List<CAstNode> nodes = new ArrayList<>();
+
+    private final List<URL> urls = new ArrayList<>();
+
+    EntityReader(DataInputStream in) {
+      this.in = in;
+    }
+
+    String readString() throws IOException {
+      int length = in.readInt();
+      if (length < 0) {
+        return null;
+      }
+      byte[] bytes = new byte[length];
+      in.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    CAstEntity readEntity() throws IOException {
+      StoredEntity e = new StoredEntity();
+      e.kind = in.readInt();
+      e.name = readString();
+      e.type = readType();
+
+      int nNames = in.readInt();
+      if (nNames >= 0) {
+        e.argumentNames = new String[nNames];
+        for (int i = 0; i < nNames; i++) {
+          e.argumentNames[i] = readString();
+        }
+      }
+      int nDefaults = in.readInt();
+      if (nDefaults >= 0) {
+        e.argumentDefaults = new CAstNode[nDefaults];
+        for (int i = 0; i < nDefaults; i++) {
+          e.argumentDefaults[i] = readNode();
+        }
+      }
+      e.argumentCount = in.readInt();
+
+      e.ast = readNode();
+
+      int nScoped = in.readInt();
+      for (int i = 0; i < nScoped; i++) {
+        CAstNode key = readNode();
+        int n = in.readInt();
+        Collection<CAstEntity> children = new ArrayList<>(n);
+        for (int j = 0; j < n; j++) {
+          children.add(readEntity());
+        }
+        e.scoped.put(key, children);
+      }
+
+      e.positions = new CAstSourcePositionRecorder();
+      int nMapped = in.readInt();
+      if (nMapped >= 0) {
+        CAstControlFlowRecorder cfg = new CAstControlFlowRecorder(e.positions);
+        // the translator may ask for the targets of any node of the AST
+        for (CAstNode n : subtree(e.ast)) {
+          if (!cfg.isMapped(n)) {
+            cfg.map(n, n);
+          }
+        }
+        for (int i = 0; i < nMapped; i++) {
+          CAstNode from = readNode();
+          if (!cfg.isMapped(from)) {
+            cfg.map(from, from);
+          }
+          int nLabels = in.readInt();
+          for (int j = 0; j < nLabels; j++) {
+            Object label = readValue();
+            CAstNode to = readNode();
+            if (!cfg.isMapped(to)) {
+              cfg.map(to, to);
+            }
+            cfg.add(from, to, label);
+          }
+        }
+        e.cfg = cfg;
+      }
+
+      int nTyped = in.readInt();
+      if (nTyped >= 0) {
+        CAstNodeTypeMapRecorder nodeTypes = new CAstNodeTypeMapRecorder();
+        for (int i = 0; i < nTyped; i++) {
+          CAstNode n = readNode();
+          nodeTypes.add(n, readType());
+        }
+        e.nodeTypes = nodeTypes;
+      }
+
+      int nPositioned = in.readInt();
+      if (nPositioned < 0) {
+        e.positions = null;
+      }
+      for (int i = 0; i < nPositioned; i++) {
+        CAstNode n = readNode();
+        e.positions.setPosition(n, readPosition());
+      }
+
+      e.position = readPosition();
+      e.namePosition = readPosition();
+      e.argumentPositions = new Position[in.readInt()];
+      for (int i = 0; i < e.argumentPositions.length; i++) {
+        e.argumentPositions[i] = readPosition();
+      }
+      return e;
+    }
+
+    CAstNode readNode() throws IOException {
+      CAstNode result;
+      byte tag = in.readByte();
+      switch (tag) {
+        case NODE_NULL:
+          return null;
+        case NODE_REF:
+          return nodes.get(in.readInt());
+        case NODE_EXCEPTION_TO_EXIT:
+          result = CAstControlFlowMap.EXCEPTION_TO_EXIT;
+          break;
+        case NODE_OPERATOR:
+          result = OPERATORS.get(readString());
+          if (result == null) {
+            throw new StreamCorruptedException("unknown operator");
+          }
+          break;
+        case NODE_NEW:
+          int kind = in.readInt();
+          if (kind == CAstNode.CONSTANT) {
+            result = ast.makeConstant(readValue());
+          } else {
+            int n = in.readInt();
+            List<CAstNode> children = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+              children.add(readNode());
+            }
+            result = ast.makeNode(kind, children);
+          }
+          break;
+        default:
+          throw new StreamCorruptedException("node tag " + tag);
+      }
+      nodes.add(result);
+      return result;
+    }
+
+    CAstType readType() throws IOException {
+      int i = in.readInt();
+      if (i >= types.size()) {
+        throw new StreamCorruptedException("type " + i);
+      }
+      return i < 0 ? null : types.get(i);
+    }
+
+    Object readValue() throws IOException {
+      byte tag = in.readByte();
+      switch (tag) {
+        case VALUE_NULL:
+          return null;
+        case VALUE_STRING:
+          return readString();
+        case VALUE_INT:
+          return in.readInt();
+        case VALUE_LONG:
+          return in.readLong();
+        case VALUE_SHORT:
+          return in.readShort();
+        case VALUE_BYTE:
+          return in.readByte();
+        case VALUE_CHAR:
+          return in.readChar();
+        case VALUE_FLOAT:
+          return in.readFloat();
+        case VALUE_DOUBLE:
+          return in.readDouble();
+        case VALUE_BOOLEAN:
+          return in.readBoolean();
+        case VALUE_SYMBOL:
+          String name = readString();
+          CAstType type = readType();
+          boolean isFinal = in.readBoolean();
+          boolean isCaseInsensitive = in.readBoolean();
+          return new CAstSymbolImpl(name, type, isFinal, isCaseInsensitive, readValue());
+        case VALUE_NULL_DEFAULT:
+          return CAstSymbol.NULL_DEFAULT_VALUE;
+        case VALUE_TYPE:
+          return readType();
+        case VALUE_TYPE_REFERENCE:
+          ClassLoaderReference loader = loaders.get(readString());
+          if (loader == null) {
+            throw new StreamCorruptedException("unknown class loader");
+          }
+          return TypeReference.findOrCreate(loader, readString());
+        case VALUE_SWITCH_DEFAULT:
+          return CAstControlFlowMap.SWITCH_DEFAULT;
+        case VALUE_NODE:
+          return readNode();
+        default:
+          throw new StreamCorruptedException("value tag " + tag);
+      }
+    }
+
+    Position readPosition() throws IOException {
+      byte tag = in.readByte();
+      switch (tag) {
+        case POSITION_NULL:
+          return null;
+        case POSITION_NO_INFORMATION:
+          return CAstSourcePositionMap.NO_INFORMATION;
+        case POSITION_RANGE:
+        case POSITION_GENERIC:
+          URL url = readURL();
+          int firstLine = in.readInt();
+          int lastLine = in.readInt();
+          int firstOffset = in.readInt();
+          int lastOffset = in.readInt();
+          if (tag == POSITION_RANGE) {
+            return new RangePosition(url, firstLine, lastLine, firstOffset, lastOffset);
+          }
+          int firstCol = in.readInt();
+          int lastCol = in.readInt();
+          return new StoredPosition(
+              url, firstLine, lastLine, firstCol, lastCol, firstOffset, lastOffset);
+        default:
+          throw new StreamCorruptedException("position tag " + tag);
+      }
+    }
+
+    URL readURL() throws IOException {
+      int id = in.readInt();
+      if (id < 0) {
+        return null;
+      } else if (id < urls.size()) {
+        return urls.get(id);
+      } else {
+        URL url = new URL(readString());
+        urls.add(url);
+        return url;
+      }
+    }
+  }
+
+  /** @return the nodes of the tree rooted at root */
+  private static Set<CAstNode> subtree(CAstNode root) {
+    Set<CAstNode> result = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<CAstNode> work = new ArrayDeque<>();
+    if (root != null) {
+      work.push(root);
+    }
+    while (!work.isEmpty()) {
+      CAstNode n = work.pop();
+      if (result.add(n)) {
+        for (CAstNode c : n.getChildren()) {
+          if (c != null) {
+            work.push(c);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /** A position read back from a stream that is not a {@link RangePosition}. */
+  private static final class StoredPosition extends AbstractSourcePosition {
+    private final URL url;
+    private final int firstLine;
+    private final int lastLine;
+    private final int firstCol;
+    private final int lastCol;
+    private final int firstOffset;
+    private final int lastOffset;
+
+    StoredPosition(
+        URL url,
+        int firstLine,
+        int lastLine,
+        int firstCol,
+        int lastCol,
+        int firstOffset,
+        int lastOffset) {
+      this.url = url;
+      this.firstLine = firstLine;
+      this.lastLine = lastLine;
+      this.firstCol = firstCol;
+      this.lastCol = lastCol;
+      this.firstOffset = firstOffset;
+      this.lastOffset = lastOffset;
+    }
+
+    @Override
+    public URL getURL() {
+      return url;
+    }
+
+    @Override
+    public Reader getReader() throws IOException {
+      return new InputStreamReader(url.openStream());
+    }
+
+    @Override
+    public int getFirstLine() {
+      return firstLine;
+    }
+
+    @Override
+    public int getLastLine() {
+      return lastLine;
+    }
+
+    @Override
+    public int getFirstCol() {
+      return firstCol;
+    }
+
+    @Override
+    public int getLastCol() {
+      return lastCol;
+    }
+
+    @Override
+    public int getFirstOffset() {
+      return firstOffset;
+    }
+
+    @Override
+    public int getLastOffset() {
+      return lastOffset;
+    }
+  }
+
+  /** An entity read back from a stream. */
+  private static final class StoredEntity implements CAstEntity {
+    private int kind;
+    private String name;
+    private CAstType type;
+    private String[] argumentNames;
+    private CAstNode[] argumentDefaults;
+    private int argumentCount;
+    private CAstNode ast;
+    private final Map<CAstNode, Collection<CAstEntity>> scoped = new LinkedHashMap<>();
+    private CAstControlFlowMap cfg;
+    private CAstNodeTypeMap nodeTypes;
+    private CAstSourcePositionRecorder positions;
+    private Position position;
+    private Position namePosition;
+    private Position[] argumentPositions;
+
+    @Override
+    public int getKind() {
+      return kind;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public String getSignature() {
+      return null;
+    }
+
+    @Override
+    public String[] getArgumentNames() {
+      return argumentNames;
+    }
+
+    @Override
+    public CAstNode[] getArgumentDefaults() {
+      return argumentDefaults;
+    }
+
+    @Override
+    public int getArgumentCount() {
+      return argumentCount;
+    }
+
+    @Override
+    public Map<CAstNode, Collection<CAstEntity>> getAllScopedEntities() {
+      return Collections.unmodifiableMap(scoped);
+    }
+
+    @Override
+    public Iterator<CAstEntity> getScopedEntities(CAstNode construct) {
+      Collection<CAstEntity> result = scoped.get(construct);
+      return result == null ? EmptyIterator.instance() : result.iterator();
+    }
+
+    @Override
+    public CAstNode getAST() {
+      return ast;
+    }
+
+    @Override
+    public CAstControlFlowMap getControlFlow() {
+      return cfg;
+    }
+
+    @Override
+    public CAstSourcePositionMap getSourceMap() {
+      return positions;
+    }
+
+    @Override
+    public Position getPosition() {
+      return position;
+    }
+
+    @Override
+    public Position getNamePosition() {
+      return namePosition;
+    }
+
+    @Override
+    public Position getPosition(int arg) {
+      return arg < argumentPositions.length ? argumentPositions[arg] : null;
+    }
+
+    @Override
+    public CAstNodeTypeMap getNodeTypeMap() {
+      return nodeTypes;
+    }
+
+    @Override
+    public Collection<CAstQualifier> getQualifiers() {
+      return Collections.emptySet();
+    }
+
+    @Override
+    public CAstType getType() {
+      return type;
+    }
+
+    @Override
+    public Collection<CAstAnnotation> getAnnotations() {
+      return null;
+    }
+
+    @Override
+    public String toString() {
+      return "<stored entity " + name + '>';
+    }
+  }
+}
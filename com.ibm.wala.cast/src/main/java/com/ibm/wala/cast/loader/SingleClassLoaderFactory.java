@@ -30,11 +30,44 @@ public abstract class SingleClassLoaderFactory implements ClassLoaderFactory {
   /** Support synthetic classes */
   private IClassLoader syntheticLoader;
 
+  /** number of threads the loader may use to translate sources to CAst */
+  private int translationThreads = 1;
+
+  /** translations of unchanged sources shared with the loader; null for none */
+  private CAstEntityCache castCache;
+
+  /**
+   * Let the loader reuse CAst translations from cache, if it is a {@link CAstAbstractModuleLoader}.
+   * Must be called before the loader is created.
+   *
+   * @see CAstAbstractModuleLoader#setCAstCache(CAstEntityCache)
+   */
+  public void setCAstCache(CAstEntityCache cache) {
+    this.castCache = cache;
+  }
+
+  /**
+   * Let the loader translate sources to CAst on {@code threads} threads, if it is a {@link
+   * CAstAbstractModuleLoader}. Must be called before the loader is created.
+   *
+   * @see CAstAbstractModuleLoader#setTranslationThreads(int)
+   */
+  public void setTranslationThreads(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("need at least one thread, got " + threads);
+    }
+    this.translationThreads = threads;
+  }
+
   @Override
   public IClassLoader getLoader(
       ClassLoaderReference classLoaderReference, IClassHierarchy cha, AnalysisScope scope) {
     if (THE_LOADER == null) {
       THE_LOADER = makeTheLoader(cha);
+      if (THE_LOADER instanceof CAstAbstractModuleLoader) {
+        ((CAstAbstractModuleLoader) THE_LOADER).setTranslationThreads(translationThreads);
+        ((CAstAbstractModuleLoader) THE_LOADER).setCAstCache(castCache);
+      }
       try {
         THE_LOADER.init(scope.getModules(getTheReference()));
       } catch (java.io.IOException e) {
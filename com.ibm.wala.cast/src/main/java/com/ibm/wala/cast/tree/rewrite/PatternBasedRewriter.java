@@ -31,8 +31,6 @@ public class PatternBasedRewriter extends CAstCloner {
 
       // Check if the current node matches a COP-specific pattern
       if (isCOPRelatedNode(root)) {
-          System.out.println("Handling COP-related node: " + root);
-
           // Handle COP-specific transformations for adapt and activate
           CAstNode rewrittenNode = handleCOPNode(root);
           nodeMap.put(pairKey, rewrittenNode);
@@ -68,7 +66,6 @@ public class PatternBasedRewriter extends CAstCloner {
       CAstNode trait = node.getChild(2);
 
       if ("adapt".equals(functionName)) {
-          System.out.println("Rewriting 'adapt' function call.");
           return Ast.makeNode(CAstNode.APPLY, Ast.makeConstant("adapt_cop"), adaptedO
 
 }
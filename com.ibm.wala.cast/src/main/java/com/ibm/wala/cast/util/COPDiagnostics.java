@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters, and optionally a bounded trace, of the events seen by the context-oriented programming
+ * (COP) analysis: layer adaptations and activations, context vertices, call vertices moved into a
+ * layer context and COP instructions found in IRs.
+ *
+ * <p>Each analysis phase that handles an adapt or activate call (IR construction, flow graph
+ * construction, call graph construction) reports it, so a call may be counted once per phase.
+ *
+ * <p>The shared {@link #DISABLED} instance records nothing; instrumented code only tests a final
+ * field, and builds trace messages only if {@link #isTracing()}.
+ */
+public class COPDiagnostics {
+
+  /** kinds of COP events */
+  public enum Event {
+    /** a {@code Context.adapt} call, linking an object to a layer */
+    ADAPTATION,
+    /** a {@code Context.activate} call */
+    ACTIVATION,
+    /** a vertex representing a COP context */
+    CONTEXT_VERTEX,
+    /** a call vertex moved into a layer context */
+    LAYERED_CALL_VERTEX,
+    /** an IR instruction taking part in COP adaptation or activation */
+    COP_INSTRUCTION
+  }
+
+  /** diagnostics that record nothing */
+  public static final COPDiagnostics DISABLED = new COPDiagnostics(false, 0);
+
+  private final boolean enabled;
+
+  private final int maxTraceSize;
+
+  private final AtomicLongArray counts = new AtomicLongArray(Event.values().length);
+
+  // the most recent trace entries, at most maxTraceSize of them
+  private final ArrayDeque<String> trace = new ArrayDeque<>();
+
+  private long droppedTraceEntries = 0;
+
+  /** diagnostics that only count events */
+  public COPDiagnostics() {
+    this(true, 0);
+  }
+
+  /**
+   * diagnostics that count events and keep a trace of them
+   *
+   * @param maxTraceSize maximum number of trace entries to keep; older entries are dropped first
+   */
+  public COPDiagnostics(int maxTraceSize) {
+    this(true, maxTraceSize);
+  }
+
+  private COPDiagnostics(boolean enabled, int maxTraceSize) {
+    if (maxTraceSize < 0) {
+      throw new IllegalArgumentException("negative trace size " + maxTraceSize);
+    }
+    this.enabled = enabled;
+    this.maxTraceSize = maxTraceSize;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** are trace entries kept? */
+  public boolean isTracing() {
+    return maxTraceSize > 0;
+  }
+
+  /** count an occurrence of event */
+  public void record(Event event) {
+    if (enabled) {
+      counts.incrementAndGet(event.ordinal());
+    }
+  }
+
+  /**
+   * count an occurrence of event and, if tracing, add a trace entry for it
+   *
+   * @param subject the instruction, vertex or call site the event concerns; it is converted to a
+   *     string only if tracing
+   */
+  public void record(Event event, Object subject) {
+    if (enabled) {
+      counts.incrementAndGet(event.ordinal());
+      if (maxTraceSize > 0) {
+        addTraceEntry(event + ": " + subject);
+      }
+    }
+  }
+
+  private synchronized void addTraceEntry(String entry) {
+    if (trace.size() == maxTraceSize) {
+      trace.removeFirst();
+      droppedTraceEntries++;
+    }
+    trace.addLast(entry);
+  }
+
+  /** @return number of occurrences of event recorded so far */
+  public long getCount(Event event) {
+    return counts.get(event.ordinal());
+  }
+
+  /** @return the retained trace entries, oldest first */
+  public synchronized List<String> getTrace() {
+    return new ArrayList<>(trace);
+  }
+
+  /** @return number of trace entries dropped to stay within the maximum trace size */
+  public synchronized long getDroppedTraceEntries() {
+    return droppedTraceEntries;
+  }
+
+  /** reset all counters and clear the trace */
+  public synchronized void reset() {
+    for (int i = 0; i < counts.length(); i++) {
+      counts.set(i, 0);
+    }
+    trace.clear();
+    droppedTraceEntries = 0;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder("COP diagnostics:");
+    for (Event e : Event.values()) {
+      result.append(' ').append(e).append('=').append(getCount(e));
+    }
+    return result.toString();
+  }
+}
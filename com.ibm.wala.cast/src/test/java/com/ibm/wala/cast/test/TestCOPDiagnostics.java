@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.test;
+
+import com.ibm.wala.cast.util.COPDiagnostics;
+import com.ibm.wala.cast.util.COPDiagnostics.Event;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestCOPDiagnostics {
+
+  @Test
+  public void testDisabledRecordsNothing() {
+    COPDiagnostics d = COPDiagnostics.DISABLED;
+    d.record(Event.ADAPTATION);
+    d.record(Event.ACTIVATION, "x");
+    Assert.assertFalse(d.isEnabled());
+    Assert.assertEquals(0, d.getCount(Event.ADAPTATION));
+    Assert.assertEquals(0, d.getCount(Event.ACTIVATION));
+    Assert.assertTrue(d.getTrace().isEmpty());
+  }
+
+  @Test
+  public void testCountersOnly() {
+    COPDiagnostics d = new COPDiagnostics();
+    d.record(Event.ADAPTATION, "a");
+    d.record(Event.ADAPTATION);
+    d.record(Event.CONTEXT_VERTEX, "c");
+    Assert.assertFalse(d.isTracing());
+    Assert.assertEquals(2, d.getCount(Event.ADAPTATION));
+    Assert.assertEquals(1, d.getCount(Event.CONTEXT_VERTEX));
+    Assert.assertEquals(0, d.getCount(Event.LAYERED_CALL_VERTEX));
+    Assert.assertTrue(d.getTrace().isEmpty());
+  }
+
+  @Test
+  public void testBoundedTrace() {
+    COPDiagnostics d = new COPDiagnostics(2);
+    d.record(Event.ACTIVATION, "first");
+    d.record(Event.ACTIVATION, "second");
+    d.record(Event.COP_INSTRUCTION, "third");
+    Assert.assertEquals(
+        Arrays.asList("ACTIVATION: second", "COP_INSTRUCTION: third"), d.getTrace());
+    Assert.assertEquals(1, d.getDroppedTraceEntries());
+
+    d.reset();
+    Assert.assertEquals(0, d.getCount(Event.ACTIVATION));
+    Assert.assertTrue(d.getTrace().isEmpty());
+    Assert.assertEquals(0, d.getDroppedTraceEntries());
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.cast.test;
+
+import com.ibm.wala.cast.ipa.callgraph.PropertyKeyIndex;
+import com.ibm.wala.ipa.callgraph.propagation.PointerKey;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestPropertyKeyIndex {
+
+  private static PointerKey[] keys() {
+    return new PointerKey[] {new PointerKey() {}};
+  }
+
+  @Test
+  public void testPropertyNamesAreInterned() {
+    PropertyKeyIndex index = new PropertyKeyIndex();
+    int a = index.getPropertyId("a");
+    int b = index.getPropertyId("b");
+    Assert.assertNotEquals(a, b);
+    Assert.assertEquals(a, index.getPropertyId(new String("a")));
+    Assert.assertEquals(PropertyKeyIndex.ANY_PROPERTY, index.getPropertyId(null));
+    Assert.assertNotEquals(PropertyKeyIndex.ANY_PROPERTY, a);
+    Assert.assertEquals("b", index.getPropertyName(b));
+    Assert.assertNull(index.getPropertyName(PropertyKeyIndex.ANY_PROPERTY));
+  }
+
+  @Test
+  public void testPairsAreDistinct() {
+    PropertyKeyIndex index = new PropertyKeyIndex();
+    int a = index.getPropertyId("a");
+    int b = index.getPropertyId("b");
+    PointerKey[] ab = keys();
+    PointerKey[] ba = keys();
+    index.put(true, 1, b, ab);
+    index.put(true, 2, a, ba);
+
+    Assert.assertSame(ab, index.get(true, 1, b));
+    Assert.assertSame(ba, index.get(true, 2, a));
+    Assert.assertNull(index.get(true, 1, a));
+    Assert.assertNull(index.get(true, 1, PropertyKeyIndex.ANY_PROPERTY));
+    Assert.assertEquals(2, index.size());
+  }
+
+  @Test
+  public void testReadsAndWritesAreSeparate() {
+    PropertyKeyIndex index = new PropertyKeyIndex();
+    int a = index.getPropertyId("a");
+    PointerKey[] read = keys();
+    PointerKey[] write = keys();
+    index.put(true, 1, a, read);
+    Assert.assertNull(index.get(false, 1, a));
+
+    index.put(false, 1, a, write);
+    Assert.assertSame(read, index.get(true, 1, a));
+    Assert.assertSame(write, index.get(false, 1, a));
+    Assert.assertEquals(2, index.size());
+  }
+
+  @Test
+  public void testObjectsByProperty() {
+    PropertyKeyIndex index = new PropertyKeyIndex();
+    int a = index.getPropertyId("a");
+    int b = index.getPropertyId("b");
+    index.put(true, 1, a, keys());
+    index.put(false, 3, a, keys());
+    index.put(true, 2, PropertyKeyIndex.ANY_PROPERTY, keys());
+
+    Assert.assertEquals(2, index.getObjects(a).size());
+    Assert.assertTrue(index.getObjects(a).contains(1));
+    Assert.assertTrue(index.getObjects(a).contains(3));
+    Assert.assertTrue(index.getObjects(b).isEmpty());
+    Assert.assertTrue(index.getObjects(b + 1).isEmpty());
+    Assert.assertEquals(1, index.getObjects(PropertyKeyIndex.ANY_PROPERTY).size());
+  }
+
+  @Test
+  public void testLargeNumbers() {
+    PropertyKeyIndex index = new PropertyKeyIndex();
+    int a = index.getPropertyId("a");
+    PointerKey[] k = keys();
+    index.put(false, Integer.MAX_VALUE, a, k);
+    Assert.assertSame(k, index.get(false, Integer.MAX_VALUE, a));
+    Assert.assertNull(index.get(false, a, Integer.MAX_VALUE));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownProperty() {
+    new PropertyKeyIndex().getPropertyName(1);
+  }
+}
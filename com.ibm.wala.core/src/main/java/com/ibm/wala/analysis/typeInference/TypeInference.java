@@ -10,11 +10,14 @@
  */
 package com.ibm.wala.analysis.typeInference;
 
+import com.ibm.wala.classLoader.CallSiteReference;
 import com.ibm.wala.classLoader.IClass;
 import com.ibm.wala.classLoader.IMethod;
 import com.ibm.wala.classLoader.Language;
+import com.ibm.wala.classLoader.NewSiteReference;
 import com.ibm.wala.core.util.CancelRuntimeException;
 import com.ibm.wala.dataflow.ssa.SSAInference;
+import com.ibm.wala.dataflow.ssa.SSAInference.PackedOperatorFactory;
 import com.ibm.wala.fixedpoint.impl.NullaryOperator;
 import com.ibm.wala.fixpoint.AbstractOperator;
 import com.ibm.wala.fixpoint.FixedPointConstants;
@@ -23,6 +26,7 @@ import com.ibm.wala.ipa.cha.IClassHierarchy;
 import com.ibm.wala.shrike.shrikeCT.InvalidClassFileException;
 import com.ibm.wala.ssa.IR;
 import com.ibm.wala.ssa.IVisitorWithAddresses;
+import com.ibm.wala.ssa.PackedInstructions;
 import com.ibm.wala.ssa.SSAAbstractInvokeInstruction;
 import com.ibm.wala.ssa.SSAAddressOfInstruction;
 import com.ibm.wala.ssa.SSAArrayLengthInstruction;
@@ -45,13 +49,16 @@ import com.ibm.wala.ssa.SSAPiInstruction;
 import com.ibm.wala.ssa.SSAStoreIndirectInstruction;
 import com.ibm.wala.ssa.SSAUnaryOpInstruction;
 import com.ibm.wala.ssa.SymbolTable;
+import com.ibm.wala.types.FieldReference;
 import com.ibm.wala.types.TypeReference;
 import com.ibm.wala.util.CancelException;
 import com.ibm.wala.util.MonitorUtil.IProgressMonitor;
 import com.ibm.wala.util.collections.Iterator2Iterable;
 import com.ibm.wala.util.debug.Assertions;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
 /** This class performs intraprocedural type propagation on an SSA IR. */
 public class TypeInference extends SSAInference<TypeVariable> implements FixedPointConstants {
@@ -62,9 +69,20 @@ public class TypeInference extends SSAInference<TypeVariable> implements FixedPo
     return new TypeInference(ir, doPrimitives);
   }
 
+  /**
+   * Perform type inference over an IR whose normal instructions are also available in packed form;
+   * the packed form is walked instead of the instruction array.
+   */
+  public static TypeInference make(IR ir, PackedInstructions packed, boolean doPrimitives) {
+    return new TypeInference(ir, packed, doPrimitives);
+  }
+
   /** The governing SSA form */
   protected final IR ir;
 
+  /** A packed encoding of the normal instructions of {@link #ir}, or null */
+  protected final PackedInstructions packed;
+
   /** The governing class hierarchy */
   protected final IClassHierarchy cha;
 
@@ -88,12 +106,17 @@ public class TypeInference extends SSAInference<TypeVariable> implements FixedPo
   private boolean solved = false;
 
   protected TypeInference(IR ir, boolean doPrimitives) {
+    this(ir, null, doPrimitives);
+  }
+
+  protected TypeInference(IR ir, PackedInstructions packed, boolean doPrimitives) {
     if (ir == null) {
       throw new IllegalArgumentException("ir is null");
     }
     this.language = ir.getMethod().getDeclaringClass().getClassLoader().getLanguage();
     this.cha = ir.getMethod().getDeclaringClass().getClassHierarchy();
     this.ir = ir;
+    this.packed = packed;
     this.doPrimitives = doPrimitives;
     this.BOTTOM = new ConeType(cha.getRootClass());
     initialize();
@@ -120,7 +143,7 @@ public class TypeInference extends SSAInference<TypeVariable> implements FixedPo
   }
 
   protected void initialize() {
-    init(ir, this.new TypeVarFactory(), this.new TypeOperatorFactory());
+    init(ir, packed, this.new TypeVarFactory(), this.new TypeOperatorFactory());
   }
 
   @Override
@@ -165,7 +188,7 @@ public class TypeInference extends SSAInference<TypeVariable> implements FixedPo
       }
     }
 
-    for (SSAInstruction s : Iterator2Iterable.make(ir.iterateNormalInstructions())) {
+    for (SSAInstruction s : Iterator2Iterable.make(iterateCalls())) {
       if (s instanceof SSAAbstractInvokeInstruction) {
         SSAAbstractInvokeInstruction call = (SSAAbstractInvokeInstruction) s;
         TypeVariable v = getVariable(call.getException());
@@ -215,6 +238,24 @@ public class TypeInference extends SSAInference<TypeVariable> implements FixedPo
     }
   }
 
+  /**
+   * @return the normal instructions that may be calls; with a packed encoding, only slots that
+   *     hold calls are materialized
+   */
+  private Iterator<SSAInstruction> iterateCalls() {
+    if (packed == null) {
+      return ir.iterateNormalInstructions();
+    }
+    List<SSAInstruction> calls = new ArrayList<>();
+    for (int i = 0; i < packed.size(); i++) {
+      byte kind = packed.getKind(i);
+      if (kind == PackedInstructions.INVOKE || kind == PackedInstructions.OTHER) {
+        calls.add(packed.getInstruction(i));
+      }
+    }
+    return calls.iterator();
+  }
+
   @Override
   protected void initializeWorkList() {
     addAllStatementsToWorkList();
@@ -392,15 +433,16 @@ public class TypeInference extends SSAInference<TypeVariable> implements FixedPo
    * <p>TODO: why isn't this a nullary operator?
    */
   private final class GetElementType extends AbstractOperator<TypeVariable> {
-    private final SSAArrayLoadInstruction load;
+    /** the value number of the array loaded from */
+    private final int arrayRef;
 
-    GetElementType(SSAArrayLoadInstruction load) {
-      this.load = load;
+    GetElementType(int arrayRef) {
+      this.arrayRef = arrayRef;
     }
 
     @Override
     public byte evaluate(TypeVariable lhs, TypeVariable[] rhs) {
-      TypeAbstraction arrayType = getType(load.getArrayRef());
+      TypeAbstraction arrayType = getType(arrayRef);
       if (arrayType == null || arrayType.equals(TypeAbstraction.TOP)) {
         return NOT_CHANGED;
       }
@@ -452,19 +494,19 @@ public class TypeInference extends SSAInference<TypeVariable> implements FixedPo
 
     @Override
     public String toString() {
-      return "getElementType " + load;
+      return "getElementType " + arrayRef;
     }
 
     @Override
     public int hashCode() {
-      return 9923 * load.hashCode();
+      return 9923 * arrayRef;
     }
 
     @Override
     public boolean equals(Object o) {
       if (o instanceof GetElementType) {
         GetElementType other = (GetElementType) o;
-        return load.equals(other.load);
+        return arrayRef == other.arrayRef;
       } else {
         return false;
       }
@@ -472,7 +514,7 @@ public class TypeInference extends SSAInference<TypeVariable> implements FixedPo
   }
 
   protected class TypeOperatorFactory extends SSAInstruction.Visitor
-      implements IVisitorWithAddresses, OperatorFactory<TypeVariable> {
+      implements IVisitorWithAddresses, PackedOperatorFactory<TypeVariable> {
 
     protected AbstractOperator<TypeVariable> result = null;
 
@@ -484,17 +526,60 @@ public class TypeInference extends SSAInference<TypeVariable> implements FixedPo
       return temp;
     }
 
+    /**
+     * Reads the kind and references of slot i straight from the packed arrays. A subclass that
+     * changes how instructions are visited is handed the materialized instruction instead.
+     */
+    @Override
+    public AbstractOperator<TypeVariable> get(PackedInstructions packed, int i) {
+      if (getClass() != TypeOperatorFactory.class) {
+        return get(packed.getInstruction(i));
+      }
+      Object ref = packed.getReference(i);
+      switch (packed.getKind(i)) {
+        case PackedInstructions.GET:
+          return fieldOperator(((FieldReference) ref).getFieldType());
+        case PackedInstructions.INVOKE:
+          return resultOperator(((CallSiteReference) ref).getDeclaredTarget().getReturnType());
+        case PackedInstructions.NEW:
+          return allocationOperator(((NewSiteReference) ref).getDeclaredType());
+        case PackedInstructions.CHECK_CAST:
+          return checkCastOperator((TypeReference[]) ref);
+        case PackedInstructions.ARRAY_LOAD:
+          return new GetElementType(packed.getUse(i, 0));
+        case PackedInstructions.ARRAY_LENGTH:
+          return arrayLengthOperator();
+        case PackedInstructions.CONVERSION:
+          return doPrimitives
+              ? new DeclaredTypeOperator(language.getPrimitive((TypeReference) ref))
+              : null;
+        case PackedInstructions.COMPARISON:
+          return comparisonOperator();
+        case PackedInstructions.BINARY_OP:
+        case PackedInstructions.UNARY_OP:
+          return doPrimitives ? primitivePropagateOp : null;
+        case PackedInstructions.INSTANCEOF:
+          return instanceofOperator();
+        default:
+          return get(packed.getInstruction(i));
+      }
+    }
+
     @Override
     public void visitArrayLoad(SSAArrayLoadInstruction instruction) {
-      result = new GetElementType(instruction);
+      result = new GetElementType(instruction.getArrayRef());
     }
 
     @Override
     public void visitArrayLength(SSAArrayLengthInstruction instruction) {
+      result = arrayLengthOperator();
+    }
+
+    private AbstractOperator<TypeVariable> arrayLengthOperator() {
       if (!doPrimitives) {
-        result = null;
+        return null;
       } else {
-        result = new DeclaredTypeOperator(language.getPrimitive(language.getConstantType(1)));
+        return new DeclaredTypeOperator(language.getPrimitive(language.getConstantType(1)));
       }
     }
 
@@ -507,60 +592,72 @@ public class TypeInference extends SSAInference<TypeVariable> implements FixedPo
 
     @Override
     public void visitGet(SSAGetInstruction instruction) {
-      TypeReference type = instruction.getDeclaredFieldType();
+      result = fieldOperator(instruction.getDeclaredFieldType());
+    }
 
+    private AbstractOperator<TypeVariable> fieldOperator(TypeReference type) {
       if (doPrimitives && type.isPrimitiveType()) {
         PrimitiveType p = language.getPrimitive(type);
         assert p != null : "no type for " + type;
-        result = new DeclaredTypeOperator(p);
+        return new DeclaredTypeOperator(p);
       } else {
         IClass klass = cha.lookupClass(type);
         if (klass == null) {
           // get from a field of a type that cannot be loaded.
           // be pessimistic
-          result = new DeclaredTypeOperator(BOTTOM);
+          return new DeclaredTypeOperator(BOTTOM);
         } else {
-          result = new DeclaredTypeOperator(new ConeType(klass));
+          return new DeclaredTypeOperator(new ConeType(klass));
         }
       }
     }
 
     @Override
     public void visitInvoke(SSAInvokeInstruction instruction) {
-      TypeReference type = instruction.getDeclaredResultType();
+      result = resultOperator(instruction.getDeclaredResultType());
+    }
+
+    private AbstractOperator<TypeVariable> resultOperator(TypeReference type) {
       if (type.isReferenceType()) {
         IClass klass = cha.lookupClass(type);
         if (klass == null) {
           // a type that cannot be loaded.
           // be pessimistic
-          result = new DeclaredTypeOperator(BOTTOM);
+          return new DeclaredTypeOperator(BOTTOM);
         } else {
-          result = new DeclaredTypeOperator(new ConeType(klass));
+          return new DeclaredTypeOperator(new ConeType(klass));
         }
       } else if (doPrimitives && type.isPrimitiveType()) {
-        result = new DeclaredTypeOperator(language.getPrimitive(type));
+        return new DeclaredTypeOperator(language.getPrimitive(type));
       } else {
-        result = null;
+        return null;
       }
     }
 
     @Override
     public void visitNew(SSANewInstruction instruction) {
-      TypeReference type = instruction.getConcreteType();
+      result = allocationOperator(instruction.getConcreteType());
+    }
+
+    private AbstractOperator<TypeVariable> allocationOperator(TypeReference type) {
       IClass klass = cha.lookupClass(type);
       if (klass == null) {
         // a type that cannot be loaded.
         // be pessimistic
-        result = new DeclaredTypeOperator(BOTTOM);
+        return new DeclaredTypeOperator(BOTTOM);
       } else {
-        result = new DeclaredTypeOperator(new PointType(klass));
+        return new DeclaredTypeOperator(new PointType(klass));
       }
     }
 
     @Override
     public void visitCheckCast(SSACheckCastInstruction instruction) {
+      result = checkCastOperator(instruction.getDeclaredResultTypes());
+    }
+
+    private AbstractOperator<TypeVariable> checkCastOperator(TypeReference[] types) {
       TypeAbstraction typeAbs = null;
-      for (TypeReference type : instruction.getDeclaredResultTypes()) {
+      for (TypeReference type : types) {
         IClass klass = cha.lookupClass(type);
         if (klass == null) {
           // a type that cannot be loaded.
@@ -583,7 +680,7 @@ public class TypeInference extends SSAInference<TypeVariable> implements FixedPo
         }
       }
 
-      result = new DeclaredTypeOperator(typeAbs);
+      return new DeclaredTypeOperator(typeAbs);
     }
 
     @Override
@@ -596,10 +693,16 @@ public class TypeInference extends SSAInference<TypeVariable> implements FixedPo
     @Override
     public void visitComparison(SSAComparisonInstruction instruction) {
       if (doPrimitives) {
-        result = new DeclaredTypeOperator(language.getPrimitive(language.getConstantType(0)));
+        result = comparisonOperator();
       }
     }
 
+    private AbstractOperator<TypeVariable> comparisonOperator() {
+      return doPrimitives
+          ? new DeclaredTypeOperator(language.getPrimitive(language.getConstantType(0)))
+          : null;
+    }
+
     @Override
     public void visitBinaryOp(SSABinaryOpInstruction instruction) {
       if (doPrimitives) {
@@ -617,11 +720,16 @@ public class TypeInference extends SSAInference<TypeVariable> implements FixedPo
     @Override
     public void visitInstanceof(SSAInstanceofInstruction instruction) {
       if (doPrimitives) {
-        result =
-            new DeclaredTypeOperator(language.getPrimitive(language.getConstantType(Boolean.TRUE)));
+        result = instanceofOperator();
       }
     }
 
+    private AbstractOperator<TypeVariable> instanceofOperator() {
+      return doPrimitives
+          ? new DeclaredTypeOperator(language.getPrimitive(language.getConstantType(Boolean.TRUE)))
+          : null;
+    }
+
     @Override
     public void visitGetCaughtException(SSAGetCaughtExceptionInstruction instruction) {
       TypeAbstraction type = meetDeclaredExceptionTypes(instruction);
@@ -41,11 +41,22 @@ public final class CacheReference {
     }
   }
 
+  /**
+   * @return a reference that does not keep referent alive once no client uses it, whatever
+   *     references {@link #make(Object)} creates
+   */
+  public static Object makeWeak(final Object referent) {
+    return new WeakReference<>(referent);
+  }
+
   public static Object get(final Object reference) throws IllegalArgumentException {
 
     if (reference == null) {
       return null;
     }
+    if (reference instanceof WeakReference) {
+      return ((WeakReference<?>) reference).get();
+    }
     switch (choice) {
       case SOFT:
         if (!(reference instanceof java.lang.ref.SoftReference)) {
@@ -15,21 +15,46 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.TreeSet;
 
-/** A global, static dictionary of warnings */
+/**
+ * A global, static dictionary of warnings.
+ *
+ * <p>A thread can {@link #isolate()} itself to keep the warnings it adds, and sees, apart from
+ * those of other threads, so several analyses can run at once in one process. Threads started by an
+ * isolated thread share its dictionary.
+ */
 public class Warnings {
 
   private static final Collection<Warning> warnings = HashSetFactory.make();
 
+  // the warnings of isolated threads, shared with the helper threads they start
+  private static final InheritableThreadLocal<Collection<Warning>> isolated =
+      new InheritableThreadLocal<>();
+
+  private static Collection<Warning> current() {
+    Collection<Warning> own = isolated.get();
+    return own == null ? warnings : own;
+  }
+
+  /** Give the current thread an empty dictionary of its own, until {@link #release()}. */
+  public static void isolate() {
+    isolated.set(HashSetFactory.make());
+  }
+
+  /** Make the current thread use the global dictionary again, dropping its own warnings. */
+  public static void release() {
+    isolated.remove();
+  }
+
   public static synchronized boolean add(Warning w) {
-    return warnings.add(w);
+    return current().add(w);
   }
 
   public static synchronized void clear() {
-    warnings.clear();
+    current().clear();
   }
 
   public static synchronized String asString() {
-    TreeSet<Warning> T = new TreeSet<>(warnings);
+    TreeSet<Warning> T = new TreeSet<>(current());
     Iterator<Warning> it = T.iterator();
     StringBuilder result = new StringBuilder();
     for (int i = 1; i <= T.size(); i++) {
@@ -41,6 +66,6 @@ public class Warnings {
   }
 
   public static synchronized Iterator<Warning> iterator() {
-    return warnings.iterator();
+    return current().iterator();
   }
 }
@@ -17,6 +17,7 @@ import com.ibm.wala.fixedpoint.impl.NullaryOperator;
 import com.ibm.wala.fixpoint.AbstractOperator;
 import com.ibm.wala.fixpoint.IVariable;
 import com.ibm.wala.ssa.IR;
+import com.ibm.wala.ssa.PackedInstructions;
 import com.ibm.wala.ssa.SSAInstruction;
 import com.ibm.wala.ssa.SymbolTable;
 import com.ibm.wala.util.collections.Iterator2Iterable;
@@ -55,6 +56,17 @@ public abstract class SSAInference<T extends IVariable<T>> extends DefaultFixedP
     AbstractOperator<T> get(SSAInstruction instruction);
   }
 
+  /** An {@link OperatorFactory} that can read instructions straight from a packed encoding. */
+  public interface PackedOperatorFactory<T extends IVariable<T>> extends OperatorFactory<T> {
+    /**
+     * Get the dataflow operator induced by the instruction at index i of a packed encoding.
+     *
+     * @return dataflow operator for the instruction, or null if the instruction is not applicable
+     *     to the dataflow system.
+     */
+    AbstractOperator<T> get(PackedInstructions packed, int i);
+  }
+
   public interface VariableFactory<T extends IVariable<T>> {
     /**
      * Make the variable for a given value number.
@@ -66,18 +78,44 @@ public abstract class SSAInference<T extends IVariable<T>> extends DefaultFixedP
 
   /** initializer for SSA Inference equations. */
   protected void init(IR ir, VariableFactory<T> varFactory, OperatorFactory<T> opFactory) {
+    init(ir, null, varFactory, opFactory);
+  }
+
+  /**
+   * initializer for SSA Inference equations, reading normal instructions from a packed encoding of
+   * the IR if one is given. A {@link PackedOperatorFactory} reads them straight from the encoding;
+   * for other factories, only instructions that define a value are materialized.
+   */
+  protected void init(
+      IR ir,
+      PackedInstructions packed,
+      VariableFactory<T> varFactory,
+      OperatorFactory<T> opFactory) {
 
     this.ir = ir;
     this.symbolTable = ir.getSymbolTable();
 
     createVariables(varFactory);
-    createEquations(opFactory);
+    createEquations(packed, opFactory);
   }
 
-  private void createEquations(OperatorFactory<T> opFactory) {
-    SSAInstruction[] instructions = ir.getInstructions();
-    for (SSAInstruction s : instructions) {
-      makeEquationForInstruction(opFactory, s);
+  private void createEquations(PackedInstructions packed, OperatorFactory<T> opFactory) {
+    if (packed == null) {
+      SSAInstruction[] instructions = ir.getInstructions();
+      for (SSAInstruction s : instructions) {
+        makeEquationForInstruction(opFactory, s);
+      }
+    } else {
+      for (int i = 0; i < packed.size(); i++) {
+        if (packed.getDef(i) == -1) {
+          continue;
+        }
+        if (opFactory instanceof PackedOperatorFactory) {
+          makeEquationForSlot((PackedOperatorFactory<T>) opFactory, packed, i);
+        } else {
+          makeEquationForInstruction(opFactory, packed.getInstruction(i));
+        }
+      }
     }
     for (SSAInstruction s : Iterator2Iterable.make(ir.iteratePhis())) {
       makeEquationForInstruction(opFactory, s);
@@ -113,6 +151,28 @@ public abstract class SSAInference<T extends IVariable<T>> extends DefaultFixedP
     }
   }
 
+  /** Create a dataflow equation induced by the instruction at index i of a packed encoding */
+  private void makeEquationForSlot(
+      PackedOperatorFactory<T> opFactory, PackedInstructions packed, int i) {
+    AbstractOperator<T> op = opFactory.get(packed, i);
+    if (op != null) {
+      T def = getVariable(packed.getDef(i));
+      if (op instanceof NullaryOperator) {
+        newStatement(def, (NullaryOperator<T>) op, false, false);
+      } else {
+        int n = packed.getNumberOfUses(i);
+        T[] uses = makeStmtRHS(n);
+        for (int j = 0; j < n; j++) {
+          if (packed.getUse(i, j) > -1) {
+            uses[j] = getVariable(packed.getUse(i, j));
+            assert uses[j] != null;
+          }
+        }
+        newStatement(def, op, uses, false, false);
+      }
+    }
+  }
+
   /** Create a dataflow variable for each value number */
   private void createVariables(VariableFactory<T> factory) {
     //noinspection unchecked
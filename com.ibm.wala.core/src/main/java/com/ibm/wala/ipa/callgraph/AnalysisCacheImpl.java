@@ -35,4 +35,8 @@ public class AnalysisCacheImpl extends AnalysisCache {
   public AnalysisCacheImpl() {
     this(new DefaultIRFactory());
   }
+
+  protected AnalysisCacheImpl(IRFactory<IMethod> irFactory, SSAOptions ssaOptions, SSACache cache) {
+    super(irFactory, ssaOptions, cache);
+  }
 }
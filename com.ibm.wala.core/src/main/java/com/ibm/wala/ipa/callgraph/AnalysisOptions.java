@@ -185,9 +185,35 @@ public class AnalysisOptions {
    */
   private long maxNumberOfNodes = -1;
 
+  /**
+   * Wall-clock budget, in milliseconds, for pointer analysis. Once it is exhausted the solver stops
+   * creating new contexts and allocation sites and runs to a (less precise) fixed point rather than
+   * failing. {@code -1}, the default, means no budget. See {@link
+   * com.ibm.wala.ipa.callgraph.propagation.PrecisionBudget}.
+   */
+  private long maxSolverTimeMillis = -1;
+
+  /**
+   * Fraction of the maximum heap that pointer analysis may occupy before it degrades precision
+   * everywhere, as for {@link #maxSolverTimeMillis}. {@code -1}, the default, means no budget.
+   */
+  private double maxHeapOccupancy = -1;
+
+  /**
+   * Largest points-to set a local variable may have before the method that declares it is
+   * analyzed without context sensitivity. {@code -1}, the default, means no budget.
+   */
+  private int maxPointsToSetSize = -1;
+
   /** Should call graph construction handle arrays of zero-length differently? */
   private boolean handleZeroLengthArray = true;
 
+  /**
+   * Should call graph construction visit instructions through the packed encoding cached by the
+   * {@link com.ibm.wala.ssa.SSACache}, rather than through each IR's instruction array?
+   */
+  private boolean usePackedInstructions = false;
+
   // SJF: I'm not sure these factories and caches belong here.
   // TODO: figure out how to clean this up.
 
@@ -223,6 +249,36 @@ public class AnalysisOptions {
     this.maxNumberOfNodes = maxNumberOfNodes;
   }
 
+  public long getMaxSolverTimeMillis() {
+    return maxSolverTimeMillis;
+  }
+
+  public void setMaxSolverTimeMillis(long maxSolverTimeMillis) {
+    this.maxSolverTimeMillis = maxSolverTimeMillis;
+  }
+
+  public double getMaxHeapOccupancy() {
+    return maxHeapOccupancy;
+  }
+
+  /** @param maxHeapOccupancy a fraction in (0,1] of {@link Runtime#maxMemory()}, or -1 */
+  public void setMaxHeapOccupancy(double maxHeapOccupancy) {
+    this.maxHeapOccupancy = maxHeapOccupancy;
+  }
+
+  public int getMaxPointsToSetSize() {
+    return maxPointsToSetSize;
+  }
+
+  public void setMaxPointsToSetSize(int maxPointsToSetSize) {
+    this.maxPointsToSetSize = maxPointsToSetSize;
+  }
+
+  /** @return true iff any of the solver budgets that trigger precision degradation is set */
+  public boolean hasSolverBudget() {
+    return maxSolverTimeMillis > -1 || maxHeapOccupancy > -1 || maxPointsToSetSize > -1;
+  }
+
   /** @return Policy that determines methods called at call sites. */
   public MethodTargetSelector getMethodTargetSelector() {
     return methodTargetSelector;
@@ -394,4 +450,14 @@ public class AnalysisOptions {
   public void setHandleZeroLengthArray(boolean handleZeroLengthArray) {
     this.handleZeroLengthArray = handleZeroLengthArray;
   }
+
+  /** Should call graph construction visit instructions through cached packed encodings? */
+  public boolean getUsePackedInstructions() {
+    return usePackedInstructions;
+  }
+
+  /** Should call graph construction visit instructions through cached packed encodings? */
+  public void setUsePackedInstructions(boolean usePackedInstructions) {
+    this.usePackedInstructions = usePackedInstructions;
+  }
 }
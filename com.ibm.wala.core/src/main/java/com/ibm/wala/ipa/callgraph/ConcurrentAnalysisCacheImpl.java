@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.ipa.callgraph;
+
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.ssa.ConcurrentSSACache;
+import com.ibm.wala.ssa.DefaultIRFactory;
+import com.ibm.wala.ssa.IRFactory;
+import com.ibm.wala.ssa.SSAOptions;
+
+/**
+ * A drop-in replacement for {@link AnalysisCacheImpl} for clients that request IRs from many
+ * threads at once. It is backed by a {@link ConcurrentSSACache}, so IR construction for one method
+ * never blocks lookups of another.
+ */
+public class ConcurrentAnalysisCacheImpl extends AnalysisCacheImpl {
+
+  public ConcurrentAnalysisCacheImpl(IRFactory<IMethod> irFactory, SSAOptions ssaOptions) {
+    super(irFactory, ssaOptions, new ConcurrentSSACache(irFactory));
+  }
+
+  public ConcurrentAnalysisCacheImpl(SSAOptions ssaOptions) {
+    this(new DefaultIRFactory(), ssaOptions);
+  }
+
+  public ConcurrentAnalysisCacheImpl(IRFactory<IMethod> irFactory) {
+    this(irFactory, new AnalysisOptions().getSSAOptions());
+  }
+
+  public ConcurrentAnalysisCacheImpl() {
+    this(new DefaultIRFactory());
+  }
+
+  @Override
+  public ConcurrentSSACache getSSACache() {
+    return (ConcurrentSSACache) super.getSSACache();
+  }
+}
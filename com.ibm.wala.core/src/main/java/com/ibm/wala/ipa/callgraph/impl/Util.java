@@ -25,6 +25,7 @@ import com.ibm.wala.ipa.callgraph.MethodTargetSelector;
 import com.ibm.wala.ipa.callgraph.propagation.InstanceKey;
 import com.ibm.wala.ipa.callgraph.propagation.SSAContextInterpreter;
 import com.ibm.wala.ipa.callgraph.propagation.SSAPropagationCallGraphBuilder;
+import com.ibm.wala.ipa.callgraph.propagation.cfa.IntrospectiveBuilder;
 import com.ibm.wala.ipa.callgraph.propagation.cfa.ZeroXCFABuilder;
 import com.ibm.wala.ipa.callgraph.propagation.cfa.ZeroXContainerCFABuilder;
 import com.ibm.wala.ipa.callgraph.propagation.cfa.ZeroXInstanceKeys;
@@ -884,6 +885,32 @@ public class Util {
     return result;
   }
 
+  /**
+   * make a {@link CallGraphBuilder} that uses object context sensitivity, with allocation-string
+   * length limited to n, only for methods that a context-insensitive pre-analysis deems cheap
+   * enough. See {@link IntrospectiveBuilder}.
+   */
+  public static SSAPropagationCallGraphBuilder makeIntrospectiveNObjBuilder(
+      int n, AnalysisOptions options, IAnalysisCacheView cache, IClassHierarchy cha) {
+    if (options == null) {
+      throw new IllegalArgumentException("options is null");
+    }
+    addDefaultSelectors(options, cha);
+    addDefaultBypassLogic(options, Util.class.getClassLoader(), cha);
+    return new IntrospectiveBuilder(
+        n,
+        cha,
+        options,
+        cache,
+        null,
+        null,
+        ZeroXInstanceKeys.ALLOCATIONS
+            | ZeroXInstanceKeys.SMUSH_MANY
+            | ZeroXInstanceKeys.SMUSH_PRIMITIVE_HOLDERS
+            | ZeroXInstanceKeys.SMUSH_STRINGS
+            | ZeroXInstanceKeys.SMUSH_THROWABLES);
+  }
+
   /**
    * make a {@link CallGraphBuilder} that uses object context sensitivity, with allocation-string
    * length limited to n
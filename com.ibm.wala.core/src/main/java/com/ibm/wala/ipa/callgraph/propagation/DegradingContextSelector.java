@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.ipa.callgraph.propagation;
+
+import com.ibm.wala.classLoader.CallSiteReference;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.ipa.callgraph.CGNode;
+import com.ibm.wala.ipa.callgraph.Context;
+import com.ibm.wala.ipa.callgraph.ContextSelector;
+import com.ibm.wala.ipa.callgraph.impl.Everywhere;
+import com.ibm.wala.ipa.callgraph.propagation.cfa.AllocationStringContext;
+import com.ibm.wala.ipa.callgraph.propagation.cfa.CallStringContext;
+import com.ibm.wala.ipa.callgraph.propagation.cfa.CallStringContextSelector.CallStringContextPair;
+import com.ibm.wala.ipa.callgraph.propagation.cfa.CallerContext;
+import com.ibm.wala.ipa.callgraph.propagation.cfa.CallerContextPair;
+import com.ibm.wala.ipa.callgraph.propagation.cfa.CallerSiteContextPair;
+import com.ibm.wala.util.intset.IntSet;
+
+/**
+ * A {@link ContextSelector} that strips the contexts a delegate chooses for callees degraded by a
+ * {@link PrecisionBudget} of the parts that only add precision: call strings, callers and receiver
+ * allocation sites. Other contexts, such as those that reflection or JavaScript interpreters need
+ * to model a callee at all, are kept.
+ */
+public class DegradingContextSelector implements ContextSelector {
+
+  private final ContextSelector delegate;
+
+  private final PrecisionBudget budget;
+
+  public DegradingContextSelector(ContextSelector delegate, PrecisionBudget budget) {
+    this.delegate = delegate;
+    this.budget = budget;
+  }
+
+  @Override
+  public Context getCalleeTarget(
+      CGNode caller, CallSiteReference site, IMethod callee, InstanceKey[] actualParameters) {
+    Context context = delegate.getCalleeTarget(caller, site, callee, actualParameters);
+    if (context != null && budget.isDegraded(callee)) {
+      return weaken(context);
+    }
+    return context;
+  }
+
+  /** @return context without the call strings, callers and receiver allocation sites it adds */
+  public static Context weaken(Context context) {
+    if (context instanceof CallStringContextPair) {
+      return weaken(((CallStringContextPair) context).getBaseContext());
+    } else if (context instanceof CallerSiteContextPair) {
+      return weaken(((CallerSiteContextPair) context).getBaseContext());
+    } else if (context instanceof CallerContextPair) {
+      return weaken(((CallerContextPair) context).getBaseContext());
+    } else if (context instanceof CallStringContext
+        || context instanceof CallerContext
+        || context instanceof AllocationStringContext) {
+      return Everywhere.EVERYWHERE;
+    } else if (context instanceof ReceiverInstanceContext
+        && ((ReceiverInstanceContext) context).getReceiver() instanceof AllocationSiteInNode) {
+      // object sensitivity; a receiver that is a constant, e.g. a reflective method, is kept
+      return Everywhere.EVERYWHERE;
+    } else {
+      return context;
+    }
+  }
+
+  @Override
+  public IntSet getRelevantParameters(CGNode caller, CallSiteReference site) {
+    return delegate.getRelevantParameters(caller, site);
+  }
+}
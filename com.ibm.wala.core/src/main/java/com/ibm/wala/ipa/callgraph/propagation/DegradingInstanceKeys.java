@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.ipa.callgraph.propagation;
+
+import com.ibm.wala.classLoader.NewSiteReference;
+import com.ibm.wala.classLoader.ProgramCounter;
+import com.ibm.wala.ipa.callgraph.AnalysisOptions;
+import com.ibm.wala.ipa.callgraph.CGNode;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import com.ibm.wala.types.TypeReference;
+
+/**
+ * An {@link InstanceKeyFactory} that smushes the allocation sites of methods degraded by a {@link
+ * PrecisionBudget}, and otherwise defers to a delegate.
+ *
+ * <p>Only plain {@link NormalAllocationInNode} keys are smushed; keys that carry language-specific
+ * meaning (e.g. JavaScript function objects) are left alone.
+ */
+public class DegradingInstanceKeys implements InstanceKeyFactory {
+
+  private final InstanceKeyFactory delegate;
+
+  private final SmushedAllocationSiteInstanceKeys smushed;
+
+  private final PrecisionBudget budget;
+
+  public DegradingInstanceKeys(
+      InstanceKeyFactory delegate,
+      PrecisionBudget budget,
+      AnalysisOptions options,
+      IClassHierarchy cha) {
+    this.delegate = delegate;
+    this.budget = budget;
+    this.smushed = new SmushedAllocationSiteInstanceKeys(options, cha);
+  }
+
+  @Override
+  public InstanceKey getInstanceKeyForAllocation(CGNode node, NewSiteReference allocation) {
+    InstanceKey key = delegate.getInstanceKeyForAllocation(node, allocation);
+    if (key instanceof NormalAllocationInNode && budget.isDegraded(node.getMethod())) {
+      InstanceKey s = smushed.getInstanceKeyForAllocation(node, allocation);
+      if (s != null) {
+        return s;
+      }
+    }
+    return key;
+  }
+
+  @Override
+  public InstanceKey getInstanceKeyForMultiNewArray(
+      CGNode node, NewSiteReference allocation, int dim) {
+    return delegate.getInstanceKeyForMultiNewArray(node, allocation, dim);
+  }
+
+  @Override
+  public <T> InstanceKey getInstanceKeyForConstant(TypeReference type, T S) {
+    return delegate.getInstanceKeyForConstant(type, S);
+  }
+
+  @Override
+  public InstanceKey getInstanceKeyForPEI(CGNode node, ProgramCounter instr, TypeReference type) {
+    return delegate.getInstanceKeyForPEI(node, instr, type);
+  }
+
+  @Override
+  public InstanceKey getInstanceKeyForMetadataObject(Object obj, TypeReference objType) {
+    return delegate.getInstanceKeyForMetadataObject(obj, objType);
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.ipa.callgraph.propagation;
+
+/**
+ * Receives progress reports from a pointer analysis solver while a {@link
+ * PropagationCallGraphBuilder} constructs a call graph.
+ *
+ * <p>Listeners are registered with {@link
+ * PropagationCallGraphBuilder#addPropagationListener(IPropagationListener)}. When no listener is
+ * registered, the solver collects no statistics at all.
+ */
+public interface IPropagationListener {
+
+  /** The phases of one iteration of the outer solver loop. */
+  enum Phase {
+    /** solving the current constraint system to a fixed point */
+    SOLVE,
+    /** adding constraints for newly discovered call graph nodes */
+    ADD_CONSTRAINTS,
+    /** updating the constraint system for reflection */
+    REFLECTION
+  }
+
+  /**
+   * Called when a phase of an outer iteration completes.
+   *
+   * @param iteration the outer iteration, starting at 1
+   * @param nanos wall-clock time spent in the phase
+   */
+  default void phaseFinished(Phase phase, int iteration, long nanos) {}
+
+  /** Called at the end of every outer iteration, with a snapshot of the solver state. */
+  default void iterationFinished(PropagationStatistics statistics) {}
+}
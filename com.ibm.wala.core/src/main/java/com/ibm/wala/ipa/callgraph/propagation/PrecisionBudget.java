@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.ipa.callgraph.propagation;
+
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.core.util.warnings.Warning;
+import com.ibm.wala.core.util.warnings.Warnings;
+import com.ibm.wala.fixpoint.IFixedPointSystem;
+import com.ibm.wala.ipa.callgraph.AnalysisOptions;
+import com.ibm.wala.util.collections.HashSetFactory;
+import com.ibm.wala.util.collections.Iterator2Iterable;
+import com.ibm.wala.util.graph.INodeWithNumber;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Tracks the time, heap and points-to set size budgets of {@link AnalysisOptions} during call graph
+ * construction, and records which methods must be analyzed with less precision once a budget is
+ * exceeded.
+ *
+ * <p>A degraded method gets no new call-string or object-sensitive contexts ({@link
+ * DegradingContextSelector}), only those its interpreter needs, and its allocation sites are
+ * smushed by type ({@link DegradingInstanceKeys}). Exhausting the time or heap budget
+ * degrades every method. Points-to sets already computed are never shrunk, so the result stays
+ * sound; degradation only stops the analysis from growing further in the offending region.
+ */
+public class PrecisionBudget {
+
+  private static final boolean DEBUG = false;
+
+  private final AnalysisOptions options;
+
+  /** when the analysis started, as per {@link System#currentTimeMillis()} */
+  private final long startMillis;
+
+  /** methods analyzed without context sensitivity from now on */
+  private final Set<IMethod> degraded = HashSetFactory.make();
+
+  /** have all methods been degraded? */
+  private boolean degradedEverywhere = false;
+
+  public PrecisionBudget(AnalysisOptions options) {
+    if (options == null) {
+      throw new IllegalArgumentException("null options");
+    }
+    this.options = options;
+    this.startMillis = System.currentTimeMillis();
+  }
+
+  /** @return true iff m should no longer be analyzed with full precision */
+  public boolean isDegraded(IMethod m) {
+    return degradedEverywhere || degraded.contains(m);
+  }
+
+  /** @return true iff the time or heap budget has been exhausted */
+  public boolean isDegradedEverywhere() {
+    return degradedEverywhere;
+  }
+
+  /** @return the methods degraded because of the points-to set size budget */
+  public Set<IMethod> getDegradedMethods() {
+    return Collections.unmodifiableSet(degraded);
+  }
+
+  /**
+   * Compare the state of the analysis against each budget, degrading precision where one is
+   * exceeded.
+   *
+   * @return true iff any precision was given up by this call
+   */
+  public boolean check(PropagationSystem system) {
+    return checkLimits() || checkPointsToSets(system);
+  }
+
+  /**
+   * Compare the elapsed time and heap occupancy against their budgets. Both are cheap to read, so
+   * this may be called often while the solver runs.
+   *
+   * @return true iff any precision was given up by this call
+   */
+  public boolean checkLimits() {
+    if (degradedEverywhere) {
+      return false;
+    }
+    if (options.getMaxSolverTimeMillis() > -1
+        && System.currentTimeMillis() - startMillis >= options.getMaxSolverTimeMillis()) {
+      return degradeEverywhere(
+          "exceeded time budget of " + options.getMaxSolverTimeMillis() + "ms");
+    }
+    if (options.getMaxHeapOccupancy() > -1) {
+      Runtime r = Runtime.getRuntime();
+      double occupancy = (double) (r.totalMemory() - r.freeMemory()) / r.maxMemory();
+      if (occupancy >= options.getMaxHeapOccupancy()) {
+        return degradeEverywhere("exceeded heap budget: occupancy " + occupancy);
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Compare the size of every local points-to set against its budget. This visits every variable of
+   * the system.
+   *
+   * @return true iff any precision was given up by this call
+   */
+  public boolean checkPointsToSets(PropagationSystem system) {
+    if (degradedEverywhere || options.getMaxPointsToSetSize() < 0) {
+      return false;
+    }
+    boolean changed = false;
+    IFixedPointSystem<PointsToSetVariable> fps = system.getFixedPointSystem();
+    for (INodeWithNumber v : Iterator2Iterable.make(fps.getVariables())) {
+      if (v instanceof PointsToSetVariable) {
+        PointsToSetVariable p = (PointsToSetVariable) v;
+        if (p.size() > options.getMaxPointsToSetSize()
+            && p.getPointerKey() instanceof AbstractLocalPointerKey) {
+          IMethod m = ((AbstractLocalPointerKey) p.getPointerKey()).getNode().getMethod();
+          if (degraded.add(m)) {
+            if (DEBUG) {
+              System.err.println("degrade " + m + " for " + p);
+            }
+            Warnings.add(new PrecisionDegradedWarning(m + ": " + p.getPointerKey()));
+            changed = true;
+          }
+        }
+      }
+    }
+    return changed;
+  }
+
+  private boolean degradeEverywhere(String reason) {
+    if (DEBUG) {
+      System.err.println("degrade everywhere: " + reason);
+    }
+    degradedEverywhere = true;
+    Warnings.add(new PrecisionDegradedWarning(reason));
+    return true;
+  }
+
+  /** A warning for when a solver budget forces the analysis to give up precision */
+  private static class PrecisionDegradedWarning extends Warning {
+
+    private final String reason;
+
+    PrecisionDegradedWarning(String reason) {
+      super(Warning.MODERATE);
+      this.reason = reason;
+    }
+
+    @Override
+    public String getMsg() {
+      return getClass().toString() + " : " + reason;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.ipa.callgraph.propagation;
+
+import com.ibm.wala.util.MonitorUtil.IProgressMonitor;
+
+/**
+ * Checks a {@link PrecisionBudget} while a {@link PropagationSystem} solves, so that a budget runs
+ * out in the middle of a long solve rather than only after it.
+ *
+ * <p>The fixed-point solver asks its monitor whether it has been canceled before every evaluation.
+ * Every {@link #LIMIT_INTERVAL} such calls this monitor checks the time and heap budgets; the
+ * points-to set budget, which visits every variable, is checked once the solver has evaluated as
+ * many statements as there are pointer keys since the last visit. All other calls go to the
+ * delegate, which may be null.
+ */
+class PrecisionBudgetMonitor implements IProgressMonitor {
+
+  /** calls to {@link #isCanceled()} between checks of the time and heap budgets */
+  static final int LIMIT_INTERVAL = 1000;
+
+  private final PrecisionBudget budget;
+
+  private final PropagationSystem system;
+
+  private final IProgressMonitor delegate;
+
+  private long calls = 0;
+
+  private long nextPointsToCheck = 0;
+
+  PrecisionBudgetMonitor(
+      PrecisionBudget budget, PropagationSystem system, IProgressMonitor delegate) {
+    this.budget = budget;
+    this.system = system;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public boolean isCanceled() {
+    if (calls % LIMIT_INTERVAL == 0) {
+      budget.checkLimits();
+    }
+    if (calls >= nextPointsToCheck) {
+      budget.checkPointsToSets(system);
+      nextPointsToCheck = calls + Math.max(LIMIT_INTERVAL, system.getNumberOfPointerKeys());
+    }
+    calls++;
+    return delegate != null && delegate.isCanceled();
+  }
+
+  @Override
+  public void beginTask(String task, int totalWork) {
+    if (delegate != null) {
+      delegate.beginTask(task, totalWork);
+    }
+  }
+
+  @Override
+  public void subTask(String subTask) {
+    if (delegate != null) {
+      delegate.subTask(subTask);
+    }
+  }
+
+  @Override
+  public void cancel() {
+    if (delegate != null) {
+      delegate.cancel();
+    }
+  }
+
+  @Override
+  public void done() {
+    if (delegate != null) {
+      delegate.done();
+    }
+  }
+
+  @Override
+  public void worked(int units) {
+    if (delegate != null) {
+      delegate.worked(units);
+    }
+  }
+
+  @Override
+  public String getCancelMessage() {
+    return delegate == null ? "canceled" : delegate.getCancelMessage();
+  }
+}
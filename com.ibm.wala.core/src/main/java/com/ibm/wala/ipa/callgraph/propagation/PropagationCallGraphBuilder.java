@@ -45,6 +45,8 @@ import com.ibm.wala.util.intset.IntSet;
 import com.ibm.wala.util.intset.IntSetAction;
 import com.ibm.wala.util.intset.IntSetUtil;
 import com.ibm.wala.util.intset.MutableIntSet;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -113,6 +115,12 @@ public abstract class PropagationCallGraphBuilder implements CallGraphBuilder<In
   /** Algorithm used to solve the system of constraints */
   private IPointsToSolver solver;
 
+  /** Clients notified of solver progress */
+  private final List<IPropagationListener> propagationListeners = new ArrayList<>();
+
+  /** Solver budgets in force for this builder; null if {@link AnalysisOptions} sets none */
+  private PrecisionBudget precisionBudget;
+
   /** The call graph under construction */
   protected final ExplicitCallGraph callGraph;
 
@@ -197,6 +205,12 @@ public abstract class PropagationCallGraphBuilder implements CallGraphBuilder<In
     if (options == null) {
       throw new IllegalArgumentException("options is null");
     }
+    if (options.hasSolverBudget() && precisionBudget == null) {
+      precisionBudget = new PrecisionBudget(options);
+      contextSelector = new DegradingContextSelector(contextSelector, precisionBudget);
+      instanceKeyFactory =
+          new DegradingInstanceKeys(instanceKeyFactory, precisionBudget, options, cha);
+    }
     system = makeSystem(options);
 
     if (DEBUG_GENERAL) {
@@ -1418,4 +1432,28 @@ public abstract class PropagationCallGraphBuilder implements CallGraphBuilder<In
   public IAnalysisCacheView getAnalysisCache() {
     return analysisCache;
   }
+
+  /** Register a listener to be notified of solver progress during {@link #makeCallGraph}. */
+  public void addPropagationListener(IPropagationListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("listener is null");
+    }
+    propagationListeners.add(listener);
+  }
+
+  public void removePropagationListener(IPropagationListener listener) {
+    propagationListeners.remove(listener);
+  }
+
+  public List<IPropagationListener> getPropagationListeners() {
+    return Collections.unmodifiableList(propagationListeners);
+  }
+
+  /**
+   * @return the solver budgets governing this builder, which record where precision was given up;
+   *     null if no budget was set in the {@link AnalysisOptions}
+   */
+  public PrecisionBudget getPrecisionBudget() {
+    return precisionBudget;
+  }
 }
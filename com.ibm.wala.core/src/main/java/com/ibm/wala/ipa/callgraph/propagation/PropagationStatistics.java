@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.ipa.callgraph.propagation;
+
+import com.ibm.wala.ipa.callgraph.AnalysisCache;
+import com.ibm.wala.ipa.callgraph.IAnalysisCacheView;
+import com.ibm.wala.ipa.callgraph.propagation.IPropagationListener.Phase;
+import com.ibm.wala.ssa.SSACache;
+import com.ibm.wala.util.collections.Iterator2Iterable;
+import com.ibm.wala.util.graph.INodeWithNumber;
+
+/** A snapshot of the state of a pointer analysis solver at the end of an outer iteration. */
+public class PropagationStatistics {
+
+  private final int iteration;
+
+  private final long[] phaseNanos;
+
+  private final int workListSize;
+
+  private final long statementsEvaluated;
+
+  private final int callGraphNodes;
+
+  private final int newCallGraphNodes;
+
+  private final int pointerKeys;
+
+  private final long totalPointsToSize;
+
+  private final int maxPointsToSize;
+
+  private final long irCacheHits;
+
+  private final long irCacheMisses;
+
+  private PropagationStatistics(
+      int iteration,
+      long[] phaseNanos,
+      int workListSize,
+      long statementsEvaluated,
+      int callGraphNodes,
+      int newCallGraphNodes,
+      int pointerKeys,
+      long totalPointsToSize,
+      int maxPointsToSize,
+      long irCacheHits,
+      long irCacheMisses) {
+    this.iteration = iteration;
+    this.phaseNanos = phaseNanos;
+    this.workListSize = workListSize;
+    this.statementsEvaluated = statementsEvaluated;
+    this.callGraphNodes = callGraphNodes;
+    this.newCallGraphNodes = newCallGraphNodes;
+    this.pointerKeys = pointerKeys;
+    this.totalPointsToSize = totalPointsToSize;
+    this.maxPointsToSize = maxPointsToSize;
+    this.irCacheHits = irCacheHits;
+    this.irCacheMisses = irCacheMisses;
+  }
+
+  /**
+   * Take a snapshot of a builder's solver state. This walks every points-to set, so it costs time
+   * linear in the number of pointer keys.
+   *
+   * @param previousCallGraphNodes the number of call graph nodes at the end of the previous
+   *     iteration
+   * @param phaseNanos time spent in each {@link Phase} of this iteration, indexed by ordinal
+   */
+  public static PropagationStatistics make(
+      PropagationCallGraphBuilder builder,
+      int iteration,
+      int previousCallGraphNodes,
+      long[] phaseNanos) {
+    PropagationSystem system = builder.getPropagationSystem();
+    long total = 0;
+    int max = 0;
+    for (INodeWithNumber v : Iterator2Iterable.make(system.getFixedPointSystem().getVariables())) {
+      if (v instanceof PointsToSetVariable) {
+        int size = ((PointsToSetVariable) v).size();
+        total += size;
+        max = Math.max(max, size);
+      }
+    }
+    long hits = -1;
+    long misses = -1;
+    IAnalysisCacheView cache = builder.getAnalysisCache();
+    if (cache instanceof AnalysisCache) {
+      SSACache irs = ((AnalysisCache) cache).getSSACache();
+      hits = irs.getIRCacheHits();
+      misses = irs.getIRCacheMisses();
+    }
+    int nodes = builder.getCallGraph().getNumberOfNodes();
+    return new PropagationStatistics(
+        iteration,
+        phaseNanos.clone(),
+        system.getWorkListSize(),
+        system.getTotalEvaluations(),
+        nodes,
+        nodes - previousCallGraphNodes,
+        system.getNumberOfPointerKeys(),
+        total,
+        max,
+        hits,
+        misses);
+  }
+
+  /** @return the outer iteration, starting at 1 */
+  public int getIteration() {
+    return iteration;
+  }
+
+  /** @return wall-clock time spent in a phase during this iteration */
+  public long getPhaseNanos(Phase phase) {
+    return phaseNanos[phase.ordinal()];
+  }
+
+  /** @return the number of statements on the work list at the end of the iteration */
+  public int getWorkListSize() {
+    return workListSize;
+  }
+
+  /** @return the number of statements evaluated since the solver started */
+  public long getStatementsEvaluated() {
+    return statementsEvaluated;
+  }
+
+  public int getCallGraphNodes() {
+    return callGraphNodes;
+  }
+
+  /** @return the number of call graph nodes discovered during this iteration */
+  public int getNewCallGraphNodes() {
+    return newCallGraphNodes;
+  }
+
+  public int getPointerKeys() {
+    return pointerKeys;
+  }
+
+  /** @return the sum of the sizes of all points-to sets */
+  public long getTotalPointsToSize() {
+    return totalPointsToSize;
+  }
+
+  /** @return the size of the largest points-to set */
+  public int getMaxPointsToSize() {
+    return maxPointsToSize;
+  }
+
+  /**
+   * @return the number of IR requests answered from the cache, or -1 if the builder's cache does
+   *     not keep statistics (see {@link SSACache#getIRCacheHits()})
+   */
+  public long getIRCacheHits() {
+    return irCacheHits;
+  }
+
+  /** @return the number of IRs built, or -1 if the builder's cache does not keep statistics */
+  public long getIRCacheMisses() {
+    return irCacheMisses;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder("iteration ").append(iteration);
+    for (Phase p : Phase.values()) {
+      result
+          .append(", ")
+          .append(p.name().toLowerCase())
+          .append(": ")
+          .append(getPhaseNanos(p) / 1000000)
+          .append("ms");
+    }
+    result
+        .append(", worklist: ")
+        .append(workListSize)
+        .append(", evaluated: ")
+        .append(statementsEvaluated)
+        .append(", nodes: ")
+        .append(callGraphNodes)
+        .append(" (+")
+        .append(newCallGraphNodes)
+        .append("), pointer keys: ")
+        .append(pointerKeys)
+        .append(", points-to total: ")
+        .append(totalPointsToSize)
+        .append(", max: ")
+        .append(maxPointsToSize);
+    if (irCacheHits >= 0) {
+      result
+          .append(", IR cache hits: ")
+          .append(irCacheHits)
+          .append(", misses: ")
+          .append(irCacheMisses);
+    }
+    return result.toString();
+  }
+}
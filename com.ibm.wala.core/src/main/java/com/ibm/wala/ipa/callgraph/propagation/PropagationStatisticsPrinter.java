@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.ipa.callgraph.propagation;
+
+import java.io.PrintStream;
+
+/**
+ * An {@link IPropagationListener} that prints one line per outer solver iteration, so that
+ * pathological growth can be watched while a long call graph construction is still running.
+ */
+public class PropagationStatisticsPrinter implements IPropagationListener {
+
+  private final PrintStream out;
+
+  public PropagationStatisticsPrinter(PrintStream out) {
+    if (out == null) {
+      throw new IllegalArgumentException("out is null");
+    }
+    this.out = out;
+  }
+
+  public PropagationStatisticsPrinter() {
+    this(System.err);
+  }
+
+  @Override
+  public void iterationFinished(PropagationStatistics statistics) {
+    out.println(statistics);
+    out.flush();
+  }
+}
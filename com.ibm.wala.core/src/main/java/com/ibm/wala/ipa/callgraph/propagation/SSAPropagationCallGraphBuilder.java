@@ -25,6 +25,7 @@ import com.ibm.wala.core.util.warnings.Warning;
 import com.ibm.wala.core.util.warnings.Warnings;
 import com.ibm.wala.fixpoint.AbstractOperator;
 import com.ibm.wala.fixpoint.IVariable;
+import com.ibm.wala.ipa.callgraph.AnalysisCache;
 import com.ibm.wala.ipa.callgraph.AnalysisOptions;
 import com.ibm.wala.ipa.callgraph.CGNode;
 import com.ibm.wala.ipa.callgraph.ContextKey;
@@ -40,6 +41,7 @@ import com.ibm.wala.shrike.shrikeBT.IInvokeInstruction;
 import com.ibm.wala.ssa.DefUse;
 import com.ibm.wala.ssa.IRView;
 import com.ibm.wala.ssa.ISSABasicBlock;
+import com.ibm.wala.ssa.PackedInstructions;
 import com.ibm.wala.ssa.SSAAbstractInvokeInstruction;
 import com.ibm.wala.ssa.SSAAbstractThrowInstruction;
 import com.ibm.wala.ssa.SSAArrayLoadInstruction;
@@ -87,6 +89,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
 
 /**
  * This abstract base class provides the general algorithm for a call graph builder that relies on
@@ -267,19 +270,74 @@ public abstract class SSAPropagationCallGraphBuilder extends PropagationCallGrap
     v.setBasicBlock(b);
 
     // visit each instruction in the basic block.
-    for (SSAInstruction s : b) {
-      MonitorUtil.throwExceptionIfCanceled(monitor);
-      if (s != null) {
-        s.visit(v);
+    PackedInstructions packed = v.packed;
+    if (packed == null) {
+      for (SSAInstruction s : b) {
+        if (visitInstruction(node, s, v)) {
+          return;
+        }
+      }
+    } else {
+      // normal instructions come from the packed form; phis and pis are kept by the block
+      for (SSAInstruction s : Iterator2Iterable.make(b.iteratePhis())) {
+        if (visitInstruction(node, s, v)) {
+          return;
+        }
+      }
+      for (int i = b.getFirstInstructionIndex(); i <= b.getLastInstructionIndex(); i++) {
+        MonitorUtil.throwExceptionIfCanceled(monitor);
+        v.visitPacked(i);
         if (wasChanged(node)) {
           return;
         }
       }
+      for (SSAInstruction s : Iterator2Iterable.make(b.iteratePis())) {
+        if (visitInstruction(node, s, v)) {
+          return;
+        }
+      }
     }
 
     addPhiConstraints(node, ir.getControlFlowGraph(), b, v);
   }
 
+  /** @return true iff visiting s changed node, so its constraints must be added again */
+  private boolean visitInstruction(CGNode node, SSAInstruction s, ConstraintVisitor v)
+      throws CancelException {
+    MonitorUtil.throwExceptionIfCanceled(monitor);
+    if (s != null) {
+      s.visit(v);
+      return wasChanged(node);
+    }
+    return false;
+  }
+
+  /**
+   * When {@link AnalysisOptions#getUsePackedInstructions()} is set, constraints for the normal
+   * instructions of a node whose IR comes from the {@link com.ibm.wala.ssa.SSACache} are generated
+   * from the packed encoding cached for that IR, and the cache retains the packed encodings in
+   * place of IRs. Subclasses may override this to supply packed forms they retain themselves.
+   *
+   * @param ir the IR the constraints of node are generated from
+   * @return a packed encoding of the normal instructions of ir, or null to use ir's instructions
+   */
+  protected PackedInstructions getPackedInstructions(CGNode node, IRView ir) {
+    if (!getOptions().getUsePackedInstructions()
+        || node.getMethod().isSynthetic()
+        || !(getAnalysisCache() instanceof AnalysisCache)) {
+      return null;
+    }
+    AnalysisCache cache = (AnalysisCache) getAnalysisCache();
+    cache.getSSACache().setRetainIRs(false);
+    // only the cached IR is known to match the cached packed form
+    if (ir != cache.getIR(node.getMethod(), node.getContext())) {
+      return null;
+    }
+    return cache
+        .getSSACache()
+        .findOrCreatePackedInstructions(node.getMethod(), node.getContext(), cache.getSSAOptions());
+  }
+
   private void addPhiConstraints(
       CGNode node,
       ControlFlowGraph<SSAInstruction, ISSABasicBlock> controlFlowGraph,
@@ -612,6 +670,9 @@ public abstract class SSAPropagationCallGraphBuilder extends PropagationCallGrap
     /** Def-use information */
     protected final DefUse du;
 
+    /** Packed encoding of the normal instructions of {@link #ir}; null to use ir itself */
+    protected final PackedInstructions packed;
+
     public ConstraintVisitor(SSAPropagationCallGraphBuilder builder, CGNode node) {
       this.builder = builder;
       this.node = node;
@@ -626,6 +687,8 @@ public abstract class SSAPropagationCallGraphBuilder extends PropagationCallGrap
 
       this.du = interp.getDU(node);
 
+      this.packed = builder.getPackedInstructions(node, ir);
+
       assert symbolTable != null;
     }
 
@@ -726,6 +789,77 @@ public abstract class SSAPropagationCallGraphBuilder extends PropagationCallGrap
       return SSAPropagationCallGraphBuilder.isRootType(klass);
     }
 
+    /**
+     * Add the constraints of slot i of {@link #packed}, reading its kind, def, uses and references
+     * straight from the packed arrays. Calls keep their instruction in the constraints they add, so
+     * they, and instructions that were not encoded, are materialized and visited. A subclass that
+     * changes how instructions are visited is handed every instruction that way.
+     */
+    protected void visitPacked(int i) {
+      byte kind = packed.getKind(i);
+      if (kind == PackedInstructions.NULL) {
+        return;
+      }
+      if (getClass() != ConstraintVisitor.class) {
+        packed.visit(i, this);
+        return;
+      }
+      switch (kind) {
+        case PackedInstructions.GET:
+          visitGetInternal(
+              packed.getDef(i),
+              packed.isStatic(i) ? -1 : packed.getUse(i, 0),
+              packed.isStatic(i),
+              (FieldReference) packed.getReference(i));
+          break;
+        case PackedInstructions.PUT:
+          if (packed.isStatic(i)) {
+            visitPutInternal(
+                packed.getUse(i, 0), -1, true, (FieldReference) packed.getReference(i));
+          } else {
+            visitPutInternal(
+                packed.getUse(i, 1),
+                packed.getUse(i, 0),
+                false,
+                (FieldReference) packed.getReference(i));
+          }
+          break;
+        case PackedInstructions.NEW:
+          doVisitNew(
+              packed.getDef(i),
+              (NewSiteReference) packed.getReference(i),
+              packed.getNumberOfUses(i),
+              j -> packed.getUse(i, j));
+          break;
+        case PackedInstructions.ARRAY_LOAD:
+          if (!((TypeReference) packed.getReference(i)).isPrimitiveType()) {
+            doVisitArrayLoad(packed.getDef(i), packed.getUse(i, 0));
+          }
+          break;
+        case PackedInstructions.ARRAY_STORE:
+          if (!((TypeReference) packed.getReference(i)).isPrimitiveType()) {
+            doVisitArrayStore(packed.getUse(i, 0), packed.getUse(i, 2));
+          }
+          break;
+        case PackedInstructions.CHECK_CAST:
+          doVisitCheckCast(
+              packed.getDef(i), packed.getUse(i, 0), (TypeReference[]) packed.getReference(i));
+          break;
+        case PackedInstructions.RETURN:
+          if (!packed.returnsVoid(i) && !packed.returnsPrimitiveType(i)) {
+            doVisitReturn(packed.getUse(i, 0));
+          }
+          break;
+        case PackedInstructions.INVOKE:
+        case PackedInstructions.OTHER:
+          packed.visit(i, this);
+          break;
+        default:
+          // no pointer flow; exceptional flow is handled in a separate pass
+          break;
+      }
+    }
+
     @Override
     public void visitArrayLoad(SSAArrayLoadInstruction instruction) {
       // skip arrays of primitive type
@@ -836,11 +970,16 @@ public abstract class SSAPropagationCallGraphBuilder extends PropagationCallGrap
 
     @Override
     public void visitCheckCast(SSACheckCastInstruction instruction) {
+      doVisitCheckCast(
+          instruction.getResult(), instruction.getVal(), instruction.getDeclaredResultTypes());
+    }
+
+    protected void doVisitCheckCast(int def, int val, TypeReference[] declaredResultTypes) {
 
       boolean isRoot = false;
       Set<IClass> types = HashSetFactory.make();
 
-      for (TypeReference t : instruction.getDeclaredResultTypes()) {
+      for (TypeReference t : declaredResultTypes) {
         IClass cls = getClassHierarchy().lookupClass(t);
         if (cls == null) {
           Warnings.add(CheckcastFailure.create(t));
@@ -855,17 +994,16 @@ public abstract class SSAPropagationCallGraphBuilder extends PropagationCallGrap
 
       PointerKey result =
           getFilteredPointerKeyForLocal(
-              instruction.getResult(),
-              new FilteredPointerKey.MultipleClassesFilter(types.toArray(new IClass[0])));
-      PointerKey value = getPointerKeyForLocal(instruction.getVal());
+              def, new FilteredPointerKey.MultipleClassesFilter(types.toArray(new IClass[0])));
+      PointerKey value = getPointerKeyForLocal(val);
 
-      if (hasNoInterestingUses(instruction.getDef())) {
+      if (hasNoInterestingUses(def)) {
         system.recordImplicitPointsToSet(result);
       } else {
-        if (contentsAreInvariant(symbolTable, du, instruction.getVal())) {
+        if (contentsAreInvariant(symbolTable, du, val)) {
           system.recordImplicitPointsToSet(value);
-          InstanceKey[] ik = getInvariantContents(instruction.getVal());
-          for (TypeReference t : instruction.getDeclaredResultTypes()) {
+          InstanceKey[] ik = getInvariantContents(val);
+          for (TypeReference t : declaredResultTypes) {
             IClass cls = getClassHierarchy().lookupClass(t);
 
             if (cls.isInterface()) {
@@ -904,12 +1042,15 @@ public abstract class SSAPropagationCallGraphBuilder extends PropagationCallGrap
       if (DEBUG) {
         System.err.println("visitReturn: " + instruction);
       }
+      doVisitReturn(instruction.getResult());
+    }
 
+    protected void doVisitReturn(int value) {
       PointerKey returnValue = getPointerKeyForReturnValue();
-      PointerKey result = getPointerKeyForLocal(instruction.getResult());
-      if (contentsAreInvariant(symbolTable, du, instruction.getResult())) {
+      PointerKey result = getPointerKeyForLocal(value);
+      if (contentsAreInvariant(symbolTable, du, value)) {
         system.recordImplicitPointsToSet(result);
-        InstanceKey[] ik = getInvariantContents(instruction.getResult());
+        InstanceKey[] ik = getInvariantContents(value);
         for (InstanceKey element : ik) {
           if (DEBUG) {
             System.err.println("invariant contents: " + returnValue + ' ' + element);
@@ -1217,19 +1358,31 @@ public abstract class SSAPropagationCallGraphBuilder extends PropagationCallGrap
 
     @Override
     public void visitNew(SSANewInstruction instruction) {
-      InstanceKey iKey = getInstanceKeyForAllocation(instruction.getNewSite());
+      doVisitNew(
+          instruction.getDef(),
+          instruction.getNewSite(),
+          instruction.getNumberOfUses(),
+          instruction::getUse);
+    }
+
+    /**
+     * @param nUses the number of uses of the allocation, the lengths of the array dimensions
+     * @param use the value number of each use
+     */
+    protected void doVisitNew(int lval, NewSiteReference newSite, int nUses, IntUnaryOperator use) {
+      InstanceKey iKey = getInstanceKeyForAllocation(newSite);
 
       if (iKey == null) {
         // something went wrong. I hope someone raised a warning.
         return;
       }
-      PointerKey def = getPointerKeyForLocal(instruction.getDef());
+      PointerKey def = getPointerKeyForLocal(lval);
       IClass klass = iKey.getConcreteType();
 
       if (DEBUG) {
         System.err.println(
             "visitNew: "
-                + instruction
+                + newSite
                 + " i:"
                 + iKey
                 + ' '
@@ -1238,12 +1391,12 @@ public abstract class SSAPropagationCallGraphBuilder extends PropagationCallGrap
 
       if (klass == null) {
         if (DEBUG) {
-          System.err.println("Resolution failure: " + instruction);
+          System.err.println("Resolution failure: " + newSite);
         }
         return;
       }
 
-      if (!contentsAreInvariant(symbolTable, du, instruction.getDef())) {
+      if (!contentsAreInvariant(symbolTable, du, lval)) {
         system.newConstraint(def, iKey);
       } else {
         system.findOrCreateIndexForInstanceKey(iKey);
@@ -1264,17 +1417,17 @@ public abstract class SSAPropagationCallGraphBuilder extends PropagationCallGrap
         klass = ((ArrayClass) klass).getElementClass();
         // klass == null means it's a primitive
         if (klass != null && klass.isArrayClass()) {
-          if (instruction.getNumberOfUses() <= (dim + 1)) {
+          if (nUses <= (dim + 1)) {
             break;
           }
-          int sv = instruction.getUse(dim + 1);
+          int sv = use.applyAsInt(dim + 1);
           if (ir.getSymbolTable().isIntegerConstant(sv)) {
             Integer c = (Integer) ir.getSymbolTable().getConstantValue(sv);
             if (c == 0) {
               break;
             }
           }
-          InstanceKey ik = getInstanceKeyForMultiNewArray(instruction.getNewSite(), dim);
+          InstanceKey ik = getInstanceKeyForMultiNewArray(newSite, dim);
           PointerKey pk = getPointerKeyForArrayContents(lastInstance);
           if (DEBUG_MULTINEWARRAY) {
             System.err.println("multinewarray constraint: ");
@@ -10,8 +10,11 @@
  */
 package com.ibm.wala.ipa.callgraph.propagation;
 
+import com.ibm.wala.ipa.callgraph.propagation.IPropagationListener.Phase;
 import com.ibm.wala.util.CancelException;
 import com.ibm.wala.util.MonitorUtil.IProgressMonitor;
+import java.util.Arrays;
+import java.util.List;
 
 /** standard fixed-point iterative solver for pointer analysis */
 public class StandardSolver extends AbstractPointsToSolver {
@@ -24,6 +27,15 @@ public class StandardSolver extends AbstractPointsToSolver {
 
   @Override
   public void solve(IProgressMonitor monitor) throws IllegalArgumentException, CancelException {
+    List<IPropagationListener> listeners = getBuilder().getPropagationListeners();
+    boolean instrument = !listeners.isEmpty();
+    long[] phaseNanos = new long[Phase.values().length];
+    int nodes = getBuilder().getCallGraph().getNumberOfNodes();
+    long start = 0;
+    // past a budget, give up precision rather than fail, checking during each solve too
+    PrecisionBudget budget = getBuilder().getPrecisionBudget();
+    IProgressMonitor solveMonitor =
+        budget == null ? monitor : new PrecisionBudgetMonitor(budget, getSystem(), monitor);
     int i = 0;
     do {
       i++;
@@ -31,11 +43,22 @@ public class StandardSolver extends AbstractPointsToSolver {
       if (DEBUG_PHASES) {
         System.err.println("Iteration " + i);
       }
-      getSystem().solve(monitor);
+      if (instrument) {
+        Arrays.fill(phaseNanos, 0);
+        start = System.nanoTime();
+      }
+      getSystem().solve(solveMonitor);
+      if (instrument) {
+        start = phaseFinished(listeners, Phase.SOLVE, i, start, phaseNanos);
+      }
       if (DEBUG_PHASES) {
         System.err.println("Solved " + i);
       }
 
+      if (budget != null && budget.check(getSystem()) && DEBUG_PHASES) {
+        System.err.println("Degraded precision " + i);
+      }
+
       if (getBuilder().getOptions().getMaxNumberOfNodes() > -1) {
         if (getBuilder().getCallGraph().getNumberOfNodes()
             >= getBuilder().getOptions().getMaxNumberOfNodes()) {
@@ -51,6 +74,9 @@ public class StandardSolver extends AbstractPointsToSolver {
         System.err.println("adding constraints");
       }
       getBuilder().addConstraintsFromNewNodes(monitor);
+      if (instrument) {
+        start = phaseFinished(listeners, Phase.ADD_CONSTRAINTS, i, start, phaseNanos);
+      }
 
       // getBuilder().callGraph.summarizeByPackage();
 
@@ -60,11 +86,23 @@ public class StandardSolver extends AbstractPointsToSolver {
       if (i <= getBuilder().getOptions().getReflectionOptions().getNumFlowToCastIterations()) {
         getReflectionHandler().updateForReflection(monitor);
       }
+      if (instrument) {
+        start = phaseFinished(listeners, Phase.REFLECTION, i, start, phaseNanos);
+      }
       // Handling reflection may have discovered new nodes!
       if (DEBUG_PHASES) {
         System.err.println("adding constraints again");
       }
       getBuilder().addConstraintsFromNewNodes(monitor);
+      if (instrument) {
+        phaseFinished(listeners, Phase.ADD_CONSTRAINTS, i, start, phaseNanos);
+        PropagationStatistics stats =
+            PropagationStatistics.make(getBuilder(), i, nodes, phaseNanos);
+        nodes = stats.getCallGraphNodes();
+        for (IPropagationListener l : listeners) {
+          l.iterationFinished(stats);
+        }
+      }
 
       if (monitor != null) {
         monitor.worked(i);
@@ -73,4 +111,23 @@ public class StandardSolver extends AbstractPointsToSolver {
       // worklist; so,
     } while (!getSystem().emptyWorkList());
   }
+
+  /**
+   * add the time spent in a phase to this iteration's total and notify listeners
+   *
+   * @return the start time of the next phase
+   */
+  private static long phaseFinished(
+      List<IPropagationListener> listeners,
+      Phase phase,
+      int iteration,
+      long start,
+      long[] phaseNanos) {
+    long now = System.nanoTime();
+    phaseNanos[phase.ordinal()] += now - start;
+    for (IPropagationListener l : listeners) {
+      l.phaseFinished(phase, iteration, now - start);
+    }
+    return System.nanoTime();
+  }
 }
@@ -59,6 +59,10 @@ public class CallerContextPair extends CallerContext {
     }
   }
 
+  public Context getBaseContext() {
+    return baseContext;
+  }
+
   @Override
   public int hashCode() {
     return 8377 * getCaller().hashCode() + baseContext.hashCode();
@@ -63,6 +63,10 @@ public class CallerSiteContextPair extends CallerSiteContext {
     }
   }
 
+  public Context getBaseContext() {
+    return baseContext;
+  }
+
   @Override
   public int hashCode() {
     return super.hashCode() + baseContext.hashCode();
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.ipa.callgraph.propagation.cfa;
+
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.classLoader.Language;
+import com.ibm.wala.ipa.callgraph.AnalysisOptions;
+import com.ibm.wala.ipa.callgraph.CallGraph;
+import com.ibm.wala.ipa.callgraph.CallGraphBuilderCancelException;
+import com.ibm.wala.ipa.callgraph.ContextSelector;
+import com.ibm.wala.ipa.callgraph.IAnalysisCacheView;
+import com.ibm.wala.ipa.callgraph.impl.DefaultContextSelector;
+import com.ibm.wala.ipa.callgraph.impl.DelegatingContextSelector;
+import com.ibm.wala.ipa.callgraph.propagation.SSAContextInterpreter;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import com.ibm.wala.util.MonitorUtil.IProgressMonitor;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * call graph builder based on introspective object sensitivity.
+ *
+ * <p>{@link #makeCallGraph} first runs a context-insensitive analysis with the same policies,
+ * computes {@link IntrospectiveMetrics} from it, and then runs an n-object-sensitive analysis in
+ * which the methods deemed costly by those metrics are analyzed context-insensitively. Objects
+ * allocated in such methods therefore get no heap context either.
+ */
+public class IntrospectiveBuilder extends nObjBuilder {
+
+  private static final boolean DEBUG = false;
+
+  /** default bound on the points-to volume of a method analyzed with context */
+  public static final long DEFAULT_MAX_POINTS_TO_VOLUME = 10000;
+
+  /** default bound on the in-flow times callers of a method analyzed with context */
+  public static final long DEFAULT_MAX_WEIGHTED_IN_FLOW = 1000;
+
+  private final ContextSelector appContextSelector;
+
+  private final SSAContextInterpreter appContextInterpreter;
+
+  private final int instancePolicy;
+
+  private final long maxPointsToVolume;
+
+  private final long maxWeightedInFlow;
+
+  /** the metrics of the context-insensitive pass; null until it has run */
+  private IntrospectiveMetrics metrics;
+
+  /** methods analyzed context-insensitively; null until the context-insensitive pass has run */
+  private Set<IMethod> costly;
+
+  public IntrospectiveBuilder(
+      int n,
+      IClassHierarchy cha,
+      AnalysisOptions options,
+      IAnalysisCacheView cache,
+      ContextSelector appContextSelector,
+      SSAContextInterpreter appContextInterpreter,
+      int instancePolicy) {
+    this(
+        n,
+        cha,
+        options,
+        cache,
+        appContextSelector,
+        appContextInterpreter,
+        instancePolicy,
+        DEFAULT_MAX_POINTS_TO_VOLUME,
+        DEFAULT_MAX_WEIGHTED_IN_FLOW);
+  }
+
+  /**
+   * @param maxPointsToVolume methods whose locals point to more objects than this in total are
+   *     analyzed context-insensitively
+   * @param maxWeightedInFlow methods whose parameters point to more objects than this in total,
+   *     multiplied by their number of callers, are analyzed context-insensitively
+   */
+  public IntrospectiveBuilder(
+      int n,
+      IClassHierarchy cha,
+      AnalysisOptions options,
+      IAnalysisCacheView cache,
+      ContextSelector appContextSelector,
+      SSAContextInterpreter appContextInterpreter,
+      int instancePolicy,
+      long maxPointsToVolume,
+      long maxWeightedInFlow) {
+    super(n, cha, options, cache, appContextSelector, appContextInterpreter, instancePolicy);
+    this.appContextSelector = appContextSelector;
+    this.appContextInterpreter = appContextInterpreter;
+    this.instancePolicy = instancePolicy;
+    this.maxPointsToVolume = maxPointsToVolume;
+    this.maxWeightedInFlow = maxWeightedInFlow;
+  }
+
+  @Override
+  public CallGraph makeCallGraph(AnalysisOptions options, IProgressMonitor monitor)
+      throws IllegalArgumentException, CallGraphBuilderCancelException {
+    if (options == null) {
+      throw new IllegalArgumentException("options is null");
+    }
+    if (costly == null) {
+      ZeroXCFABuilder insensitive =
+          ZeroXCFABuilder.make(
+              Language.JAVA,
+              cha,
+              options,
+              getAnalysisCache(),
+              appContextSelector,
+              appContextInterpreter,
+              instancePolicy);
+      CallGraph cg = insensitive.makeCallGraph(options, monitor);
+      metrics = IntrospectiveMetrics.make(cg, insensitive.getPointerAnalysis());
+      costly = metrics.selectCostlyMethods(maxPointsToVolume, maxWeightedInFlow);
+      if (DEBUG) {
+        System.err.println(
+            "introspection: " + costly.size() + " of " + metrics.size() + " methods are costly");
+      }
+
+      ContextSelector def = new DefaultContextSelector(options, cha);
+      ContextSelector cheap =
+          appContextSelector == null ? def : new DelegatingContextSelector(appContextSelector, def);
+      setContextSelector(new IntrospectiveContextSelector(getContextSelector(), cheap, costly));
+    }
+    return super.makeCallGraph(options, monitor);
+  }
+
+  /** @return the metrics of the context-insensitive pass, or null if it has not run yet */
+  public IntrospectiveMetrics getMetrics() {
+    return metrics;
+  }
+
+  /** @return the methods analyzed context-insensitively, or null if not yet decided */
+  public Set<IMethod> getCostlyMethods() {
+    return costly == null ? null : Collections.unmodifiableSet(costly);
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.ipa.callgraph.propagation.cfa;
+
+import com.ibm.wala.classLoader.CallSiteReference;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.ipa.callgraph.CGNode;
+import com.ibm.wala.ipa.callgraph.Context;
+import com.ibm.wala.ipa.callgraph.ContextSelector;
+import com.ibm.wala.ipa.callgraph.propagation.InstanceKey;
+import com.ibm.wala.util.intset.IntSet;
+import java.util.Set;
+
+/**
+ * A context selector that picks context sensitivity per callee: methods in a given set of costly
+ * methods are analyzed with a cheap selector, all others with a precise one.
+ */
+public class IntrospectiveContextSelector implements ContextSelector {
+
+  private final ContextSelector precise;
+
+  private final ContextSelector cheap;
+
+  private final Set<IMethod> costly;
+
+  public IntrospectiveContextSelector(
+      ContextSelector precise, ContextSelector cheap, Set<IMethod> costly) {
+    if (precise == null || cheap == null || costly == null) {
+      throw new IllegalArgumentException("null argument");
+    }
+    this.precise = precise;
+    this.cheap = cheap;
+    this.costly = costly;
+  }
+
+  @Override
+  public Context getCalleeTarget(
+      CGNode caller, CallSiteReference site, IMethod callee, InstanceKey[] actualParameters) {
+    ContextSelector selector = costly.contains(callee) ? cheap : precise;
+    return selector.getCalleeTarget(caller, site, callee, actualParameters);
+  }
+
+  @Override
+  public IntSet getRelevantParameters(CGNode caller, CallSiteReference site) {
+    // the callee is not known yet, so ask for whatever either selector may need
+    return precise
+        .getRelevantParameters(caller, site)
+        .union(cheap.getRelevantParameters(caller, site));
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.ipa.callgraph.propagation.cfa;
+
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.ipa.callgraph.CGNode;
+import com.ibm.wala.ipa.callgraph.CallGraph;
+import com.ibm.wala.ipa.callgraph.propagation.InstanceKey;
+import com.ibm.wala.ipa.callgraph.propagation.LocalPointerKey;
+import com.ibm.wala.ipa.callgraph.propagation.PointerAnalysis;
+import com.ibm.wala.ipa.callgraph.propagation.PointerKey;
+import com.ibm.wala.util.collections.HashMapFactory;
+import com.ibm.wala.util.collections.HashSetFactory;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-method cost metrics computed from a cheap (context-insensitive) pointer analysis, used by
+ * {@link IntrospectiveBuilder} to decide which methods are worth analyzing context-sensitively.
+ *
+ * <p>See Smaragdakis, Kastrinis and Balatsouras, "Introspective Analysis: Context-Sensitivity,
+ * Across the Board", PLDI 2014.
+ */
+public class IntrospectiveMetrics {
+
+  /** the metrics of one method, summed over all of its nodes */
+  private static final class Cost {
+    /** total size of the points-to sets of the method's locals */
+    long pointsToVolume;
+
+    /** total size of the points-to sets of the method's parameters */
+    long inFlow;
+
+    /** number of call graph nodes calling the method */
+    int callers;
+  }
+
+  private final Map<IMethod, Cost> costs = HashMapFactory.make();
+
+  private IntrospectiveMetrics() {}
+
+  /**
+   * @param cg a call graph, normally computed context-insensitively
+   * @param pa the pointer analysis computed along with cg
+   */
+  public static IntrospectiveMetrics make(CallGraph cg, PointerAnalysis<InstanceKey> pa) {
+    if (cg == null) {
+      throw new IllegalArgumentException("null cg");
+    }
+    if (pa == null) {
+      throw new IllegalArgumentException("null pa");
+    }
+    IntrospectiveMetrics result = new IntrospectiveMetrics();
+    for (PointerKey k : pa.getPointerKeys()) {
+      if (k instanceof LocalPointerKey) {
+        LocalPointerKey l = (LocalPointerKey) k;
+        int size = pa.getPointsToSet(l).size();
+        Cost c = result.findOrCreate(l.getNode().getMethod());
+        c.pointsToVolume += size;
+        if (l.isParameter()) {
+          c.inFlow += size;
+        }
+      }
+    }
+    for (CGNode n : cg) {
+      result.findOrCreate(n.getMethod()).callers += cg.getPredNodeCount(n);
+    }
+    return result;
+  }
+
+  private Cost findOrCreate(IMethod m) {
+    return costs.computeIfAbsent(m, k -> new Cost());
+  }
+
+  /** @return total size of the points-to sets of m's locals */
+  public long getPointsToVolume(IMethod m) {
+    Cost c = costs.get(m);
+    return c == null ? 0 : c.pointsToVolume;
+  }
+
+  /** @return total size of the points-to sets of m's parameters */
+  public long getInFlow(IMethod m) {
+    Cost c = costs.get(m);
+    return c == null ? 0 : c.inFlow;
+  }
+
+  /** @return number of call graph nodes calling m */
+  public int getCallers(IMethod m) {
+    Cost c = costs.get(m);
+    return c == null ? 0 : c.callers;
+  }
+
+  /**
+   * Pick the methods that context sensitivity would likely make too expensive: those whose
+   * points-to volume exceeds {@code maxPointsToVolume}, or whose in-flow multiplied by their number
+   * of callers exceeds {@code maxWeightedInFlow}.
+   */
+  public Set<IMethod> selectCostlyMethods(long maxPointsToVolume, long maxWeightedInFlow) {
+    Set<IMethod> result = HashSetFactory.make();
+    for (Map.Entry<IMethod, Cost> e : costs.entrySet()) {
+      Cost c = e.getValue();
+      if (c.pointsToVolume > maxPointsToVolume || c.inFlow * c.callers > maxWeightedInFlow) {
+        result.add(e.getKey());
+      }
+    }
+    return result;
+  }
+
+  /** @return the number of methods with metrics */
+  public int size() {
+    return costs.size();
+  }
+}
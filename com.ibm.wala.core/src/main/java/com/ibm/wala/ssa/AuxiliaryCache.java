@@ -45,6 +45,9 @@ public class AuxiliaryCache implements IAuxiliaryCache {
   /** number of items cached here. */
   private int nItems = 0;
 
+  /** are new items held by weak rather than soft references? */
+  private volatile boolean weak = false;
+
   @Override
   public synchronized void wipe() {
     dictionary = HashMapFactory.make();
@@ -99,10 +102,15 @@ public class AuxiliaryCache implements IAuxiliaryCache {
     Pair<IMethod, Context> p = Pair.make(m, c);
     // methodMap: SSAOptions -> SoftReference
     Map<SSAOptions, Object> methodMap = MapUtil.findOrCreateMap(dictionary, p);
-    Object ref = CacheReference.make(aux);
+    Object ref = weak ? CacheReference.makeWeak(aux) : CacheReference.make(aux);
     methodMap.put(options, ref);
   }
 
+  @Override
+  public void setWeak(boolean weak) {
+    this.weak = weak;
+  }
+
   @Override
   public void invalidate(IMethod method, Context c) {
     dictionary.remove(Pair.make(method, c));
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.ssa;
+
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.core.util.ref.CacheReference;
+import com.ibm.wala.ipa.callgraph.Context;
+import com.ibm.wala.util.collections.Pair;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe cache for auxiliary information based on an SSA representation.
+ *
+ * <p>A mapping from (IMethod,Context) -&gt; SSAOptions -&gt; (FutureTask | SoftReference) -&gt;
+ * something. Unlike {@link AuxiliaryCache}, no global lock is held: lookups of unrelated keys never
+ * block each other, and {@link #findOrCompute} guarantees that at most one thread builds the value
+ * for a given key while other threads asking for the same key wait for that single result.
+ *
+ * <p>The cache also counts hits, misses, waits on in-flight builds and entries whose soft reference
+ * was reclaimed by the GC, so clients can judge how much contention they actually see.
+ */
+public class ConcurrentAuxiliaryCache implements IAuxiliaryCache {
+
+  /**
+   * Help out the garbage collector: sweep reclaimed references out of this cache every time this
+   * many new items have been cached
+   */
+  private static final int RESET_THRESHOLD = 2000;
+
+  /**
+   * A mapping from (IMethod,Context) -&gt; SSAOptions -&gt; value, where value is either a {@link
+   * FutureTask} for a build in progress or a reference made by {@link CacheReference}
+   */
+  private final ConcurrentMap<Pair<IMethod, Context>, ConcurrentMap<SSAOptions, Object>>
+      dictionary = new ConcurrentHashMap<>();
+
+  /** number of items cached since the last sweep */
+  private final AtomicInteger nItems = new AtomicInteger();
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder waits = new LongAdder();
+
+  private final LongAdder reclaimed = new LongAdder();
+
+  /** are new items held by weak rather than soft references? */
+  private volatile boolean weak = false;
+
+  /**
+   * Find the object cached for a &lt;m,c,options&gt; triple, computing it with {@code builder} if
+   * none is found. Concurrent callers for the same triple share a single invocation of {@code
+   * builder}; callers for other triples are not blocked.
+   *
+   * @return the cached or newly built object; null if {@code builder} returned null, in which case
+   *     nothing is cached
+   */
+  public Object findOrCompute(IMethod m, Context c, SSAOptions options, Supplier<?> builder) {
+    ConcurrentMap<SSAOptions, Object> methodMap =
+        dictionary.computeIfAbsent(Pair.make(m, c), k -> new ConcurrentHashMap<>());
+    while (true) {
+      Object v = methodMap.get(options);
+      if (v == null) {
+        FutureTask<Object> task = new FutureTask<>(builder::get);
+        v = methodMap.putIfAbsent(options, task);
+        if (v == null) {
+          misses.increment();
+          task.run();
+          Object result = await(methodMap, options, task);
+          if (result == null) {
+            methodMap.remove(options, task);
+          } else {
+            methodMap.replace(options, task, reference(result));
+            maybeSweep();
+          }
+          return result;
+        }
+      }
+      if (v instanceof FutureTask) {
+        waits.increment();
+        @SuppressWarnings("unchecked")
+        FutureTask<Object> task = (FutureTask<Object>) v;
+        return await(methodMap, options, task);
+      }
+      Object result = CacheReference.get(v);
+      if (result != null) {
+        hits.increment();
+        return result;
+      }
+      // the GC got there first; drop the stale reference and try again
+      reclaimed.increment();
+      methodMap.remove(options, v);
+    }
+  }
+
+  private static Object await(
+      ConcurrentMap<SSAOptions, Object> methodMap, SSAOptions options, FutureTask<Object> task) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return task.get();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          // do not memoize failures; the next caller gets a fresh attempt
+          methodMap.remove(options, task);
+          Throwable cause = e.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          } else if (cause instanceof Error) {
+            throw (Error) cause;
+          } else {
+            throw new IllegalStateException(cause);
+          }
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /** clear out references that have been reclaimed, every {@link #RESET_THRESHOLD} insertions */
+  private void maybeSweep() {
+    if (nItems.incrementAndGet() < RESET_THRESHOLD) {
+      return;
+    }
+    nItems.set(0);
+    for (ConcurrentMap<SSAOptions, Object> methodMap : dictionary.values()) {
+      methodMap
+          .values()
+          .removeIf(
+              v -> {
+                if (!(v instanceof FutureTask) && CacheReference.get(v) == null) {
+                  reclaimed.increment();
+                  return true;
+                }
+                return false;
+              });
+    }
+    dictionary.values().removeIf(ConcurrentMap::isEmpty);
+  }
+
+  @Override
+  public void wipe() {
+    dictionary.clear();
+    nItems.set(0);
+  }
+
+  /**
+   * @return the object cached for m, or null if none found. This never waits for a build in
+   *     progress.
+   */
+  @Override
+  public Object find(IMethod m, Context c, SSAOptions options) {
+    ConcurrentMap<SSAOptions, Object> methodMap = dictionary.get(Pair.make(m, c));
+    if (methodMap == null) {
+      return null;
+    }
+    Object v = methodMap.get(options);
+    if (v == null || v instanceof FutureTask) {
+      return null;
+    }
+    return CacheReference.get(v);
+  }
+
+  @Override
+  public void cache(IMethod m, Context c, SSAOptions options, Object aux) {
+    dictionary
+        .computeIfAbsent(Pair.make(m, c), k -> new ConcurrentHashMap<>())
+        .put(options, reference(aux));
+    maybeSweep();
+  }
+
+  @Override
+  public void invalidate(IMethod method, Context c) {
+    dictionary.remove(Pair.make(method, c));
+  }
+
+  @Override
+  public void setWeak(boolean weak) {
+    this.weak = weak;
+  }
+
+  private Object reference(Object value) {
+    return weak ? CacheReference.makeWeak(value) : CacheReference.make(value);
+  }
+
+  /** @return number of lookups answered from the cache */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /** @return number of lookups that had to build a new value */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /** @return number of lookups that waited for another thread to finish building the same value */
+  public long getWaits() {
+    return waits.sum();
+  }
+
+  /** @return number of cached values found to have been reclaimed by the GC */
+  public long getReclaimed() {
+    return reclaimed.sum();
+  }
+
+  /** reset all counters to zero */
+  public void resetStatistics() {
+    hits.reset();
+    misses.reset();
+    waits.reset();
+    reclaimed.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "hits: "
+        + getHits()
+        + ", misses: "
+        + getMisses()
+        + ", waits: "
+        + getWaits()
+        + ", reclaimed: "
+        + getReclaimed();
+  }
+}
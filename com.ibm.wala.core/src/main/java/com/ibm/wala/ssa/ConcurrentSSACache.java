@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.ssa;
+
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.ipa.callgraph.Context;
+import com.ibm.wala.ipa.callgraph.impl.Everywhere;
+
+/**
+ * An {@link SSACache} that may be shared by many threads without a global lock.
+ *
+ * <p>IRs and {@link DefUse}s are memoized per &lt;method,context,options&gt; in {@link
+ * ConcurrentAuxiliaryCache}s: each one is built by exactly one thread, other threads asking for the
+ * same key wait for that result, and threads asking for different keys proceed in parallel.
+ */
+public class ConcurrentSSACache extends SSACache {
+
+  /** The factory that actually creates new IR objects */
+  private final IRFactory<IMethod> factory;
+
+  /** A cache of SSA IRs */
+  private final ConcurrentAuxiliaryCache irCache;
+
+  /** A cache of DefUse information */
+  private final ConcurrentAuxiliaryCache duCache;
+
+  /** A cache of packed encodings of IR instructions */
+  private final ConcurrentAuxiliaryCache packedCache;
+
+  /** @param factory a factory for creating IRs */
+  public ConcurrentSSACache(IRFactory<IMethod> factory) {
+    this(
+        factory,
+        new ConcurrentAuxiliaryCache(),
+        new ConcurrentAuxiliaryCache(),
+        new ConcurrentAuxiliaryCache());
+  }
+
+  private ConcurrentSSACache(
+      IRFactory<IMethod> factory,
+      ConcurrentAuxiliaryCache irCache,
+      ConcurrentAuxiliaryCache duCache,
+      ConcurrentAuxiliaryCache packedCache) {
+    super(factory, irCache, duCache, packedCache);
+    this.factory = factory;
+    this.irCache = irCache;
+    this.duCache = duCache;
+    this.packedCache = packedCache;
+  }
+
+  @Override
+  public IR findOrCreateIR(final IMethod m, Context c, final SSAOptions options) {
+    if (m == null) {
+      throw new IllegalArgumentException("m is null");
+    }
+    if (m.isAbstract() || m.isNative()) {
+      return null;
+    }
+    final Context context = factory.contextIsIrrelevant(m) ? Everywhere.EVERYWHERE : c;
+    return (IR)
+        irCache.findOrCompute(m, context, options, () -> factory.makeIR(m, context, options));
+  }
+
+  @Override
+  public DefUse findOrCreateDU(final IMethod m, Context c, final SSAOptions options) {
+    if (m == null) {
+      throw new IllegalArgumentException("m is null");
+    }
+    if (m.isAbstract() || m.isNative()) {
+      return null;
+    }
+    final Context context = factory.contextIsIrrelevant(m) ? Everywhere.EVERYWHERE : c;
+    return (DefUse)
+        duCache.findOrCompute(
+            m, context, options, () -> new DefUse(findOrCreateIR(m, context, options)));
+  }
+
+  @Override
+  public DefUse findOrCreateDU(final IR ir, Context C) {
+    if (ir == null) {
+      throw new IllegalArgumentException("ir is null");
+    }
+    return (DefUse) duCache.findOrCompute(ir.getMethod(), C, ir.getOptions(), () -> new DefUse(ir));
+  }
+
+  @Override
+  public PackedInstructions findOrCreatePackedInstructions(
+      final IMethod m, Context c, final SSAOptions options) {
+    if (m == null) {
+      throw new IllegalArgumentException("m is null");
+    }
+    if (m.isAbstract() || m.isNative()) {
+      return null;
+    }
+    final Context context = factory.contextIsIrrelevant(m) ? Everywhere.EVERYWHERE : c;
+    return (PackedInstructions)
+        packedCache.findOrCompute(
+            m,
+            context,
+            options,
+            () -> PackedInstructions.make(findOrCreateIR(m, context, options)));
+  }
+
+  /** @return the number of IR requests answered from the cache, waiting for it or not */
+  @Override
+  public long getIRCacheHits() {
+    return irCache.getHits() + irCache.getWaits();
+  }
+
+  @Override
+  public long getIRCacheMisses() {
+    return irCache.getMisses();
+  }
+
+  /** @return the IR cache, whose hit/miss/wait counters describe contention on IRs */
+  public ConcurrentAuxiliaryCache getIRCache() {
+    return irCache;
+  }
+
+  /** @return the {@link DefUse} cache */
+  public ConcurrentAuxiliaryCache getDUCache() {
+    return duCache;
+  }
+
+  /** @return the cache of {@link PackedInstructions} */
+  public ConcurrentAuxiliaryCache getPackedCache() {
+    return packedCache;
+  }
+}
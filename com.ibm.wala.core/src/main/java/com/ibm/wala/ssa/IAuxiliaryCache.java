@@ -35,4 +35,10 @@ interface IAuxiliaryCache {
 
   /** invalidate all cached information about a method */
   void invalidate(IMethod method, Context c);
+
+  /**
+   * @param weak if information cached from now on is kept only while some client uses it, rather
+   *     than until the GC runs short of memory
+   */
+  void setWeak(boolean weak);
 }
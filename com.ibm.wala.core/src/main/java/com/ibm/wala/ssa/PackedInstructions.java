@@ -0,0 +1,523 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.ssa;
+
+import com.ibm.wala.classLoader.CallSiteReference;
+import com.ibm.wala.classLoader.NewSiteReference;
+import com.ibm.wala.shrike.shrikeBT.IBinaryOpInstruction;
+import com.ibm.wala.shrike.shrikeBT.IComparisonInstruction;
+import com.ibm.wala.shrike.shrikeBT.IConditionalBranchInstruction;
+import com.ibm.wala.shrike.shrikeBT.IUnaryOpInstruction;
+import com.ibm.wala.types.FieldReference;
+import com.ibm.wala.types.TypeReference;
+import com.ibm.wala.util.collections.HashMapFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A struct-of-arrays encoding of the normal instructions of an {@link IR}.
+ *
+ * <p>Each instruction slot is described by an opcode kind, its first def, its uses (packed into one
+ * shared array) and up to two indices into a table of interned references (fields, call sites,
+ * allocation sites, types and operators). Clients that only need defs, uses and references can walk
+ * these arrays directly; clients that need the {@link SSAInstruction} API get a freshly built view
+ * from {@link #getInstruction(int)}. Views are {@link SSAInstruction#equals(Object) equal} to the
+ * instructions they were encoded from, since they have the same instruction index.
+ *
+ * <p>Only instructions whose view can be rebuilt faithfully by the governing {@link
+ * SSAInstructionFactory} are encoded; anything else (language-specific instructions, invokedynamic,
+ * switches, ...) is retained as-is with kind {@link #OTHER}. For bytecode IRs this is a small
+ * minority, so a retained {@link PackedInstructions} is much smaller than the instruction array.
+ */
+public final class PackedInstructions {
+
+  public static final byte NULL = 0;
+
+  public static final byte OTHER = 1;
+
+  public static final byte GET = 2;
+
+  public static final byte PUT = 3;
+
+  public static final byte INVOKE = 4;
+
+  public static final byte NEW = 5;
+
+  public static final byte RETURN = 6;
+
+  public static final byte GOTO = 7;
+
+  public static final byte CONDITIONAL_BRANCH = 8;
+
+  public static final byte BINARY_OP = 9;
+
+  public static final byte UNARY_OP = 10;
+
+  public static final byte ARRAY_LOAD = 11;
+
+  public static final byte ARRAY_STORE = 12;
+
+  public static final byte ARRAY_LENGTH = 13;
+
+  public static final byte CHECK_CAST = 14;
+
+  public static final byte CONVERSION = 15;
+
+  public static final byte COMPARISON = 16;
+
+  public static final byte INSTANCEOF = 17;
+
+  public static final byte THROW = 18;
+
+  public static final byte MONITOR = 19;
+
+  /** flag bits stored in {@link #aux} */
+  private static final int STATIC = 1;
+
+  private static final int VOID = 2;
+
+  private static final int PRIMITIVE = 4;
+
+  private static final int MONITOR_ENTER = 8;
+
+  private static final int MAY_BE_INTEGER = 16;
+
+  private static final int IS_PEI = 32;
+
+  private final SSAInstructionFactory insts;
+
+  private final byte[] kinds;
+
+  private final int[] defs;
+
+  /** uses of slot i are uses[useStart[i] .. useStart[i+1]) */
+  private final int[] useStart;
+
+  private final int[] uses;
+
+  /** index into {@link #table} of the primary reference, or -1 */
+  private final int[] ref;
+
+  /** index into {@link #table} of the secondary reference, or -1 */
+  private final int[] ref2;
+
+  /** kind-specific payload: an exception value, a branch target, or flag bits */
+  private final int[] aux;
+
+  /** interned references, plus the retained {@link #OTHER} instructions */
+  private final Object[] table;
+
+  private PackedInstructions(
+      SSAInstructionFactory insts,
+      byte[] kinds,
+      int[] defs,
+      int[] useStart,
+      int[] uses,
+      int[] ref,
+      int[] ref2,
+      int[] aux,
+      Object[] table) {
+    this.insts = insts;
+    this.kinds = kinds;
+    this.defs = defs;
+    this.useStart = useStart;
+    this.uses = uses;
+    this.ref = ref;
+    this.ref2 = ref2;
+    this.aux = aux;
+    this.table = table;
+  }
+
+  /** Encode the normal instructions of an IR. */
+  public static PackedInstructions make(IR ir) {
+    if (ir == null) {
+      throw new IllegalArgumentException("ir is null");
+    }
+    return make(
+        ir.getInstructions(),
+        ir.getMethod().getDeclaringClass().getClassLoader().getInstructionFactory());
+  }
+
+  /**
+   * Encode an instruction array indexed by instruction index.
+   *
+   * @param insts the factory that created the instructions; used to rebuild views
+   */
+  public static PackedInstructions make(
+      SSAInstruction[] instructions, SSAInstructionFactory insts) {
+    if (instructions == null) {
+      throw new IllegalArgumentException("instructions is null");
+    }
+    return new Encoder(instructions, insts).encode();
+  }
+
+  /** @return the number of instruction slots, including empty ones */
+  public int size() {
+    return kinds.length;
+  }
+
+  /** @return the kind of slot i; {@link #NULL} if there is no instruction there */
+  public byte getKind(int i) {
+    return kinds[i];
+  }
+
+  /** @return the first def of slot i, or -1 */
+  public int getDef(int i) {
+    return defs[i];
+  }
+
+  public int getNumberOfUses(int i) {
+    return useStart[i + 1] - useStart[i];
+  }
+
+  public int getUse(int i, int j) {
+    return uses[useStart[i] + j];
+  }
+
+  /**
+   * @return the primary reference of slot i: a {@link FieldReference} for {@link #GET} and {@link
+   *     #PUT}, a {@link CallSiteReference} for {@link #INVOKE}, a {@link NewSiteReference} for
+   *     {@link #NEW}, a {@link TypeReference} for array, cast and instanceof instructions, an
+   *     operator for arithmetic and branches; null otherwise
+   */
+  public Object getReference(int i) {
+    return ref[i] == -1 ? null : table[ref[i]];
+  }
+
+  /** @return if slot i, a {@link #GET} or {@link #PUT}, accesses a static field */
+  public boolean isStatic(int i) {
+    return (aux[i] & STATIC) != 0;
+  }
+
+  /** @return if slot i, a {@link #RETURN}, returns no value */
+  public boolean returnsVoid(int i) {
+    return (aux[i] & VOID) != 0;
+  }
+
+  /** @return if slot i, a {@link #RETURN}, returns a value of primitive type */
+  public boolean returnsPrimitiveType(int i) {
+    return (aux[i] & PRIMITIVE) != 0;
+  }
+
+  /** @return the instruction in slot i, rebuilt on demand; null if the slot is empty */
+  public SSAInstruction getInstruction(int i) {
+    switch (kinds[i]) {
+      case NULL:
+        return null;
+      case OTHER:
+        return (SSAInstruction) table[ref[i]];
+      default:
+        return build(
+            insts,
+            kinds[i],
+            i,
+            defs[i],
+            Arrays.copyOfRange(uses, useStart[i], useStart[i + 1]),
+            ref[i] == -1 ? null : table[ref[i]],
+            ref2[i] == -1 ? null : table[ref2[i]],
+            aux[i]);
+    }
+  }
+
+  private static SSAInstruction build(
+      SSAInstructionFactory insts,
+      byte kind,
+      int i,
+      int def,
+      int[] u,
+      Object r,
+      Object r2,
+      int flags) {
+    switch (kind) {
+      case GET:
+        return (flags & STATIC) != 0
+            ? insts.GetInstruction(i, def, (FieldReference) r)
+            : insts.GetInstruction(i, def, u[0], (FieldReference) r);
+      case PUT:
+        return (flags & STATIC) != 0
+            ? insts.PutInstruction(i, u[0], (FieldReference) r)
+            : insts.PutInstruction(i, u[0], u[1], (FieldReference) r);
+      case INVOKE:
+        return def == -1
+            ? insts.InvokeInstruction(i, u, flags, (CallSiteReference) r, null)
+            : insts.InvokeInstruction(i, def, u, flags, (CallSiteReference) r, null);
+      case NEW:
+        return u.length == 0
+            ? insts.NewInstruction(i, def, (NewSiteReference) r)
+            : insts.NewInstruction(i, def, (NewSiteReference) r, u);
+      case RETURN:
+        return (flags & VOID) != 0
+            ? insts.ReturnInstruction(i)
+            : insts.ReturnInstruction(i, u[0], (flags & PRIMITIVE) != 0);
+      case GOTO:
+        return insts.GotoInstruction(i, flags);
+      case CONDITIONAL_BRANCH:
+        return insts.ConditionalBranchInstruction(
+            i, (IConditionalBranchInstruction.IOperator) r, (TypeReference) r2, u[0], u[1], flags);
+      case BINARY_OP:
+        return insts.BinaryOpInstruction(
+            i,
+            (IBinaryOpInstruction.IOperator) r,
+            false,
+            false,
+            def,
+            u[0],
+            u[1],
+            (flags & MAY_BE_INTEGER) != 0);
+      case UNARY_OP:
+        return insts.UnaryOpInstruction(i, (IUnaryOpInstruction.IOperator) r, def, u[0]);
+      case ARRAY_LOAD:
+        return insts.ArrayLoadInstruction(i, def, u[0], u[1], (TypeReference) r);
+      case ARRAY_STORE:
+        return insts.ArrayStoreInstruction(i, u[0], u[1], u[2], (TypeReference) r);
+      case ARRAY_LENGTH:
+        return insts.ArrayLengthInstruction(i, def, u[0]);
+      case CHECK_CAST:
+        return insts.CheckCastInstruction(i, def, u[0], (TypeReference[]) r, (flags & IS_PEI) != 0);
+      case CONVERSION:
+        return insts.ConversionInstruction(
+            i, def, u[0], (TypeReference) r2, (TypeReference) r, false);
+      case COMPARISON:
+        return insts.ComparisonInstruction(i, (IComparisonInstruction.Operator) r, def, u[0], u[1]);
+      case INSTANCEOF:
+        return insts.InstanceofInstruction(i, def, u[0], (TypeReference) r);
+      case THROW:
+        return insts.ThrowInstruction(i, u[0]);
+      case MONITOR:
+        return insts.MonitorInstruction(i, u[0], (flags & MONITOR_ENTER) != 0);
+      default:
+        throw new IllegalStateException("unexpected kind " + kind);
+    }
+  }
+
+  /** visit the instruction in slot i, if any */
+  public void visit(int i, SSAInstruction.IVisitor v) {
+    SSAInstruction s = getInstruction(i);
+    if (s != null) {
+      s.visit(v);
+    }
+  }
+
+  /** visit every instruction, in slot order */
+  public void visitAll(SSAInstruction.IVisitor v) {
+    for (int i = 0; i < kinds.length; i++) {
+      visit(i, v);
+    }
+  }
+
+  /** @return number of slots retained as {@link #OTHER} rather than encoded */
+  public int getNumberOfUnencoded() {
+    int n = 0;
+    for (byte k : kinds) {
+      if (k == OTHER) {
+        n++;
+      }
+    }
+    return n;
+  }
+
+  private static final class Encoder {
+    private final SSAInstruction[] instructions;
+
+    private final SSAInstructionFactory insts;
+
+    private final byte[] kinds;
+
+    private final int[] defs;
+
+    private final int[] useStart;
+
+    private final int[] ref;
+
+    private final int[] ref2;
+
+    private final int[] aux;
+
+    private int[] uses = new int[16];
+
+    private int nUses = 0;
+
+    private final List<Object> table = new ArrayList<>();
+
+    private final Map<Object, Integer> interned = HashMapFactory.make();
+
+    Encoder(SSAInstruction[] instructions, SSAInstructionFactory insts) {
+      this.instructions = instructions;
+      this.insts = insts;
+      int n = instructions.length;
+      kinds = new byte[n];
+      defs = new int[n];
+      useStart = new int[n + 1];
+      ref = new int[n];
+      ref2 = new int[n];
+      aux = new int[n];
+    }
+
+    PackedInstructions encode() {
+      for (int i = 0; i < instructions.length; i++) {
+        SSAInstruction s = instructions[i];
+        useStart[i] = nUses;
+        ref[i] = -1;
+        ref2[i] = -1;
+        defs[i] = -1;
+        if (s == null) {
+          kinds[i] = NULL;
+          continue;
+        }
+        defs[i] = s.hasDef() ? s.getDef() : -1;
+        for (int j = 0; j < s.getNumberOfUses(); j++) {
+          addUse(s.getUse(j));
+        }
+        kinds[i] = insts == null || s.iIndex() != i ? OTHER : classify(i, s);
+        if (kinds[i] != OTHER && !rebuildsFaithfully(i, s)) {
+          kinds[i] = OTHER;
+        }
+        if (kinds[i] == OTHER) {
+          ref[i] = table.size();
+          ref2[i] = -1;
+          table.add(s);
+        }
+      }
+      useStart[instructions.length] = nUses;
+      return new PackedInstructions(
+          insts,
+          kinds,
+          defs,
+          useStart,
+          Arrays.copyOf(uses, nUses),
+          ref,
+          ref2,
+          aux,
+          table.toArray());
+    }
+
+    /** make sure the factory rebuilds exactly this instruction; otherwise it is kept as is */
+    private boolean rebuildsFaithfully(int i, SSAInstruction s) {
+      SSAInstruction view;
+      try {
+        view =
+            build(
+                insts,
+                kinds[i],
+                i,
+                defs[i],
+                Arrays.copyOfRange(uses, useStart[i], nUses),
+                ref[i] == -1 ? null : table.get(ref[i]),
+                ref2[i] == -1 ? null : table.get(ref2[i]),
+                aux[i]);
+      } catch (RuntimeException e) {
+        return false;
+      }
+      return view.getClass() == s.getClass() && view.toString(null).equals(s.toString(null));
+    }
+
+    private void addUse(int vn) {
+      if (nUses == uses.length) {
+        uses = Arrays.copyOf(uses, uses.length * 2);
+      }
+      uses[nUses++] = vn;
+    }
+
+    private int intern(Object o) {
+      Integer index = interned.get(o);
+      if (index == null) {
+        index = table.size();
+        table.add(o);
+        interned.put(o, index);
+      }
+      return index;
+    }
+
+    private byte classify(int i, SSAInstruction s) {
+      if (s instanceof SSAGetInstruction) {
+        SSAGetInstruction g = (SSAGetInstruction) s;
+        ref[i] = intern(g.getDeclaredField());
+        aux[i] = g.isStatic() ? STATIC : 0;
+        return GET;
+      } else if (s instanceof SSAPutInstruction) {
+        SSAPutInstruction p = (SSAPutInstruction) s;
+        ref[i] = intern(p.getDeclaredField());
+        aux[i] = p.isStatic() ? STATIC : 0;
+        return PUT;
+      } else if (s instanceof SSAInvokeInstruction
+          && !(s instanceof SSAInvokeDynamicInstruction)) {
+        SSAInvokeInstruction call = (SSAInvokeInstruction) s;
+        if (call.getNumberOfReturnValues() > 1) {
+          return OTHER;
+        }
+        ref[i] = intern(call.getCallSite());
+        aux[i] = call.getException();
+        return INVOKE;
+      } else if (s instanceof SSANewInstruction) {
+        ref[i] = intern(((SSANewInstruction) s).getNewSite());
+        return NEW;
+      } else if (s instanceof SSAReturnInstruction) {
+        SSAReturnInstruction r = (SSAReturnInstruction) s;
+        aux[i] = (r.returnsVoid() ? VOID : 0) | (r.returnsPrimitiveType() ? PRIMITIVE : 0);
+        return RETURN;
+      } else if (s instanceof SSAGotoInstruction) {
+        aux[i] = ((SSAGotoInstruction) s).getTarget();
+        return GOTO;
+      } else if (s instanceof SSAConditionalBranchInstruction) {
+        SSAConditionalBranchInstruction b = (SSAConditionalBranchInstruction) s;
+        ref[i] = intern(b.getOperator());
+        ref2[i] = intern(b.getType());
+        aux[i] = b.getTarget();
+        return CONDITIONAL_BRANCH;
+      } else if (s instanceof SSABinaryOpInstruction) {
+        SSABinaryOpInstruction b = (SSABinaryOpInstruction) s;
+        ref[i] = intern(b.getOperator());
+        aux[i] = b.mayBeIntegerOp() ? MAY_BE_INTEGER : 0;
+        return BINARY_OP;
+      } else if (s instanceof SSAUnaryOpInstruction) {
+        ref[i] = intern(((SSAUnaryOpInstruction) s).getOpcode());
+        return UNARY_OP;
+      } else if (s instanceof SSAArrayLoadInstruction) {
+        ref[i] = intern(((SSAArrayLoadInstruction) s).getElementType());
+        return ARRAY_LOAD;
+      } else if (s instanceof SSAArrayStoreInstruction) {
+        ref[i] = intern(((SSAArrayStoreInstruction) s).getElementType());
+        return ARRAY_STORE;
+      } else if (s instanceof SSAArrayLengthInstruction) {
+        return ARRAY_LENGTH;
+      } else if (s instanceof SSACheckCastInstruction) {
+        SSACheckCastInstruction c = (SSACheckCastInstruction) s;
+        if (c.getDeclaredResultTypes() == null) {
+          return OTHER;
+        }
+        ref[i] = table.size();
+        table.add(c.getDeclaredResultTypes());
+        aux[i] = c.isPEI() ? IS_PEI : 0;
+        return CHECK_CAST;
+      } else if (s instanceof SSAConversionInstruction) {
+        SSAConversionInstruction c = (SSAConversionInstruction) s;
+        ref[i] = intern(c.getToType());
+        ref2[i] = intern(c.getFromType());
+        return CONVERSION;
+      } else if (s instanceof SSAComparisonInstruction) {
+        ref[i] = intern(((SSAComparisonInstruction) s).getOperator());
+        return COMPARISON;
+      } else if (s instanceof SSAInstanceofInstruction) {
+        ref[i] = intern(((SSAInstanceofInstruction) s).getCheckedType());
+        return INSTANCEOF;
+      } else if (s instanceof SSAThrowInstruction) {
+        return THROW;
+      } else if (s instanceof SSAMonitorInstruction) {
+        aux[i] = ((SSAMonitorInstruction) s).isMonitorEnter() ? MONITOR_ENTER : 0;
+        return MONITOR;
+      } else {
+        return OTHER;
+      }
+    }
+  }
+}
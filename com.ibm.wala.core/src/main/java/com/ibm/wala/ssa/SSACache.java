@@ -13,6 +13,7 @@ package com.ibm.wala.ssa;
 import com.ibm.wala.classLoader.IMethod;
 import com.ibm.wala.ipa.callgraph.Context;
 import com.ibm.wala.ipa.callgraph.impl.Everywhere;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A mapping from IMethod -&gt; SSAOptions -&gt; SoftReference -&gt; Something
@@ -34,11 +35,29 @@ public class SSACache {
   /** A cache of DefUse information */
   private final IAuxiliaryCache duCache;
 
+  /** A cache of packed encodings of IR instructions */
+  private final IAuxiliaryCache packedCache;
+
+  /** IR requests answered from irCache, and IRs built */
+  private final AtomicLong irHits = new AtomicLong();
+
+  private final AtomicLong irMisses = new AtomicLong();
+
   /** @param factory a factory for creating IRs */
   public SSACache(IRFactory<IMethod> factory, IAuxiliaryCache irCache, IAuxiliaryCache duCache) {
+    this(factory, irCache, duCache, new AuxiliaryCache());
+  }
+
+  /** @param factory a factory for creating IRs */
+  public SSACache(
+      IRFactory<IMethod> factory,
+      IAuxiliaryCache irCache,
+      IAuxiliaryCache duCache,
+      IAuxiliaryCache packedCache) {
     this.factory = factory;
     this.irCache = irCache;
     this.duCache = duCache;
+    this.packedCache = packedCache;
   }
 
   /**
@@ -66,8 +85,11 @@ public class SSACache {
 
     IR ir = (IR) irCache.find(m, c, options);
     if (ir == null) {
+      irMisses.incrementAndGet();
       ir = factory.makeIR(m, c, options);
       irCache.cache(m, c, options, ir);
+    } else {
+      irHits.incrementAndGet();
     }
     return ir;
   }
@@ -115,15 +137,68 @@ public class SSACache {
     return du;
   }
 
+  /**
+   * IR construction is deterministic, so a packed encoding stays valid for the IRs rebuilt after
+   * the one it was made from is collected.
+   *
+   * @param m a method
+   * @param options options governing ssa construction
+   * @return the {@link PackedInstructions} of m's IR, built according to the specified options.
+   *     null if m is abstract or native
+   * @throws IllegalArgumentException if m is null
+   */
+  public synchronized PackedInstructions findOrCreatePackedInstructions(
+      IMethod m, Context c, SSAOptions options) {
+    if (m == null) {
+      throw new IllegalArgumentException("m is null");
+    }
+    if (m.isAbstract() || m.isNative()) {
+      return null;
+    }
+    if (factory.contextIsIrrelevant(m)) {
+      c = Everywhere.EVERYWHERE;
+    }
+
+    PackedInstructions packed = (PackedInstructions) packedCache.find(m, c, options);
+    if (packed == null) {
+      packed = PackedInstructions.make(findOrCreateIR(m, c, options));
+      packedCache.cache(m, c, options, packed);
+    }
+    return packed;
+  }
+
+  /**
+   * Should IRs and {@link DefUse}s be retained until the GC runs short of memory? If not, they are
+   * kept only while some client uses them and rebuilt afterwards, and the much smaller {@link
+   * PackedInstructions} are what this cache retains. IRs and DefUses cached before the call keep
+   * their retention.
+   */
+  public void setRetainIRs(boolean retainIRs) {
+    irCache.setWeak(!retainIRs);
+    duCache.setWeak(!retainIRs);
+  }
+
+  /** @return the number of IR requests answered from the cache */
+  public long getIRCacheHits() {
+    return irHits.get();
+  }
+
+  /** @return the number of IRs built on request */
+  public long getIRCacheMisses() {
+    return irMisses.get();
+  }
+
   /** The existence of this is unfortunate. */
   public void wipe() {
     irCache.wipe();
     duCache.wipe();
+    packedCache.wipe();
   }
 
   /** Invalidate the cached IR for a &lt;method,context&gt; pair */
   public void invalidateIR(IMethod method, Context c) {
     irCache.invalidate(method, c);
+    packedCache.invalidate(method, c);
   }
 
   /** Invalidate the cached {@link DefUse} for a &lt;method,context&gt; pair */
@@ -21,8 +21,6 @@ import java.util.Collections;
 
 /** An instruction in SSA form. */
 public abstract class SSAInstruction {
-	
-  private static final boolean enableCOPAnalysis = Boolean.getBoolean("enableCOPAnalysis");
 
   public static final int NO_INDEX = -1;
 
@@ -216,16 +214,10 @@ public abstract class SSAInstruction {
     // COP, adapt and Activate
     
     @Override
-    public void visitContextAdapt(SSAContextAdaptInstruction instruction) {
-        // Default behavior for context adaptation instruction
-        System.out.println("Visiting Context Adapt Instruction: " + instruction);
-    }
+    public void visitContextAdapt(SSAContextAdaptInstruction instruction) {}
 
     @Override
-    public void visitContextActivate(SSAContextActivateInstruction instruction) {
-        // Default behavior for context activation instruction
-        System.out.println("Visiting Context Activate Instruction: " + instruction);
-    }
+    public void visitContextActivate(SSAContextActivateInstruction instruction) {}
 
   }
 
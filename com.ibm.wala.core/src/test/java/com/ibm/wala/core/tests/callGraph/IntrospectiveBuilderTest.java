@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.core.tests.callGraph;
+
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.classLoader.Language;
+import com.ibm.wala.core.tests.util.TestConstants;
+import com.ibm.wala.core.tests.util.WalaTestCase;
+import com.ibm.wala.ipa.callgraph.AnalysisCacheImpl;
+import com.ibm.wala.ipa.callgraph.AnalysisOptions;
+import com.ibm.wala.ipa.callgraph.AnalysisScope;
+import com.ibm.wala.ipa.callgraph.CGNode;
+import com.ibm.wala.ipa.callgraph.CallGraph;
+import com.ibm.wala.ipa.callgraph.Entrypoint;
+import com.ibm.wala.ipa.callgraph.IAnalysisCacheView;
+import com.ibm.wala.ipa.callgraph.impl.Util;
+import com.ibm.wala.ipa.callgraph.propagation.cfa.IntrospectiveBuilder;
+import com.ibm.wala.ipa.callgraph.propagation.cfa.IntrospectiveMetrics;
+import com.ibm.wala.ipa.callgraph.propagation.cfa.ZeroXCFABuilder;
+import com.ibm.wala.ipa.callgraph.propagation.cfa.ZeroXInstanceKeys;
+import com.ibm.wala.ipa.cha.ClassHierarchy;
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.ipa.cha.ClassHierarchyFactory;
+import com.ibm.wala.util.CancelException;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Tests for {@link IntrospectiveBuilder}. */
+public class IntrospectiveBuilderTest extends WalaTestCase {
+
+  private static final int POLICY =
+      ZeroXInstanceKeys.ALLOCATIONS
+          | ZeroXInstanceKeys.SMUSH_MANY
+          | ZeroXInstanceKeys.SMUSH_PRIMITIVE_HOLDERS
+          | ZeroXInstanceKeys.SMUSH_STRINGS
+          | ZeroXInstanceKeys.SMUSH_THROWABLES;
+
+  private static AnalysisScope scope;
+
+  private static ClassHierarchy cha;
+
+  @BeforeClass
+  public static void beforeClass() throws IOException, ClassHierarchyException {
+    scope =
+        CallGraphTestUtil.makeJ2SEAnalysisScope(
+            TestConstants.WALA_TESTDATA, CallGraphTestUtil.REGRESSION_EXCLUSIONS);
+    cha = ClassHierarchyFactory.make(scope);
+  }
+
+  private static AnalysisOptions makeOptions() {
+    Iterable<Entrypoint> entrypoints = Util.makeMainEntrypoints(cha, TestConstants.RECURSE_MAIN);
+    AnalysisOptions options = CallGraphTestUtil.makeAnalysisOptions(scope, entrypoints);
+    Util.addDefaultSelectors(options, cha);
+    Util.addDefaultBypassLogic(options, Util.class.getClassLoader(), cha);
+    return options;
+  }
+
+  private static IntrospectiveBuilder makeBuilder(
+      AnalysisOptions options, long maxPointsToVolume, long maxWeightedInFlow) {
+    return new IntrospectiveBuilder(
+        2,
+        cha,
+        options,
+        new AnalysisCacheImpl(),
+        null,
+        null,
+        POLICY,
+        maxPointsToVolume,
+        maxWeightedInFlow);
+  }
+
+  @Test
+  public void testMetrics() throws IllegalArgumentException, CancelException {
+    AnalysisOptions options = makeOptions();
+    IntrospectiveBuilder builder =
+        (IntrospectiveBuilder)
+            Util.makeIntrospectiveNObjBuilder(2, options, new AnalysisCacheImpl(), cha);
+    Assert.assertNull(builder.getMetrics());
+    CallGraph cg = builder.makeCallGraph(options, null);
+
+    IntrospectiveMetrics metrics = builder.getMetrics();
+    Assert.assertNotNull(metrics);
+    Assert.assertNotNull(builder.getCostlyMethods());
+    Assert.assertTrue(metrics.size() > 0);
+    for (CGNode n : cg.getEntrypointNodes()) {
+      IMethod m = n.getMethod();
+      Assert.assertTrue(metrics.getCallers(m) > 0);
+      Assert.assertTrue(metrics.getInFlow(m) <= metrics.getPointsToVolume(m));
+    }
+  }
+
+  @Test
+  public void testAllCostlyIsInsensitive() throws IllegalArgumentException, CancelException {
+    AnalysisOptions options = makeOptions();
+    IAnalysisCacheView cache = new AnalysisCacheImpl();
+    CallGraph insensitive =
+        ZeroXCFABuilder.make(Language.JAVA, cha, options, cache, null, null, POLICY)
+            .makeCallGraph(options, null);
+
+    IntrospectiveBuilder builder = makeBuilder(options, -1, -1);
+    CallGraph cg = builder.makeCallGraph(options, null);
+
+    Assert.assertEquals(builder.getMetrics().size(), builder.getCostlyMethods().size());
+    Assert.assertEquals(insensitive.getNumberOfNodes(), cg.getNumberOfNodes());
+  }
+
+  @Test
+  public void testNoneCostlyIsObjectSensitive() throws IllegalArgumentException, CancelException {
+    AnalysisOptions options = makeOptions();
+    CallGraph sensitive =
+        Util.makeNObjBuilder(2, options, new AnalysisCacheImpl(), cha).makeCallGraph(options, null);
+
+    IntrospectiveBuilder builder = makeBuilder(options, Long.MAX_VALUE, Long.MAX_VALUE);
+    CallGraph cg = builder.makeCallGraph(options, null);
+
+    Assert.assertTrue(builder.getCostlyMethods().isEmpty());
+    Assert.assertEquals(sensitive.getNumberOfNodes(), cg.getNumberOfNodes());
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.core.tests.callGraph;
+
+import com.ibm.wala.analysis.reflection.JavaTypeContext;
+import com.ibm.wala.analysis.typeInference.PointType;
+import com.ibm.wala.classLoader.CallSiteReference;
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.core.tests.util.TestConstants;
+import com.ibm.wala.core.tests.util.WalaTestCase;
+import com.ibm.wala.ipa.callgraph.AnalysisCacheImpl;
+import com.ibm.wala.ipa.callgraph.AnalysisOptions;
+import com.ibm.wala.ipa.callgraph.AnalysisScope;
+import com.ibm.wala.ipa.callgraph.CGNode;
+import com.ibm.wala.ipa.callgraph.CallGraph;
+import com.ibm.wala.ipa.callgraph.Context;
+import com.ibm.wala.ipa.callgraph.ContextKey;
+import com.ibm.wala.ipa.callgraph.Entrypoint;
+import com.ibm.wala.ipa.callgraph.impl.Everywhere;
+import com.ibm.wala.ipa.callgraph.impl.Util;
+import com.ibm.wala.ipa.callgraph.propagation.ConstantKey;
+import com.ibm.wala.ipa.callgraph.propagation.DegradingContextSelector;
+import com.ibm.wala.ipa.callgraph.propagation.IPropagationListener;
+import com.ibm.wala.ipa.callgraph.propagation.PrecisionBudget;
+import com.ibm.wala.ipa.callgraph.propagation.ReceiverInstanceContext;
+import com.ibm.wala.ipa.callgraph.propagation.SSAPropagationCallGraphBuilder;
+import com.ibm.wala.ipa.callgraph.propagation.cfa.CallString;
+import com.ibm.wala.ipa.callgraph.propagation.cfa.CallStringContext;
+import com.ibm.wala.ipa.callgraph.propagation.cfa.CallStringContextSelector.CallStringContextPair;
+import com.ibm.wala.ipa.cha.ClassHierarchy;
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.ipa.cha.ClassHierarchyFactory;
+import com.ibm.wala.shrike.shrikeBT.IInvokeInstruction;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.MethodReference;
+import com.ibm.wala.types.Selector;
+import com.ibm.wala.types.TypeReference;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.collections.Iterator2Iterable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Check that exhausting a solver budget degrades precision instead of failing. */
+public class PrecisionBudgetTest extends WalaTestCase {
+
+  private static AnalysisOptions makeOptions(ClassHierarchy cha, AnalysisScope scope) {
+    Iterable<Entrypoint> entrypoints = Util.makeMainEntrypoints(cha, TestConstants.HELLO_MAIN);
+    return CallGraphTestUtil.makeAnalysisOptions(scope, entrypoints);
+  }
+
+  private static CallGraph build(AnalysisOptions options, ClassHierarchy cha)
+      throws IllegalArgumentException, CancelException {
+    SSAPropagationCallGraphBuilder builder =
+        Util.makeNCFABuilder(2, options, new AnalysisCacheImpl(), cha);
+    CallGraph cg = builder.makeCallGraph(options, null);
+    Assert.assertNull(builder.getPrecisionBudget());
+    return cg;
+  }
+
+  @Test
+  public void testTimeBudget()
+      throws ClassHierarchyException, IllegalArgumentException, CancelException, IOException {
+    AnalysisScope scope =
+        CallGraphTestUtil.makeJ2SEAnalysisScope(
+            TestConstants.WALA_TESTDATA, CallGraphTestUtil.REGRESSION_EXCLUSIONS);
+    ClassHierarchy cha = ClassHierarchyFactory.make(scope);
+
+    CallGraph precise = build(makeOptions(cha, scope), cha);
+
+    AnalysisOptions options = makeOptions(cha, scope);
+    options.setMaxSolverTimeMillis(0);
+    SSAPropagationCallGraphBuilder builder =
+        Util.makeNCFABuilder(2, options, new AnalysisCacheImpl(), cha);
+    CallGraph degraded = builder.makeCallGraph(options, null);
+
+    Assert.assertTrue(builder.getPrecisionBudget().isDegradedEverywhere());
+    Assert.assertTrue(degraded.getNumberOfNodes() > 1);
+    Assert.assertTrue(degraded.getNumberOfNodes() <= precise.getNumberOfNodes());
+  }
+
+  @Test
+  public void testPointsToBudget()
+      throws ClassHierarchyException, IllegalArgumentException, CancelException, IOException {
+    AnalysisScope scope =
+        CallGraphTestUtil.makeJ2SEAnalysisScope(
+            TestConstants.WALA_TESTDATA, CallGraphTestUtil.REGRESSION_EXCLUSIONS);
+    ClassHierarchy cha = ClassHierarchyFactory.make(scope);
+
+    AnalysisOptions options = makeOptions(cha, scope);
+    options.setMaxPointsToSetSize(0);
+    SSAPropagationCallGraphBuilder builder =
+        Util.makeNCFABuilder(2, options, new AnalysisCacheImpl(), cha);
+    builder.makeCallGraph(options, null);
+
+    PrecisionBudget budget = builder.getPrecisionBudget();
+    Assert.assertFalse(budget.isDegradedEverywhere());
+    Assert.assertFalse(budget.getDegradedMethods().isEmpty());
+  }
+
+  /** The budget must be enforced while the solver runs, not only between solves. */
+  @Test
+  public void testBudgetTripsDuringSolve()
+      throws ClassHierarchyException, IllegalArgumentException, CancelException, IOException {
+    AnalysisScope scope =
+        CallGraphTestUtil.makeJ2SEAnalysisScope(
+            TestConstants.WALA_TESTDATA, CallGraphTestUtil.REGRESSION_EXCLUSIONS);
+    ClassHierarchy cha = ClassHierarchyFactory.make(scope);
+
+    AnalysisOptions options = makeOptions(cha, scope);
+    options.setMaxSolverTimeMillis(0);
+    SSAPropagationCallGraphBuilder builder =
+        Util.makeNCFABuilder(2, options, new AnalysisCacheImpl(), cha);
+    AtomicBoolean degradedAfterFirstSolve = new AtomicBoolean();
+    builder.addPropagationListener(
+        new IPropagationListener() {
+          @Override
+          public void phaseFinished(Phase phase, int iteration, long nanos) {
+            if (phase == Phase.SOLVE && iteration == 1) {
+              // the solver checks its budgets between solves only after this call
+              degradedAfterFirstSolve.set(builder.getPrecisionBudget().isDegradedEverywhere());
+            }
+          }
+        });
+    builder.makeCallGraph(options, null);
+
+    Assert.assertTrue(degradedAfterFirstSolve.get());
+  }
+
+  /** Weakening drops call strings but keeps the contexts reflection needs. */
+  @Test
+  public void testWeakenKeepsReflectiveContexts() throws ClassHierarchyException, IOException {
+    AnalysisScope scope =
+        CallGraphTestUtil.makeJ2SEAnalysisScope(
+            TestConstants.WALA_TESTDATA, CallGraphTestUtil.REGRESSION_EXCLUSIONS);
+    ClassHierarchy cha = ClassHierarchyFactory.make(scope);
+    IClass string = cha.lookupClass(TypeReference.JavaLangString);
+    IMethod length = string.getMethod(Selector.make("length()I"));
+    CallString cs =
+        new CallString(
+            CallSiteReference.make(0, length.getReference(), IInvokeInstruction.Dispatch.VIRTUAL),
+            length);
+
+    Context type = new JavaTypeContext(new PointType(string));
+    Context method = new ReceiverInstanceContext(new ConstantKey<>(length, string));
+    Assert.assertSame(
+        Everywhere.EVERYWHERE, DegradingContextSelector.weaken(Everywhere.EVERYWHERE));
+    Assert.assertSame(
+        Everywhere.EVERYWHERE, DegradingContextSelector.weaken(new CallStringContext(cs)));
+    Assert.assertSame(type, DegradingContextSelector.weaken(new CallStringContextPair(cs, type)));
+    Assert.assertSame(method, DegradingContextSelector.weaken(method));
+  }
+
+  /**
+   * Under a tripped budget, Constructor.newInstance must still be analyzed for the constructor it
+   * invokes, or the object it creates is lost.
+   */
+  @Test
+  public void testReflectiveCalleeUnderTrippedBudget() throws Exception {
+    AnalysisScope scope =
+        CallGraphTestUtil.makeJ2SEAnalysisScope(
+            TestConstants.WALA_TESTDATA, "Java60RegressionExclusions.txt");
+    ClassHierarchy cha = ClassHierarchyFactory.make(scope);
+    Iterable<Entrypoint> entrypoints = Util.makeMainEntrypoints(cha, TestConstants.REFLECT7_MAIN);
+    AnalysisOptions options = CallGraphTestUtil.makeAnalysisOptions(scope, entrypoints);
+    options.setMaxSolverTimeMillis(0);
+    SSAPropagationCallGraphBuilder builder =
+        Util.makeNCFABuilder(2, options, new AnalysisCacheImpl(), cha);
+    CallGraph cg = builder.makeCallGraph(options, null);
+    Assert.assertTrue(builder.getPrecisionBudget().isDegradedEverywhere());
+
+    MethodReference newInstance =
+        MethodReference.findOrCreate(
+            TypeReference.findOrCreate(
+                ClassLoaderReference.Primordial, "Ljava/lang/reflect/Constructor"),
+            "newInstance",
+            "([Ljava/lang/Object;)Ljava/lang/Object;");
+    String init = "java.io.FilePermission.<init>(Ljava/lang/String;Ljava/lang/String;)V";
+    boolean constructed = false;
+    for (CGNode node : cg.getNodes(newInstance)) {
+      Context context = node.getContext();
+      if (!context.isA(ReceiverInstanceContext.class)) {
+        continue;
+      }
+      IMethod ctor = (IMethod) ((ConstantKey<?>) context.get(ContextKey.RECEIVER)).getValue();
+      if (ctor.getSignature().equals(init)) {
+        for (CGNode callee : Iterator2Iterable.make(cg.getSuccNodes(node))) {
+          constructed |= callee.getMethod().getSignature().equals(init);
+        }
+      }
+    }
+    Assert.assertTrue(constructed);
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.core.tests.callGraph;
+
+import com.ibm.wala.classLoader.Language;
+import com.ibm.wala.core.tests.util.TestConstants;
+import com.ibm.wala.core.tests.util.WalaTestCase;
+import com.ibm.wala.ipa.callgraph.AnalysisCacheImpl;
+import com.ibm.wala.ipa.callgraph.AnalysisOptions;
+import com.ibm.wala.ipa.callgraph.AnalysisScope;
+import com.ibm.wala.ipa.callgraph.CallGraph;
+import com.ibm.wala.ipa.callgraph.ConcurrentAnalysisCacheImpl;
+import com.ibm.wala.ipa.callgraph.Entrypoint;
+import com.ibm.wala.ipa.callgraph.impl.Util;
+import com.ibm.wala.ipa.callgraph.propagation.IPropagationListener;
+import com.ibm.wala.ipa.callgraph.propagation.PropagationStatistics;
+import com.ibm.wala.ipa.callgraph.propagation.SSAPropagationCallGraphBuilder;
+import com.ibm.wala.ipa.cha.ClassHierarchy;
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.ipa.cha.ClassHierarchyFactory;
+import com.ibm.wala.util.CancelException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Check that an {@link IPropagationListener} sees the solver make progress. */
+public class PropagationListenerTest extends WalaTestCase {
+
+  @Test
+  public void testStatisticsReported()
+      throws ClassHierarchyException, IllegalArgumentException, CancelException, IOException {
+    AnalysisScope scope =
+        CallGraphTestUtil.makeJ2SEAnalysisScope(
+            TestConstants.WALA_TESTDATA, CallGraphTestUtil.REGRESSION_EXCLUSIONS);
+    ClassHierarchy cha = ClassHierarchyFactory.make(scope);
+    Iterable<Entrypoint> entrypoints = Util.makeMainEntrypoints(cha, TestConstants.HELLO_MAIN);
+    AnalysisOptions options = CallGraphTestUtil.makeAnalysisOptions(scope, entrypoints);
+    SSAPropagationCallGraphBuilder builder =
+        Util.makeZeroCFABuilder(Language.JAVA, options, new ConcurrentAnalysisCacheImpl(), cha);
+
+    List<PropagationStatistics> iterations = new ArrayList<>();
+    int[] phases = new int[IPropagationListener.Phase.values().length];
+    builder.addPropagationListener(
+        new IPropagationListener() {
+          @Override
+          public void phaseFinished(Phase phase, int iteration, long nanos) {
+            Assert.assertTrue(nanos >= 0);
+            phases[phase.ordinal()]++;
+          }
+
+          @Override
+          public void iterationFinished(PropagationStatistics statistics) {
+            iterations.add(statistics);
+          }
+        });
+    CallGraph cg = builder.makeCallGraph(options, null);
+
+    Assert.assertFalse(iterations.isEmpty());
+    // the fake root exists before the solver starts
+    int nodes = iterations.get(0).getCallGraphNodes() - iterations.get(0).getNewCallGraphNodes();
+    Assert.assertTrue(nodes >= 1);
+    for (int i = 0; i < iterations.size(); i++) {
+      PropagationStatistics s = iterations.get(i);
+      Assert.assertEquals(i + 1, s.getIteration());
+      Assert.assertEquals(nodes + s.getNewCallGraphNodes(), s.getCallGraphNodes());
+      nodes = s.getCallGraphNodes();
+      Assert.assertTrue(s.getMaxPointsToSize() <= s.getTotalPointsToSize());
+      Assert.assertTrue(s.getIRCacheMisses() > 0);
+    }
+    PropagationStatistics last = iterations.get(iterations.size() - 1);
+    Assert.assertEquals(cg.getNumberOfNodes(), last.getCallGraphNodes());
+    Assert.assertEquals(0, last.getWorkListSize());
+    Assert.assertTrue(last.getStatementsEvaluated() > 0);
+    Assert.assertEquals(iterations.size(), phases[IPropagationListener.Phase.SOLVE.ordinal()]);
+  }
+
+  @Test
+  public void testIRCacheStatisticsWithoutConcurrentCache()
+      throws ClassHierarchyException, IllegalArgumentException, CancelException, IOException {
+    AnalysisScope scope =
+        CallGraphTestUtil.makeJ2SEAnalysisScope(
+            TestConstants.WALA_TESTDATA, CallGraphTestUtil.REGRESSION_EXCLUSIONS);
+    ClassHierarchy cha = ClassHierarchyFactory.make(scope);
+    Iterable<Entrypoint> entrypoints = Util.makeMainEntrypoints(cha, TestConstants.HELLO_MAIN);
+    AnalysisOptions options = CallGraphTestUtil.makeAnalysisOptions(scope, entrypoints);
+    SSAPropagationCallGraphBuilder builder =
+        Util.makeZeroCFABuilder(Language.JAVA, options, new AnalysisCacheImpl(), cha);
+
+    List<PropagationStatistics> iterations = new ArrayList<>();
+    builder.addPropagationListener(
+        new IPropagationListener() {
+          @Override
+          public void iterationFinished(PropagationStatistics statistics) {
+            iterations.add(statistics);
+          }
+        });
+    builder.makeCallGraph(options, null);
+
+    Assert.assertFalse(iterations.isEmpty());
+    long misses = 0;
+    for (PropagationStatistics s : iterations) {
+      Assert.assertTrue(s.getIRCacheHits() >= 0);
+      Assert.assertTrue(s.getIRCacheMisses() >= misses);
+      misses = s.getIRCacheMisses();
+    }
+    Assert.assertTrue(misses > 0);
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.core.tests.collections;
+
+import com.ibm.wala.core.tests.util.WalaTestCase;
+import com.ibm.wala.util.collections.HashSetFactory;
+import com.ibm.wala.util.collections.LongHashMap;
+import java.util.Arrays;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Tests {@link LongHashMap} class. */
+public final class LongHashMapTest extends WalaTestCase {
+
+  public static void main(final String[] args) {
+    justThisTest(LongHashMapTest.class);
+  }
+
+  @Test
+  public void testPutAndGet() {
+    LongHashMap<String> map = new LongHashMap<>();
+    for (int i = -500; i < 500; i++) {
+      Assert.assertNull(map.put(LongHashMap.key(i, -i), "v" + i));
+    }
+    Assert.assertEquals(1000, map.size());
+    for (int i = -500; i < 500; i++) {
+      Assert.assertEquals("v" + i, map.get(LongHashMap.key(i, -i)));
+      Assert.assertFalse(map.containsKey(LongHashMap.key(-i, i + 1)));
+    }
+    Assert.assertEquals("v7", map.put(LongHashMap.key(7, -7), "w7"));
+    Assert.assertEquals("w7", map.get(LongHashMap.key(7, -7)));
+    Assert.assertEquals(1000, map.size());
+  }
+
+  @Test
+  public void testPutIfAbsent() {
+    LongHashMap<String> map = new LongHashMap<>(1);
+    Assert.assertNull(map.putIfAbsent(0L, "a"));
+    Assert.assertEquals("a", map.putIfAbsent(0L, "b"));
+    Assert.assertNull(map.putIfAbsent(Long.MIN_VALUE, "c"));
+    Assert.assertEquals(2, map.size());
+
+    Set<String> values = HashSetFactory.make();
+    for (String v : map.values()) {
+      values.add(v);
+    }
+    Assert.assertEquals(HashSetFactory.make(Arrays.asList("a", "c")), values);
+  }
+
+  @Test
+  public void testKey() {
+    Assert.assertNotEquals(LongHashMap.key(1, 2), LongHashMap.key(2, 1));
+    Assert.assertNotEquals(LongHashMap.key(0, -1), LongHashMap.key(-1, -1));
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.core.tests.ir;
+
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.core.tests.callGraph.CallGraphTestUtil;
+import com.ibm.wala.core.tests.util.TestConstants;
+import com.ibm.wala.core.tests.util.WalaTestCase;
+import com.ibm.wala.core.util.config.AnalysisScopeReader;
+import com.ibm.wala.core.util.io.FileProvider;
+import com.ibm.wala.ipa.callgraph.AnalysisScope;
+import com.ibm.wala.ipa.callgraph.ConcurrentAnalysisCacheImpl;
+import com.ibm.wala.ipa.callgraph.impl.Everywhere;
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.ipa.cha.ClassHierarchyFactory;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import com.ibm.wala.ssa.ConcurrentAuxiliaryCache;
+import com.ibm.wala.ssa.DefUse;
+import com.ibm.wala.ssa.IR;
+import com.ibm.wala.types.TypeReference;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Tests that {@link ConcurrentAnalysisCacheImpl} builds each IR once when shared by threads. */
+public class ConcurrentSSACacheTest extends WalaTestCase {
+
+  private static final int N_THREADS = 8;
+
+  private static List<IMethod> concreteMethods(IClassHierarchy cha, TypeReference type) {
+    List<IMethod> result = new ArrayList<>();
+    for (IMethod m : cha.lookupClass(type).getDeclaredMethods()) {
+      if (!m.isAbstract() && !m.isNative()) {
+        result.add(m);
+      }
+    }
+    return result;
+  }
+
+  @Test
+  public void testOneBuildPerMethod()
+      throws ClassHierarchyException, IOException, InterruptedException {
+    AnalysisScope scope =
+        AnalysisScopeReader.instance.readJavaScope(
+            TestConstants.WALA_TESTDATA,
+            (new FileProvider()).getFile(CallGraphTestUtil.REGRESSION_EXCLUSIONS),
+            ConcurrentSSACacheTest.class.getClassLoader());
+    IClassHierarchy cha = ClassHierarchyFactory.make(scope);
+    List<IMethod> methods = concreteMethods(cha, TypeReference.JavaLangString);
+    Assert.assertFalse(methods.isEmpty());
+
+    ConcurrentAnalysisCacheImpl cache = new ConcurrentAnalysisCacheImpl();
+    IR[][] irs = new IR[N_THREADS][methods.size()];
+    Throwable[] failures = new Throwable[N_THREADS];
+    CyclicBarrier start = new CyclicBarrier(N_THREADS);
+    Thread[] threads = new Thread[N_THREADS];
+    for (int t = 0; t < N_THREADS; t++) {
+      final int thread = t;
+      threads[t] =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                  for (int i = 0; i < methods.size(); i++) {
+                    // walk the methods in a different order in each thread
+                    int j = (i + thread * 7) % methods.size();
+                    irs[thread][j] = cache.getIR(methods.get(j), Everywhere.EVERYWHERE);
+                    DefUse du = cache.getDefUse(irs[thread][j]);
+                    Assert.assertNotNull(du);
+                  }
+                } catch (Throwable e) {
+                  failures[thread] = e;
+                }
+              });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    for (Throwable failure : failures) {
+      if (failure != null) {
+        throw new AssertionError(failure);
+      }
+    }
+    for (int t = 1; t < N_THREADS; t++) {
+      for (int i = 0; i < methods.size(); i++) {
+        Assert.assertSame(irs[0][i], irs[t][i]);
+      }
+    }
+    ConcurrentAuxiliaryCache irCache = cache.getSSACache().getIRCache();
+    // every lookup is answered exactly once: from the cache, by building, or by waiting
+    Assert.assertEquals(
+        (long) N_THREADS * methods.size(),
+        irCache.getHits() + irCache.getMisses() + irCache.getWaits());
+    Assert.assertTrue(irCache.getMisses() >= methods.size());
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.core.tests.ir;
+
+import com.ibm.wala.analysis.typeInference.TypeInference;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.classLoader.Language;
+import com.ibm.wala.core.tests.callGraph.CallGraphTestUtil;
+import com.ibm.wala.core.tests.util.TestConstants;
+import com.ibm.wala.core.tests.util.WalaTestCase;
+import com.ibm.wala.core.util.config.AnalysisScopeReader;
+import com.ibm.wala.core.util.io.FileProvider;
+import com.ibm.wala.ipa.callgraph.AnalysisCacheImpl;
+import com.ibm.wala.ipa.callgraph.AnalysisOptions;
+import com.ibm.wala.ipa.callgraph.AnalysisScope;
+import com.ibm.wala.ipa.callgraph.CGNode;
+import com.ibm.wala.ipa.callgraph.CallGraph;
+import com.ibm.wala.ipa.callgraph.ConcurrentAnalysisCacheImpl;
+import com.ibm.wala.ipa.callgraph.Entrypoint;
+import com.ibm.wala.ipa.callgraph.IAnalysisCacheView;
+import com.ibm.wala.ipa.callgraph.impl.Util;
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.ipa.cha.ClassHierarchyFactory;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import com.ibm.wala.ssa.ConcurrentSSACache;
+import com.ibm.wala.ssa.IR;
+import com.ibm.wala.ssa.PackedInstructions;
+import com.ibm.wala.ssa.SSAInstruction;
+import com.ibm.wala.types.TypeReference;
+import com.ibm.wala.util.CancelException;
+import com.ibm.wala.util.collections.HashSetFactory;
+import com.ibm.wala.util.collections.Iterator2Iterable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Tests that {@link PackedInstructions} views agree with the instructions they encode. */
+public class PackedInstructionsTest extends WalaTestCase {
+
+  @Test
+  public void testViewsMatchInstructions() throws ClassHierarchyException, IOException {
+    AnalysisScope scope =
+        AnalysisScopeReader.instance.readJavaScope(
+            TestConstants.WALA_TESTDATA,
+            (new FileProvider()).getFile(CallGraphTestUtil.REGRESSION_EXCLUSIONS),
+            PackedInstructionsTest.class.getClassLoader());
+    IClassHierarchy cha = ClassHierarchyFactory.make(scope);
+    IAnalysisCacheView cache = new AnalysisCacheImpl();
+
+    int encoded = 0;
+    for (TypeReference t :
+        Arrays.asList(
+            TypeReference.JavaLangString,
+            TypeReference.JavaUtilHashSet,
+            TypeReference.JavaLangStringBuilder)) {
+      for (IMethod m : cha.lookupClass(t).getDeclaredMethods()) {
+        IR ir = cache.getIR(m);
+        if (ir == null) {
+          continue;
+        }
+        SSAInstruction[] instructions = ir.getInstructions();
+        PackedInstructions packed = PackedInstructions.make(ir);
+        Assert.assertEquals(instructions.length, packed.size());
+        for (int i = 0; i < instructions.length; i++) {
+          SSAInstruction s = instructions[i];
+          SSAInstruction view = packed.getInstruction(i);
+          if (s == null) {
+            Assert.assertNull(view);
+            Assert.assertEquals(PackedInstructions.NULL, packed.getKind(i));
+            continue;
+          }
+          Assert.assertEquals(s, view);
+          Assert.assertSame(s.getClass(), view.getClass());
+          Assert.assertEquals(s.toString(ir.getSymbolTable()), view.toString(ir.getSymbolTable()));
+          Assert.assertEquals(s.getNumberOfUses(), packed.getNumberOfUses(i));
+          for (int j = 0; j < s.getNumberOfUses(); j++) {
+            Assert.assertEquals(s.getUse(j), packed.getUse(i, j));
+          }
+          Assert.assertEquals(s.hasDef() ? s.getDef() : -1, packed.getDef(i));
+          if (packed.getKind(i) != PackedInstructions.OTHER) {
+            encoded++;
+          }
+        }
+
+        TypeInference plain = TypeInference.make(ir, true);
+        TypeInference fromPacked = TypeInference.make(ir, packed, true);
+        for (int vn = 1; vn <= ir.getSymbolTable().getMaxValueNumber(); vn++) {
+          Assert.assertEquals(plain.getType(vn), fromPacked.getType(vn));
+        }
+      }
+    }
+    Assert.assertTrue(encoded > 0);
+  }
+
+  private static Set<String> edges(CallGraph cg) {
+    Set<String> result = HashSetFactory.make();
+    for (CGNode n : cg) {
+      result.add(n.toString());
+      for (CGNode s : Iterator2Iterable.make(cg.getSuccNodes(n))) {
+        result.add(n + " -> " + s);
+      }
+    }
+    return result;
+  }
+
+  /** Call graph construction from cached packed forms must match the one from IRs. */
+  @Test
+  public void testCallGraphFromPackedInstructions()
+      throws ClassHierarchyException, IOException, CancelException {
+    AnalysisScope scope =
+        AnalysisScopeReader.instance.readJavaScope(
+            TestConstants.WALA_TESTDATA,
+            (new FileProvider()).getFile(CallGraphTestUtil.REGRESSION_EXCLUSIONS),
+            PackedInstructionsTest.class.getClassLoader());
+    IClassHierarchy cha = ClassHierarchyFactory.make(scope);
+    Iterable<Entrypoint> entrypoints = Util.makeMainEntrypoints(cha, TestConstants.HELLO_MAIN);
+
+    AnalysisOptions options = CallGraphTestUtil.makeAnalysisOptions(scope, entrypoints);
+    CallGraph expected =
+        Util.makeZeroOneCFABuilder(Language.JAVA, options, new AnalysisCacheImpl(), cha)
+            .makeCallGraph(options, null);
+
+    options = CallGraphTestUtil.makeAnalysisOptions(scope, entrypoints);
+    options.setUsePackedInstructions(true);
+    ConcurrentAnalysisCacheImpl cache = new ConcurrentAnalysisCacheImpl();
+    CallGraph actual =
+        Util.makeZeroOneCFABuilder(Language.JAVA, options, cache, cha)
+            .makeCallGraph(options, null);
+
+    Assert.assertTrue(((ConcurrentSSACache) cache.getSSACache()).getPackedCache().getMisses() > 0);
+    Assert.assertEquals(edges(expected), edges(actual));
+  }
+
+  private static long usedHeap() {
+    Runtime rt = Runtime.getRuntime();
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+    }
+    return rt.totalMemory() - rt.freeMemory();
+  }
+
+  /** The heap retained by a call graph and its cache, built with or without packed forms. */
+  private static long retainedHeap(
+      AnalysisScope scope,
+      IClassHierarchy cha,
+      Iterable<Entrypoint> entrypoints,
+      boolean usePackedInstructions)
+      throws CancelException {
+    AnalysisOptions options = CallGraphTestUtil.makeAnalysisOptions(scope, entrypoints);
+    options.setUsePackedInstructions(usePackedInstructions);
+    long before = usedHeap();
+    AnalysisCacheImpl cache = new AnalysisCacheImpl();
+    CallGraph cg =
+        Util.makeZeroOneCFABuilder(Language.JAVA, options, cache, cha)
+            .makeCallGraph(options, null);
+    long retained = usedHeap() - before;
+    // keep both reachable across the measurement
+    Assert.assertTrue(cg.getNumberOfNodes() > 0);
+    Assert.assertNotNull(cache.getSSACache());
+    return retained;
+  }
+
+  /** Building from packed forms retains them in place of the IRs, so it must retain less heap. */
+  @Test
+  public void testPackedInstructionsRetainLessHeap()
+      throws ClassHierarchyException, IOException, CancelException {
+    AnalysisScope scope =
+        AnalysisScopeReader.instance.readJavaScope(
+            TestConstants.WALA_TESTDATA,
+            (new FileProvider()).getFile(CallGraphTestUtil.REGRESSION_EXCLUSIONS),
+            PackedInstructionsTest.class.getClassLoader());
+    IClassHierarchy cha = ClassHierarchyFactory.make(scope);
+    Iterable<Entrypoint> entrypoints = Util.makeMainEntrypoints(cha, TestConstants.HELLO_MAIN);
+
+    long plain = retainedHeap(scope, cha, entrypoints, false);
+    long packed = retainedHeap(scope, cha, entrypoints, true);
+    Assert.assertTrue(packed + " >= " + plain, packed < plain);
+  }
+}
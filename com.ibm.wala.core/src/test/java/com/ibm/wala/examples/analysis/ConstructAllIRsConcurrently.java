@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.examples.analysis;
+
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.core.util.config.AnalysisScopeReader;
+import com.ibm.wala.ipa.callgraph.AnalysisCacheImpl;
+import com.ibm.wala.ipa.callgraph.AnalysisOptions;
+import com.ibm.wala.ipa.callgraph.AnalysisScope;
+import com.ibm.wala.ipa.callgraph.ConcurrentAnalysisCacheImpl;
+import com.ibm.wala.ipa.callgraph.IAnalysisCacheView;
+import com.ibm.wala.ipa.callgraph.impl.Everywhere;
+import com.ibm.wala.ipa.cha.ClassHierarchy;
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.ipa.cha.ClassHierarchyFactory;
+import com.ibm.wala.util.perf.Stopwatch;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A multi-threaded variant of {@link ConstructAllIRs}: several threads request IRs for all methods
+ * in a class hierarchy from one shared cache, each thread walking the methods from a different
+ * starting point so that threads both collide on and diverge from each other's keys. Compares the
+ * synchronized {@link AnalysisCacheImpl} with {@link ConcurrentAnalysisCacheImpl}.
+ *
+ * <p>Usage: ConstructAllIRsConcurrently &lt;scope file&gt; [threads] [rounds]
+ */
+public class ConstructAllIRsConcurrently {
+
+  public static void main(String[] args) throws Exception {
+    String scopeFile = args[0];
+    int nThreads =
+        args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+    int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+    AnalysisScope scope =
+        AnalysisScopeReader.instance.readJavaScope(
+            scopeFile, null, ConstructAllIRsConcurrently.class.getClassLoader());
+    List<IMethod> methods = allMethods(scope);
+    System.out.println(methods.size() + " methods, " + nThreads + " threads");
+
+    AnalysisOptions options = new AnalysisOptions();
+    for (int i = 0; i < rounds; i++) {
+      AnalysisCacheImpl sync = new AnalysisCacheImpl(options.getSSAOptions());
+      System.out.println("synchronized: " + run(sync, methods, nThreads) + " ms");
+
+      ConcurrentAnalysisCacheImpl concurrent =
+          new ConcurrentAnalysisCacheImpl(options.getSSAOptions());
+      System.out.println("concurrent:   " + run(concurrent, methods, nThreads) + " ms");
+      System.out.println("  IR cache: " + concurrent.getSSACache().getIRCache());
+    }
+  }
+
+  private static List<IMethod> allMethods(AnalysisScope scope)
+      throws ClassHierarchyException, IOException {
+    ClassHierarchy cha = ClassHierarchyFactory.make(scope);
+    List<IMethod> methods = new ArrayList<>();
+    for (IClass klass : cha) {
+      methods.addAll(klass.getDeclaredMethods());
+    }
+    return methods;
+  }
+
+  private static long run(IAnalysisCacheView cache, List<IMethod> methods, int nThreads)
+      throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+    Stopwatch s = new Stopwatch();
+    s.start();
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int t = 0; t < nThreads; t++) {
+        final int offset = t * methods.size() / nThreads;
+        results.add(
+            pool.submit(
+                () -> {
+                  for (int i = 0; i < methods.size(); i++) {
+                    cache.getIR(methods.get((i + offset) % methods.size()), Everywhere.EVERYWHERE);
+                  }
+                }));
+      }
+      for (Future<?> f : results) {
+        f.get();
+      }
+    } finally {
+      pool.shutdown();
+    }
+    s.stop();
+    return s.getElapsedMillis();
+  }
+}
@@ -47,6 +47,7 @@
 
 package com.ibm.wala.dalvik.classLoader;
 
+import com.google.common.collect.ImmutableMap;
 import com.ibm.wala.classLoader.Module;
 import com.ibm.wala.classLoader.ModuleEntry;
 import com.ibm.wala.util.io.TemporaryFile;
@@ -54,13 +55,18 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.jar.JarFile;
 import org.jf.dexlib2.DexFileFactory;
 import org.jf.dexlib2.Opcodes;
+import org.jf.dexlib2.analysis.ClassPath;
+import org.jf.dexlib2.analysis.ClassPathResolver;
 import org.jf.dexlib2.iface.ClassDef;
 import org.jf.dexlib2.iface.DexFile;
+import org.jf.dexlib2.immutable.ImmutableDexFile;
+import org.jf.dexlib2.immutable.ImmutableMultiDexContainer;
 
 /**
  * A module which is a wrapper around .dex and .apk file.
@@ -71,6 +77,7 @@ public class DexFileModule implements Module {
   private final File f;
   private final DexFile dexfile;
   private final Collection<ModuleEntry> entries;
+  private ClassPath classPath;
   public static final int AUTO_INFER_API_LEVEL = -1;
 
   public static DexFileModule make(File f) throws IllegalArgumentException, IOException {
@@ -166,6 +173,30 @@ public class DexFileModule implements Module {
     return f;
   }
 
+  /**
+   * @return the class path odex instructions of this module are resolved against, built on first
+   *     use and shared by all its methods
+   */
+  public synchronized ClassPath getClassPath() throws IOException {
+    if (classPath == null) {
+      // wrap the dex file in a dummy container, so we can provide ClassPathResolver with a DexEntry
+      String dummyDexName = "classes.dex";
+      ImmutableMultiDexContainer container =
+          new ImmutableMultiDexContainer(
+              ImmutableMap.of(dummyDexName, ImmutableDexFile.of(dexfile)));
+
+      ClassPathResolver path =
+          new ClassPathResolver(
+              Collections.singletonList(f.getParent() + '/'),
+              Collections.<String>emptyList(),
+              container.getEntry(dummyDexName));
+
+      classPath =
+          new ClassPath(path.getResolvedClassProviders(), false, dexfile.getOpcodes().artVersion);
+    }
+    return classPath;
+  }
+
   /*
    * (non-Javadoc)
    *
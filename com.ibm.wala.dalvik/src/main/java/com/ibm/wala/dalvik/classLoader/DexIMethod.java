@@ -63,7 +63,6 @@ import static org.jf.dexlib2.AccessFlags.STATIC;
 import static org.jf.dexlib2.AccessFlags.SYNTHETIC;
 import static org.jf.dexlib2.AccessFlags.VOLATILE;
 
-import com.google.common.collect.ImmutableMap;
 import com.ibm.wala.classLoader.CallSiteReference;
 import com.ibm.wala.classLoader.IBytecodeMethod;
 import com.ibm.wala.classLoader.IClass;
@@ -118,10 +117,10 @@ import java.util.Map.Entry;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jf.dexlib2.DebugItemType;
 import org.jf.dexlib2.Opcode;
 import org.jf.dexlib2.analysis.ClassPath;
-import org.jf.dexlib2.analysis.ClassPathResolver;
 import org.jf.dexlib2.analysis.MethodAnalyzer;
 import org.jf.dexlib2.iface.AnnotationElement;
 import org.jf.dexlib2.iface.Method;
@@ -160,8 +159,6 @@ import org.jf.dexlib2.iface.reference.StringReference;
 import org.jf.dexlib2.iface.value.ArrayEncodedValue;
 import org.jf.dexlib2.iface.value.EncodedValue;
 import org.jf.dexlib2.iface.value.TypeEncodedValue;
-import org.jf.dexlib2.immutable.ImmutableDexFile;
-import org.jf.dexlib2.immutable.ImmutableMultiDexContainer;
 
 /** A wrapper around a EncodedMethod object (from dexlib) that represents a method. */
 public class DexIMethod implements IBytecodeMethod<Instruction> {
@@ -184,7 +181,10 @@ public class DexIMethod implements IBytecodeMethod<Instruction> {
 
   protected InstructionArray instructions;
 
-  private static int totalInsts = 0;
+  // set once instructions is complete, so other threads never see a partially decoded method
+  private volatile boolean decoded;
+
+  private static final AtomicInteger totalInsts = new AtomicInteger();
 
   public DexIMethod(Method encodedMethod, DexIClass klass) {
     eMethod = encodedMethod;
@@ -192,7 +192,7 @@ public class DexIMethod implements IBytecodeMethod<Instruction> {
   }
 
   public static int getTotalInsts() {
-    return totalInsts;
+    return totalInsts.get();
   }
 
   // ------------------------------------------
@@ -644,7 +644,7 @@ public class DexIMethod implements IBytecodeMethod<Instruction> {
   }
 
   @Override
-  public ExceptionHandler[][] getHandlers() {
+  public synchronized ExceptionHandler[][] getHandlers() {
 
     if (handlers != null) return handlers;
 
@@ -740,9 +740,7 @@ public class DexIMethod implements IBytecodeMethod<Instruction> {
 
   @Override
   public Instruction[] getInstructions() {
-    if (instructions == null) parseBytecode();
-
-    return instructions.toArray(new Instruction[0]);
+    return instructions().toArray(new Instruction[0]);
   }
 
   private boolean odexMethod() {
@@ -758,22 +756,7 @@ public class DexIMethod implements IBytecodeMethod<Instruction> {
 
   Iterable<? extends org.jf.dexlib2.iface.instruction.Instruction> deodex() {
     try {
-      DexFileModule m = myClass.getContainer();
-      // wrap the dex file in a dummy container, so we can provide ClassPathResolver with a DexEntry
-      String dummyDexName = "classes.dex";
-      ImmutableMultiDexContainer container =
-          new ImmutableMultiDexContainer(
-              ImmutableMap.of(dummyDexName, ImmutableDexFile.of(m.getDexFile())));
-
-      ClassPathResolver path =
-          new ClassPathResolver(
-              Collections.singletonList(m.getFile().getParent() + '/'),
-              Collections.<String>emptyList(),
-              container.getEntry(dummyDexName));
-
-      ClassPath cp =
-          new ClassPath(
-              path.getResolvedClassProviders(), false, m.getDexFile().getOpcodes().artVersion);
+      ClassPath cp = myClass.getContainer().getClassPath();
 
       MethodAnalyzer analyzer = new MethodAnalyzer(cp, eMethod, null, false);
 
@@ -908,7 +891,7 @@ public class DexIMethod implements IBytecodeMethod<Instruction> {
     // int pc = 0;
     int currentCodeAddress = 0;
     for (org.jf.dexlib2.iface.instruction.Instruction inst : instrucs) {
-      totalInsts++;
+      totalInsts.incrementAndGet();
       instCounter++;
       //          instLoc = pc - instCounter;
       instLoc = currentCodeAddress;
@@ -4549,10 +4532,44 @@ public class DexIMethod implements IBytecodeMethod<Instruction> {
   }
 
   protected InstructionArray instructions() {
-    if (instructions == null) parseBytecode();
+    if (!decoded) decode();
     return instructions;
   }
 
+  /**
+   * Decode the instructions of this method, unless that was done already. Safe to call from several
+   * threads, so the methods of a class hierarchy can be decoded in parallel; see {@link
+   * DexMethodDecoder}.
+   */
+  public synchronized void decode() {
+    if (!decoded) {
+      parseBytecode();
+      decoded = true;
+    }
+  }
+
+  /**
+   * Decode the instructions of this method, unless that was done already, sharing them through
+   * cache with the other methods of the same code.
+   */
+  public synchronized void decode(DexMethodCache cache) {
+    if (!decoded) {
+      InstructionArray shared = cache.find(this);
+      if (shared == null) {
+        parseBytecode();
+        cache.cache(this, instructions);
+      } else {
+        instructions = shared;
+      }
+      decoded = true;
+    }
+  }
+
+  /** @return true if the instructions of this method have been decoded */
+  public boolean isDecoded() {
+    return decoded;
+  }
+
   public int getAddressFromIndex(int index) {
     return instructions().getPcFromIndex(index);
   }
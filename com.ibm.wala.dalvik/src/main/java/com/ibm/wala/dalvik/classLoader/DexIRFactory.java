@@ -28,12 +28,44 @@ import com.ibm.wala.ssa.analysis.DeadAssignmentElimination;
 public class DexIRFactory extends DefaultIRFactory {
   public static final boolean buildLocalMap = false;
 
+  private final boolean pruneDeadRegisters;
+
+  private final DexMethodCache methodCache;
+
+  public DexIRFactory() {
+    this(!buildLocalMap);
+  }
+
+  /**
+   * @param pruneDeadRegisters if true, SSA construction makes no phis for registers that are dead
+   *     at a merge; the dead phis are removed from the IR either way
+   */
+  public DexIRFactory(boolean pruneDeadRegisters) {
+    this(pruneDeadRegisters, null);
+  }
+
+  /**
+   * @param pruneDeadRegisters if true, SSA construction makes no phis for registers that are dead
+   *     at a merge; the dead phis are removed from the IR either way
+   * @param methodCache if not null, the decoded instructions of methods are shared through it
+   *     with other analyses of the same dex files
+   */
+  public DexIRFactory(boolean pruneDeadRegisters, DexMethodCache methodCache) {
+    this.pruneDeadRegisters = pruneDeadRegisters;
+    this.methodCache = methodCache;
+  }
+
   @Override
   public ControlFlowGraph<?, ?> makeCFG(IMethod method, Context C) throws IllegalArgumentException {
     if (method == null) {
       throw new IllegalArgumentException("null method");
     }
-    if (method instanceof DexIMethod) return new DexCFG((DexIMethod) method, C);
+    if (method instanceof DexIMethod) {
+      if (methodCache != null) {
+        ((DexIMethod) method).decode(methodCache);
+      }
+      return new DexCFG((DexIMethod) method, C);
+    }
     return super.makeCFG(method, C);
   }
 
@@ -105,7 +137,8 @@ public class DexIRFactory extends DefaultIRFactory {
                 newInstrs,
                 symbolTable,
                 buildLocalMap,
-                options.getPiNodePolicy());
+                options.getPiNodePolicy(),
+                pruneDeadRegisters);
         builder.build();
         if (buildLocalMap) localMap = builder.getLocalMap();
         else localMap = null;
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.dalvik.classLoader;
+
+import com.ibm.wala.core.util.ref.CacheReference;
+import com.ibm.wala.types.ClassLoaderReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jf.dexlib2.dexbacked.DexBackedDexFile;
+import org.jf.dexlib2.dexbacked.DexBackedMethod;
+import org.jf.dexlib2.dexbacked.raw.HeaderItem;
+
+/**
+ * The decoded instructions of dex methods, shared by every {@link DexIMethod} of the same code, so
+ * that repeated analyses of the same APK or framework in a process decode each method once. Pass
+ * one cache to the {@link DexIRFactory} and {@link DexMethodDecoder} of every analysis.
+ *
+ * <p>The code of a method is keyed by the checksum and size of its dex file and by its index in
+ * the method table of that file, so the key does not depend on how, or how often, the file was
+ * opened. Decoded instructions name types through the class loader of their method, which is part
+ * of the key as well. Entries are softly reachable, and each keeps the method that decoded it
+ * reachable until the garbage collector reclaims it.
+ */
+public class DexMethodCache {
+
+  /** The code of one method: its dex file, its index in that file, and its loader. */
+  private static final class Key {
+    private final int checksum;
+    private final int fileSize;
+    private final int methodIndex;
+    private final ClassLoaderReference loader;
+
+    Key(int checksum, int fileSize, int methodIndex, ClassLoaderReference loader) {
+      this.checksum = checksum;
+      this.fileSize = fileSize;
+      this.methodIndex = methodIndex;
+      this.loader = loader;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * (31 * checksum + fileSize) + methodIndex) + loader.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return checksum == other.checksum
+          && fileSize == other.fileSize
+          && methodIndex == other.methodIndex
+          && loader.equals(other.loader);
+    }
+  }
+
+  private final Map<Key, Object> cache = new ConcurrentHashMap<>();
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  // null if m is not read from a dex file, and so is never cached
+  private static Key key(DexIMethod m) {
+    if (!(m.toEncodedMethod() instanceof DexBackedMethod)) {
+      return null;
+    }
+    DexBackedMethod method = (DexBackedMethod) m.toEncodedMethod();
+    DexBackedDexFile dexFile = method.dexFile;
+    return new Key(
+        dexFile.getBuffer().readInt(HeaderItem.CHECKSUM_OFFSET),
+        dexFile.getBuffer().readSmallUint(HeaderItem.FILE_SIZE_OFFSET),
+        method.methodIndex,
+        m.getDeclaringClass().getClassLoader().getReference());
+  }
+
+  /** @return the instructions decoded for the code of m, or null if there are none */
+  InstructionArray find(DexIMethod m) {
+    Key key = key(m);
+    InstructionArray result =
+        key == null ? null : (InstructionArray) CacheReference.get(cache.get(key));
+    if (result == null) {
+      misses.incrementAndGet();
+    } else {
+      hits.incrementAndGet();
+    }
+    return result;
+  }
+
+  /** Record the instructions decoded for the code of m. */
+  void cache(DexIMethod m, InstructionArray instructions) {
+    Key key = key(m);
+    if (key != null) {
+      cache.put(key, CacheReference.make(instructions));
+    }
+  }
+
+  /** @return the number of methods whose instructions were taken from this cache */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** @return the number of methods that had to be decoded */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /** @return the number of methods this cache holds instructions for, collected or not */
+  public int size() {
+    return cache.size();
+  }
+
+  /** Forget all decoded instructions. */
+  public void clear() {
+    cache.clear();
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.dalvik.classLoader;
+
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.ipa.callgraph.CGNode;
+import com.ibm.wala.ipa.callgraph.CallGraph;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decodes the instructions of {@link DexIMethod}s ahead of IR construction, on several threads.
+ *
+ * <p>Dex methods are decoded lazily, one at a time, the first time their instructions are asked
+ * for. For large APKs, decoding the reachable methods up front in parallel takes the decoding off
+ * the critical path of the call graph builder, which then finds every method already decoded.
+ * With a {@link DexMethodCache}, methods decoded by an earlier analysis of the same dex files are
+ * not decoded again.
+ */
+public class DexMethodDecoder {
+
+  private DexMethodDecoder() {}
+
+  /**
+   * Decode the dex methods declared by classes.
+   *
+   * @param nThreads number of threads to decode on
+   * @return the number of methods decoded
+   */
+  public static int decodeClasses(Iterable<? extends IClass> classes, int nThreads)
+      throws InterruptedException {
+    List<IMethod> methods = new ArrayList<>();
+    for (IClass klass : classes) {
+      methods.addAll(klass.getDeclaredMethods());
+    }
+    return decodeMethods(methods, nThreads);
+  }
+
+  /**
+   * Decode the dex methods of the nodes of cg, such as those reached by a cheap preliminary call
+   * graph.
+   *
+   * @param nThreads number of threads to decode on
+   * @return the number of methods decoded
+   */
+  public static int decodeReachable(CallGraph cg, int nThreads) throws InterruptedException {
+    List<IMethod> methods = new ArrayList<>();
+    for (CGNode node : cg) {
+      methods.add(node.getMethod());
+    }
+    return decodeMethods(methods, nThreads);
+  }
+
+  /**
+   * Decode the given methods that are dex methods with code and not decoded yet. A method that
+   * fails to decode is left alone, so the failure is reported when its IR is built.
+   *
+   * @param nThreads number of threads to decode on
+   * @return the number of methods decoded
+   */
+  public static int decodeMethods(Iterable<? extends IMethod> methods, int nThreads)
+      throws InterruptedException {
+    return decodeMethods(methods, nThreads, null);
+  }
+
+  /**
+   * Decode the given methods like {@link #decodeMethods(Iterable, int)}, sharing their
+   * instructions through cache with other analyses of the same dex files.
+   *
+   * @param nThreads number of threads to decode on
+   * @param cache the cache to take and record instructions in, or null
+   * @return the number of methods decoded or taken from cache
+   */
+  public static int decodeMethods(
+      Iterable<? extends IMethod> methods, int nThreads, DexMethodCache cache)
+      throws InterruptedException {
+    if (nThreads < 1) {
+      throw new IllegalArgumentException("invalid number of threads: " + nThreads);
+    }
+    List<DexIMethod> todo = new ArrayList<>();
+    for (IMethod m : methods) {
+      if (m instanceof DexIMethod && !m.isAbstract() && !m.isNative()) {
+        DexIMethod method = (DexIMethod) m;
+        if (!method.isDecoded()) {
+          todo.add(method);
+        }
+      }
+    }
+
+    AtomicInteger next = new AtomicInteger();
+    AtomicInteger count = new AtomicInteger();
+    Runnable worker =
+        () -> {
+          for (int i = next.getAndIncrement(); i < todo.size(); i = next.getAndIncrement()) {
+            try {
+              if (cache == null) {
+                todo.get(i).decode();
+              } else {
+                todo.get(i).decode(cache);
+              }
+              count.incrementAndGet();
+            } catch (RuntimeException | AssertionError e) {
+              // decoded again, and reported, on demand
+            }
+          }
+        };
+
+    int n = Math.max(1, Math.min(nThreads, todo.size()));
+    ExecutorService pool = Executors.newFixedThreadPool(n);
+    try {
+      List<Future<?>> workers = new ArrayList<>();
+      for (int i = 0; i < n; i++) {
+        workers.add(pool.submit(worker));
+      }
+      for (Future<?> w : workers) {
+        w.get();
+      }
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+    return count.get();
+  }
+}
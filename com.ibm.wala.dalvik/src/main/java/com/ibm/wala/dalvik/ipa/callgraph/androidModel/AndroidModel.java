@@ -144,6 +144,11 @@ public class AndroidModel /* makes SummarizedMethod */ implements IClassHierarch
 
   /*
    *  static: "boot" only once. How to assert done by the right one?
+   *
+   *  The boot sequence is added if this is set and the manager of the current thread asks for it
+   *  (AndroidEntryPointManager#getDoBootSequence). Models no longer clear this flag when their
+   *  manager turns the boot sequence off, so one analysis' setting does not leak into the models
+   *  of later, or concurrent, analyses in the same process.
    */
   protected static boolean doBoot = true;
 
@@ -159,7 +164,7 @@ public class AndroidModel /* makes SummarizedMethod */ implements IClassHierarch
     this.built = false;
     this.scope = options.getAnalysisScope();
 
-    this.instanceBehavior = AndroidEntryPointManager.MANAGER.getInstantiationBehavior(cha);
+    this.instanceBehavior = AndroidEntryPointManager.get().getInstantiationBehavior(cha);
   }
 
   /**
@@ -174,7 +179,7 @@ public class AndroidModel /* makes SummarizedMethod */ implements IClassHierarch
   protected void build(Atom name) throws CancelException {
     final List<AndroidEntryPoint> restrictedEntries = new ArrayList<>();
 
-    for (AndroidEntryPoint ep : AndroidEntryPointManager.ENTRIES) {
+    for (AndroidEntryPoint ep : AndroidEntryPointManager.getEntries()) {
       if (selectEntryPoint(ep)) {
         restrictedEntries.add(ep);
       }
@@ -245,14 +250,12 @@ public class AndroidModel /* makes SummarizedMethod */ implements IClassHierarch
     this.body.setStatic(true);
 
     this.labelSpecial =
-        AndroidEntryPointManager.MANAGER.makeModelBehavior(
+        AndroidEntryPointManager.get().makeModelBehavior(
             this.body, new TypeSafeInstructionFactory(cha), this.paramManager, entrypoints);
 
-    this.monitor = AndroidEntryPointManager.MANAGER.getProgressMonitor();
+    this.monitor = AndroidEntryPointManager.get().getProgressMonitor();
     this.maxProgress = entrypoints.size();
 
-    AndroidModel.doBoot &= AndroidEntryPointManager.MANAGER.getDoBootSequence();
-
     // BUILD
     this.monitor.beginTask("Building " + name, this.maxProgress);
     populate(entrypoints);
@@ -344,7 +347,7 @@ public class AndroidModel /* makes SummarizedMethod */ implements IClassHierarch
     //
     //  Add preparing code to the model
     //
-    if (AndroidModel.doBoot) {
+    if (AndroidModel.doBoot && AndroidEntryPointManager.get().getDoBootSequence()) {
       //            final Set<Parameter> allActivities = new
       // HashSet<Parameter>(modelAcc.allExtend(AndroidTypes.ActivityName, getClassHierarchy()));
       // assert(allActivities.size() > 0) : "There are no Activities in the Model"; // XXX
@@ -669,7 +672,7 @@ public class AndroidModel /* makes SummarizedMethod */ implements IClassHierarch
         final Atom fdName = activityType.getName().getClassName();
         final AndroidModelClass mClass = AndroidModelClass.getInstance(cha);
 
-        if (AndroidEntryPointManager.MANAGER.doFlatComponents()) {
+        if (AndroidEntryPointManager.get().doFlatComponents()) {
           if (mClass.getField(fdName) != null) {
             final IField field = mClass.getField(fdName);
             final int instPC = redirect.getNextProgramCounter();
@@ -968,7 +971,7 @@ public class AndroidModel /* makes SummarizedMethod */ implements IClassHierarch
         final TypeReference argT = model.getParameterType(i);
         final SSAValue arg;
 
-        if ((AndroidEntryPointManager.MANAGER.doFlatComponents())
+        if ((AndroidEntryPointManager.get().doFlatComponents())
             && (AndroidComponent.isAndroidComponent(argT, cha))) {
           // Get / Put filed in AndroidModelClass for Android-Components
           final Atom fdName = argT.getName().getClassName();
@@ -133,7 +133,7 @@ public final /* singleton */ class AndroidModelClass extends SyntheticClass {
     final Set<TypeReference> components = AndroidEntryPointManager.getComponents();
     int ssaNo = 1;
 
-    if (AndroidEntryPointManager.MANAGER.doFlatComponents()) {
+    if (AndroidEntryPointManager.get().doFlatComponents()) {
       for (TypeReference component : components) {
         final SSAValue instance = new SSAValue(ssaNo++, component, clinitRef);
         { // New
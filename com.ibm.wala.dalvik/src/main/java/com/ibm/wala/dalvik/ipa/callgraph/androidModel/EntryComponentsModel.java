@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.dalvik.ipa.callgraph.androidModel;
+
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.core.util.strings.Atom;
+import com.ibm.wala.dalvik.ipa.callgraph.impl.AndroidEntryPoint;
+import com.ibm.wala.dalvik.ipa.callgraph.propagation.cfa.Intent;
+import com.ibm.wala.dalvik.util.AndroidEntryPointManager;
+import com.ibm.wala.dalvik.util.AndroidTypes;
+import com.ibm.wala.ipa.callgraph.AnalysisOptions;
+import com.ibm.wala.ipa.callgraph.IAnalysisCacheView;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import com.ibm.wala.types.TypeReference;
+import com.ibm.wala.util.collections.HashSetFactory;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A model of the application start that only starts the components Android may start on its own.
+ *
+ * <p>The AndroidModel starts every component of the App, in every combination its structure
+ * allows, whether or not anything could start them. This model only contains the EntryPoints of
+ * the Application, of ContentProviders, of callbacks outside of components, and of the Activities,
+ * Services and BroadcastReceivers the AndroidManifest.xml makes reachable from outside the App,
+ * through an intent-filter or android:exported="true".
+ *
+ * <p>The other components are started on demand: when the IntentContextSelector and
+ * IntentContextInterpreter are set up (see the package documentation), each start-call is replaced
+ * by a MicroModel of the component its Intent resolves to, built the first time the call graph
+ * builder reaches the call; calls whose target cannot be resolved start all components of the
+ * type, as before. Components nothing starts are never added to the call graph.
+ *
+ * <p>If the AndroidManifest.xml was not read, so nothing is known of intent-filters, all
+ * components are started, as in the AndroidModel.
+ *
+ * <p>Select this model using {@link AndroidEntryPointManager#setLifecycleModel(Class)}.
+ *
+ * @see com.ibm.wala.dalvik.util.AndroidManifestXMLReader
+ * @see com.ibm.wala.dalvik.ipa.callgraph.propagation.cfa.IntentContextInterpreter
+ */
+public class EntryComponentsModel extends AndroidModel {
+
+  private static final TypeReference[] INTENT_STARTED = {
+    AndroidTypes.Activity, AndroidTypes.Service, AndroidTypes.BroadcastReceiver
+  };
+
+  private final Atom name = Atom.findOrCreateAsciiAtom("EntryComponentsModel");
+
+  // the components started by Intents only
+  private final IClass[] intentStarted;
+
+  // the classes intent-filters resolve to, or null if the manifest was not read
+  private final Set<String> filterTargets;
+
+  private final AndroidEntryPointManager manager;
+
+  public EntryComponentsModel(
+      final IClassHierarchy cha, final AnalysisOptions options, final IAnalysisCacheView cache) {
+    super(cha, options, cache);
+
+    final Set<IClass> started = HashSetFactory.make();
+    for (TypeReference type : INTENT_STARTED) {
+      final IClass klass = cha.lookupClass(type);
+      if (klass != null) {
+        started.add(klass);
+      }
+    }
+    this.intentStarted = started.toArray(new IClass[0]);
+
+    this.manager = AndroidEntryPointManager.get();
+    final Set<String> targets = HashSetFactory.make();
+    for (Map.Entry<Intent, Intent> e : manager.overrideIntents.entrySet()) {
+      if (!e.getKey().equals(e.getValue())) {
+        // some other Intent, such as the action of an intent-filter, resolves to the component
+        targets.add(e.getValue().getAction().toString());
+      }
+    }
+    this.filterTargets = manager.isManifestRead() ? targets : null;
+  }
+
+  /**
+   * Restrict the model to the components Android may start on its own.
+   *
+   * <p>{@inheritDoc}
+   */
+  @Override
+  protected boolean selectEntryPoint(AndroidEntryPoint ep) {
+    if (filterTargets == null) {
+      return true;
+    }
+    final IClass klass = ep.getMethod().getDeclaringClass();
+    for (IClass component : intentStarted) {
+      if (cha.isSubclassOf(klass, component)) {
+        return filterTargets.contains(klass.getName().toString())
+            || manager.isExported(klass.getName());
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Atom getName() {
+    return this.name;
+  }
+
+  @Override
+  public String toString() {
+    return "<" + this.getClass() + " name=" + this.name + " />";
+  }
+}
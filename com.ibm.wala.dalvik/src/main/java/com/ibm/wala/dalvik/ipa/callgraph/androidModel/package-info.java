@@ -48,12 +48,19 @@
  *
  * <p>1. Scan for the Entrypoints of the application {@code AndroidEntryPointLocator epl = new
  * AndroidEntryPointLocator(options); List<AndroidEntryPoint> entrypoints = epl.getEntryPoints(cha);
- * AndroidEntryPointManager.ENTRIES = entrypoints; } 2. Optionally read in the AndroidManifest.xml
+ * AndroidEntryPointManager.setEntries(entrypoints); } 2. Optionally read in the AndroidManifest.xml
  * {@code final AndroidManifestXMLReader reader = new AndroidManifestXMLReader(manifestFile); } 3.
  * Optionally change the order of entrypoints and change the instantiation behaviour 4. Create the
  * model and use it as the new entrypoint of the analysis {@code IMethod model = new
  * AndroidModel(cha, p.options, p.scfg.cache).getMethod(); }
  *
+ * <p>The EntryComponentsModel can take the place of the AndroidModel in step 4. It only starts the
+ * components Android may start on its own and leaves the others to the start-calls resolved as
+ * described below, which keeps the call graph of large Apps smaller. Select it with {@code
+ * AndroidEntryPointManager.get().setLifecycleModel(EntryComponentsModel.class); } and create the
+ * model selected with {@code AndroidEntryPointManager.get().makeLifecycleModel(cha, options,
+ * cache) }.
+ *
  * <p>The model generated that way will "start" all components of the App. The various start-calls
  * occurring in these components will not yet call anything useful. To change this there are two
  * possibilities
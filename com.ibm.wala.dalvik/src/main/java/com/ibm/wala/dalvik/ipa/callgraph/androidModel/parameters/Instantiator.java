@@ -178,7 +178,7 @@ public class Instantiator implements IInstantiator {
 
     { // Try fetch Android-Components from AndroidModelClass
       if (com.ibm.wala.dalvik.util.AndroidComponent.isAndroidComponent(T, cha)) {
-        if (AndroidEntryPointManager.MANAGER.doFlatComponents()) {
+        if (AndroidEntryPointManager.get().doFlatComponents()) {
           final AndroidModelClass mClass = AndroidModelClass.getInstance(cha);
           final Atom fdName = T.getName().getClassName();
 
@@ -175,7 +175,7 @@ public class SpecializedInstantiator extends FlatInstantiator {
       // TODO: Can we create a tighter conterxt?
       // TODO: Force an Application-Context?
 
-      if (AndroidEntryPointManager.MANAGER.doFlatComponents()) {
+      if (AndroidEntryPointManager.get().doFlatComponents()) {
         final AndroidModelClass mClass = AndroidModelClass.getInstance(cha);
 
         // At a given time context is expected to be only of one component already seen.
@@ -191,7 +191,7 @@ public class Overrides {
   public MethodTargetSelector overrideAll() throws CancelException {
     final HashMap<MethodReference, SummarizedMethod> overrides = HashMapFactory.make();
     final Map<AndroidComponent, AndroidModel> callTo = new EnumMap<>(AndroidComponent.class);
-    final IProgressMonitor monitor = AndroidEntryPointManager.MANAGER.getProgressMonitor();
+    final IProgressMonitor monitor = AndroidEntryPointManager.get().getProgressMonitor();
     int monitorCounter = 0;
 
     { // Make Mini-Models to override to
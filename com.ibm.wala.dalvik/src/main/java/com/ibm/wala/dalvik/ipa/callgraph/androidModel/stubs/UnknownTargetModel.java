@@ -150,7 +150,7 @@ public class UnknownTargetModel extends AndroidModel {
     { // Check if this Application has components, that implement target. If not we don't
       // have to build a MiniModel.
       doMini = false;
-      for (final AndroidEntryPoint ep : AndroidEntryPointManager.ENTRIES) {
+      for (final AndroidEntryPoint ep : AndroidEntryPointManager.getEntries()) {
         if (ep.belongsTo(this.target)) {
           doMini = true;
           break;
@@ -281,7 +281,7 @@ public class Intent implements ContextItem, Comparable<Intent> {
    *     relying on the packet name!
    */
   private static boolean isInternal(Intent intent) { // XXX: This may loop forever!
-    /*final Intent override = AndroidEntryPointManager.MANAGER.getIntent(intent);
+    /*final Intent override = AndroidEntryPointManager.get().getIntent(intent);
 
     logger.warn("Intent.isInternal(Intent) is an unsafe fallback!");
 
@@ -298,7 +298,7 @@ public class Intent implements ContextItem, Comparable<Intent> {
    * <p>Use {@link #isExternal(boolean)} instead.
    */
   private static boolean isExternal(Intent intent) { // XXX: This may loop forever!
-    /*final Intent override = AndroidEntryPointManager.MANAGER.getIntent(intent);
+    /*final Intent override = AndroidEntryPointManager.get().getIntent(intent);
 
     logger.warn("Intent.isExternal(Intent) is an unsafe fallback!");
 
@@ -310,7 +310,7 @@ public class Intent implements ContextItem, Comparable<Intent> {
       return false; // Is Unknown
     }
 
-    String pack = AndroidEntryPointManager.MANAGER.guessPackage();
+    String pack = AndroidEntryPointManager.get().guessPackage();
 
     if (pack == null) {
       // Unknown so not selected as external
@@ -322,7 +322,7 @@ public class Intent implements ContextItem, Comparable<Intent> {
 
   /** Fallback: tries to determine on the Intent itself if it's a standard action. */
   private static boolean isStandardAction(Intent intent) { // TODO: This may loop forever!
-    /*final Intent override = AndroidEntryPointManager.MANAGER.getIntent(intent);
+    /*final Intent override = AndroidEntryPointManager.get().getIntent(intent);
 
     logger.warn("Intent.isStandardAction(Intent) is an unsafe fallback!");
 
@@ -450,7 +450,7 @@ public class Intent implements ContextItem, Comparable<Intent> {
   }
 
   public Intent resolve() {
-    return AndroidEntryPointManager.MANAGER.getIntent(this);
+    return AndroidEntryPointManager.get().getIntent(this);
   }
 
   @Override
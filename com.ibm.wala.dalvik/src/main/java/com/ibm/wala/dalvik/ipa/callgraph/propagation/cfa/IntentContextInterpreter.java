@@ -170,7 +170,7 @@ public class IntentContextInterpreter implements SSAContextInterpreter {
         try { // Translate CancelException to IllegalStateException
           final Intent inIntent = (Intent) ctx.get(Intent.INTENT_KEY); // Intent without overrides
           final Intent intent =
-              AndroidEntryPointManager.MANAGER.getIntent(inIntent); // Apply overrides
+              AndroidEntryPointManager.get().getIntent(inIntent); // Apply overrides
           final IMethod method = node.getMethod();
 
           final AndroidModel model;
@@ -147,7 +147,7 @@ public class IntentContextSelector implements ContextSelector {
 
       // Add the context
       if (intent != null) {
-        AndroidEntryPointManager.MANAGER.addCallSeen(site, intent);
+        AndroidEntryPointManager.get().addCallSeen(site, intent);
         final Intent iintent = intents.findOrCreateImmutable(intent);
         return new IntentContext(ctx, iintent);
         // return new IntentContext(iintent);
@@ -155,7 +155,7 @@ public class IntentContextSelector implements ContextSelector {
         logger.warn("Encountered unresolvable Intent");
         intent = new Intent("Unresolvable");
         intent.setImmutable();
-        AndroidEntryPointManager.MANAGER.addCallSeen(site, intent);
+        AndroidEntryPointManager.get().addCallSeen(site, intent);
         return new IntentContext(ctx, intent);
         // return new IntentContext(intent);
       }
@@ -189,7 +189,7 @@ public class IntentContextSelector implements ContextSelector {
 
       // Add the context
       if (intent != null) {
-        AndroidEntryPointManager.MANAGER.addCallSeen(site, intent);
+        AndroidEntryPointManager.get().addCallSeen(site, intent);
         logger.info("SystemService {} in {} by {}", intent, site, caller);
         final Intent iintent = intents.findOrCreateImmutable(intent);
         return new IntentContext(ctx, iintent);
@@ -294,7 +294,7 @@ public class IntentContextSelector implements ContextSelector {
       final InstanceKey actionKey = actualParameters[1];
       final Intent intent = intents.find(self);
 
-      if (AndroidEntryPointManager.MANAGER.isAllowIntentRerouting()) {
+      if (AndroidEntryPointManager.get().isAllowIntentRerouting()) {
         logger.warn("Re-Setting the target of Intent {} in {} by {}", intent, site, caller);
         intents.setAction(self, actionKey, false); // May unbind internally
       } else {
@@ -333,7 +333,7 @@ public class IntentContextSelector implements ContextSelector {
       final InstanceKey actionKey = actualParameters[2];
       final Intent intent = intents.find(self);
 
-      if (AndroidEntryPointManager.MANAGER.isAllowIntentRerouting()) {
+      if (AndroidEntryPointManager.get().isAllowIntentRerouting()) {
         logger.warn("Re-Setting the target of Intent {} in {} by {}", intent, site, caller);
         intents.setAction(self, actionKey, true);
       } else {
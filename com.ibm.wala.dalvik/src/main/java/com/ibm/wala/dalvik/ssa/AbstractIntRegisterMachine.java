@@ -59,6 +59,7 @@ import com.ibm.wala.util.CancelException;
 import com.ibm.wala.util.collections.Iterator2Iterable;
 import com.ibm.wala.util.debug.UnimplementedError;
 import com.ibm.wala.util.graph.INodeWithNumber;
+import com.ibm.wala.util.intset.BitVector;
 import java.util.Arrays;
 
 /**
@@ -98,6 +99,9 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
   /** Should uninitialized variables be considered TOP (optimistic) or BOTTOM (pessimistic); */
   public static final boolean OPTIMISTIC = true;
 
+  /** the registers live at the entry to each block, or null to meet all registers */
+  private RegisterLiveness liveness = null;
+
   protected AbstractIntRegisterMachine(final DexCFG G) {
     if (G == null) {
       throw new IllegalArgumentException("G is null");
@@ -108,6 +112,15 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
   }
 
   protected void init(Meeter meeter, final FlowProvider flow) {
+    init(meeter, flow, null);
+  }
+
+  /**
+   * @param liveness if not null, only the registers live at the entry to a block are met there, so
+   *     no phis are made for registers that are dead
+   */
+  protected void init(Meeter meeter, final FlowProvider flow, RegisterLiveness liveness) {
+    this.liveness = liveness;
     final MeetOperator meet = new MeetOperator(meeter);
     ITransferFunctionProvider<BasicBlock, MachineState> xferFunctions =
         new ITransferFunctionProvider<BasicBlock, MachineState>() {
@@ -289,10 +302,11 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
       //          e.printStackTrace();
       //          return NOT_CHANGED;
 
+      BitVector live = liveness == null ? null : liveness.getLiveIn(bb);
       if (!bb.isCatchBlock()) {
-        return meet(lhs, rhs, bb, meeter) ? CHANGED : NOT_CHANGED;
+        return meet(lhs, rhs, bb, meeter, live) ? CHANGED : NOT_CHANGED;
       } else {
-        return meetForCatchBlock(lhs, rhs, bb, meeter) ? CHANGED : NOT_CHANGED;
+        return meetForCatchBlock(lhs, rhs, bb, meeter, live) ? CHANGED : NOT_CHANGED;
       }
     }
 
@@ -330,7 +344,8 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
      * @param n The number of the local
      * @param rhs The values to meet
      * @param bb The basic block at whose entry this meet occurs
-     * @return The value of local n after the meet.
+     * @return The value of local n after the meet. The meet of TOP alone must be TOP, and may be
+     *     skipped.
      */
     int meetLocal(int n, int[] rhs, BasicBlock bb);
   }
@@ -341,13 +356,15 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
    * <p>TODO: add some efficiency shortcuts. TODO: clean up and refactor.
    *
    * @param bb the basic block at whose entry the meet occurs
+   * @param live the locals live at the entry to bb, or null to meet all locals
    * @return true if the lhs value changes. false otherwise.
    */
-  private static boolean meet(IVariable lhs, IVariable[] rhs, BasicBlock bb, Meeter meeter) {
+  private static boolean meet(
+      IVariable lhs, IVariable[] rhs, BasicBlock bb, Meeter meeter, BitVector live) {
 
     //      boolean changed = meetStacks(lhs, rhs, bb, meeter);
 
-    return meetLocals(lhs, rhs, bb, meeter);
+    return meetLocals(lhs, rhs, bb, meeter, live);
     //      return changed;
   }
 
@@ -357,12 +374,13 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
    * <p>TODO: add some efficiency shortcuts. TODO: clean up and refactor.
    *
    * @param bb the basic block at whose entry the meet occurs
+   * @param live the locals live at the entry to bb, or null to meet all locals
    * @return true if the lhs value changes. false otherwise.
    */
   private static boolean meetForCatchBlock(
-      IVariable lhs, IVariable[] rhs, BasicBlock bb, Meeter meeter) {
+      IVariable lhs, IVariable[] rhs, BasicBlock bb, Meeter meeter, BitVector live) {
 
-    boolean changed = meetLocals(lhs, rhs, bb, meeter);
+    boolean changed = meetLocals(lhs, rhs, bb, meeter, live);
 
     //      int meet = meeter.meetStackAtCatchBlock(bb);
     //      boolean changed = meetLocals(lhs, rhs, bb, meeter);
@@ -465,9 +483,11 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
    * <p>TODO: add some efficiency shortcuts. TODO: clean up and refactor.
    *
    * @param bb the basic block at whose entry the meet occurs
+   * @param live the locals live at the entry to bb, or null to meet all locals
    * @return true if the lhs value changes. false otherwise.
    */
-  private static boolean meetLocals(IVariable lhs, IVariable[] rhs, BasicBlock bb, Meeter meeter) {
+  private static boolean meetLocals(
+      IVariable lhs, IVariable[] rhs, BasicBlock bb, Meeter meeter, BitVector live) {
 
     boolean changed = false;
     MachineState L = (MachineState) lhs;
@@ -478,21 +498,29 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
       changed = true;
     }
 
-    // evaluate the element-wise meet over the locals.
-    for (int i = 0; i < nLocals; i++) {
-      int[] R = new int[rhs.length];
+    // evaluate the element-wise meet over the (live) locals.
+    int[] R = new int[rhs.length];
+    for (int i = live == null ? 0 : live.nextSetBit(0);
+        i >= 0 && i < nLocals;
+        i = live == null ? i + 1 : live.nextSetBit(i + 1)) {
+      boolean allTOP = true;
       for (int j = 0; j < rhs.length; j++) {
         R[j] = ((MachineState) rhs[j]).getLocal(i);
+        allTOP &= R[j] == TOP;
+      }
+      if (allTOP && L.locals[i] == TOP) {
+        // nothing defines local i yet
+        continue;
       }
       int meet = meeter.meetLocal(i, R, bb);
       if (L.locals[i] == TOP) {
         if (meet != TOP) {
           changed = true;
-          L.locals[i] = meet;
+          L.setLocal(i, meet);
         }
       } else if (meet != L.locals[i]) {
         changed = true;
-        L.locals[i] = meet;
+        L.setLocal(i, meet);
       }
     }
     return changed;
@@ -548,6 +576,9 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
 
     private int[] locals;
 
+    // locals may be shared with other states, and must be copied before it is written
+    private boolean sharedLocals = false;
+
     // NOTE: stackHeight == -1 is a special code meaning "this variable is TOP"
     private int stackHeight;
 
@@ -607,6 +638,14 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
 
     public void allocateLocals() {
       locals = allocateNewLocalsArray();
+      sharedLocals = false;
+    }
+
+    private void ownLocals() {
+      if (sharedLocals) {
+        locals = locals.clone();
+        sharedLocals = false;
+      }
     }
 
     //      public void clearStack() {
@@ -622,7 +661,10 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
           allocateLocals();
         }
       }
-      locals[i] = j;
+      if (locals[i] != j) {
+        ownLocals();
+        locals[i] = j;
+      }
     }
 
     /** @return the number of the symbol corresponding to local i */
@@ -641,7 +683,14 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
     public void replaceValue(int from, int to) {
       if (stack != null) for (int i = 0; i < stackHeight; i++) if (stack[i] == from) stack[i] = to;
 
-      if (locals != null) for (int i = 0; i < maxLocals; i++) if (locals[i] == from) locals[i] = to;
+      if (locals != null && from != to) {
+        for (int i = 0; i < maxLocals; i++) {
+          if (locals[i] == from) {
+            ownLocals();
+            locals[i] = to;
+          }
+        }
+      }
     }
 
     public boolean hasValue(int val) {
@@ -689,7 +738,9 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
     @Override
     public void copyState(MachineState other) {
       stack = other.stack == null ? null : other.stack.clone();
-      locals = other.locals == null ? null : other.locals.clone();
+      // copy-on-write: both states copy the locals before they next write them
+      locals = other.locals;
+      sharedLocals = other.sharedLocals = locals != null;
       stackHeight = other.stackHeight;
     }
 
@@ -705,7 +756,7 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
       for (int i = 0; i < stackHeight; i++) {
         if (stack[i] != exit.stack[i]) return false;
       }
-      if (locals != null) {
+      if (locals != null && locals != exit.locals) {
         for (int i = 0; i < locals.length; i++) {
           if (locals[i] == TOP) {
             if (exit.locals[i] != TOP) return false;
@@ -725,7 +776,7 @@ public abstract class AbstractIntRegisterMachine implements FixedPointConstants
       return stackHeight;
     }
 
-    /** Use with care. */
+    /** Use with care: the array may be shared with other states, so it must not be written. */
     public int[] getLocals() {
       return locals;
     }
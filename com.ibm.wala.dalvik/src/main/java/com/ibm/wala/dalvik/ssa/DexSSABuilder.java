@@ -102,11 +102,44 @@ public class DexSSABuilder extends AbstractIntRegisterMachine {
       boolean buildLocalMap,
       SSAPiNodePolicy piNodePolicy)
       throws IllegalArgumentException {
+    // the local map needs the values of dead registers, to name them
+    return make(
+        method,
+        cfg,
+        scfg,
+        instructions,
+        symbolTable,
+        buildLocalMap,
+        piNodePolicy,
+        !buildLocalMap);
+  }
+
+  /**
+   * @param pruneDeadRegisters if true, phis are only made for the registers live at the entry to a
+   *     block; see {@link RegisterLiveness}
+   */
+  public static DexSSABuilder make(
+      DexIMethod method,
+      SSACFG cfg,
+      DexCFG scfg,
+      SSAInstruction[] instructions,
+      SymbolTable symbolTable,
+      boolean buildLocalMap,
+      SSAPiNodePolicy piNodePolicy,
+      boolean pruneDeadRegisters)
+      throws IllegalArgumentException {
     if (scfg == null) {
       throw new IllegalArgumentException("scfg == null");
     }
     return new DexSSABuilder(
-        method, cfg, scfg, instructions, symbolTable, buildLocalMap, piNodePolicy);
+        method,
+        cfg,
+        scfg,
+        instructions,
+        symbolTable,
+        buildLocalMap,
+        piNodePolicy,
+        pruneDeadRegisters);
   }
 
   /** A wrapper around the method being analyzed. */
@@ -135,7 +168,8 @@ public class DexSSABuilder extends AbstractIntRegisterMachine {
       SSAInstruction[] instructions,
       SymbolTable symbolTable,
       boolean buildLocalMap,
-      SSAPiNodePolicy piNodePolicy) {
+      SSAPiNodePolicy piNodePolicy,
+      boolean pruneDeadRegisters) {
     super(scfg);
     localMap =
         buildLocalMap
@@ -144,7 +178,8 @@ public class DexSSABuilder extends AbstractIntRegisterMachine {
             : null;
     init(
         new SymbolTableMeeter(cfg, scfg),
-        new SymbolicPropagator(scfg, instructions, cfg, piNodePolicy));
+        new SymbolicPropagator(scfg, instructions, cfg, piNodePolicy),
+        pruneDeadRegisters ? new RegisterLiveness(scfg) : null);
     this.method = method;
     this.symbolTable = symbolTable;
     this.insts = method.getDeclaringClass().getClassLoader().getInstructionFactory();
@@ -1460,7 +1495,8 @@ public class DexSSABuilder extends AbstractIntRegisterMachine {
       for (BasicBlock bb : dexCFG) {
         MachineState S = builder.getIn(bb);
         int number = bb.getNumber();
-        block2LocalState[number] = S.getLocals();
+        // the locals of S may be shared with other states
+        block2LocalState[number] = S.getLocals() == null ? null : S.getLocals().clone();
       }
     }
 
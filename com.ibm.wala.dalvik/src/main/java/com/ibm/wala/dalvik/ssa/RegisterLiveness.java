@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.dalvik.ssa;
+
+import com.ibm.wala.dalvik.classLoader.DexCFG;
+import com.ibm.wala.dalvik.classLoader.DexCFG.BasicBlock;
+import com.ibm.wala.dalvik.dex.instructions.ArrayFill;
+import com.ibm.wala.dalvik.dex.instructions.ArrayGet;
+import com.ibm.wala.dalvik.dex.instructions.ArrayLength;
+import com.ibm.wala.dalvik.dex.instructions.ArrayPut;
+import com.ibm.wala.dalvik.dex.instructions.BinaryLiteralOperation;
+import com.ibm.wala.dalvik.dex.instructions.BinaryOperation;
+import com.ibm.wala.dalvik.dex.instructions.Branch;
+import com.ibm.wala.dalvik.dex.instructions.CheckCast;
+import com.ibm.wala.dalvik.dex.instructions.Constant;
+import com.ibm.wala.dalvik.dex.instructions.GetField;
+import com.ibm.wala.dalvik.dex.instructions.InstanceOf;
+import com.ibm.wala.dalvik.dex.instructions.Instruction;
+import com.ibm.wala.dalvik.dex.instructions.Invoke;
+import com.ibm.wala.dalvik.dex.instructions.Monitor;
+import com.ibm.wala.dalvik.dex.instructions.New;
+import com.ibm.wala.dalvik.dex.instructions.NewArray;
+import com.ibm.wala.dalvik.dex.instructions.NewArrayFilled;
+import com.ibm.wala.dalvik.dex.instructions.PutField;
+import com.ibm.wala.dalvik.dex.instructions.Return;
+import com.ibm.wala.dalvik.dex.instructions.Switch;
+import com.ibm.wala.dalvik.dex.instructions.Throw;
+import com.ibm.wala.dalvik.dex.instructions.UnaryOperation;
+import com.ibm.wala.util.intset.BitVector;
+import java.util.Iterator;
+
+/**
+ * The registers live at the entry to each basic block of a {@link DexCFG}.
+ *
+ * <p>The result over-approximates the registers the {@link DexSSABuilder} reads: every register an
+ * instruction names counts as read, together with the next one in case it holds a wide value. Only
+ * the destination of an instruction, and the return register of a call with a result, count as
+ * written. A register that is not live at the entry to a block is thus never read before it is
+ * written again, and needs no phi there.
+ */
+public final class RegisterLiveness {
+
+  private final int maxLocals;
+
+  private final int returnReg;
+
+  private final BitVector[] liveIn;
+
+  public RegisterLiveness(DexCFG cfg) {
+    if (cfg == null) {
+      throw new IllegalArgumentException("cfg is null");
+    }
+    this.maxLocals = cfg.getDexMethod().getMaxLocals();
+    this.returnReg = cfg.getDexMethod().getReturnReg();
+    Instruction[] instructions = cfg.getDexMethod().getDexInstructions();
+
+    int n = cfg.getMaxNumber() + 1;
+    BitVector[] gen = new BitVector[n];
+    BitVector[] kill = new BitVector[n];
+    liveIn = new BitVector[n];
+    UseDefVisitor v = new UseDefVisitor();
+    for (BasicBlock bb : cfg) {
+      int b = bb.getNumber();
+      gen[b] = new BitVector(maxLocals);
+      kill[b] = new BitVector(maxLocals);
+      for (int i = bb.getLastInstructionIndex(); i >= bb.getFirstInstructionIndex(); i--) {
+        v.uses.clearAll();
+        v.defs.clearAll();
+        instructions[i].visit(v);
+        gen[b].andNot(v.defs);
+        gen[b].or(v.uses);
+        kill[b].or(v.defs);
+      }
+      liveIn[b] = new BitVector(gen[b]);
+    }
+
+    // live-in = gen | (live-out - kill), until nothing changes
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (int b = n - 1; b >= 0; b--) {
+        BasicBlock bb = cfg.getNode(b);
+        if (bb == null) {
+          continue;
+        }
+        BitVector live = new BitVector(maxLocals);
+        for (Iterator<BasicBlock> it = cfg.getSuccNodes(bb); it.hasNext(); ) {
+          live.or(liveIn[it.next().getNumber()]);
+        }
+        live.andNot(kill[b]);
+        live.or(gen[b]);
+        if (!live.sameBits(liveIn[b])) {
+          liveIn[b] = live;
+          changed = true;
+        }
+      }
+    }
+  }
+
+  /** @return the registers live at the entry to bb */
+  public BitVector getLiveIn(BasicBlock bb) {
+    return liveIn[bb.getNumber()];
+  }
+
+  /** @return if register r is live at the entry to bb */
+  public boolean isLiveIn(BasicBlock bb, int r) {
+    return liveIn[bb.getNumber()].get(r);
+  }
+
+  /** Collects the registers an instruction may read, and those it surely writes. */
+  private final class UseDefVisitor extends Instruction.Visitor {
+    final BitVector uses = new BitVector(maxLocals);
+    final BitVector defs = new BitVector(maxLocals);
+
+    private void use(int r) {
+      if (r >= 0 && r < maxLocals) {
+        uses.set(r);
+        if (r + 1 < maxLocals) {
+          uses.set(r + 1);
+        }
+      }
+    }
+
+    private void use(int[] rs) {
+      for (int r : rs) {
+        use(r);
+      }
+    }
+
+    private void def(int r) {
+      if (r >= 0 && r < maxLocals) {
+        defs.set(r);
+      }
+    }
+
+    @Override
+    public void visitArrayLength(ArrayLength instruction) {
+      use(instruction.source);
+      def(instruction.destination);
+    }
+
+    @Override
+    public void visitArrayGet(ArrayGet instruction) {
+      use(instruction.array);
+      use(instruction.offset);
+      def(instruction.destination);
+    }
+
+    @Override
+    public void visitArrayPut(ArrayPut instruction) {
+      use(instruction.array);
+      use(instruction.source);
+      use(instruction.offset);
+    }
+
+    @Override
+    public void visitArrayFill(ArrayFill instruction) {
+      use(instruction.array);
+    }
+
+    @Override
+    public void visitBinaryOperation(BinaryOperation instruction) {
+      use(instruction.oper1);
+      use(instruction.oper2);
+      def(instruction.destination);
+    }
+
+    @Override
+    public void visitBinaryLiteral(BinaryLiteralOperation instruction) {
+      use(instruction.oper1);
+      def(instruction.destination);
+    }
+
+    @Override
+    public void visitBranch(Branch instruction) {
+      if (instruction instanceof Branch.BinaryBranch) {
+        use(((Branch.BinaryBranch) instruction).oper1);
+        use(((Branch.BinaryBranch) instruction).oper2);
+      } else if (instruction instanceof Branch.UnaryBranch) {
+        use(((Branch.UnaryBranch) instruction).oper1);
+      }
+    }
+
+    @Override
+    public void visitCheckCast(CheckCast instruction) {
+      use(instruction.object);
+    }
+
+    @Override
+    public void visitConstant(Constant instruction) {
+      def(instruction.destination);
+    }
+
+    @Override
+    public void visitGetField(GetField instruction) {
+      if (instruction instanceof GetField.GetInstanceField) {
+        use(((GetField.GetInstanceField) instruction).instance);
+      }
+      def(instruction.destination);
+    }
+
+    @Override
+    public void visitInstanceof(InstanceOf instruction) {
+      use(instruction.source);
+      def(instruction.destination);
+    }
+
+    @Override
+    public void visitInvoke(Invoke instruction) {
+      use(instruction.args);
+      if (!instruction.descriptor.endsWith(")V")) {
+        def(returnReg);
+      }
+    }
+
+    @Override
+    public void visitMonitor(Monitor instruction) {
+      use(instruction.object);
+    }
+
+    @Override
+    public void visitNew(New instruction) {
+      def(instruction.destination);
+    }
+
+    @Override
+    public void visitNewArray(NewArray instruction) {
+      use(instruction.sizes);
+      def(instruction.destination);
+    }
+
+    @Override
+    public void visitNewArrayFilled(NewArrayFilled instruction) {
+      use(instruction.args);
+      def(instruction.destination);
+    }
+
+    @Override
+    public void visitPutField(PutField instruction) {
+      use(instruction.source);
+      if (instruction instanceof PutField.PutInstanceField) {
+        use(((PutField.PutInstanceField) instruction).instance);
+      }
+    }
+
+    @Override
+    public void visitReturn(Return instruction) {
+      if (instruction instanceof Return.ReturnSingle) {
+        use(((Return.ReturnSingle) instruction).source);
+      } else if (instruction instanceof Return.ReturnDouble) {
+        use(((Return.ReturnDouble) instruction).source1);
+        use(((Return.ReturnDouble) instruction).source2);
+      }
+    }
+
+    @Override
+    public void visitSwitch(Switch instruction) {
+      use(instruction.regA);
+    }
+
+    @Override
+    public void visitThrow(Throw instruction) {
+      use(instruction.throwable);
+    }
+
+    @Override
+    public void visitUnaryOperation(UnaryOperation instruction) {
+      use(instruction.source);
+      def(instruction.destination);
+    }
+  }
+}
@@ -40,7 +40,8 @@ public class AndroidAnalysisScope {
    * @param codeFileName the name of a .oat|.apk|.dex file
    * @param exclusions the name of the exclusions file (nullable)
    * @param loader the classloader to use
-   * @param androidLib an array of libraries (e.g. the Android SDK jar) to add to the scope
+   * @param androidLib an array of libraries (e.g. the Android SDK jar, or the directory of an
+   *     {@link AndroidFrameworkImage}) to add to the scope
    * @return a {@link AnalysisScope}
    */
   public static AnalysisScope setUpAndroidAnalysisScope(
@@ -76,11 +77,15 @@ public class AndroidAnalysisScope {
           ClassLoaderReference.Primordial, "com.ibm.wala.dalvik.classLoader.WDexClassLoaderImpl");
 
       for (URI al : androidLib) {
+        File lib = new File(al);
+        if (lib.isDirectory() && AndroidFrameworkImage.isImage(lib)) {
+          AndroidFrameworkImage.load(lib).addToScope(scope);
+          continue;
+        }
         try {
-          scope.addToScope(ClassLoaderReference.Primordial, DexFileModule.make(new File(al)));
+          scope.addToScope(ClassLoaderReference.Primordial, DexFileModule.make(lib));
         } catch (Exception e) {
-          scope.addToScope(
-              ClassLoaderReference.Primordial, new JarFileModule(new JarFile(new File(al))));
+          scope.addToScope(ClassLoaderReference.Primordial, new JarFileModule(new JarFile(lib)));
         }
       }
     }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.dalvik.util;
+
+import com.ibm.wala.core.util.warnings.Warning;
+import com.ibm.wala.core.util.warnings.Warnings;
+import com.ibm.wala.ipa.callgraph.AnalysisScope;
+import com.ibm.wala.ipa.cha.ClassHierarchyFactory;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import com.ibm.wala.util.collections.Iterator2Collection;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Analyzes many apps in one process, several at a time, against one {@link AndroidFrameworkImage}.
+ *
+ * <p>The framework is opened once and its modules are shared by the scopes of all apps, so each app
+ * only pays for its own code. Every app is analyzed on a thread that is isolated from the others:
+ * it has its own {@link AndroidEntryPointManager} settings and entry points, and its own {@link
+ * Warnings}, which are reported with its result.
+ *
+ * @param <T> the result of analyzing one app
+ */
+public class AndroidBatchAnalysis<T> {
+
+  /** The analysis to run on every app. */
+  public interface AppAnalysis<T> {
+    /**
+     * Analyze one app. Runs on an isolated thread; {@link AndroidEntryPointManager#get()} is fresh
+     * for every app.
+     *
+     * @param scope the scope of the app, with the framework in the Primordial loader
+     * @param cha the class hierarchy of scope
+     */
+    T analyze(AnalysisScope scope, IClassHierarchy cha) throws Exception;
+  }
+
+  /** The outcome of analyzing one app. */
+  public static class Result<T> {
+    private final URI app;
+    private final T value;
+    private final Exception failure;
+    private final List<Warning> warnings;
+
+    private Result(URI app, T value, Exception failure, List<Warning> warnings) {
+      this.app = app;
+      this.value = value;
+      this.failure = failure;
+      this.warnings = warnings;
+    }
+
+    public URI getApp() {
+      return app;
+    }
+
+    /** @return the result of the analysis, or null if it failed */
+    public T getValue() {
+      return value;
+    }
+
+    /** @return the exception the analysis failed with, or null if it succeeded */
+    public Exception getFailure() {
+      return failure;
+    }
+
+    /** @return the warnings raised while analyzing the app */
+    public List<Warning> getWarnings() {
+      return warnings;
+    }
+  }
+
+  private final AndroidFrameworkImage framework;
+
+  private final String exclusions;
+
+  private final AppAnalysis<T> analysis;
+
+  /**
+   * @param framework the framework to analyze every app against
+   * @param exclusions the name of the exclusions file (nullable)
+   * @param analysis the analysis to run on every app
+   */
+  public AndroidBatchAnalysis(
+      AndroidFrameworkImage framework, String exclusions, AppAnalysis<T> analysis) {
+    if (framework == null) {
+      throw new IllegalArgumentException("framework is null");
+    }
+    if (analysis == null) {
+      throw new IllegalArgumentException("analysis is null");
+    }
+    this.framework = framework;
+    this.exclusions = exclusions;
+    this.analysis = analysis;
+  }
+
+  /**
+   * Analyze app on the current thread, isolating it from analyses on other threads while it runs.
+   * Failures are reported in the result, not thrown.
+   */
+  public Result<T> analyze(URI app) {
+    AndroidEntryPointManager.isolate();
+    Warnings.isolate();
+    try {
+      T value = null;
+      Exception failure = null;
+      try {
+        AnalysisScope scope =
+            AndroidAnalysisScope.setUpAndroidAnalysisScope(
+                app,
+                framework.getApiLevel(),
+                exclusions,
+                AndroidBatchAnalysis.class.getClassLoader(),
+                framework.getDirectory().toURI());
+        value = analysis.analyze(scope, ClassHierarchyFactory.make(scope));
+      } catch (Exception e) {
+        failure = e;
+      }
+      List<Warning> warnings =
+          Collections.unmodifiableList(Iterator2Collection.toList(Warnings.iterator()));
+      return new Result<>(app, value, failure, warnings);
+    } finally {
+      Warnings.release();
+      AndroidEntryPointManager.release();
+    }
+  }
+
+  /**
+   * Analyze apps, on nThreads threads at a time.
+   *
+   * @return the result for every app, in the order of apps
+   */
+  public Map<URI, Result<T>> analyzeAll(Collection<URI> apps, int nThreads)
+      throws InterruptedException {
+    if (nThreads < 1) {
+      throw new IllegalArgumentException("invalid number of threads: " + nThreads);
+    }
+    Map<URI, Future<Result<T>>> pending = new LinkedHashMap<>();
+    ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+    try {
+      for (URI app : apps) {
+        if (!pending.containsKey(app)) {
+          pending.put(app, pool.submit(() -> analyze(app)));
+        }
+      }
+      Map<URI, Result<T>> result = new LinkedHashMap<>();
+      for (Map.Entry<URI, Future<Result<T>>> e : pending.entrySet()) {
+        try {
+          result.put(e.getKey(), e.getValue().get());
+        } catch (ExecutionException ex) {
+          // errors, rather than exceptions, escape analyze
+          throw new RuntimeException(ex.getCause());
+        }
+      }
+      return result;
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+}
@@ -128,7 +128,7 @@ public final class AndroidEntryPointLocator {
     } else {
       this.flags = flags;
     }
-    this.mon = AndroidEntryPointManager.MANAGER.getProgressMonitor();
+    this.mon = AndroidEntryPointManager.get().getProgressMonitor();
 
     populatePossibleEntryPoints();
   }
@@ -510,22 +510,24 @@ public final class AndroidEntryPointLocator {
    * information on the order in which they should be modeled.
    */
   private void populatePossibleEntryPoints() {
-    // Populate the list of possible EntryPoints
-    if (possibleEntryPoints.size() > 0) {
-      // already populated
-      return;
-    }
-    ApplicationEP.populate(possibleEntryPoints);
-    ActivityEP.populate(possibleEntryPoints);
-    ServiceEP.populate(possibleEntryPoints);
-    ProviderEP.populate(possibleEntryPoints);
-
-    if (this.flags.contains(LocatorFlags.INCLUDE_CALLBACKS)) {
-      LocationEP.populate(possibleEntryPoints);
-      LoaderCB.populate(possibleEntryPoints);
-    }
+    synchronized (possibleEntryPoints) {
+      // Populate the list of possible EntryPoints
+      if (possibleEntryPoints.size() > 0) {
+        // already populated
+        return;
+      }
+      ApplicationEP.populate(possibleEntryPoints);
+      ActivityEP.populate(possibleEntryPoints);
+      ServiceEP.populate(possibleEntryPoints);
+      ProviderEP.populate(possibleEntryPoints);
+
+      if (this.flags.contains(LocatorFlags.INCLUDE_CALLBACKS)) {
+        LocationEP.populate(possibleEntryPoints);
+        LoaderCB.populate(possibleEntryPoints);
+      }
 
-    possibleEntryPoints.sort(new AndroidPossibleEntryPoint.ExecutionOrderComperator());
+      possibleEntryPoints.sort(new AndroidPossibleEntryPoint.ExecutionOrderComperator());
+    }
   }
 
   public static void debugDumpEntryPoints(List<AndroidPossibleEntryPoint> eps) {
@@ -44,13 +44,16 @@ import com.ibm.wala.classLoader.CallSiteReference;
 import com.ibm.wala.core.util.ssa.SSAValueManager;
 import com.ibm.wala.core.util.ssa.TypeSafeInstructionFactory;
 import com.ibm.wala.core.util.strings.StringStuff;
+import com.ibm.wala.dalvik.ipa.callgraph.androidModel.AndroidModel;
 import com.ibm.wala.dalvik.ipa.callgraph.androidModel.parameters.DefaultInstantiationBehavior;
 import com.ibm.wala.dalvik.ipa.callgraph.androidModel.parameters.IInstantiationBehavior;
 import com.ibm.wala.dalvik.ipa.callgraph.androidModel.structure.AbstractAndroidModel;
 import com.ibm.wala.dalvik.ipa.callgraph.androidModel.structure.LoopAndroidModel;
 import com.ibm.wala.dalvik.ipa.callgraph.impl.AndroidEntryPoint;
 import com.ibm.wala.dalvik.ipa.callgraph.propagation.cfa.Intent;
+import com.ibm.wala.ipa.callgraph.AnalysisOptions;
 import com.ibm.wala.ipa.callgraph.Entrypoint;
+import com.ibm.wala.ipa.callgraph.IAnalysisCacheView;
 import com.ibm.wala.ipa.cha.IClassHierarchy;
 import com.ibm.wala.ipa.summaries.VolatileMethodSummary;
 import com.ibm.wala.types.TypeName;
@@ -80,8 +83,26 @@ import org.slf4j.LoggerFactory;
 public final /* singleton */ class AndroidEntryPointManager implements Serializable {
   private static final Logger logger = LoggerFactory.getLogger(AndroidEntryPointManager.class);
 
+  /**
+   * The manager shared by all threads that are not {@link #isolate() isolated}. Use {@link #get()}
+   * to find the manager of the current thread.
+   */
   public static AndroidEntryPointManager MANAGER = new AndroidEntryPointManager();
+  /**
+   * The entry points shared by all threads that are not {@link #isolate() isolated}. Use {@link
+   * #getEntries()} to find the entry points of the current thread.
+   */
   public static List<AndroidEntryPoint> ENTRIES = new ArrayList<>();
+
+  /** The manager and entry points of an isolated thread. */
+  private static final class Isolation {
+    volatile AndroidEntryPointManager manager = new AndroidEntryPointManager();
+    volatile List<AndroidEntryPoint> entries = new ArrayList<>();
+  }
+
+  // inherited, so that the helper threads an isolated thread starts share its isolation
+  private static final InheritableThreadLocal<Isolation> isolation = new InheritableThreadLocal<>();
+
   /** This is TRANSIENT! */
   private transient IInstantiationBehavior instantiation = null;
 
@@ -90,7 +111,7 @@ public final /* singleton */ class AndroidEntryPointManager implements Serializa
   //
   /** Determines if any EntryPoint extends the specified component. */
   public static boolean EPContainAny(AndroidComponent compo) {
-    for (AndroidEntryPoint ep : ENTRIES) {
+    for (AndroidEntryPoint ep : getEntries()) {
       if (ep.belongsTo(compo)) {
         return true;
       }
@@ -100,18 +121,65 @@ public final /* singleton */ class AndroidEntryPointManager implements Serializa
 
   private AndroidEntryPointManager() {}
 
+  /** Reset the manager and entry points of the current thread. */
   public static void reset() {
-    ENTRIES = new ArrayList<>();
-    MANAGER = new AndroidEntryPointManager();
+    Isolation own = isolation.get();
+    if (own != null) {
+      own.manager = new AndroidEntryPointManager();
+      own.entries = new ArrayList<>();
+    } else {
+      ENTRIES = new ArrayList<>();
+      MANAGER = new AndroidEntryPointManager();
+    }
+  }
+
+  /**
+   * Give the current thread a fresh manager and entry points of its own, until {@link #release()}.
+   * This lets several apps be analyzed at once, each on its own thread.
+   *
+   * <p>Threads started by the isolated thread from then on, such as the workers of a pool it
+   * creates, share its manager and entry points. Threads started earlier, including those of pools
+   * created earlier, do not.
+   */
+  public static void isolate() {
+    isolation.set(new Isolation());
+  }
+
+  /** Make the current thread use the shared manager and entry points again. */
+  public static void release() {
+    isolation.remove();
+  }
+
+  /** @return the manager of the current thread */
+  public static AndroidEntryPointManager get() {
+    Isolation own = isolation.get();
+    return own == null ? MANAGER : own.manager;
+  }
+
+  /** @return the entry points of the current thread */
+  public static List<AndroidEntryPoint> getEntries() {
+    Isolation own = isolation.get();
+    return own == null ? ENTRIES : own.entries;
+  }
+
+  /** Set the entry points of the current thread. */
+  public static void setEntries(List<AndroidEntryPoint> entries) {
+    Isolation own = isolation.get();
+    if (own != null) {
+      own.entries = entries;
+    } else {
+      ENTRIES = entries;
+    }
   }
 
   public static Set<TypeReference> getComponents() {
-    if (ENTRIES.isEmpty()) {
+    List<AndroidEntryPoint> entries = getEntries();
+    if (entries.isEmpty()) {
       throw new IllegalStateException("No entrypoints loaded yet.");
     }
 
     final Set<TypeReference> ret = new HashSet<>();
-    for (final AndroidEntryPoint ep : ENTRIES) {
+    for (final AndroidEntryPoint ep : entries) {
       final TypeReference epClass = ep.getMethod().getDeclaringClass().getReference();
       if (AndroidComponent.isAndroidComponent(epClass, ep.getClassHierarchy())) {
         ret.add(epClass);
@@ -317,6 +385,53 @@ public final /* singleton */ class AndroidEntryPointManager implements Serializa
     this.abstractAndroidModel = abstractAndroidModel;
   }
 
+  private Class<? extends AndroidModel> androidModel = AndroidModel.class;
+
+  /**
+   * Create the model of the application start, an instance of the class set using
+   * setLifecycleModel.
+   *
+   * @see com.ibm.wala.dalvik.ipa.callgraph.androidModel.AndroidModel
+   * @see com.ibm.wala.dalvik.ipa.callgraph.androidModel.EntryComponentsModel
+   * @throws IllegalStateException if initialization fails
+   */
+  public AndroidModel makeLifecycleModel(
+      IClassHierarchy cha, AnalysisOptions options, IAnalysisCacheView cache) {
+    try {
+      final Constructor<? extends AndroidModel> ctor =
+          this.androidModel.getDeclaredConstructor(
+              IClassHierarchy.class, AnalysisOptions.class, IAnalysisCacheView.class);
+      return ctor.newInstance(cha, options, cache);
+    } catch (InstantiationException
+        | NoSuchMethodException
+        | InvocationTargetException
+        | IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * The model of the application start set using setLifecycleModel.
+   *
+   * <p>The default is the AndroidModel, which starts all components of the App.
+   */
+  public Class<? extends AndroidModel> getLifecycleModel() {
+    return this.androidModel;
+  }
+
+  /**
+   * Set the class instantiated by makeLifecycleModel. Use the EntryComponentsModel to only start
+   * the components Android may start on its own, and leave the others to the start-calls.
+   *
+   * @throws IllegalArgumentException if the androidModel is null
+   */
+  public void setLifecycleModel(Class<? extends AndroidModel> androidModel) {
+    if (androidModel == null) {
+      throw new IllegalArgumentException("androidModel may not be null. Use AndroidModel instead.");
+    }
+    this.androidModel = androidModel;
+  }
+
   //
   //  Propertys of the analyzed app
   //
@@ -390,12 +505,13 @@ public final /* singleton */ class AndroidEntryPointManager implements Serializa
     if (this.pack != null) {
       return this.pack;
     } else {
-      if (ENTRIES.isEmpty()) {
+      final List<AndroidEntryPoint> entries = getEntries();
+      if (entries.isEmpty()) {
         logger.error("guessPackage() called when no entrypoints had been set");
         return null;
       }
       final String first =
-          ENTRIES
+          entries
               .get(0)
               .getMethod()
               .getReference()
@@ -420,6 +536,9 @@ public final /* singleton */ class AndroidEntryPointManager implements Serializa
    */
   public final Map<Intent, Intent> overrideIntents = HashMapFactory.make();
 
+  /** The actions of the Intents in overrideIntents, registered or resolved to. */
+  private final Set<String> intentActions = new HashSet<>();
+
   /**
    * Set more information to an Intent.
    *
@@ -480,6 +599,7 @@ public final /* singleton */ class AndroidEntryPointManager implements Serializa
     logger.info("Register Intent {}", intent);
     // Looks a bit weired but works as Intents are only matched based on their action and uri
     overrideIntents.put(intent, intent);
+    intentActions.add(intent.getAction().toString());
   }
 
   /**
@@ -612,6 +732,8 @@ public final /* singleton */ class AndroidEntryPointManager implements Serializa
 
     logger.info("Override Intent {} to {}", from, to);
     overrideIntents.put(from, to);
+    intentActions.add(from.getAction().toString());
+    intentActions.add(to.getAction().toString());
   }
 
   /**
@@ -650,8 +772,10 @@ public final /* singleton */ class AndroidEntryPointManager implements Serializa
       return ret;
     } else {
       logger.info("No information on {} hash: {}", intent, intent.hashCode());
-      for (Intent known : overrideIntents.keySet()) {
-        logger.debug("Known Intents: {} hash: {}", known, known.hashCode());
+      if (logger.isDebugEnabled()) {
+        for (Intent known : overrideIntents.keySet()) {
+          logger.debug("Known Intents: {} hash: {}", known, known.hashCode());
+        }
       }
       return intent;
     }
@@ -663,19 +787,39 @@ public final /* singleton */ class AndroidEntryPointManager implements Serializa
    * @return the intent is registered or there exists an override.
    */
   public boolean existsIntentFor(TypeName clazz) {
-    for (Intent i : overrideIntents.keySet()) {
-      if (i.getAction().toString().equals(clazz.toString())) { // XXX toString-Matches are shitty
-        return true;
-      }
-    }
+    // XXX toString-Matches are shitty
+    return intentActions.contains(clazz.toString());
+  }
 
-    for (Intent i : overrideIntents.values()) {
-      if (i.getAction().toString().equals(clazz.toString())) {
-        return true;
-      }
+  private boolean manifestRead = false;
+
+  /** The components the AndroidManifest.xml marks android:exported="true". */
+  private final Set<String> exportedComponents = new HashSet<>();
+
+  /** Note that an AndroidManifest.xml was read. This is called by the AndroidManifestXMLReader. */
+  public void setManifestRead() {
+    this.manifestRead = true;
+  }
+
+  /** @return an AndroidManifest.xml was read, so the Intents it declares are known */
+  public boolean isManifestRead() {
+    return this.manifestRead;
+  }
+
+  /**
+   * Note that the component intent resolves to may be started from outside the App, whether or
+   * not an intent-filter names it.
+   */
+  public void registerExported(Intent intent) {
+    if (intent == null) {
+      throw new IllegalArgumentException("The given Intent is null");
     }
+    exportedComponents.add(intent.getAction().toString());
+  }
 
-    return false;
+  /** @return the AndroidManifest.xml marks clazz android:exported="true" */
+  public boolean isExported(TypeName clazz) {
+    return exportedComponents.contains(clazz.toString());
   }
 
   private final transient Map<CallSiteReference, Intent> seenIntentCalls = HashMapFactory.make();
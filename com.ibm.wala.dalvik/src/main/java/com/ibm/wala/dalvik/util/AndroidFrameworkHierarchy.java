@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.dalvik.util;
+
+import com.ibm.wala.classLoader.JarFileModule;
+import com.ibm.wala.classLoader.Module;
+import com.ibm.wala.classLoader.ModuleEntry;
+import com.ibm.wala.dalvik.classLoader.DexFileModule;
+import com.ibm.wala.shrike.shrikeCT.ClassReader;
+import com.ibm.wala.shrike.shrikeCT.InvalidClassFileException;
+import com.ibm.wala.util.collections.HashMapFactory;
+import com.ibm.wala.util.collections.Iterator2Iterable;
+import com.ibm.wala.util.io.FileUtil;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jf.dexlib2.iface.ClassDef;
+import org.jf.dexlib2.iface.Method;
+
+/**
+ * The type hierarchy and method signatures of the classes of an {@link AndroidFrameworkImage},
+ * computed once when the image is built and read back with the image, without parsing any class.
+ *
+ * <p>Types are named as in {@link com.ibm.wala.types.TypeName}, e.g. {@code Ljava/lang/Object},
+ * and methods as in {@link com.ibm.wala.types.Selector}, e.g. {@code toString()Ljava/lang/String;}.
+ * When several modules define a class, the first in class path order wins, as in the Primordial
+ * loader.
+ */
+public class AndroidFrameworkHierarchy {
+
+  /** name of the hierarchy file of an image */
+  public static final String FILE = "hierarchy.idx";
+
+  private static final int MAGIC = 0x57414c48;
+
+  private static final int VERSION = 1;
+
+  /** The summary of one class. */
+  public static class ClassSummary {
+    private final String name;
+    private final String superclass;
+    private final int accessFlags;
+    private final List<String> interfaces;
+    // selector -> access flags, in declaration order
+    private final Map<String, Integer> methods;
+
+    ClassSummary(
+        String name,
+        String superclass,
+        int accessFlags,
+        List<String> interfaces,
+        Map<String, Integer> methods) {
+      this.name = name;
+      this.superclass = superclass;
+      this.accessFlags = accessFlags;
+      this.interfaces = Collections.unmodifiableList(interfaces);
+      this.methods = Collections.unmodifiableMap(methods);
+    }
+
+    /** @return the name of this class */
+    public String getName() {
+      return name;
+    }
+
+    /** @return the name of the superclass, or null for java.lang.Object */
+    public String getSuperclass() {
+      return superclass;
+    }
+
+    /** @return the access flags of this class */
+    public int getAccessFlags() {
+      return accessFlags;
+    }
+
+    /** @return the names of the interfaces this class directly implements */
+    public List<String> getInterfaces() {
+      return interfaces;
+    }
+
+    /** @return the selectors of the methods this class declares */
+    public Set<String> getDeclaredMethods() {
+      return methods.keySet();
+    }
+
+    /** @return the access flags of the declared method selector, or -1 if there is none */
+    public int getMethodAccessFlags(String selector) {
+      Integer flags = methods.get(selector);
+      return flags == null ? -1 : flags;
+    }
+
+    @Override
+    public String toString() {
+      return name + " extends " + superclass + " implements " + interfaces;
+    }
+  }
+
+  private final Map<String, ClassSummary> classes;
+
+  private AndroidFrameworkHierarchy(Map<String, ClassSummary> classes) {
+    this.classes = classes;
+  }
+
+  /** @return the names of all classes of the image */
+  public Set<String> getClassNames() {
+    return Collections.unmodifiableSet(classes.keySet());
+  }
+
+  /** @return the summary of the named class, or null if the image does not define it */
+  public ClassSummary getSummary(String name) {
+    return classes.get(name);
+  }
+
+  /**
+   * @return true if sub is sup, or extends or implements it, transitively. Classes missing from
+   *     the image end the search.
+   */
+  public boolean isSubtypeOf(String sub, String sup) {
+    if (sub.equals(sup)) {
+      return true;
+    }
+    ClassSummary c = classes.get(sub);
+    if (c == null) {
+      return false;
+    }
+    if (c.superclass != null && isSubtypeOf(c.superclass, sup)) {
+      return true;
+    }
+    for (String i : c.interfaces) {
+      if (isSubtypeOf(i, sup)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the name of the class that declares the method selector that type inherits along its
+   *     superclass chain, or null if there is none in the image
+   */
+  public String resolveMethod(String type, String selector) {
+    for (ClassSummary c = classes.get(type); c != null; c = classes.get(c.superclass)) {
+      if (c.methods.containsKey(selector)) {
+        return c.name;
+      }
+      if (c.superclass == null) {
+        break;
+      }
+    }
+    return null;
+  }
+
+  /** Summarize the classes of modules, and write them to file. */
+  static AndroidFrameworkHierarchy write(List<Module> modules, File file) throws IOException {
+    Map<String, ClassSummary> classes = new LinkedHashMap<>();
+    for (Module m : modules) {
+      if (m instanceof DexFileModule) {
+        for (ClassDef def : ((DexFileModule) m).getDexFile().getClasses()) {
+          summarize(def, classes);
+        }
+      } else if (m instanceof JarFileModule) {
+        summarize((JarFileModule) m, classes);
+      } else {
+        throw new IllegalArgumentException("unexpected module " + m);
+      }
+    }
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(classes.size());
+      for (ClassSummary c : classes.values()) {
+        out.writeUTF(c.name);
+        out.writeUTF(c.superclass == null ? "" : c.superclass);
+        out.writeInt(c.accessFlags);
+        out.writeInt(c.interfaces.size());
+        for (String i : c.interfaces) {
+          out.writeUTF(i);
+        }
+        out.writeInt(c.methods.size());
+        for (Map.Entry<String, Integer> e : c.methods.entrySet()) {
+          out.writeUTF(e.getKey());
+          out.writeInt(e.getValue());
+        }
+      }
+    }
+    return new AndroidFrameworkHierarchy(classes);
+  }
+
+  /** Read the hierarchy written to file by {@link #write(List, File)}. */
+  static AndroidFrameworkHierarchy read(File file) throws IOException {
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        throw new IllegalArgumentException("not a framework hierarchy: " + file);
+      }
+      int n = in.readInt();
+      Map<String, ClassSummary> classes = HashMapFactory.make(n);
+      for (int c = 0; c < n; c++) {
+        String name = in.readUTF();
+        String superclass = in.readUTF();
+        int accessFlags = in.readInt();
+        List<String> interfaces = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+          interfaces.add(in.readUTF());
+        }
+        Map<String, Integer> methods = new LinkedHashMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+          methods.put(in.readUTF(), in.readInt());
+        }
+        classes.put(
+            name,
+            new ClassSummary(
+                name, superclass.isEmpty() ? null : superclass, accessFlags, interfaces, methods));
+      }
+      return new AndroidFrameworkHierarchy(classes);
+    }
+  }
+
+  private static void summarize(ClassDef def, Map<String, ClassSummary> classes) {
+    String name = typeName(def.getType());
+    if (classes.containsKey(name)) {
+      return;
+    }
+    List<String> interfaces = new ArrayList<>();
+    for (String i : def.getInterfaces()) {
+      interfaces.add(typeName(i));
+    }
+    Map<String, Integer> methods = new LinkedHashMap<>();
+    for (Method m : def.getMethods()) {
+      StringBuilder selector = new StringBuilder(m.getName()).append('(');
+      for (CharSequence p : m.getParameterTypes()) {
+        selector.append(p);
+      }
+      selector.append(')').append(m.getReturnType());
+      methods.put(selector.toString(), m.getAccessFlags());
+    }
+    String superclass = def.getSuperclass() == null ? null : typeName(def.getSuperclass());
+    classes.put(
+        name, new ClassSummary(name, superclass, def.getAccessFlags(), interfaces, methods));
+  }
+
+  private static void summarize(JarFileModule jar, Map<String, ClassSummary> classes)
+      throws IOException {
+    for (ModuleEntry e : Iterator2Iterable.make(jar.getEntries())) {
+      if (!e.isClassFile()) {
+        continue;
+      }
+      try (InputStream in = e.getInputStream()) {
+        ClassReader reader = new ClassReader(FileUtil.readBytes(in));
+        String name = 'L' + reader.getName();
+        if (classes.containsKey(name)) {
+          continue;
+        }
+        List<String> interfaces = new ArrayList<>();
+        for (String i : reader.getInterfaceNames()) {
+          interfaces.add('L' + i);
+        }
+        Map<String, Integer> methods = new LinkedHashMap<>();
+        for (int m = 0; m < reader.getMethodCount(); m++) {
+          methods.put(
+              reader.getMethodName(m) + reader.getMethodType(m), reader.getMethodAccessFlags(m));
+        }
+        String superclass = reader.getSuperName() == null ? null : 'L' + reader.getSuperName();
+        classes.put(
+            name, new ClassSummary(name, superclass, reader.getAccessFlags(), interfaces, methods));
+      } catch (InvalidClassFileException x) {
+        throw new IOException("invalid class file " + e.getName() + " in " + jar, x);
+      }
+    }
+  }
+
+  // Ljava/lang/Object; -> Ljava/lang/Object
+  private static String typeName(String descriptor) {
+    return descriptor.endsWith(";")
+        ? descriptor.substring(0, descriptor.length() - 1)
+        : descriptor;
+  }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.dalvik.util;
+
+import com.ibm.wala.classLoader.JarFileModule;
+import com.ibm.wala.classLoader.Module;
+import com.ibm.wala.dalvik.classLoader.DexFileModule;
+import com.ibm.wala.ipa.callgraph.AnalysisScope;
+import com.ibm.wala.types.ClassLoaderReference;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A prepared copy of the Android framework libraries of one API level, to be shared by the analyses
+ * of many apps.
+ *
+ * <p>{@link #build(File, int, URI...)} runs once per API level. It extracts the dex files of the
+ * framework jars and apks into a directory, next to an index listing them. {@link #load(File)}
+ * opens an image once per process, and {@link #addToScope(AnalysisScope)} attaches the same
+ * modules, read only, to the Primordial loader of every scope. The dex files are then parsed once
+ * for all apps, and are not extracted to a temporary file for every analysis.
+ *
+ * <p>The build also persists an {@link AndroidFrameworkHierarchy} of the framework classes, which
+ * answers subtype and method resolution queries without parsing any dex file. The class hierarchy,
+ * IR and synthetic models of an analysis refer to its own class hierarchy, so they are still built
+ * per app.
+ */
+public class AndroidFrameworkImage {
+
+  /** name of the index file of an image */
+  public static final String INDEX = "framework.idx";
+
+  // images loaded so far, by canonical directory
+  private static final Map<String, AndroidFrameworkImage> images = new ConcurrentHashMap<>();
+
+  private final File dir;
+
+  private final int apiLevel;
+
+  private final List<Module> modules;
+
+  private final AndroidFrameworkHierarchy hierarchy;
+
+  private AndroidFrameworkImage(
+      File dir, int apiLevel, List<Module> modules, AndroidFrameworkHierarchy hierarchy) {
+    this.dir = dir;
+    this.apiLevel = apiLevel;
+    this.modules = Collections.unmodifiableList(modules);
+    this.hierarchy = hierarchy;
+  }
+
+  /** @return true if dir holds an image made by {@link #build(File, int, URI...)} */
+  public static boolean isImage(File dir) {
+    return new File(dir, INDEX).isFile();
+  }
+
+  /**
+   * Build an image of the given framework libraries in dir, replacing any image there. The files
+   * of a previous image are deleted; other files in dir are left alone.
+   *
+   * @param dir the directory to build the image in; created if needed
+   * @param apiLevel the API level to parse the dex files for, or {@link
+   *     DexFileModule#AUTO_INFER_API_LEVEL}
+   * @param androidLibs .dex, .apk and .jar files, in class path order
+   * @return the index file of the image
+   */
+  public static File build(File dir, int apiLevel, URI... androidLibs) throws IOException {
+    if (androidLibs == null || androidLibs.length == 0) {
+      throw new IllegalArgumentException("no framework libraries");
+    }
+    Files.createDirectories(dir.toPath());
+    clear(dir);
+    List<String> lines = new ArrayList<>();
+    lines.add(String.valueOf(apiLevel));
+    int i = 0;
+    for (URI lib : androidLibs) {
+      File f = new File(lib);
+      String prefix = i++ + "-";
+      if (f.getName().endsWith(".dex")) {
+        lines.add(copy(f, new File(dir, prefix + f.getName())));
+        continue;
+      }
+      boolean hasDex = false;
+      try (ZipFile zip = new ZipFile(f)) {
+        for (Enumeration<? extends ZipEntry> es = zip.entries(); es.hasMoreElements(); ) {
+          ZipEntry e = es.nextElement();
+          if (e.getName().startsWith("classes") && e.getName().endsWith(".dex")) {
+            File target = new File(dir, prefix + e.getName());
+            try (InputStream in = zip.getInputStream(e)) {
+              Files.copy(in, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            lines.add(target.getName());
+            hasDex = true;
+          }
+        }
+      }
+      if (!hasDex) {
+        // a jar of class files, such as the android.jar of the SDK
+        lines.add(copy(f, new File(dir, prefix + f.getName())));
+      }
+    }
+    List<JarFile> jars = new ArrayList<>();
+    try {
+      AndroidFrameworkHierarchy.write(
+          modules(dir, apiLevel, lines.subList(1, lines.size()), jars),
+          new File(dir, AndroidFrameworkHierarchy.FILE));
+    } finally {
+      for (JarFile jar : jars) {
+        jar.close();
+      }
+    }
+    // the index is written last, so that a failed build does not leave an image behind
+    File index = new File(dir, INDEX);
+    Files.write(index.toPath(), lines, StandardCharsets.UTF_8);
+    // the image may have changed under a loaded copy
+    images.remove(dir.getCanonicalPath());
+    return index;
+  }
+
+  // delete the files of the image in dir, if any
+  private static void clear(File dir) throws IOException {
+    File index = new File(dir, INDEX);
+    if (index.isFile()) {
+      List<String> lines = Files.readAllLines(index.toPath(), StandardCharsets.UTF_8);
+      Files.delete(index.toPath());
+      for (String name : lines.subList(Math.min(1, lines.size()), lines.size())) {
+        Files.deleteIfExists(new File(dir, name).toPath());
+      }
+    }
+    Files.deleteIfExists(new File(dir, AndroidFrameworkHierarchy.FILE).toPath());
+  }
+
+  private static String copy(File from, File to) throws IOException {
+    Files.copy(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    return to.getName();
+  }
+
+  /**
+   * Open the image in dir. Every image is opened once per process; later calls return the same
+   * image, whose modules can be added to any number of scopes.
+   */
+  public static AndroidFrameworkImage load(File dir) throws IOException {
+    String key = dir.getCanonicalPath();
+    AndroidFrameworkImage image = images.get(key);
+    if (image == null) {
+      synchronized (images) {
+        image = images.get(key);
+        if (image == null) {
+          image = read(dir);
+          images.put(key, image);
+        }
+      }
+    }
+    return image;
+  }
+
+  private static AndroidFrameworkImage read(File dir) throws IOException {
+    if (!isImage(dir)) {
+      throw new IllegalArgumentException("not a framework image: " + dir);
+    }
+    List<String> lines = Files.readAllLines(new File(dir, INDEX).toPath(), StandardCharsets.UTF_8);
+    int apiLevel;
+    try {
+      apiLevel = Integer.parseInt(lines.get(0).trim());
+    } catch (NumberFormatException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("malformed framework image index in " + dir, e);
+    }
+    return new AndroidFrameworkImage(
+        dir,
+        apiLevel,
+        modules(dir, apiLevel, lines.subList(1, lines.size()), new ArrayList<>()),
+        AndroidFrameworkHierarchy.read(new File(dir, AndroidFrameworkHierarchy.FILE)));
+  }
+
+  // the modules of the named files in dir; the jar files opened for them are added to jars
+  private static List<Module> modules(
+      File dir, int apiLevel, List<String> names, List<JarFile> jars) throws IOException {
+    List<Module> modules = new ArrayList<>();
+    for (String name : names) {
+      File f = new File(dir, name);
+      if (name.endsWith(".dex")) {
+        modules.add(DexFileModule.make(f, apiLevel));
+      } else {
+        JarFile jar = new JarFile(f);
+        jars.add(jar);
+        modules.add(new JarFileModule(jar));
+      }
+    }
+    return modules;
+  }
+
+  /** Add the framework to the Primordial loader of scope. */
+  public void addToScope(AnalysisScope scope) {
+    scope.setLoaderImpl(
+        ClassLoaderReference.Primordial, "com.ibm.wala.dalvik.classLoader.WDexClassLoaderImpl");
+    for (Module m : modules) {
+      scope.addToScope(ClassLoaderReference.Primordial, m);
+    }
+  }
+
+  /** @return the directory of this image */
+  public File getDirectory() {
+    return dir;
+  }
+
+  /** @return the API level the dex files of this image are parsed for */
+  public int getApiLevel() {
+    return apiLevel;
+  }
+
+  /** @return the modules of this image, in class path order */
+  public List<Module> getModules() {
+    return modules;
+  }
+
+  /** @return the hierarchy of the framework classes, as persisted when the image was built */
+  public AndroidFrameworkHierarchy getHierarchy() {
+    return hierarchy;
+  }
+}
@@ -0,0 +1,587 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.dalvik.util;
+
+import com.ibm.wala.core.util.strings.StringStuff;
+import com.ibm.wala.dalvik.ipa.callgraph.propagation.cfa.Intent;
+import com.ibm.wala.types.TypeName;
+import com.ibm.wala.util.collections.HashMapFactory;
+import com.ibm.wala.util.collections.HashSetFactory;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * The components and intent-filters of an AndroidManifest.xml, indexed by the actions, categories
+ * and data schemes of the filters.
+ *
+ * <p>The manifest is read in one pass, without building a document, either from the text format or
+ * from the binary format found in APKs. {@link #read(File)} reads the binary manifest of an APK
+ * straight from the archive, so it need not be extracted first. Looking up the components that may
+ * receive an Intent then takes a hash lookup, instead of a scan of all components.
+ *
+ * <p>{@link #register(AndroidEntryPointManager)} passes the components and filters to the
+ * AndroidEntryPointManager, as the AndroidManifestXMLReader does, so Intents resolve to them
+ * during call graph construction.
+ *
+ * @see AndroidManifestXMLReader
+ */
+public class AndroidManifestIndex {
+
+  /** name of the manifest in an APK */
+  public static final String MANIFEST = "AndroidManifest.xml";
+
+  /** An intent-filter of a component. */
+  public static final class IntentFilter {
+    private final Set<String> actions = HashSetFactory.make();
+    private final Set<String> categories = HashSetFactory.make();
+    private final Set<String> schemes = HashSetFactory.make();
+    private final Set<String> mimeTypes = HashSetFactory.make();
+
+    public Set<String> getActions() {
+      return Collections.unmodifiableSet(actions);
+    }
+
+    public Set<String> getCategories() {
+      return Collections.unmodifiableSet(categories);
+    }
+
+    public Set<String> getSchemes() {
+      return Collections.unmodifiableSet(schemes);
+    }
+
+    public Set<String> getMimeTypes() {
+      return Collections.unmodifiableSet(mimeTypes);
+    }
+
+    /**
+     * @param action the action of an Intent
+     * @param categories the categories of the Intent
+     * @param scheme the scheme of the data of the Intent, or null if it has none
+     * @return if an Intent with these properties passes this filter
+     */
+    public boolean matches(String action, Collection<String> categories, String scheme) {
+      return actions.contains(action)
+          && this.categories.containsAll(categories)
+          && (scheme == null ? schemes.isEmpty() : schemes.contains(scheme));
+    }
+  }
+
+  /** A component declared in the manifest. */
+  public static final class Component {
+    private final String tag;
+    private final String name;
+    private final String target;
+    private final String exported;
+    private final List<IntentFilter> filters = new ArrayList<>();
+
+    private Component(String tag, String name, String target, String exported) {
+      this.tag = tag;
+      this.name = name;
+      this.target = target;
+      this.exported = exported;
+    }
+
+    /** @return the tag declaring the component, such as "activity" or "activity-alias" */
+    public String getTag() {
+      return tag;
+    }
+
+    /** @return the name of the component, qualified by the package of the App */
+    public String getName() {
+      return name;
+    }
+
+    /** @return the class implementing the component; for an alias, that of its target */
+    public TypeName getType() {
+      return TypeName.string2TypeName(StringStuff.deployment2CanonicalTypeString(target));
+    }
+
+    /**
+     * @return if other Apps may start the component; by default, if it has an intent-filter
+     */
+    public boolean isExported() {
+      return exported == null ? !filters.isEmpty() : Boolean.parseBoolean(exported);
+    }
+
+    public List<IntentFilter> getIntentFilters() {
+      return Collections.unmodifiableList(filters);
+    }
+
+    @Override
+    public String toString() {
+      return "<" + tag + " name=" + name + " />";
+    }
+  }
+
+  private String pack;
+
+  private final List<Component> components = new ArrayList<>();
+
+  private final Map<TypeName, Component> byType = HashMapFactory.make();
+
+  private final Map<String, Set<Component>> byAction = HashMapFactory.make();
+
+  private final Map<String, Set<Component>> byCategory = HashMapFactory.make();
+
+  private final Map<String, Set<Component>> byScheme = HashMapFactory.make();
+
+  private AndroidManifestIndex() {}
+
+  /**
+   * Read the manifest in file, which is either an APK or a manifest in the text or binary format.
+   */
+  public static AndroidManifestIndex read(File file) throws IOException {
+    if (file == null) {
+      throw new IllegalArgumentException("file is null");
+    }
+    if (file.getName().endsWith(".apk")) {
+      try (ZipFile apk = new ZipFile(file)) {
+        ZipEntry manifest = apk.getEntry(MANIFEST);
+        if (manifest == null) {
+          throw new IOException("no " + MANIFEST + " in " + file);
+        }
+        try (InputStream in = apk.getInputStream(manifest)) {
+          return read(in);
+        }
+      }
+    }
+    try (InputStream in = Files.newInputStream(file.toPath())) {
+      return read(in);
+    }
+  }
+
+  /** Read a manifest in the text or binary format. */
+  public static AndroidManifestIndex read(InputStream in) throws IOException {
+    if (in == null) {
+      throw new IllegalArgumentException("in is null");
+    }
+    AndroidManifestIndex index = new AndroidManifestIndex();
+    Builder builder = index.new Builder();
+    BufferedInputStream s = new BufferedInputStream(in);
+    s.mark(2);
+    int b0 = s.read();
+    int b1 = s.read();
+    s.reset();
+    if (b0 == (RES_XML_TYPE & 0xff) && b1 == (RES_XML_TYPE >> 8)) {
+      readBinary(s, builder);
+    } else {
+      readText(s, builder);
+    }
+    return index;
+  }
+
+  /** @return the package of the App */
+  public String getPackage() {
+    return pack;
+  }
+
+  /** @return all components, in the order of the manifest */
+  public List<Component> getComponents() {
+    return Collections.unmodifiableList(components);
+  }
+
+  /** @return the component implemented by type, or null if it is not declared */
+  public Component getComponent(TypeName type) {
+    return byType.get(type);
+  }
+
+  /** @return the components with an intent-filter for action */
+  public Set<Component> getComponentsForAction(String action) {
+    return byAction.getOrDefault(action, Collections.emptySet());
+  }
+
+  /** @return the components with an intent-filter for category */
+  public Set<Component> getComponentsForCategory(String category) {
+    return byCategory.getOrDefault(category, Collections.emptySet());
+  }
+
+  /** @return the components with an intent-filter for data of scheme */
+  public Set<Component> getComponentsForScheme(String scheme) {
+    return byScheme.getOrDefault(scheme, Collections.emptySet());
+  }
+
+  /**
+   * @param action the action of an Intent
+   * @param categories the categories of the Intent
+   * @param scheme the scheme of the data of the Intent, or null if it has none
+   * @return the components that may receive the Intent
+   */
+  public Set<Component> resolve(String action, Collection<String> categories, String scheme) {
+    Set<Component> result = HashSetFactory.make();
+    for (Component c : getComponentsForAction(action)) {
+      for (IntentFilter f : c.filters) {
+        if (f.matches(action, categories, scheme)) {
+          result.add(c);
+          break;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Make the components and their intent-filters known to manager, as the
+   * AndroidManifestXMLReader does.
+   */
+  public void register(AndroidEntryPointManager manager) {
+    manager.setManifestRead();
+    if (pack != null) {
+      manager.setPackage(pack);
+    }
+    for (Component c : components) {
+      final Intent intent = AndroidSettingFactory.intent(pack, c.target, null);
+      manager.registerIntent(intent);
+      if (c.isExported()) {
+        manager.registerExported(intent);
+      }
+      for (IntentFilter f : c.filters) {
+        final Collection<String> urls =
+            f.schemes.isEmpty() ? Collections.singleton(null) : f.schemes;
+        for (String action : f.actions) {
+          for (String url : urls) {
+            final Intent ovr = AndroidSettingFactory.intent(action, url);
+            if (ovr.equals(intent)) {
+              manager.registerIntent(intent);
+            } else {
+              manager.setOverride(ovr, intent);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  // qualify a component name by the package
+  private String qualify(String name) {
+    if (name == null || pack == null) {
+      return name;
+    }
+    if (name.startsWith(".")) {
+      return pack + name;
+    }
+    if (!name.contains(".")) {
+      return pack + '.' + name;
+    }
+    return name;
+  }
+
+  /** Receives the elements of a manifest, in document order. */
+  private interface ElementHandler {
+    void start(String tag, Map<String, String> attrs);
+
+    void end(String tag);
+  }
+
+  private class Builder implements ElementHandler {
+    private Component component;
+    private IntentFilter filter;
+
+    @Override
+    public void start(String tag, Map<String, String> attrs) {
+      switch (tag) {
+        case "manifest":
+          pack = attrs.get("package");
+          break;
+        case "activity":
+        case "service":
+        case "receiver":
+        case "provider":
+          component =
+              new Component(
+                  tag,
+                  qualify(attrs.get("name")),
+                  qualify(attrs.get("name")),
+                  attrs.get("exported"));
+          break;
+        case "activity-alias":
+          component =
+              new Component(
+                  tag,
+                  qualify(attrs.get("name")),
+                  qualify(attrs.get("targetActivity")),
+                  attrs.get("exported"));
+          break;
+        case "intent-filter":
+          if (component != null) {
+            filter = new IntentFilter();
+          }
+          break;
+        case "action":
+          add(filter == null ? null : filter.actions, attrs.get("name"));
+          break;
+        case "category":
+          add(filter == null ? null : filter.categories, attrs.get("name"));
+          break;
+        case "data":
+          add(filter == null ? null : filter.schemes, attrs.get("scheme"));
+          add(filter == null ? null : filter.mimeTypes, attrs.get("mimeType"));
+          break;
+        default:
+          break;
+      }
+    }
+
+    private void add(Set<String> to, String value) {
+      if (to != null && value != null) {
+        to.add(value);
+      }
+    }
+
+    @Override
+    public void end(String tag) {
+      switch (tag) {
+        case "intent-filter":
+          if (component != null && filter != null) {
+            component.filters.add(filter);
+            filter = null;
+          }
+          break;
+        case "activity":
+        case "activity-alias":
+        case "service":
+        case "receiver":
+        case "provider":
+          if (component != null && component.target != null) {
+            add(component);
+          }
+          component = null;
+          break;
+        default:
+          break;
+      }
+    }
+
+    private void add(Component c) {
+      components.add(c);
+      if (!"activity-alias".equals(c.tag)) {
+        byType.put(c.getType(), c);
+      }
+      for (IntentFilter f : c.filters) {
+        index(byAction, f.actions, c);
+        index(byCategory, f.categories, c);
+        index(byScheme, f.schemes, c);
+      }
+    }
+
+    private void index(Map<String, Set<Component>> index, Set<String> keys, Component c) {
+      for (String key : keys) {
+        index.computeIfAbsent(key, k -> HashSetFactory.make()).add(c);
+      }
+    }
+  }
+
+  //
+  // The text format
+  //
+
+  private static void readText(InputStream in, ElementHandler handler) throws IOException {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    try {
+      XMLStreamReader reader = factory.createXMLStreamReader(in);
+      try {
+        while (reader.hasNext()) {
+          switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT:
+              Map<String, String> attrs = HashMapFactory.make();
+              for (int i = 0; i < reader.getAttributeCount(); i++) {
+                attrs.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+              }
+              handler.start(reader.getLocalName(), attrs);
+              break;
+            case XMLStreamConstants.END_ELEMENT:
+              handler.end(reader.getLocalName());
+              break;
+            default:
+              break;
+          }
+        }
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException e) {
+      throw new IOException("malformed manifest", e);
+    }
+  }
+
+  //
+  // The binary format, a sequence of chunks: a string pool, a map of attribute names to resource
+  // ids, then the elements in document order
+  //
+
+  private static final int RES_XML_TYPE = 0x0003;
+  private static final int RES_STRING_POOL_TYPE = 0x0001;
+  private static final int RES_XML_RESOURCE_MAP_TYPE = 0x0180;
+  private static final int RES_XML_START_ELEMENT_TYPE = 0x0102;
+  private static final int RES_XML_END_ELEMENT_TYPE = 0x0103;
+
+  private static final int UTF8_FLAG = 1 << 8;
+  private static final int NO_ENTRY = -1;
+
+  private static final int TYPE_REFERENCE = 0x01;
+  private static final int TYPE_STRING = 0x03;
+  private static final int TYPE_INT_BOOLEAN = 0x12;
+
+  // the names of the attributes read, by resource id; obfuscated manifests may omit the names
+  private static final Map<Integer, String> ATTRIBUTE_IDS = HashMapFactory.make();
+
+  static {
+    ATTRIBUTE_IDS.put(0x01010003, "name");
+    ATTRIBUTE_IDS.put(0x01010010, "exported");
+    ATTRIBUTE_IDS.put(0x01010026, "mimeType");
+    ATTRIBUTE_IDS.put(0x01010027, "scheme");
+    ATTRIBUTE_IDS.put(0x01010202, "targetActivity");
+  }
+
+  private static void readBinary(InputStream in, ElementHandler handler) throws IOException {
+    DataInputStream s = new DataInputStream(in);
+    ByteBuffer header = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+    s.readFully(header.array());
+    if ((header.getShort(0) & 0xffff) != RES_XML_TYPE) {
+      throw new IOException("not a binary manifest");
+    }
+
+    String[] strings = new String[0];
+    int[] ids = new int[0];
+    while (true) {
+      try {
+        s.readFully(header.array());
+      } catch (EOFException e) {
+        break;
+      }
+      int type = header.getShort(0) & 0xffff;
+      int headerSize = header.getShort(2) & 0xffff;
+      int size = header.getInt(4);
+      if (size < 8 || headerSize < 8 || headerSize > size) {
+        throw new IOException("malformed binary manifest");
+      }
+      // the rest of the chunk; offsets in it are relative to the end of the common header
+      ByteBuffer chunk = ByteBuffer.allocate(size - 8).order(ByteOrder.LITTLE_ENDIAN);
+      s.readFully(chunk.array());
+      int body = headerSize - 8;
+      switch (type) {
+        case RES_STRING_POOL_TYPE:
+          strings = readStringPool(chunk, body);
+          break;
+        case RES_XML_RESOURCE_MAP_TYPE:
+          ids = new int[(size - headerSize) / 4];
+          for (int i = 0; i < ids.length; i++) {
+            ids[i] = chunk.getInt(body + 4 * i);
+          }
+          break;
+        case RES_XML_START_ELEMENT_TYPE:
+          {
+            String tag = strings[chunk.getInt(body + 4)];
+            int attributeStart = chunk.getShort(body + 8) & 0xffff;
+            int attributeSize = chunk.getShort(body + 10) & 0xffff;
+            int attributeCount = chunk.getShort(body + 12) & 0xffff;
+            Map<String, String> attrs = HashMapFactory.make();
+            for (int i = 0; i < attributeCount; i++) {
+              int a = body + attributeStart + i * attributeSize;
+              int name = chunk.getInt(a + 4);
+              String attrName =
+                  name < ids.length && ATTRIBUTE_IDS.containsKey(ids[name])
+                      ? ATTRIBUTE_IDS.get(ids[name])
+                      : strings[name];
+              attrs.put(attrName, value(chunk, a, strings));
+            }
+            handler.start(tag, attrs);
+            break;
+          }
+        case RES_XML_END_ELEMENT_TYPE:
+          handler.end(strings[chunk.getInt(body + 4)]);
+          break;
+        default:
+          // namespaces, CDATA and unknown chunks
+          break;
+      }
+    }
+  }
+
+  private static String value(ByteBuffer chunk, int attribute, String[] strings) {
+    int raw = chunk.getInt(attribute + 8);
+    if (raw != NO_ENTRY) {
+      return strings[raw];
+    }
+    int dataType = chunk.get(attribute + 15) & 0xff;
+    int data = chunk.getInt(attribute + 16);
+    switch (dataType) {
+      case TYPE_STRING:
+        return strings[data];
+      case TYPE_INT_BOOLEAN:
+        return String.valueOf(data != 0);
+      case TYPE_REFERENCE:
+        return '@' + Integer.toHexString(data);
+      default:
+        return String.valueOf(data);
+    }
+  }
+
+  private static String[] readStringPool(ByteBuffer chunk, int body) {
+    int count = chunk.getInt(0);
+    int flags = chunk.getInt(8);
+    int stringsStart = chunk.getInt(12) - 8;
+    boolean utf8 = (flags & UTF8_FLAG) != 0;
+    String[] strings = new String[count];
+    for (int i = 0; i < count; i++) {
+      int pos = stringsStart + chunk.getInt(body + 4 * i);
+      strings[i] = utf8 ? readUtf8(chunk, pos) : readUtf16(chunk, pos);
+    }
+    return strings;
+  }
+
+  private static String readUtf16(ByteBuffer chunk, int pos) {
+    int len = chunk.getShort(pos) & 0xffff;
+    pos += 2;
+    if ((len & 0x8000) != 0) {
+      len = ((len & 0x7fff) << 16) | (chunk.getShort(pos) & 0xffff);
+      pos += 2;
+    }
+    char[] chars = new char[len];
+    for (int i = 0; i < len; i++) {
+      chars[i] = chunk.getChar(pos + 2 * i);
+    }
+    return new String(chars);
+  }
+
+  private static String readUtf8(ByteBuffer chunk, int pos) {
+    // the length in characters, then in bytes
+    if ((chunk.get(pos++) & 0x80) != 0) {
+      pos++;
+    }
+    int len = chunk.get(pos++) & 0xff;
+    if ((len & 0x80) != 0) {
+      len = ((len & 0x7f) << 8) | (chunk.get(pos++) & 0xff);
+    }
+    return new String(chunk.array(), pos, len, StandardCharsets.UTF_8);
+  }
+}
@@ -66,7 +66,8 @@ import org.xml.sax.helpers.DefaultHandler;
  * Read in an extracted AndroidManifest.xml.
  *
  * <p>The file has to be in the extracted (human readable) XML-Format. You can extract it using the
- * program `apktool`.
+ * program `apktool`. The {@link AndroidManifestIndex} reads the binary format as well, directly
+ * from the APK.
  *
  * <p>Tags and Attributes not known by the Parser are skipped over.
  *
@@ -118,7 +119,8 @@ public class AndroidManifestXMLReader {
     }
   }
 
-  private static void readXML(InputStream xml)
+  // the parser state is static, so one manifest is read at a time
+  private static synchronized void readXML(InputStream xml)
       throws SAXException, IOException, ParserConfigurationException {
     assert (xml != null) : "xmlFile may not be null";
 
@@ -175,7 +177,7 @@ public class AndroidManifestXMLReader {
             return EnumSet.of(Tag.INTENT);
           }
         },
-        EnumSet.of(Attr.NAME, Attr.ENABLED, Attr.PROCESS),
+        EnumSet.of(Attr.NAME, Attr.ENABLED, Attr.PROCESS, Attr.EXPORTED),
         ComponentItem.class),
     ALIAS(
         "activity-alias",
@@ -185,7 +187,7 @@ public class AndroidManifestXMLReader {
             return EnumSet.of(Tag.INTENT);
           }
         },
-        EnumSet.of(Attr.ENABLED, Attr.TARGET, Attr.NAME),
+        EnumSet.of(Attr.ENABLED, Attr.TARGET, Attr.NAME, Attr.EXPORTED),
         ComponentItem.class),
     SERVICE(
         "service",
@@ -195,7 +197,7 @@ public class AndroidManifestXMLReader {
             return EnumSet.of(Tag.INTENT);
           }
         },
-        EnumSet.of(Attr.ENABLED, Attr.NAME, Attr.PROCESS),
+        EnumSet.of(Attr.ENABLED, Attr.NAME, Attr.PROCESS, Attr.EXPORTED),
         ComponentItem.class),
     RECEIVER(
         "receiver",
@@ -205,7 +207,7 @@ public class AndroidManifestXMLReader {
             return EnumSet.of(Tag.INTENT);
           }
         },
-        EnumSet.of(Attr.ENABLED, Attr.NAME, Attr.PROCESS),
+        EnumSet.of(Attr.ENABLED, Attr.NAME, Attr.PROCESS, Attr.EXPORTED),
         ComponentItem.class),
     PROVIDER(
         "provider",
@@ -215,7 +217,7 @@ public class AndroidManifestXMLReader {
             return EnumSet.of(Tag.INTENT);
           }
         },
-        EnumSet.of(Attr.ENABLED, Attr.ORDER, Attr.NAME, Attr.PROCESS),
+        EnumSet.of(Attr.ENABLED, Attr.ORDER, Attr.NAME, Attr.PROCESS, Attr.EXPORTED),
         ComponentItem.class),
     INTENT(
         "intent-filter",
@@ -367,6 +369,7 @@ public class AndroidManifestXMLReader {
     TARGET("targetActivity"),
     PROCESS("process"),
     ORDER("initOrder"),
+    EXPORTED("exported"),
     MIME("mimeType");
 
     private final String attrName;
@@ -554,7 +557,8 @@ public class AndroidManifestXMLReader {
     @Override
     public void enter(Attributes saxAttrs) {
       super.enter(saxAttrs);
-      AndroidEntryPointManager.MANAGER.setPackage(
+      AndroidEntryPointManager.get().setManifestRead();
+      AndroidEntryPointManager.get().setPackage(
           (String) attributesHistory.get(Attr.PACKAGE).peek());
     }
   }
@@ -707,13 +711,17 @@ public class AndroidManifestXMLReader {
       final Intent intent = AndroidSettingFactory.intent(pack, name, null);
 
       logger.info("\tRegister: {}", intent);
-      AndroidEntryPointManager.MANAGER.registerIntent(intent);
+      AndroidEntryPointManager.get().registerIntent(intent);
+      if ("true".equals(attributesHistory.get(Attr.EXPORTED).peek())) {
+        logger.info("\tExported: {}", intent);
+        AndroidEntryPointManager.get().registerExported(intent);
+      }
       for (Intent ovr : overrideTargets) {
         logger.info("\tOverride: {} --> {}", ovr, intent);
         if (ovr.equals(intent)) {
-          AndroidEntryPointManager.MANAGER.registerIntent(intent);
+          AndroidEntryPointManager.get().registerIntent(intent);
         } else {
-          AndroidEntryPointManager.MANAGER.setOverride(ovr, intent);
+          AndroidEntryPointManager.get().setOverride(ovr, intent);
         }
       }
     }
@@ -193,7 +193,7 @@ public class AndroidPreFlightChecks {
   public boolean checkIntentSpecs() {
     boolean pass = true;
 
-    final List<AndroidEntryPoint> entrypoits = AndroidEntryPointManager.ENTRIES;
+    final List<AndroidEntryPoint> entrypoits = AndroidEntryPointManager.getEntries();
 
     for (AndroidEntryPoint ep : entrypoits) {
       final TypeName test = ep.getMethod().getDeclaringClass().getName();
@@ -223,7 +223,7 @@ public class AndroidPreFlightChecks {
     final IInstantiationBehavior behaviour =
         this.manager.getInstantiationBehavior(
             cha); // XXX: This generates false positives without cha!
-    final List<AndroidEntryPoint> entrypoits = AndroidEntryPointManager.ENTRIES;
+    final List<AndroidEntryPoint> entrypoits = AndroidEntryPointManager.getEntries();
 
     for (AndroidEntryPoint ep : entrypoits) {
       final TypeName test = ep.getMethod().getDeclaringClass().getName();
@@ -242,7 +242,7 @@ public class AndroidPreFlightChecks {
   public boolean checkNoObjectInEntryPoints() {
     boolean pass = true;
 
-    final List<AndroidEntryPoint> entrypoits = AndroidEntryPointManager.ENTRIES;
+    final List<AndroidEntryPoint> entrypoits = AndroidEntryPointManager.getEntries();
     for (AndroidEntryPoint ep : entrypoits) {
       final TypeName[] params = ep.getMethod().getDescriptor().getParameters();
       if (params == null) continue;
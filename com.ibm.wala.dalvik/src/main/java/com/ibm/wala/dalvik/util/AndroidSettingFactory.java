@@ -273,7 +273,7 @@ public class AndroidSettingFactory {
   //
   public static Intent intent(String fullyQualifiedAction, String uri) {
     if (fullyQualifiedAction.startsWith(".")) {
-      String pack = AndroidEntryPointManager.MANAGER.getPackage();
+      String pack = AndroidEntryPointManager.get().getPackage();
       if (pack != null) {
         return intent(pack, fullyQualifiedAction, uri);
       } else {
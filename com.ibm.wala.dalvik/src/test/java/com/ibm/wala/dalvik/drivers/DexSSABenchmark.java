@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.dalvik.drivers;
+
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.dalvik.classLoader.DexIMethod;
+import com.ibm.wala.dalvik.classLoader.DexIRFactory;
+import com.ibm.wala.dalvik.test.callGraph.DalvikCallGraphTestBase;
+import com.ibm.wala.dalvik.test.util.Util;
+import com.ibm.wala.ipa.callgraph.impl.Everywhere;
+import com.ibm.wala.ipa.cha.ClassHierarchyFactory;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import com.ibm.wala.ssa.IR;
+import com.ibm.wala.ssa.SSAOptions;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.util.perf.Stopwatch;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Times SSA construction for the largest methods of an APK, with and without pruning the phis of
+ * dead registers (see {@link com.ibm.wala.dalvik.ssa.RegisterLiveness}). Methods are ranked by
+ * registers times instructions, so obfuscated or generated APKs, whose methods use hundreds of
+ * registers, make a suitable corpus.
+ *
+ * <p>Usage: DexSSABenchmark &lt;apk&gt; [methods] [rounds]
+ */
+public class DexSSABenchmark {
+
+  public static void main(String[] args) throws Exception {
+    String apk = args[0];
+    int nMethods = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+    int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+    IClassHierarchy cha =
+        ClassHierarchyFactory.make(
+            DalvikCallGraphTestBase.makeDalvikScope(null, Util.androidJavaLib(), apk));
+    List<DexIMethod> methods = largestMethods(cha, nMethods);
+    System.out.println(methods.size() + " methods");
+    if (!methods.isEmpty()) {
+      DexIMethod largest = methods.get(0);
+      System.out.println(
+          "largest: "
+              + largest.getSignature()
+              + ", "
+              + largest.getMaxLocals()
+              + " registers, "
+              + largest.getDexInstructions().length
+              + " instructions");
+    }
+
+    SSAOptions options = SSAOptions.defaultOptions();
+    for (int i = 0; i < rounds; i++) {
+      System.out.println("dense:  " + run(new DexIRFactory(false), methods, options));
+      System.out.println("pruned: " + run(new DexIRFactory(true), methods, options));
+    }
+  }
+
+  private static List<DexIMethod> largestMethods(IClassHierarchy cha, int n) {
+    List<DexIMethod> methods = new ArrayList<>();
+    for (IClass klass : cha) {
+      if (klass.getClassLoader().getReference().equals(ClassLoaderReference.Application)) {
+        for (IMethod m : klass.getDeclaredMethods()) {
+          if (m instanceof DexIMethod && !m.isAbstract() && !m.isNative()) {
+            methods.add((DexIMethod) m);
+          }
+        }
+      }
+    }
+    methods.sort(
+        Comparator.comparingLong(
+                (DexIMethod m) -> (long) m.getMaxLocals() * m.getDexInstructions().length)
+            .reversed());
+    return methods.subList(0, Math.min(n, methods.size()));
+  }
+
+  private static String run(DexIRFactory factory, List<DexIMethod> methods, SSAOptions options) {
+    long phis = 0;
+    Stopwatch s = new Stopwatch();
+    s.start();
+    for (DexIMethod m : methods) {
+      IR ir = factory.makeIR(m, Everywhere.EVERYWHERE, options);
+      for (Iterator<?> it = ir.iteratePhis(); it.hasNext(); it.next()) {
+        phis++;
+      }
+    }
+    s.stop();
+    return s.getElapsedMillis() + " ms, " + phis + " phis";
+  }
+}
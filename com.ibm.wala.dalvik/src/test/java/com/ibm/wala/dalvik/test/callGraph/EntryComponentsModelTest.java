@@ -0,0 +1,146 @@
+package com.ibm.wala.dalvik.test.callGraph;
+
+import static com.ibm.wala.dalvik.test.util.Util.androidJavaLib;
+
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.classLoader.Language;
+import com.ibm.wala.dalvik.classLoader.DexIRFactory;
+import com.ibm.wala.dalvik.ipa.callgraph.androidModel.AndroidModel;
+import com.ibm.wala.dalvik.ipa.callgraph.androidModel.EntryComponentsModel;
+import com.ibm.wala.dalvik.ipa.callgraph.propagation.cfa.IntentContextInterpreter;
+import com.ibm.wala.dalvik.ipa.callgraph.propagation.cfa.IntentContextSelector;
+import com.ibm.wala.dalvik.util.AndroidEntryPointLocator;
+import com.ibm.wala.dalvik.util.AndroidEntryPointManager;
+import com.ibm.wala.dalvik.util.AndroidManifestIndex;
+import com.ibm.wala.dalvik.util.AndroidTypes;
+import com.ibm.wala.ipa.callgraph.AnalysisCacheImpl;
+import com.ibm.wala.ipa.callgraph.AnalysisOptions;
+import com.ibm.wala.ipa.callgraph.AnalysisOptions.ReflectionOptions;
+import com.ibm.wala.ipa.callgraph.AnalysisScope;
+import com.ibm.wala.ipa.callgraph.CGNode;
+import com.ibm.wala.ipa.callgraph.CallGraph;
+import com.ibm.wala.ipa.callgraph.IAnalysisCacheView;
+import com.ibm.wala.ipa.callgraph.impl.DefaultEntrypoint;
+import com.ibm.wala.ipa.callgraph.impl.Util;
+import com.ibm.wala.ipa.callgraph.propagation.SSAPropagationCallGraphBuilder;
+import com.ibm.wala.ipa.cha.ClassHierarchyFactory;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import com.ibm.wala.ssa.IR;
+import com.ibm.wala.ssa.SSAInstruction;
+import com.ibm.wala.ssa.SSALoadMetadataInstruction;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.TypeReference;
+import com.ibm.wala.util.collections.HashSetFactory;
+import java.io.File;
+import java.util.Collections;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EntryComponentsModelTest {
+
+  private static final TypeReference[] INTENT_STARTED = {
+    AndroidTypes.Activity, AndroidTypes.Service, AndroidTypes.BroadcastReceiver
+  };
+
+  private static CallGraph callGraph(String apk, Class<? extends AndroidModel> model)
+      throws Exception {
+    AndroidEntryPointManager.isolate();
+    try {
+      AnalysisScope scope = DalvikCallGraphTestBase.makeDalvikScope(null, androidJavaLib(), apk);
+      IClassHierarchy cha = ClassHierarchyFactory.make(scope);
+      IAnalysisCacheView cache = new AnalysisCacheImpl(new DexIRFactory());
+      AndroidEntryPointManager.setEntries(new AndroidEntryPointLocator().getEntryPoints(cha));
+      AndroidManifestIndex.read(new File(apk)).register(AndroidEntryPointManager.get());
+      AndroidEntryPointManager.get().setLifecycleModel(model);
+
+      AnalysisOptions options = new AnalysisOptions(scope, null);
+      options.setReflectionOptions(ReflectionOptions.NONE);
+      IMethod start =
+          AndroidEntryPointManager.get().makeLifecycleModel(cha, options, cache).getMethod();
+      options.setEntrypoints(Collections.singleton(new DefaultEntrypoint(start, cha)));
+      SSAPropagationCallGraphBuilder cgb =
+          Util.makeZeroCFABuilder(
+              Language.JAVA,
+              options,
+              cache,
+              cha,
+              new IntentContextSelector(cha),
+              new IntentContextInterpreter(cha, options, cache));
+      return cgb.makeCallGraph(options);
+    } finally {
+      AndroidEntryPointManager.release();
+    }
+  }
+
+  // the components of the App whose classes the reached code of the App names, to build Intents
+  private static Set<IClass> intentStarted(CallGraph cg) {
+    IClassHierarchy cha = cg.getClassHierarchy();
+    Set<IClass> result = HashSetFactory.make();
+    for (CGNode node : cg) {
+      IR ir = node.getIR();
+      if (ir == null || !isApp(node.getMethod().getDeclaringClass())) {
+        continue;
+      }
+      for (SSAInstruction inst : ir.getInstructions()) {
+        if (inst instanceof SSALoadMetadataInstruction
+            && ((SSALoadMetadataInstruction) inst).getToken() instanceof TypeReference) {
+          Object token = ((SSALoadMetadataInstruction) inst).getToken();
+          IClass c = cha.lookupClass((TypeReference) token);
+          if (c != null && isApp(c) && isComponent(cha, c)) {
+            result.add(c);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  private static boolean isApp(IClass c) {
+    return c.getClassLoader().getReference().equals(ClassLoaderReference.Application)
+        && !c.getName().toString().startsWith("Landroid");
+  }
+
+  private static boolean isComponent(IClassHierarchy cha, IClass c) {
+    for (TypeReference type : INTENT_STARTED) {
+      IClass component = cha.lookupClass(type);
+      if (component != null && cha.isSubclassOf(c, component)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean reaches(CallGraph cg, IClass c) {
+    for (CGNode node : cg) {
+      if (node.getMethod().getDeclaringClass().getName().equals(c.getName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Test
+  public void testSmallerAndReachesIntentStartedComponents() throws Exception {
+    boolean smaller = false;
+    boolean started = false;
+    for (Object[] app :
+        DroidBenchCGTest.generateData(null, androidJavaLib(), "InterComponentCommunication")) {
+      String apk = (String) app[2];
+      CallGraph full = callGraph(apk, AndroidModel.class);
+      CallGraph entry = callGraph(apk, EntryComponentsModel.class);
+      Assert.assertTrue(apk, entry.getNumberOfNodes() <= full.getNumberOfNodes());
+      smaller |= entry.getNumberOfNodes() < full.getNumberOfNodes();
+
+      // the components the App starts through Intents are still started
+      for (IClass c : intentStarted(entry)) {
+        started = true;
+        Assert.assertTrue(apk + " does not reach " + c, reaches(entry, c));
+        Assert.assertTrue(apk + " does not reach " + c, reaches(full, c));
+      }
+    }
+    Assert.assertTrue(smaller);
+    Assert.assertTrue(started);
+  }
+}
@@ -6,9 +6,15 @@ import com.ibm.wala.classLoader.IClass;
 import com.ibm.wala.classLoader.IMethod;
 import com.ibm.wala.core.util.config.AnalysisScopeReader;
 import com.ibm.wala.dalvik.classLoader.DexFileModule;
+import com.ibm.wala.dalvik.classLoader.DexIMethod;
 import com.ibm.wala.dalvik.classLoader.DexIRFactory;
+import com.ibm.wala.dalvik.classLoader.DexMethodCache;
+import com.ibm.wala.dalvik.classLoader.DexMethodDecoder;
 import com.ibm.wala.dalvik.test.callGraph.DalvikCallGraphTestBase;
 import com.ibm.wala.dalvik.test.callGraph.DroidBenchCGTest;
+import com.ibm.wala.dalvik.util.AndroidFrameworkHierarchy;
+import com.ibm.wala.dalvik.util.AndroidFrameworkHierarchy.ClassSummary;
+import com.ibm.wala.dalvik.util.AndroidFrameworkImage;
 import com.ibm.wala.ipa.callgraph.AnalysisCacheImpl;
 import com.ibm.wala.ipa.callgraph.AnalysisOptions;
 import com.ibm.wala.ipa.callgraph.AnalysisScope;
@@ -27,13 +33,17 @@ import com.ibm.wala.types.MethodReference;
 import com.ibm.wala.types.Selector;
 import com.ibm.wala.types.TypeReference;
 import com.ibm.wala.util.PlatformUtil;
+import com.ibm.wala.util.collections.HashSetFactory;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -152,6 +162,132 @@ public class MultiDexScopeTest {
         Integer.valueOf(getNumberOfAppClasses(cha)), Integer.valueOf(getNumberOfAppClasses(cha2)));
   }
 
+  @Test
+  public void testParallelDecode()
+      throws ClassHierarchyException, IOException, InterruptedException {
+    ClassHierarchy cha = ClassHierarchyFactory.make(manuallyInitScope());
+    ArrayList<IClass> appClasses = new ArrayList<>();
+    for (IClass klass : cha) {
+      if (klass.getClassLoader().getReference().equals(ClassLoaderReference.Application)) {
+        appClasses.add(klass);
+      }
+    }
+
+    Assert.assertTrue(DexMethodDecoder.decodeClasses(appClasses, 4) > 0);
+    // everything was decoded the first time around
+    Assert.assertEquals(0, DexMethodDecoder.decodeClasses(appClasses, 4));
+
+    AnalysisCacheImpl cache = new AnalysisCacheImpl(new DexIRFactory());
+    IClass b2Class =
+        cha.lookupClass(TypeReference.find(ClassLoaderReference.Application, "Ltest/B2"));
+    IMethod init = b2Class.getMethod(Selector.make("<init>(ILjava/lang/String;)V"));
+    Assert.assertNotNull(cache.getIR(init));
+  }
+
+  @Test
+  public void testMethodCache() throws ClassHierarchyException, IOException, InterruptedException {
+    DexMethodCache methodCache = new DexMethodCache();
+    Selector initSelector = Selector.make("<init>(ILjava/lang/String;)V");
+    TypeReference b2 = TypeReference.find(ClassLoaderReference.Application, "Ltest/B2");
+
+    // the first analysis decodes every method
+    ClassHierarchy cha1 = ClassHierarchyFactory.make(manuallyInitScope());
+    List<IMethod> methods1 = appMethods(cha1);
+    int decoded = DexMethodDecoder.decodeMethods(methods1, 4, methodCache);
+    Assert.assertTrue(decoded > 0);
+    Assert.assertEquals(decoded, methodCache.getMisses());
+    Assert.assertEquals(0, methodCache.getHits());
+    Assert.assertEquals(decoded, methodCache.size());
+
+    // a second analysis, over freshly opened dex files, decodes none
+    ClassHierarchy cha2 = ClassHierarchyFactory.make(manuallyInitScope());
+    DexIMethod init2 = (DexIMethod) cha2.lookupClass(b2).getMethod(initSelector);
+    Assert.assertFalse(init2.isDecoded());
+    AnalysisCacheImpl cache = new AnalysisCacheImpl(new DexIRFactory(true, methodCache));
+    Assert.assertNotNull(cache.getIR(init2));
+    Assert.assertEquals(1, methodCache.getHits());
+    DexIMethod init1 = (DexIMethod) cha1.lookupClass(b2).getMethod(initSelector);
+    Assert.assertSame(init1.getDexInstructions()[0], init2.getDexInstructions()[0]);
+
+    Assert.assertEquals(
+        decoded - 1, DexMethodDecoder.decodeMethods(appMethods(cha2), 4, methodCache));
+    Assert.assertEquals(decoded, methodCache.getHits());
+    Assert.assertEquals(decoded, methodCache.getMisses());
+  }
+
+  private static List<IMethod> appMethods(ClassHierarchy cha) {
+    List<IMethod> methods = new ArrayList<>();
+    for (IClass klass : cha) {
+      if (klass.getClassLoader().getReference().equals(ClassLoaderReference.Application)) {
+        for (IMethod m : klass.getDeclaredMethods()) {
+          if (!m.isAbstract() && !m.isNative()) {
+            methods.add(m);
+          }
+        }
+      }
+    }
+    return methods;
+  }
+
+  @Test
+  public void testFrameworkImage() throws IOException, ClassHierarchyException {
+    File dir = Files.createTempDirectory("framework").toFile();
+    AndroidFrameworkImage.build(dir, 24, new File("src/test/resources/multidex-test.apk").toURI());
+
+    AndroidFrameworkImage image = AndroidFrameworkImage.load(dir);
+    Assert.assertSame(image, AndroidFrameworkImage.load(dir));
+    Assert.assertEquals(24, image.getApiLevel());
+    // one module per dex file of the apk
+    Assert.assertEquals(2, image.getModules().size());
+
+    // the persisted hierarchy agrees with one built from the apk
+    AndroidFrameworkHierarchy hierarchy = image.getHierarchy();
+    ClassHierarchy cha = ClassHierarchyFactory.make(manuallyInitScope());
+    int n = 0;
+    for (IClass c : cha) {
+      if (!c.getClassLoader().getReference().equals(ClassLoaderReference.Application)) {
+        continue;
+      }
+      n++;
+      ClassSummary summary = hierarchy.getSummary(c.getName().toString());
+      Assert.assertNotNull(c.toString(), summary);
+      Assert.assertEquals(c.getSuperclass().getName().toString(), summary.getSuperclass());
+      Set<String> declared = HashSetFactory.make();
+      for (IMethod m : c.getDeclaredMethods()) {
+        declared.add(m.getSelector().toString());
+      }
+      Assert.assertEquals(declared, summary.getDeclaredMethods());
+    }
+    Assert.assertEquals(n, hierarchy.getClassNames().size());
+    Assert.assertTrue(hierarchy.isSubtypeOf("Ltest/B2", "Ltest/B"));
+    Assert.assertEquals(
+        "Ltest/B2", hierarchy.resolveMethod("Ltest/B2", "<init>(ILjava/lang/String;)V"));
+
+    // rebuilding replaces the files of the previous image, and only those
+    File other = new File(dir, "other.txt");
+    Assert.assertTrue(other.createNewFile());
+    File dexDir = Files.createTempDirectory("dex").toFile();
+    extractDexFiles("src/test/resources/multidex-test.apk", dexDir);
+    AndroidFrameworkImage.build(dir, 24, new File(dexDir, "classes.dex").toURI());
+    Set<String> files = HashSetFactory.make();
+    for (File f : dir.listFiles()) {
+      files.add(f.getName());
+    }
+    Assert.assertEquals(
+        HashSetFactory.make(
+            Arrays.asList(
+                AndroidFrameworkImage.INDEX,
+                AndroidFrameworkHierarchy.FILE,
+                "0-classes.dex",
+                other.getName())),
+        files);
+    AndroidFrameworkImage rebuilt = AndroidFrameworkImage.load(dir);
+    Assert.assertNotSame(image, rebuilt);
+    Assert.assertEquals(1, rebuilt.getModules().size());
+    Assert.assertTrue(
+        rebuilt.getHierarchy().getClassNames().size() < hierarchy.getClassNames().size());
+  }
+
   private static void extractDexFiles(String apkFileName, File outDir) throws IOException {
     try (ZipInputStream zis = new ZipInputStream(new FileInputStream(apkFileName))) {
       ZipEntry entry;
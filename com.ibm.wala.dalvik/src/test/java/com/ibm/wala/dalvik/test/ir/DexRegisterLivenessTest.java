@@ -0,0 +1,72 @@
+package com.ibm.wala.dalvik.test.ir;
+
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.dalvik.classLoader.DexIMethod;
+import com.ibm.wala.dalvik.classLoader.DexIRFactory;
+import com.ibm.wala.dalvik.test.util.Util;
+import com.ibm.wala.ipa.callgraph.impl.Everywhere;
+import com.ibm.wala.ipa.cha.ClassHierarchyException;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import com.ibm.wala.ssa.IR;
+import com.ibm.wala.ssa.SSAInstruction;
+import com.ibm.wala.ssa.SSAOptions;
+import com.ibm.wala.types.ClassLoaderReference;
+import java.io.IOException;
+import java.util.Iterator;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DexRegisterLivenessTest {
+
+  private static int countPhis(IR ir) {
+    int phis = 0;
+    for (Iterator<? extends SSAInstruction> it = ir.iteratePhis(); it.hasNext(); it.next()) {
+      phis++;
+    }
+    return phis;
+  }
+
+  @Test
+  public void testPrunedIRsMatch() throws ClassHierarchyException, IOException {
+    IClassHierarchy cha = Util.makeCHA();
+    DexIRFactory dense = new DexIRFactory(false);
+    DexIRFactory pruned = new DexIRFactory(true);
+    SSAOptions options = SSAOptions.defaultOptions();
+
+    int methods = 0;
+    for (IClass klass : cha) {
+      if (!klass.getClassLoader().getReference().equals(ClassLoaderReference.Application)) {
+        continue;
+      }
+      for (IMethod m : klass.getDeclaredMethods()) {
+        if (!(m instanceof DexIMethod) || m.isAbstract() || m.isNative()) {
+          continue;
+        }
+        IR expected = dense.makeIR(m, Everywhere.EVERYWHERE, options);
+        IR actual = pruned.makeIR(m, Everywhere.EVERYWHERE, options);
+
+        // value numbers differ, as fewer phis are made, but the instructions are the same
+        SSAInstruction[] e = expected.getInstructions();
+        SSAInstruction[] a = actual.getInstructions();
+        Assert.assertEquals(m.toString(), e.length, a.length);
+        for (int i = 0; i < e.length; i++) {
+          Assert.assertEquals(
+              m + " at " + i,
+              e[i] == null ? null : e[i].getClass(),
+              a[i] == null ? null : a[i].getClass());
+          if (e[i] != null) {
+            // every register read has a value, as it had without pruning
+            Assert.assertEquals(m + " at " + i, e[i].getNumberOfUses(), a[i].getNumberOfUses());
+            for (int j = 0; j < e[i].getNumberOfUses(); j++) {
+              Assert.assertEquals(m + " at " + i, e[i].getUse(j) > 0, a[i].getUse(j) > 0);
+            }
+          }
+        }
+        Assert.assertTrue(m.toString(), countPhis(actual) <= countPhis(expected));
+        methods++;
+      }
+    }
+    Assert.assertTrue(methods > 0);
+  }
+}
@@ -0,0 +1,116 @@
+package com.ibm.wala.dalvik.test.util;
+
+import com.ibm.wala.core.util.warnings.Warning;
+import com.ibm.wala.core.util.warnings.Warnings;
+import com.ibm.wala.dalvik.util.AndroidBatchAnalysis;
+import com.ibm.wala.dalvik.util.AndroidBatchAnalysis.Result;
+import com.ibm.wala.dalvik.util.AndroidEntryPointManager;
+import com.ibm.wala.dalvik.util.AndroidFrameworkImage;
+import com.ibm.wala.util.collections.Iterator2Collection;
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AndroidBatchAnalysisTest {
+
+  private static Warning warning(String msg) {
+    return new Warning() {
+      @Override
+      public String getMsg() {
+        return msg;
+      }
+    };
+  }
+
+  @Test
+  public void testConcurrentAppsAreIsolated() throws Exception {
+    File dir = Files.createTempDirectory("framework").toFile();
+    AndroidFrameworkImage.build(dir, 24, Util.androidJavaLib().toURI());
+    AndroidFrameworkImage framework = AndroidFrameworkImage.load(dir);
+
+    // the same apk under two names, so it is analyzed twice
+    File apk = new File("src/test/resources/multidex-test.apk");
+    File tmp = Files.createTempDirectory("apps").toFile();
+    File app1 = new File(tmp, "app1.apk");
+    File app2 = new File(tmp, "app2.apk");
+    Files.copy(apk.toPath(), app1.toPath());
+    Files.copy(apk.toPath(), app2.toPath());
+
+    String sharedPackage = AndroidEntryPointManager.MANAGER.getPackage();
+    List<?> sharedEntries = AndroidEntryPointManager.ENTRIES;
+
+    AtomicInteger apps = new AtomicInteger();
+    // both apps are inside their analysis between the barriers
+    CyclicBarrier barrier = new CyclicBarrier(2);
+    AndroidBatchAnalysis<String[]> batch =
+        new AndroidBatchAnalysis<>(
+            framework,
+            null,
+            (scope, cha) -> {
+              String tag = "app" + apps.incrementAndGet();
+              AndroidEntryPointManager.get().setPackage(tag);
+              Warnings.add(warning(tag));
+              barrier.await(1, TimeUnit.MINUTES);
+
+              // a helper thread started by the analysis sees, and reports to, its app
+              AtomicReference<String> helperPackage = new AtomicReference<>();
+              Thread helper =
+                  new Thread(
+                      () -> {
+                        helperPackage.set(AndroidEntryPointManager.get().getPackage());
+                        Warnings.add(warning(tag + " helper"));
+                      });
+              helper.start();
+              helper.join();
+
+              barrier.await(1, TimeUnit.MINUTES);
+              Assert.assertNotSame(sharedEntries, AndroidEntryPointManager.getEntries());
+              return new String[] {
+                tag, AndroidEntryPointManager.get().getPackage(), helperPackage.get()
+              };
+            });
+
+    Map<URI, Result<String[]>> results =
+        batch.analyzeAll(Arrays.asList(app1.toURI(), app2.toURI()), 2);
+    Assert.assertEquals(2, results.size());
+
+    String[] tags = new String[2];
+    int i = 0;
+    for (Result<String[]> result : results.values()) {
+      Assert.assertNull(String.valueOf(result.getFailure()), result.getFailure());
+      String[] value = result.getValue();
+      String tag = value[0];
+      tags[i++] = tag;
+      Assert.assertEquals(tag, value[1]);
+      Assert.assertEquals(tag, value[2]);
+      Assert.assertTrue(result.getWarnings().contains(warning(tag)));
+      Assert.assertTrue(result.getWarnings().contains(warning(tag + " helper")));
+    }
+    Assert.assertNotEquals(tags[0], tags[1]);
+
+    // neither app saw the other's warnings
+    for (Result<String[]> result : results.values()) {
+      String other = result.getValue()[0].equals(tags[0]) ? tags[1] : tags[0];
+      Assert.assertFalse(result.getWarnings().contains(warning(other)));
+      Assert.assertFalse(result.getWarnings().contains(warning(other + " helper")));
+    }
+
+    // and the shared state was not touched
+    Assert.assertEquals(sharedPackage, AndroidEntryPointManager.MANAGER.getPackage());
+    Assert.assertSame(sharedEntries, AndroidEntryPointManager.ENTRIES);
+    List<Warning> global = Iterator2Collection.toList(Warnings.iterator());
+    for (String tag : tags) {
+      Assert.assertFalse(global.contains(warning(tag)));
+      Assert.assertFalse(global.contains(warning(tag + " helper")));
+    }
+  }
+}
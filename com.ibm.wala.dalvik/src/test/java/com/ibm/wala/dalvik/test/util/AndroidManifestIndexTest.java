@@ -0,0 +1,102 @@
+package com.ibm.wala.dalvik.test.util;
+
+import com.ibm.wala.dalvik.util.AndroidEntryPointManager;
+import com.ibm.wala.dalvik.util.AndroidManifestIndex;
+import com.ibm.wala.dalvik.util.AndroidManifestIndex.Component;
+import com.ibm.wala.types.TypeName;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AndroidManifestIndexTest {
+
+  private static final String MANIFEST =
+      "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n"
+          + "<manifest xmlns:android=\"http://schemas.android.com/apk/res/android\""
+          + " package=\"org.example\">\n"
+          + "  <application android:name=\".App\">\n"
+          + "    <activity android:name=\".Main\">\n"
+          + "      <intent-filter>\n"
+          + "        <action android:name=\"android.intent.action.VIEW\"/>\n"
+          + "        <category android:name=\"android.intent.category.DEFAULT\"/>\n"
+          + "        <data android:scheme=\"http\"/>\n"
+          + "      </intent-filter>\n"
+          + "    </activity>\n"
+          + "    <activity-alias android:name=\".Alias\" android:targetActivity=\".Main\""
+          + " android:exported=\"false\"/>\n"
+          + "    <service android:name=\"org.other.Sync\"/>\n"
+          + "  </application>\n"
+          + "</manifest>\n";
+
+  @Test
+  public void testTextManifest() throws IOException {
+    AndroidManifestIndex index =
+        AndroidManifestIndex.read(
+            new ByteArrayInputStream(MANIFEST.getBytes(StandardCharsets.UTF_8)));
+    Assert.assertEquals("org.example", index.getPackage());
+    Assert.assertEquals(3, index.getComponents().size());
+
+    Component main = index.getComponent(TypeName.string2TypeName("Lorg/example/Main"));
+    Assert.assertNotNull(main);
+    Assert.assertTrue(main.isExported());
+    Assert.assertEquals(
+        Collections.singleton(main),
+        index.resolve(
+            "android.intent.action.VIEW",
+            Collections.singleton("android.intent.category.DEFAULT"),
+            "http"));
+    Assert.assertTrue(
+        index.resolve("android.intent.action.VIEW", Collections.emptySet(), "ftp").isEmpty());
+
+    Component alias = index.getComponents().get(1);
+    Assert.assertEquals("org.example.Alias", alias.getName());
+    Assert.assertEquals(main.getType(), alias.getType());
+    Assert.assertFalse(alias.isExported());
+
+    Component sync = index.getComponent(TypeName.string2TypeName("Lorg/other/Sync"));
+    Assert.assertNotNull(sync);
+    Assert.assertFalse(sync.isExported());
+  }
+
+  @Test
+  public void testRegisterExported() throws IOException {
+    String manifest =
+        MANIFEST.replace(
+            "  </application>",
+            "    <receiver android:name=\".Push\" android:exported=\"true\"/>\n  </application>");
+    AndroidEntryPointManager.isolate();
+    try {
+      AndroidEntryPointManager manager = AndroidEntryPointManager.get();
+      Assert.assertFalse(manager.isManifestRead());
+      AndroidManifestIndex.read(new ByteArrayInputStream(manifest.getBytes(StandardCharsets.UTF_8)))
+          .register(manager);
+      Assert.assertTrue(manager.isManifestRead());
+      Assert.assertTrue(manager.isExported(TypeName.string2TypeName("Lorg/example/Push")));
+      Assert.assertTrue(manager.isExported(TypeName.string2TypeName("Lorg/example/Main")));
+      Assert.assertFalse(manager.isExported(TypeName.string2TypeName("Lorg/other/Sync")));
+    } finally {
+      AndroidEntryPointManager.release();
+    }
+  }
+
+  @Test
+  public void testBinaryManifest() throws IOException {
+    AndroidManifestIndex index = AndroidManifestIndex.read(new File("StringTest.apk"));
+    Assert.assertEquals("com.example.stringtest", index.getPackage());
+
+    Set<Component> launchers =
+        index.resolve(
+            "android.intent.action.MAIN",
+            Collections.singleton("android.intent.category.LAUNCHER"),
+            null);
+    Assert.assertEquals(1, launchers.size());
+    Assert.assertEquals(
+        TypeName.string2TypeName("Lcom/example/stringtest/MainActivity"),
+        launchers.iterator().next().getType());
+  }
+}
@@ -58,10 +58,17 @@ public class DomainElement {
   // code element in question
   // alternate framing: the /initial/ fact about the element
   public final FlowType taintSource;
+  // elements are looked up in the domain on every flow function application
+  private final int hash;
 
   public DomainElement(CodeElement codeElement, FlowType taintSource) {
     this.codeElement = codeElement;
     this.taintSource = taintSource;
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + ((codeElement == null) ? 0 : codeElement.hashCode());
+    result = prime * result + ((taintSource == null) ? 0 : taintSource.hashCode());
+    this.hash = result;
   }
   /*
   @Override
@@ -92,11 +99,7 @@ public class DomainElement {
 
   @Override
   public int hashCode() {
-    final int prime = 31;
-    int result = 1;
-    result = prime * result + ((codeElement == null) ? 0 : codeElement.hashCode());
-    result = prime * result + ((taintSource == null) ? 0 : taintSource.hashCode());
-    return result;
+    return hash;
   }
 
   @Override
@@ -105,6 +108,7 @@ public class DomainElement {
     if (obj == null) return false;
     if (getClass() != obj.getClass()) return false;
     DomainElement other = (DomainElement) obj;
+    if (hash != other.hash) return false;
     if (codeElement == null) {
       if (other.codeElement != null) return false;
     } else if (!codeElement.equals(other.codeElement)) return false;
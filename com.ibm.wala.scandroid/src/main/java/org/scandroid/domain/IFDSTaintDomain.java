@@ -51,50 +51,64 @@ import com.ibm.wala.dataflow.IFDS.PathEdge;
 import com.ibm.wala.dataflow.IFDS.TabulationDomain;
 import com.ibm.wala.ipa.cfg.BasicBlockInContext;
 import com.ibm.wala.ssa.ISSABasicBlock;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
+/**
+ * The domain of the taint analysis: taints of code elements, numbered from 1.
+ *
+ * <p>Looking up the number of a known element takes no lock, so flow functions can run on several
+ * threads; only numbering a new element is serialized.
+ */
 public class IFDSTaintDomain<E extends ISSABasicBlock>
     implements TabulationDomain<DomainElement, BasicBlockInContext<E>> {
-  private final Map<DomainElement, Integer> table = new HashMap<>();
-  private final ArrayList<DomainElement> objects = new ArrayList<>();
+  private final Map<DomainElement, Integer> table = new ConcurrentHashMap<>();
 
-  private final Map<CodeElement, Set<DomainElement>> elementIndex = new HashMap<>();
+  // objects[i - 1] is the element numbered i, for i <= size; grown by copying, so readers
+  // never see a partially filled array
+  private volatile DomainElement[] objects = new DomainElement[64];
+  private volatile int size = 0;
 
-  Set<DomainElement> emptySet = new HashSet<>();
+  private final Map<CodeElement, Set<DomainElement>> elementIndex = new ConcurrentHashMap<>();
 
   public Set<DomainElement> getPossibleElements(CodeElement codeElement) {
     Set<DomainElement> elts = elementIndex.get(codeElement);
     if (elts != null) return elts;
-    return emptySet;
+    return Collections.emptySet();
   }
 
   private void index(DomainElement e) {
-    Set<DomainElement> elements = elementIndex.computeIfAbsent(e.codeElement, k -> new HashSet<>());
-    elements.add(e);
+    elementIndex.computeIfAbsent(e.codeElement, k -> ConcurrentHashMap.newKeySet()).add(e);
   }
 
   @Override
-  public int add(DomainElement o) {
+  public synchronized int add(DomainElement o) {
     Integer i = table.get(o);
     if (i == null) {
-      objects.add(o);
-      i = table.size() + 1;
+      DomainElement[] objs = objects;
+      if (size == objs.length) {
+        objs = Arrays.copyOf(objs, 2 * objs.length);
+      }
+      objs[size] = o;
+      objects = objs;
+      i = size + 1;
+      // publish the element before its number, so the number of an element found in the table
+      // always maps back to it, and the element can always be found by its code element
+      index(o);
+      size = i;
       table.put(o, i);
-      // System.out.println("Adding domain element "+i+": "+o);
     }
-    index(o);
 
     return i;
   }
 
   @Override
-  public synchronized int getMappedIndex(final Object o) {
+  public int getMappedIndex(final Object o) {
     if (!(o instanceof DomainElement)) {
       throw new IllegalArgumentException(o.getClass().getCanonicalName());
     }
@@ -113,18 +127,19 @@ public class IFDSTaintDomain<E extends ISSABasicBlock>
 
   @Override
   public DomainElement getMappedObject(int n) {
-    if (n > 0 && n <= objects.size()) return objects.get(n - 1);
+    // read the size first: the array it was published with holds element n
+    if (n > 0 && n <= size) return objects[n - 1];
     return null;
   }
 
   @Override
   public int getMaximumIndex() {
-    return objects.size();
+    return size;
   }
 
   @Override
   public int getSize() {
-    return objects.size() + 1;
+    return size + 1;
   }
 
   @Override
@@ -139,7 +154,8 @@ public class IFDSTaintDomain<E extends ISSABasicBlock>
 
   @Override
   public Stream<DomainElement> stream() {
-    return objects.stream();
+    int n = size;
+    return Arrays.stream(objects, 0, n);
   }
 
   public Set<CodeElement> codeElements() {
@@ -54,6 +54,11 @@ public final class LocalElement extends CodeElement {
     this.id = id;
   }
 
+  /** @return the value number of the local */
+  public int getValueNumber() {
+    return id;
+  }
+
   @Override
   public int hashCode() {
     final int prime = 31;
@@ -56,6 +56,9 @@ import com.ibm.wala.ipa.callgraph.propagation.PointerAnalysis;
 import com.ibm.wala.ipa.cfg.BasicBlockInContext;
 import com.ibm.wala.ssa.ISSABasicBlock;
 import com.ibm.wala.util.CancelException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -64,9 +67,11 @@ import java.util.Set;
 import org.scandroid.domain.CodeElement;
 import org.scandroid.domain.DomainElement;
 import org.scandroid.domain.IFDSTaintDomain;
+import org.scandroid.flow.functions.SummaryFlowFunctions;
 import org.scandroid.flow.functions.TaintTransferFunctions;
 import org.scandroid.flow.types.FlowType;
 import org.scandroid.util.CGAnalysisContext;
+import org.scandroid.util.ISCanDroidOptions;
 
 public class FlowAnalysis {
 
@@ -76,7 +81,20 @@ public class FlowAnalysis {
           Map<BasicBlockInContext<E>, Map<FlowType<E>, Set<CodeElement>>> initialTaints,
           IFDSTaintDomain<E> d)
           throws CancelRuntimeException {
-    return analyze(analysisContext.graph, analysisContext.cg, analysisContext.pa, initialTaints, d);
+    LibrarySummaries summaries = null;
+    ISCanDroidOptions options = analysisContext.getOptions();
+    if (options.getLibrarySummariesURI() != null) {
+      try {
+        summaries =
+            LibrarySummaries.load(
+                new File(options.getLibrarySummariesURI()),
+                LibrarySummaries.hash(new File(options.getAndroidLibrary())));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return analyze(
+        analysisContext.graph, analysisContext.cg, analysisContext.pa, initialTaints, d, summaries);
   }
 
   public static <E extends ISSABasicBlock>
@@ -96,7 +114,28 @@ public class FlowAnalysis {
           PointerAnalysis<InstanceKey> pa,
           Map<BasicBlockInContext<E>, Map<FlowType<E>, Set<CodeElement>>> initialTaints,
           IFDSTaintDomain<E> d) {
-    return analyze(graph, cg, initialTaints, d, new TaintTransferFunctions<>(d, pa));
+    return analyze(graph, cg, pa, initialTaints, d, null);
+  }
+
+  /**
+   * Analyze with {@link TaintTransferFunctions}, applying summaries to the calls of the library
+   * methods they summarize.
+   *
+   * @param summaries the summaries to apply, or null to analyze library methods in full
+   */
+  public static <E extends ISSABasicBlock>
+      TabulationResult<BasicBlockInContext<E>, CGNode, DomainElement> analyze(
+          final ISupergraph<BasicBlockInContext<E>, CGNode> graph,
+          CallGraph cg,
+          PointerAnalysis<InstanceKey> pa,
+          Map<BasicBlockInContext<E>, Map<FlowType<E>, Set<CodeElement>>> initialTaints,
+          IFDSTaintDomain<E> d,
+          LibrarySummaries summaries) {
+    IFlowFunctionMap<BasicBlockInContext<E>> functions = new TaintTransferFunctions<>(d, pa);
+    if (summaries != null) {
+      functions = new SummaryFlowFunctions<>(functions, d, graph, summaries);
+    }
+    return analyze(graph, cg, initialTaints, d, functions);
 
     //    			return analyze(graph, cg, pa, initialTaints, d,
     //    					progressMonitor, new IDTransferFunctions<E>(d, graph, pa));
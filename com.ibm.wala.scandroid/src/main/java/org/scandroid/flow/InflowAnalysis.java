@@ -54,8 +54,6 @@ import com.ibm.wala.ssa.ISSABasicBlock;
 import com.ibm.wala.ssa.SSAInstruction;
 import com.ibm.wala.ssa.SSAInvokeInstruction;
 import com.ibm.wala.util.collections.HashMapFactory;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -68,6 +66,7 @@ import org.scandroid.spec.CallRetSourceSpec;
 import org.scandroid.spec.EntryArgSourceSpec;
 import org.scandroid.spec.ISpecs;
 import org.scandroid.spec.SourceSpec;
+import org.scandroid.spec.SpecIndex;
 import org.scandroid.spec.StaticFieldSourceSpec;
 import org.scandroid.util.CGAnalysisContext;
 
@@ -103,10 +102,10 @@ public class InflowAnalysis {
       SourceSpec ss,
       CallGraph cg,
       ISupergraph<BasicBlockInContext<E>, CGNode> graph,
-      ClassHierarchy cha,
+      SpecIndex index,
       PointerAnalysis<InstanceKey> pa) {
     int[] newArgNums;
-    for (IMethod im : ss.getNamePattern().getPossibleTargets(cha)) {
+    for (IMethod im : index.getTargets(ss.getNamePattern())) {
       newArgNums =
           (ss.getArgNums() == null)
               ? SourceSpec.getNewArgNums(
@@ -146,20 +145,10 @@ public class InflowAnalysis {
   private static <E extends ISSABasicBlock> void processFunctionCalls(
       CGAnalysisContext<E> ctx,
       Map<BasicBlockInContext<E>, Map<FlowType<E>, Set<CodeElement>>> taintMap,
-      ArrayList<SourceSpec> ssAL,
       ISupergraph<BasicBlockInContext<E>, CGNode> graph,
       PointerAnalysis<InstanceKey> pa,
-      ClassHierarchy cha,
+      SpecIndex index,
       CallGraph cg) {
-    Collection<IMethod> targets = new HashSet<>();
-    ArrayList<Collection<IMethod>> targetList = new ArrayList<>();
-
-    for (SourceSpec sourceSpec : ssAL) {
-      Collection<IMethod> tempList = sourceSpec.getNamePattern().getPossibleTargets(cha);
-      targets.addAll(tempList);
-      targetList.add(tempList);
-    }
-
     for (BasicBlockInContext<E> block : graph) {
 
       for (SSAInstruction inst : block) {
@@ -168,25 +157,22 @@ public class InflowAnalysis {
         }
 
         SSAInvokeInstruction invInst = (SSAInvokeInstruction) inst;
-        for (IMethod target : cha.getPossibleTargets(invInst.getDeclaredTarget())) {
-          if (targets.contains(target)) {
-            for (int i = 0; i < targetList.size(); i++) {
-              if (targetList.get(i).contains(target)) {
-
-                int[] argNums = ssAL.get(i).getArgNums();
-                argNums =
-                    (argNums == null)
-                        ? SourceSpec.getNewArgNums(
-                            (target.isStatic())
-                                ? target.getNumberOfParameters()
-                                : target.getNumberOfParameters() - 1)
-                        : argNums;
-
-                ssAL.get(i)
-                    .addDomainElements(
-                        ctx, taintMap, target, block, invInst, argNums, graph, pa, cg);
-              }
+        for (IMethod target : index.getSpecifiedTargets(invInst.getDeclaredTarget())) {
+          for (SourceSpec ss : index.getSourceSpecs(target)) {
+            if (!(ss instanceof CallRetSourceSpec || ss instanceof CallArgSourceSpec)) {
+              continue;
             }
+
+            int[] argNums = ss.getArgNums();
+            argNums =
+                (argNums == null)
+                    ? SourceSpec.getNewArgNums(
+                        (target.isStatic())
+                            ? target.getNumberOfParameters()
+                            : target.getNumberOfParameters() - 1)
+                    : argNums;
+
+            ss.addDomainElements(ctx, taintMap, target, block, invInst, argNums, graph, pa, cg);
           }
         }
       }
@@ -218,18 +204,19 @@ public class InflowAnalysis {
         HashMapFactory.make();
 
     SourceSpec[] ss = s.getSourceSpecs();
+    SpecIndex index = ctx.getSpecIndex(s, cha);
 
-    ArrayList<SourceSpec> ssAL = new ArrayList<>();
+    boolean hasCallSources = false;
     for (SourceSpec element : ss) {
       if (element instanceof EntryArgSourceSpec)
-        processInputSource(ctx, taintMap, element, cg, graph, cha, pa);
+        processInputSource(ctx, taintMap, element, cg, graph, index, pa);
       else if (element instanceof CallRetSourceSpec || element instanceof CallArgSourceSpec)
-        ssAL.add(element);
+        hasCallSources = true;
       else if (element instanceof StaticFieldSourceSpec) {
         processStaticFieldSource(ctx, taintMap, (StaticFieldSourceSpec) element, cg, graph, pa);
       } else throw new UnsupportedOperationException("Unrecognized SourceSpec");
     }
-    if (!ssAL.isEmpty()) processFunctionCalls(ctx, taintMap, ssAL, graph, pa, cha, cg);
+    if (hasCallSources) processFunctionCalls(ctx, taintMap, graph, pa, index, cg);
 
     return taintMap;
   }
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package org.scandroid.flow;
+
+import com.ibm.wala.dataflow.IFDS.ISupergraph;
+import com.ibm.wala.dataflow.IFDS.TabulationResult;
+import com.ibm.wala.ipa.callgraph.CGNode;
+import com.ibm.wala.ipa.callgraph.CallGraph;
+import com.ibm.wala.ipa.cfg.BasicBlockInContext;
+import com.ibm.wala.ssa.ISSABasicBlock;
+import com.ibm.wala.util.collections.HashMapFactory;
+import com.ibm.wala.util.collections.HashSetFactory;
+import com.ibm.wala.util.graph.GraphSlicer;
+import com.ibm.wala.util.intset.BitVectorIntSet;
+import com.ibm.wala.util.intset.IntIterator;
+import com.ibm.wala.util.intset.IntSet;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.scandroid.domain.DomainElement;
+import org.scandroid.domain.IFDSTaintDomain;
+import org.scandroid.domain.LocalElement;
+import org.scandroid.domain.ReturnElement;
+
+/**
+ * Taint summaries of library methods, computed once from the summary edges of a taint analysis and
+ * reused by later analyses of apps bundling the same libraries.
+ *
+ * <p>Taint sources and heap objects are particular to one analysis, so a summary only records how
+ * taints of the parameters of a method reach its return value. For every summarized method it keeps
+ * the parameters whose taints were observed, and those of them that flow to the return value. A
+ * method is not summarized if its taints may reach the heap or a static field, if it introduces
+ * taints of its own, if it may call a sink, or if it may call back into code outside the libraries,
+ * whose flows differ from app to app; such methods are still analyzed in every app.
+ *
+ * <p>Summaries are stored with a hash of the library files they were computed from, see {@link
+ * #hash(File...)}, and are only loaded for the same libraries.
+ */
+public class LibrarySummaries {
+
+  /** The summary of one method: params observed tainted, and those of them reaching the return. */
+  public static final class Summary {
+    private final BitVectorIntSet observed = new BitVectorIntSet();
+    private final BitVectorIntSet returned = new BitVectorIntSet();
+
+    /** @return true if taints of parameter param (numbered from 1) are covered by this summary */
+    public boolean covers(int param) {
+      return param > 0 && observed.contains(param);
+    }
+
+    /** @return true if taints of parameter param (numbered from 1) reach the return value */
+    public boolean returns(int param) {
+      return param > 0 && returned.contains(param);
+    }
+  }
+
+  private static final String HEADER = "# scandroid library summaries";
+
+  private final String libraryHash;
+
+  // summaries by method signature
+  private final Map<String, Summary> summaries = HashMapFactory.make();
+
+  public LibrarySummaries(String libraryHash) {
+    if (libraryHash == null) {
+      throw new IllegalArgumentException("libraryHash is null");
+    }
+    this.libraryHash = libraryHash;
+  }
+
+  /** @return the hash of the libraries these summaries were computed from */
+  public String getLibraryHash() {
+    return libraryHash;
+  }
+
+  /** @return the summary of the method with the given signature, or null if it has none */
+  public Summary get(String signature) {
+    return summaries.get(signature);
+  }
+
+  /** @return the number of summarized methods */
+  public int size() {
+    return summaries.size();
+  }
+
+  /**
+   * Summarize the library methods analyzed by a taint analysis. Library nodes that may call nodes
+   * outside isLibrary, such as callbacks of the app, are not summarized.
+   *
+   * @param libraryHash the hash of the libraries, see {@link #hash(File...)}
+   * @param result the result of the analysis
+   * @param graph the supergraph the analysis ran on
+   * @param domain the domain of the analysis
+   * @param cg the call graph of graph
+   * @param isLibrary which nodes to summarize
+   * @param isSink which nodes are sinks; nodes that may call them are not summarized
+   */
+  public static <E extends ISSABasicBlock> LibrarySummaries compute(
+      String libraryHash,
+      TabulationResult<BasicBlockInContext<E>, CGNode, DomainElement> result,
+      ISupergraph<BasicBlockInContext<E>, CGNode> graph,
+      IFDSTaintDomain<E> domain,
+      CallGraph cg,
+      Predicate<CGNode> isLibrary,
+      Predicate<CGNode> isSink) {
+    LibrarySummaries summaries = new LibrarySummaries(libraryHash);
+    Set<CGNode> reachesSink = GraphSlicer.slice(cg, isSink::test);
+    Set<CGNode> reachesApp = GraphSlicer.slice(cg, n -> !isLibrary.test(n));
+    Set<String> unsummarizable = HashSetFactory.make();
+
+    for (CGNode node : cg) {
+      if (!isLibrary.test(node)) {
+        continue;
+      }
+      String signature = node.getMethod().getSignature();
+      if (unsummarizable.contains(signature)) {
+        continue;
+      }
+      Summary summary = summaries.summaries.computeIfAbsent(signature, k -> new Summary());
+      if (reachesSink.contains(node)
+          || reachesApp.contains(node)
+          || !summarize(node, summary, result, graph, domain)) {
+        unsummarizable.add(signature);
+        summaries.summaries.remove(signature);
+      }
+    }
+    // a summary no taint was observed for would not spare any work
+    summaries.summaries.values().removeIf(summary -> summary.observed.isEmpty());
+    return summaries;
+  }
+
+  // add the taint flows of node to summary; false if they cannot be summarized
+  private static <E extends ISSABasicBlock> boolean summarize(
+      CGNode node,
+      Summary summary,
+      TabulationResult<BasicBlockInContext<E>, CGNode, DomainElement> result,
+      ISupergraph<BasicBlockInContext<E>, CGNode> graph,
+      IFDSTaintDomain<E> domain) {
+    int params = node.getMethod().getNumberOfParameters();
+    for (BasicBlockInContext<E> entry : graph.getEntriesForProcedure(node)) {
+      IntSet atEntry = result.getResult(entry);
+      if (atEntry == null) {
+        continue;
+      }
+      for (IntIterator it = atEntry.intIterator(); it.hasNext(); ) {
+        int d1 = it.next();
+        DomainElement in = domain.getMappedObject(d1);
+        int param = -1;
+        if (in != null && in.codeElement instanceof LocalElement) {
+          int vn = ((LocalElement) in.codeElement).getValueNumber();
+          if (vn >= 1 && vn <= params) {
+            param = vn;
+          }
+        }
+        if (d1 != 0 && param < 0) {
+          // taints of the heap enter the method as usual
+          continue;
+        }
+        for (BasicBlockInContext<E> exit : graph.getExitsForProcedure(node)) {
+          IntSet targets = result.getSummaryTargets(entry, d1, exit);
+          if (targets == null) {
+            continue;
+          }
+          for (IntIterator ts = targets.intIterator(); ts.hasNext(); ) {
+            int d2 = ts.next();
+            DomainElement out = domain.getMappedObject(d2);
+            if (d2 == 0 || out.codeElement instanceof LocalElement) {
+              // dead at the exit
+              continue;
+            }
+            if (d1 == 0
+                || !(out.codeElement instanceof ReturnElement)
+                || !Objects.equals(out.taintSource, in.taintSource)) {
+              // a taint of the method's own, or one stored where later calls may see it
+              return false;
+            }
+            summary.returned.add(param);
+          }
+        }
+        if (param > 0) {
+          summary.observed.add(param);
+        }
+      }
+    }
+    return true;
+  }
+
+  /** @return a hash of the contents of the given library files, in order */
+  public static String hash(File... libraries) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    byte[] buf = new byte[8192];
+    for (File library : libraries) {
+      try (InputStream s = Files.newInputStream(library.toPath())) {
+        int n;
+        while ((n = s.read(buf)) > 0) {
+          digest.update(buf, 0, n);
+        }
+      }
+      digest.update((byte) 0);
+    }
+    StringBuilder result = new StringBuilder();
+    for (byte b : digest.digest()) {
+      result.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return result.toString();
+  }
+
+  /** Write these summaries to file. */
+  public void save(File file) throws IOException {
+    List<String> lines = new ArrayList<>();
+    lines.add(HEADER);
+    lines.add(libraryHash);
+    for (Map.Entry<String, Summary> e : summaries.entrySet()) {
+      Summary s = e.getValue();
+      lines.add(e.getKey() + '\t' + toString(s.observed) + '\t' + toString(s.returned));
+    }
+    Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+  }
+
+  private static String toString(IntSet s) {
+    StringBuilder result = new StringBuilder();
+    for (IntIterator it = s.intIterator(); it.hasNext(); ) {
+      result.append(it.next());
+      if (it.hasNext()) {
+        result.append(',');
+      }
+    }
+    return result.toString();
+  }
+
+  /**
+   * Read summaries written by {@link #save(File)}.
+   *
+   * @param libraryHash the hash of the libraries being analyzed
+   * @return the summaries in file, or null if file does not exist or was computed from other
+   *     libraries
+   */
+  public static LibrarySummaries load(File file, String libraryHash) throws IOException {
+    if (!file.isFile()) {
+      return null;
+    }
+    List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+    if (lines.size() < 2 || !HEADER.equals(lines.get(0))) {
+      throw new IOException("not a library summary file: " + file);
+    }
+    if (!lines.get(1).equals(libraryHash)) {
+      return null;
+    }
+    LibrarySummaries result = new LibrarySummaries(libraryHash);
+    for (String line : lines.subList(2, lines.size())) {
+      String[] fields = line.split("\t", -1);
+      if (fields.length != 3) {
+        throw new IOException("malformed library summary in " + file + ": " + line);
+      }
+      Summary summary = new Summary();
+      parse(fields[1], summary.observed);
+      parse(fields[2], summary.returned);
+      result.summaries.put(fields[0], summary);
+    }
+    return result;
+  }
+
+  private static void parse(String s, BitVectorIntSet into) throws IOException {
+    if (s.isEmpty()) {
+      return;
+    }
+    try {
+      for (String n : s.split(",")) {
+        into.add(Integer.parseInt(n));
+      }
+    } catch (NumberFormatException e) {
+      throw new IOException("malformed parameter list: " + s, e);
+    }
+  }
+}
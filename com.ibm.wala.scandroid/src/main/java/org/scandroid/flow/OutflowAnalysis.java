@@ -84,6 +84,7 @@ import org.scandroid.spec.EntryArgSinkSpec;
 import org.scandroid.spec.EntryRetSinkSpec;
 import org.scandroid.spec.ISpecs;
 import org.scandroid.spec.SinkSpec;
+import org.scandroid.spec.SpecIndex;
 import org.scandroid.spec.StaticFieldSinkSpec;
 import org.scandroid.util.CGAnalysisContext;
 
@@ -362,16 +363,17 @@ public class OutflowAnalysis {
         HashMapFactory.make();
 
     SinkSpec[] ss = s.getSinkSpecs();
+    SpecIndex index = ctx.getSpecIndex(s);
 
     for (SinkSpec element : ss) {
       if (element instanceof EntryArgSinkSpec)
-        processSinkSpec(flowResult, domain, taintFlow, element);
+        processSinkSpec(flowResult, domain, taintFlow, element, index);
       else if (element instanceof CallArgSinkSpec)
-        processSinkSpec(flowResult, domain, taintFlow, element);
+        processSinkSpec(flowResult, domain, taintFlow, element, index);
       else if (element instanceof EntryRetSinkSpec)
-        processSinkSpec(flowResult, domain, taintFlow, element);
+        processSinkSpec(flowResult, domain, taintFlow, element, index);
       else if (element instanceof StaticFieldSinkSpec)
-        processSinkSpec(flowResult, domain, taintFlow, element);
+        processSinkSpec(flowResult, domain, taintFlow, element, index);
       else throw new UnsupportedOperationException("SinkSpec not yet Implemented");
     }
 
@@ -405,8 +407,9 @@ public class OutflowAnalysis {
       TabulationResult<BasicBlockInContext<IExplodedBasicBlock>, CGNode, DomainElement> flowResult,
       IFDSTaintDomain<IExplodedBasicBlock> domain,
       Map<FlowType<IExplodedBasicBlock>, Set<FlowType<IExplodedBasicBlock>>> flowGraph,
-      SinkSpec ss) {
-    Set<ISinkPoint> sinkPoints = calculateSinkPoints(ss);
+      SinkSpec ss,
+      SpecIndex index) {
+    Set<ISinkPoint> sinkPoints = calculateSinkPoints(ss, index);
     if (!(ss instanceof StaticFieldSinkSpec)) {}
 
     for (ISinkPoint sinkPoint : sinkPoints) {
@@ -416,15 +419,15 @@ public class OutflowAnalysis {
     }
   }
 
-  private Set<ISinkPoint> calculateSinkPoints(SinkSpec sinkSpec) {
+  private Set<ISinkPoint> calculateSinkPoints(SinkSpec sinkSpec, SpecIndex index) {
     if (sinkSpec instanceof EntryArgSinkSpec) {
-      return calculateSinkPoints((EntryArgSinkSpec) sinkSpec);
+      return calculateSinkPoints((EntryArgSinkSpec) sinkSpec, index);
     }
     if (sinkSpec instanceof CallArgSinkSpec) {
-      return calculateSinkPoints((CallArgSinkSpec) sinkSpec);
+      return calculateSinkPoints((CallArgSinkSpec) sinkSpec, index);
     }
     if (sinkSpec instanceof EntryRetSinkSpec) {
-      return calculateSinkPoints((EntryRetSinkSpec) sinkSpec);
+      return calculateSinkPoints((EntryRetSinkSpec) sinkSpec, index);
     }
     if (sinkSpec instanceof StaticFieldSinkSpec) {
       return calculateSinkPoints((StaticFieldSinkSpec) sinkSpec);
@@ -432,11 +435,10 @@ public class OutflowAnalysis {
     throw new UnimplementedError();
   }
 
-  private Set<ISinkPoint> calculateSinkPoints(EntryArgSinkSpec sinkSpec) {
+  private Set<ISinkPoint> calculateSinkPoints(EntryArgSinkSpec sinkSpec, SpecIndex index) {
     Set<ISinkPoint> points = HashSetFactory.make();
 
-    Collection<IMethod> methods = sinkSpec.getNamePattern().getPossibleTargets(cha);
-    if (null == methods) {}
+    Collection<IMethod> methods = index.getTargets(sinkSpec.getNamePattern());
 
     for (IMethod method : methods) {
       for (CGNode node : cg.getNodes(method.getReference())) {
@@ -454,11 +456,10 @@ public class OutflowAnalysis {
     return points;
   }
 
-  private Set<ISinkPoint> calculateSinkPoints(final CallArgSinkSpec sinkSpec) {
+  private Set<ISinkPoint> calculateSinkPoints(final CallArgSinkSpec sinkSpec, SpecIndex index) {
     final Set<ISinkPoint> points = HashSetFactory.make();
 
-    Collection<IMethod> methods = sinkSpec.getNamePattern().getPossibleTargets(cha);
-    if (null == methods) {}
+    Collection<IMethod> methods = index.getTargets(sinkSpec.getNamePattern());
 
     Set<CGNode> callees = HashSetFactory.make();
     final Set<MethodReference> calleeRefs = HashSetFactory.make();
@@ -524,11 +525,10 @@ public class OutflowAnalysis {
     return points;
   }
 
-  private Set<ISinkPoint> calculateSinkPoints(EntryRetSinkSpec sinkSpec) {
+  private Set<ISinkPoint> calculateSinkPoints(EntryRetSinkSpec sinkSpec, SpecIndex index) {
     Set<ISinkPoint> points = HashSetFactory.make();
 
-    Collection<IMethod> methods = sinkSpec.getNamePattern().getPossibleTargets(cha);
-    if (null == methods) {}
+    Collection<IMethod> methods = index.getTargets(sinkSpec.getNamePattern());
 
     // for all possible returning methods
     for (IMethod method : methods) {
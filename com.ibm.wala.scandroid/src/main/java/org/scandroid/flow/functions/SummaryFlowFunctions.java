@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package org.scandroid.flow.functions;
+
+import com.ibm.wala.dataflow.IFDS.IFlowFunction;
+import com.ibm.wala.dataflow.IFDS.IFlowFunctionMap;
+import com.ibm.wala.dataflow.IFDS.ISupergraph;
+import com.ibm.wala.dataflow.IFDS.IUnaryFlowFunction;
+import com.ibm.wala.ipa.callgraph.CGNode;
+import com.ibm.wala.ipa.cfg.BasicBlockInContext;
+import com.ibm.wala.ssa.ISSABasicBlock;
+import com.ibm.wala.ssa.SSAInstruction;
+import com.ibm.wala.ssa.SSAInvokeInstruction;
+import com.ibm.wala.util.collections.Pair;
+import com.ibm.wala.util.intset.BitVectorIntSet;
+import com.ibm.wala.util.intset.IntIterator;
+import com.ibm.wala.util.intset.IntSet;
+import com.ibm.wala.util.intset.MutableIntSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.scandroid.domain.DomainElement;
+import org.scandroid.domain.IFDSTaintDomain;
+import org.scandroid.domain.LocalElement;
+import org.scandroid.domain.ReturnElement;
+import org.scandroid.flow.LibrarySummaries;
+import org.scandroid.flow.LibrarySummaries.Summary;
+
+/**
+ * Flow functions that apply {@link LibrarySummaries} to calls of summarized library methods, and
+ * otherwise behave as the flow functions they wrap.
+ *
+ * <p>Taints of parameters that the summary of a callee covers do not enter the callee; where the
+ * summary says they flow to its return value, the call-to-return edge passes them through the
+ * return flow of that callee instead. Each callee of a call site is summarized on its own. The
+ * tabulation of the callee is thus spared for them. Other taints, such as those of the heap or of
+ * parameters not covered, enter the callee as usual.
+ */
+public class SummaryFlowFunctions<E extends ISSABasicBlock>
+    implements IFlowFunctionMap<BasicBlockInContext<E>> {
+
+  private final IFlowFunctionMap<BasicBlockInContext<E>> base;
+  private final IFDSTaintDomain<E> domain;
+  private final ISupergraph<BasicBlockInContext<E>, CGNode> graph;
+  private final LibrarySummaries summaries;
+
+  public SummaryFlowFunctions(
+      IFlowFunctionMap<BasicBlockInContext<E>> base,
+      IFDSTaintDomain<E> domain,
+      ISupergraph<BasicBlockInContext<E>, CGNode> graph,
+      LibrarySummaries summaries) {
+    this.base = base;
+    this.domain = domain;
+    this.graph = graph;
+    this.summaries = summaries;
+  }
+
+  // the value number of the local d taints, or -1
+  private int local(int d) {
+    if (d == 0) {
+      return -1;
+    }
+    DomainElement de = domain.getMappedObject(d);
+    return de.codeElement instanceof LocalElement
+        ? ((LocalElement) de.codeElement).getValueNumber()
+        : -1;
+  }
+
+  @Override
+  public IUnaryFlowFunction getCallFlowFunction(
+      BasicBlockInContext<E> src, BasicBlockInContext<E> dest, BasicBlockInContext<E> ret) {
+    final IUnaryFlowFunction f = base.getCallFlowFunction(src, dest, ret);
+    final Summary summary = summaries.get(dest.getMethod().getSignature());
+    if (summary == null) {
+      return f;
+    }
+    return d1 -> {
+      IntSet targets = f.getTargets(d1);
+      if (targets == null) {
+        return null;
+      }
+      MutableIntSet result = new BitVectorIntSet();
+      for (IntIterator it = targets.intIterator(); it.hasNext(); ) {
+        int d2 = it.next();
+        int param = local(d2);
+        if (param < 0 || !summary.covers(param)) {
+          result.add(d2);
+        }
+      }
+      return result;
+    };
+  }
+
+  @Override
+  public IUnaryFlowFunction getCallToReturnFlowFunction(
+      BasicBlockInContext<E> src, BasicBlockInContext<E> dest) {
+    final IUnaryFlowFunction f = base.getCallToReturnFlowFunction(src, dest);
+    SSAInstruction inst = src.getLastInstruction();
+    if (!(inst instanceof SSAInvokeInstruction) || !((SSAInvokeInstruction) inst).hasDef()) {
+      return f;
+    }
+    final SSAInvokeInstruction invoke = (SSAInvokeInstruction) inst;
+
+    // for every summarized callee, the actuals whose taints it returns, and its return flow
+    final List<Pair<BitVectorIntSet, IUnaryFlowFunction>> callees = new ArrayList<>();
+    for (Iterator<? extends BasicBlockInContext<E>> it = graph.getCalledNodes(src);
+        it.hasNext(); ) {
+      CGNode callee = graph.getProcOf(it.next());
+      Summary summary = summaries.get(callee.getMethod().getSignature());
+      if (summary == null) {
+        continue;
+      }
+      BitVectorIntSet returned = new BitVectorIntSet();
+      for (int i = 0; i < invoke.getNumberOfPositionalParameters(); i++) {
+        if (summary.covers(i + 1) && summary.returns(i + 1)) {
+          returned.add(invoke.getUse(i));
+        }
+      }
+      if (returned.isEmpty()) {
+        continue;
+      }
+      for (BasicBlockInContext<E> exit : graph.getExitsForProcedure(callee)) {
+        IFlowFunction r = base.getReturnFlowFunction(src, exit, dest);
+        if (!(r instanceof IUnaryFlowFunction)) {
+          throw new IllegalArgumentException("cannot apply summaries to return flow " + r);
+        }
+        callees.add(Pair.make(returned, (IUnaryFlowFunction) r));
+      }
+    }
+    if (callees.isEmpty()) {
+      return f;
+    }
+
+    // a returned taint leaves the callee as its return value, as it would had it entered it
+    return d1 -> {
+      IntSet targets = f.getTargets(d1);
+      int vn = local(d1);
+      if (vn < 0) {
+        return targets;
+      }
+      MutableIntSet result = null;
+      for (Pair<BitVectorIntSet, IUnaryFlowFunction> callee : callees) {
+        if (!callee.fst.contains(vn)) {
+          continue;
+        }
+        if (result == null) {
+          result = new BitVectorIntSet();
+          if (targets != null) {
+            result.addAll(targets);
+          }
+        }
+        int returnValue =
+            domain.getMappedIndex(
+                new DomainElement(new ReturnElement(), domain.getMappedObject(d1).taintSource));
+        IntSet returnTargets = callee.snd.getTargets(returnValue);
+        if (returnTargets != null) {
+          result.addAll(returnTargets);
+        }
+      }
+      return result == null ? targets : result;
+    };
+  }
+
+  @Override
+  public IUnaryFlowFunction getNormalFlowFunction(
+      BasicBlockInContext<E> src, BasicBlockInContext<E> dest) {
+    return base.getNormalFlowFunction(src, dest);
+  }
+
+  @Override
+  public IFlowFunction getReturnFlowFunction(
+      BasicBlockInContext<E> call, BasicBlockInContext<E> src, BasicBlockInContext<E> dest) {
+    return base.getReturnFlowFunction(call, src, dest);
+  }
+
+  @Override
+  public IUnaryFlowFunction getCallNoneToReturnFlowFunction(
+      BasicBlockInContext<E> src, BasicBlockInContext<E> dest) {
+    return base.getCallNoneToReturnFlowFunction(src, dest);
+  }
+}
@@ -113,6 +113,12 @@ public class TaintTransferFunctions<E extends ISSABasicBlock>
 
   private static final IReversibleFlowFunction IDENTITY_FN = new IdentityFlowFunction();
 
+  /** maximum number of call and of normal flow functions kept, bounding the memory they take */
+  public static final int FLOW_FUNCTION_CACHE_SIZE = 10000;
+
+  // the flow functions may be asked for by one solver thread per core
+  private static final int CACHE_CONCURRENCY = Runtime.getRuntime().availableProcessors();
+
   public TaintTransferFunctions(IFDSTaintDomain<E> domain, PointerAnalysis<InstanceKey> pa) {
     this(domain, pa, false);
   }
@@ -125,7 +131,8 @@ public class TaintTransferFunctions<E extends ISSABasicBlock>
     this.callToReturn = new CallToReturnFunction<>(domain);
     this.callFlowFunctions =
         CacheBuilder.newBuilder()
-            .maximumSize(10000)
+            .maximumSize(FLOW_FUNCTION_CACHE_SIZE)
+            .concurrencyLevel(CACHE_CONCURRENCY)
             .expireAfterWrite(10, TimeUnit.MINUTES)
             .build(
                 new CacheLoader<BlockPair<E>, IUnaryFlowFunction>() {
@@ -136,7 +143,8 @@ public class TaintTransferFunctions<E extends ISSABasicBlock>
                 });
     this.normalFlowFunctions =
         CacheBuilder.newBuilder()
-            .maximumSize(10000)
+            .maximumSize(FLOW_FUNCTION_CACHE_SIZE)
+            .concurrencyLevel(CACHE_CONCURRENCY)
             .expireAfterWrite(10, TimeUnit.MINUTES)
             .build(
                 new CacheLoader<BlockPair<E>, IUnaryFlowFunction>() {
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package org.scandroid.prefixtransfer;
+
+import com.ibm.wala.util.collections.HashMapFactory;
+import com.ibm.wala.util.collections.HashSetFactory;
+import com.ibm.wala.util.graph.Graph;
+import com.ibm.wala.util.graph.traverse.SCCIterator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Solves the prefixes of the strings of a {@link PrefixTransferGraph} or {@link
+ * UriPrefixTransferGraph}, as the DataflowSolver does with the {@link
+ * PrefixTransferFunctionProvider}.
+ *
+ * <p>The strongly connected components of the graph are solved one at a time, in topological order,
+ * so a node outside of a cycle is evaluated once, after all nodes it depends on. Inside a cycle, a
+ * node evaluated more often than the widening threshold loses the prefixes that still change, which
+ * bounds the iterations of the component. Components whose dependencies are solved do not depend
+ * on each other, and are solved on several threads if asked to.
+ */
+public class PrefixSolver {
+
+  /** evaluations of a node in a cycle before its prefixes are widened */
+  public static final int DEFAULT_WIDENING_THRESHOLD = 8;
+
+  /** A strongly connected component of the graph. */
+  public static final class Component {
+    private final List<InstanceKeySite> nodes;
+    private final boolean cyclic;
+    private int iterations = 0;
+
+    private Component(List<InstanceKeySite> nodes, boolean cyclic) {
+      this.nodes = nodes;
+      this.cyclic = cyclic;
+    }
+
+    public List<InstanceKeySite> getNodes() {
+      return Collections.unmodifiableList(nodes);
+    }
+
+    /** @return if the nodes of the component depend on each other */
+    public boolean isCyclic() {
+      return cyclic;
+    }
+
+    /** @return the number of node evaluations it took to solve the component */
+    public int getIterations() {
+      return iterations;
+    }
+
+    @Override
+    public String toString() {
+      return "Component(nodes = " + nodes.size() + "; iterations = " + iterations + ')';
+    }
+  }
+
+  private final Graph<InstanceKeySite> graph;
+  private final int wideningThreshold;
+  private final int nThreads;
+
+  // the result of each node, only written by the thread solving its component
+  private final Map<InstanceKeySite, PrefixVariable> out = HashMapFactory.make();
+
+  private final Map<InstanceKeySite, Component> components = HashMapFactory.make();
+
+  // the components, by the length of the longest chain of components they depend on
+  private final List<List<Component>> levels = new ArrayList<>();
+
+  public PrefixSolver(Graph<InstanceKeySite> graph) {
+    this(graph, DEFAULT_WIDENING_THRESHOLD, 1);
+  }
+
+  /**
+   * @param wideningThreshold evaluations of a node in a cycle before its prefixes are widened
+   * @param nThreads the number of threads to solve independent components on
+   */
+  public PrefixSolver(Graph<InstanceKeySite> graph, int wideningThreshold, int nThreads) {
+    if (graph == null) {
+      throw new IllegalArgumentException("graph is null");
+    }
+    if (wideningThreshold < 1) {
+      throw new IllegalArgumentException("invalid widening threshold: " + wideningThreshold);
+    }
+    if (nThreads < 1) {
+      throw new IllegalArgumentException("invalid number of threads: " + nThreads);
+    }
+    this.graph = graph;
+    this.wideningThreshold = wideningThreshold;
+    this.nThreads = nThreads;
+
+    for (InstanceKeySite n : graph) {
+      out.put(n, new PrefixVariable());
+    }
+    for (Iterator<Set<InstanceKeySite>> it = new SCCIterator<>(graph); it.hasNext(); ) {
+      Set<InstanceKeySite> scc = it.next();
+      Component c = new Component(new ArrayList<>(scc), scc.size() > 1 || hasSelfLoop(scc));
+      for (InstanceKeySite n : scc) {
+        components.put(n, c);
+      }
+    }
+    computeLevels();
+  }
+
+  // the transfer graphs do not implement hasEdge
+  private boolean hasSelfLoop(Set<InstanceKeySite> scc) {
+    InstanceKeySite n = scc.iterator().next();
+    for (Iterator<InstanceKeySite> it = graph.getSuccNodes(n); it.hasNext(); ) {
+      if (it.next() == n) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // group the components into levels, each depending only on those of the levels before it
+  private void computeLevels() {
+    Map<Component, Set<Component>> succs = HashMapFactory.make();
+    Map<Component, Integer> preds = HashMapFactory.make();
+    for (Component c : HashSetFactory.make(components.values())) {
+      succs.put(c, HashSetFactory.make());
+      preds.put(c, 0);
+    }
+    for (Map.Entry<Component, Set<Component>> e : succs.entrySet()) {
+      for (InstanceKeySite n : e.getKey().nodes) {
+        for (Iterator<InstanceKeySite> it = graph.getSuccNodes(n); it.hasNext(); ) {
+          Component s = components.get(it.next());
+          if (s != e.getKey() && e.getValue().add(s)) {
+            preds.merge(s, 1, Integer::sum);
+          }
+        }
+      }
+    }
+
+    List<Component> level = new ArrayList<>();
+    for (Map.Entry<Component, Integer> e : preds.entrySet()) {
+      if (e.getValue() == 0) {
+        level.add(e.getKey());
+      }
+    }
+    while (!level.isEmpty()) {
+      levels.add(level);
+      List<Component> next = new ArrayList<>();
+      for (Component c : level) {
+        for (Component s : succs.get(c)) {
+          if (preds.merge(s, -1, Integer::sum) == 0) {
+            next.add(s);
+          }
+        }
+      }
+      level = next;
+    }
+  }
+
+  /** Solve the prefixes of all nodes. */
+  public void solve() throws InterruptedException {
+    if (nThreads == 1) {
+      for (List<Component> level : levels) {
+        for (Component c : level) {
+          solve(c);
+        }
+      }
+      return;
+    }
+
+    ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+    try {
+      for (List<Component> level : levels) {
+        List<Future<?>> pending = new ArrayList<>();
+        for (Component c : level) {
+          pending.add(pool.submit(() -> solve(c)));
+        }
+        for (Future<?> f : pending) {
+          try {
+            f.get();
+          } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+              throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+          }
+        }
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private void solve(Component c) {
+    Map<InstanceKeySite, Integer> evaluations = HashMapFactory.make();
+    ArrayDeque<InstanceKeySite> worklist = new ArrayDeque<>(c.nodes);
+    Set<InstanceKeySite> queued = HashSetFactory.make(c.nodes);
+    while (!worklist.isEmpty()) {
+      InstanceKeySite n = worklist.poll();
+      queued.remove(n);
+      c.iterations++;
+
+      PrefixVariable in = new PrefixVariable();
+      for (Iterator<InstanceKeySite> it = graph.getPredNodes(n); it.hasNext(); ) {
+        in.updateAll(out.get(it.next()));
+      }
+      PrefixVariable result = n.propagate(in);
+
+      boolean changed =
+          evaluations.merge(n, 1, Integer::sum) > wideningThreshold
+              ? widen(out.get(n), result)
+              : out.get(n).updateAll(result);
+      if (changed && c.cyclic) {
+        for (Iterator<InstanceKeySite> it = graph.getSuccNodes(n); it.hasNext(); ) {
+          InstanceKeySite s = it.next();
+          if (components.get(s) == c && queued.add(s)) {
+            worklist.add(s);
+          }
+        }
+      }
+    }
+  }
+
+  // join result into lhs, forgetting the prefixes it would shorten
+  private static boolean widen(PrefixVariable lhs, PrefixVariable result) {
+    boolean changed = false;
+    for (Map.Entry<Integer, String> e : result.knownPrefixes.entrySet()) {
+      String prev = lhs.knownPrefixes.get(e.getKey());
+      if (prev == null) {
+        lhs.knownPrefixes.put(e.getKey(), e.getValue());
+        changed = true;
+      } else if (!prev.isEmpty() && !e.getValue().startsWith(prev)) {
+        lhs.knownPrefixes.put(e.getKey(), "");
+        changed = true;
+      }
+    }
+    for (Integer i : result.fullPrefixKnown) {
+      changed = lhs.include(i) || changed;
+    }
+    return changed;
+  }
+
+  /** @return the prefixes known at node, once solved */
+  public PrefixVariable getOut(InstanceKeySite node) {
+    return out.get(node);
+  }
+
+  /** @return the prefix of the string node creates, or null if it is unknown */
+  public String getPrefix(InstanceKeySite node) {
+    PrefixVariable v = out.get(node);
+    return v == null ? null : v.getPrefix(node.instanceID());
+  }
+
+  /** @return the components of the graph, in the order they are solved */
+  public List<Component> getComponents() {
+    List<Component> result = new ArrayList<>();
+    for (List<Component> level : levels) {
+      result.addAll(level);
+    }
+    return result;
+  }
+
+  /** @return the number of node evaluations it took to solve all components */
+  public int getTotalIterations() {
+    int total = 0;
+    for (List<Component> level : levels) {
+      for (Component c : level) {
+        total += c.iterations;
+      }
+    }
+    return total;
+  }
+}
@@ -134,6 +134,11 @@ public class MethodNamePattern {
     return memberName;
   }
 
+  /** @return the descriptor of the methods matched, or null if any descriptor matches */
+  public String getMemberDescriptor() {
+    return descriptor;
+  }
+
   public static MethodNamePattern patternForReference(MethodReference methodRef)
       throws UTFDataFormatException {
     String className = methodRef.getDeclaringClass().getName().toUnicodeString();
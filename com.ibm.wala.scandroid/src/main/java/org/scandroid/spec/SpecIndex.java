@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package org.scandroid.spec;
+
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.core.util.strings.Atom;
+import com.ibm.wala.ipa.callgraph.CGNode;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.Descriptor;
+import com.ibm.wala.types.MethodReference;
+import com.ibm.wala.types.TypeReference;
+import com.ibm.wala.util.collections.HashMapFactory;
+import com.ibm.wala.util.collections.HashSetFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The source and sink specifications of an {@link ISpecs}, resolved against one class hierarchy.
+ *
+ * <p>Matching every {@link MethodNamePattern} against every method or call site costs the number of
+ * specs for each of them. The index groups the patterns by class and member name, so each class
+ * named by a spec is looked up and its methods scanned once, and maps every resolved method to the
+ * specs that match it. Looking up the specs of a method, a call graph node or a call site then
+ * takes a hash lookup.
+ */
+public class SpecIndex {
+
+  private static final ClassLoaderReference[] LOADERS = {
+    ClassLoaderReference.Application,
+    ClassLoaderReference.Primordial,
+    ClassLoaderReference.Extension
+  };
+
+  private final IClassHierarchy cha;
+
+  // the methods each pattern matches, see MethodNamePattern#getPossibleTargets
+  private final Map<MethodNamePattern, Set<IMethod>> targets = HashMapFactory.make();
+
+  private final Map<IMethod, List<SourceSpec>> sources = HashMapFactory.make();
+
+  private final Map<IMethod, List<SinkSpec>> sinks = HashMapFactory.make();
+
+  // the specified methods a call to each declared target may reach
+  private final Map<MethodReference, Set<IMethod>> callTargets = new ConcurrentHashMap<>();
+
+  public SpecIndex(ISpecs specs, IClassHierarchy cha) {
+    if (specs == null) {
+      throw new IllegalArgumentException("specs is null");
+    }
+    if (cha == null) {
+      throw new IllegalArgumentException("cha is null");
+    }
+    this.cha = cha;
+
+    // patterns by class name, then member name
+    Map<String, Map<Atom, List<MethodNamePattern>>> patterns = HashMapFactory.make();
+    List<MethodNamePattern> all = new ArrayList<>();
+    for (SourceSpec spec : specs.getSourceSpecs()) {
+      all.add(spec.getNamePattern());
+    }
+    for (SinkSpec spec : specs.getSinkSpecs()) {
+      all.add(spec.getNamePattern());
+    }
+    for (MethodNamePattern p : all) {
+      // specs of static fields have no pattern
+      if (p != null && !targets.containsKey(p)) {
+        targets.put(p, HashSetFactory.make());
+        Atom name = Atom.findOrCreateUnicodeAtom(p.getMemberName());
+        patterns
+            .computeIfAbsent(p.getClassName(), k -> HashMapFactory.make())
+            .computeIfAbsent(name, k -> new ArrayList<>())
+            .add(p);
+      }
+    }
+
+    for (Map.Entry<String, Map<Atom, List<MethodNamePattern>>> e : patterns.entrySet()) {
+      for (ClassLoaderReference loader : LOADERS) {
+        IClass c = cha.lookupClass(TypeReference.findOrCreate(loader, e.getKey()));
+        if (c != null) {
+          resolve(c, e.getValue());
+        }
+      }
+    }
+
+    for (SourceSpec spec : specs.getSourceSpecs()) {
+      if (spec.getNamePattern() != null) {
+        for (IMethod m : targets.get(spec.getNamePattern())) {
+          sources.computeIfAbsent(m, k -> new ArrayList<>()).add(spec);
+        }
+      }
+    }
+    for (SinkSpec spec : specs.getSinkSpecs()) {
+      if (spec.getNamePattern() != null) {
+        for (IMethod m : targets.get(spec.getNamePattern())) {
+          sinks.computeIfAbsent(m, k -> new ArrayList<>()).add(spec);
+        }
+      }
+    }
+  }
+
+  // add the methods of c matching the patterns for its name to their targets
+  private void resolve(IClass c, Map<Atom, List<MethodNamePattern>> byName) {
+    for (IMethod m : c.getAllMethods()) {
+      List<MethodNamePattern> ps = byName.get(m.getName());
+      if (ps == null) {
+        continue;
+      }
+      Collection<IMethod> possible = null;
+      for (MethodNamePattern p : ps) {
+        String d = p.getMemberDescriptor();
+        if (d == null || m.getDescriptor().equals(Descriptor.findOrCreateUTF8(d))) {
+          if (possible == null) {
+            possible = cha.getPossibleTargets(m.getReference());
+          }
+          targets.get(p).addAll(possible);
+        }
+      }
+    }
+  }
+
+  /** @return the class hierarchy this index was resolved against */
+  public IClassHierarchy getClassHierarchy() {
+    return cha;
+  }
+
+  /**
+   * @return the methods p matches, as {@link MethodNamePattern#getPossibleTargets(IClassHierarchy)}
+   *     does
+   */
+  public Set<IMethod> getTargets(MethodNamePattern p) {
+    Set<IMethod> result = targets.get(p);
+    if (result == null) {
+      // not a pattern of these specs
+      return HashSetFactory.make(p.getPossibleTargets(cha));
+    }
+    return Collections.unmodifiableSet(result);
+  }
+
+  /** @return the source specs matching m, in the order of the specs */
+  public List<SourceSpec> getSourceSpecs(IMethod m) {
+    return sources.getOrDefault(m, Collections.emptyList());
+  }
+
+  /** @return the source specs matching the method of node, in the order of the specs */
+  public List<SourceSpec> getSourceSpecs(CGNode node) {
+    return getSourceSpecs(node.getMethod());
+  }
+
+  /** @return the sink specs matching m, in the order of the specs */
+  public List<SinkSpec> getSinkSpecs(IMethod m) {
+    return sinks.getOrDefault(m, Collections.emptyList());
+  }
+
+  /** @return the sink specs matching the method of node, in the order of the specs */
+  public List<SinkSpec> getSinkSpecs(CGNode node) {
+    return getSinkSpecs(node.getMethod());
+  }
+
+  /**
+   * @return the possible targets of a call to declaredTarget that some source or sink spec matches
+   */
+  public Set<IMethod> getSpecifiedTargets(MethodReference declaredTarget) {
+    return callTargets.computeIfAbsent(
+        declaredTarget,
+        ref -> {
+          Set<IMethod> result = HashSetFactory.make();
+          for (IMethod m : cha.getPossibleTargets(ref)) {
+            if (sources.containsKey(m) || sinks.containsKey(m)) {
+              result.add(m);
+            }
+          }
+          return result.isEmpty() ? Collections.emptySet() : result;
+        });
+  }
+}
@@ -145,6 +145,11 @@ public abstract class DefaultSCanDroidOptions implements ISCanDroidOptions {
     }
   }
 
+  @Override
+  public URI getLibrarySummariesURI() {
+    return null;
+  }
+
   @Override
   public boolean classHierarchyWarnings() {
     return false;
@@ -192,6 +197,8 @@ public abstract class DefaultSCanDroidOptions implements ISCanDroidOptions {
         + options.getReflectionOptions()
         + ", getSummariesURI()="
         + options.getSummariesURI()
+        + ", getLibrarySummariesURI()="
+        + options.getLibrarySummariesURI()
         + ", classHierarchyWarnings()="
         + options.classHierarchyWarnings()
         + ", cgBuilderWarnings()="
@@ -64,10 +64,13 @@ import com.ibm.wala.ipa.callgraph.propagation.PointerKey;
 import com.ibm.wala.ipa.callgraph.propagation.SSAPropagationCallGraphBuilder;
 import com.ibm.wala.ipa.cfg.BasicBlockInContext;
 import com.ibm.wala.ipa.cha.ClassHierarchy;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
 import com.ibm.wala.ssa.ISSABasicBlock;
 import com.ibm.wala.types.ClassLoaderReference;
 import com.ibm.wala.types.TypeReference;
+import com.ibm.wala.util.collections.HashMapFactory;
 import com.ibm.wala.util.collections.HashSetFactory;
+import com.ibm.wala.util.collections.Pair;
 import com.ibm.wala.util.graph.Graph;
 import com.ibm.wala.util.graph.GraphSlicer;
 import com.ibm.wala.util.intset.OrdinalSet;
@@ -80,10 +83,13 @@ import java.util.Collection;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.scandroid.domain.CodeElement;
 import org.scandroid.domain.FieldElement;
 import org.scandroid.domain.InstanceKeyElement;
+import org.scandroid.spec.ISpecs;
+import org.scandroid.spec.SpecIndex;
 
 /**
  * @author acfoltzer
@@ -105,6 +111,9 @@ public class CGAnalysisContext<E extends ISSABasicBlock> {
   public Graph<CGNode> systemToApkGraph;
   public Graph<CGNode> partialGraph;
 
+  // spec indices, by the specs and the class hierarchy they were resolved against
+  private final Map<Pair<ISpecs, IClassHierarchy>, SpecIndex> specIndices = HashMapFactory.make();
+
   public CGAnalysisContext(AndroidAnalysisContext analysisContext, IEntryPointSpecifier specifier)
       throws IOException {
     this(analysisContext, specifier, new ArrayList<>());
@@ -415,4 +424,17 @@ public class CGAnalysisContext<E extends ISSABasicBlock> {
   public CGNode nodeForMethod(IMethod method) {
     return cg.getNode(method, Everywhere.EVERYWHERE);
   }
+
+  /** @return the index of specs for the class hierarchy of this context, built on first use */
+  public SpecIndex getSpecIndex(ISpecs specs) {
+    return getSpecIndex(specs, getClassHierarchy());
+  }
+
+  /**
+   * @return the index of specs for cha, built on first use; analyses resolving specs against
+   *     another hierarchy than that of this context share it, too
+   */
+  public synchronized SpecIndex getSpecIndex(ISpecs specs, IClassHierarchy cha) {
+    return specIndices.computeIfAbsent(Pair.make(specs, cha), k -> new SpecIndex(specs, cha));
+  }
 }
@@ -57,6 +57,7 @@ public class CLISCanDroidOptions implements ISCanDroidOptions {
   private static final String CHECK_POLICY = "check-policy";
   private static final String TEST_CGB = "test-cgb";
   private static final String SUMMARIES_FILE = "summaries-file";
+  private static final String LIBRARY_SUMMARIES = "library-summaries";
   private static final String PREFIX_ANALYSIS = "prefix-analysis";
   private static final String THREAD_RUN_MAIN = "thread-run-main";
   private static final String STDOUT_CALL_GRAPH = "stdout-call-graph";
@@ -75,6 +76,7 @@ public class CLISCanDroidOptions implements ISCanDroidOptions {
   private final String filename;
   private final URI androidLib;
   private final URI summariesFile;
+  private final URI librarySummaries;
   private final ReflectionOptions reflectionOptions;
   private static final String USAGE = "[options] <.apk or .jar>";
 
@@ -119,6 +121,13 @@ public class CLISCanDroidOptions implements ISCanDroidOptions {
             .desc("Only load the call graph, exit status indicates success")
             .build());
     options.addOption("y", CHECK_POLICY, false, "Check conformance with built-in policy");
+    options.addOption(
+        Option.builder()
+            .longOpt(LIBRARY_SUMMARIES)
+            .desc("apply the taint summaries of library methods in FILE")
+            .hasArg()
+            .argName("FILE")
+            .build());
 
     options.addOption(
         Option.builder()
@@ -165,6 +174,7 @@ public class CLISCanDroidOptions implements ISCanDroidOptions {
     filename = processFilename();
     androidLib = processURIArg(getOption(ANDROID_LIB));
     summariesFile = processURIArg(getOption(SUMMARIES_FILE));
+    librarySummaries = processURIArg(getOption(LIBRARY_SUMMARIES));
     reflectionOptions = processReflectionOptions();
 
     if (reqArgs && !(filename.endsWith(".apk") || filename.endsWith(".jar"))) {
@@ -304,6 +314,11 @@ public class CLISCanDroidOptions implements ISCanDroidOptions {
     return summariesFile;
   }
 
+  @Override
+  public URI getLibrarySummariesURI() {
+    return librarySummaries;
+  }
+
   @Override
   public boolean classHierarchyWarnings() {
     // TODO Auto-generated method stub
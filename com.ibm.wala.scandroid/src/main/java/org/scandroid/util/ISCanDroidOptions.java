@@ -107,4 +107,10 @@ public interface ISCanDroidOptions {
 
   /** @return a URI to the XML method summaries file */
   public URI getSummariesURI();
+
+  /**
+   * @return a URI to the taint summaries of library methods to apply in flow analysis, see {@link
+   *     org.scandroid.flow.LibrarySummaries}, or null to analyze library methods in full
+   */
+  public URI getLibrarySummariesURI();
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package org.scandroid.test;
+
+import com.ibm.wala.ssa.ISSABasicBlock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Assert;
+import org.junit.Test;
+import org.scandroid.domain.DomainElement;
+import org.scandroid.domain.IFDSTaintDomain;
+import org.scandroid.domain.LocalElement;
+
+public class IFDSTaintDomainTest {
+
+  private static final int ELEMENTS = 20000;
+
+  private static final int WRITERS = 4;
+
+  private static final int READERS = 4;
+
+  private static DomainElement element(int i) {
+    return new DomainElement(new LocalElement(i), null);
+  }
+
+  @Test
+  public void testConcurrentNumberingAndLookup() throws Exception {
+    IFDSTaintDomain<ISSABasicBlock> domain = new IFDSTaintDomain<>();
+    AtomicBoolean writing = new AtomicBoolean(true);
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(WRITERS + READERS);
+    try {
+      List<Future<?>> writers = new ArrayList<>();
+      for (int w = 0; w < WRITERS; w++) {
+        int first = w;
+        writers.add(
+            pool.submit(
+                () -> {
+                  start.await();
+                  // writers number overlapping elements, in different orders
+                  for (int i = 0; i < ELEMENTS; i++) {
+                    int e = (first % 2 == 0) ? i : ELEMENTS - 1 - i;
+                    int n = domain.getMappedIndex(element(e));
+                    Assert.assertTrue(n > 0);
+                    Assert.assertEquals(element(e), domain.getMappedObject(n));
+                  }
+                  return null;
+                }));
+      }
+
+      List<Future<?>> readers = new ArrayList<>();
+      for (int r = 0; r < READERS; r++) {
+        readers.add(
+            pool.submit(
+                () -> {
+                  start.await();
+                  while (writing.get()) {
+                    // every number up to the maximum index maps to its element, and back
+                    int max = domain.getMaximumIndex();
+                    for (int n = Math.max(1, max - 64); n <= max; n++) {
+                      DomainElement e = domain.getMappedObject(n);
+                      Assert.assertNotNull("no element " + n + " of " + max, e);
+                      Assert.assertEquals(n, domain.getMappedIndex(e));
+                      Assert.assertTrue(domain.getPossibleElements(e.codeElement).contains(e));
+                    }
+                    Assert.assertNull(domain.getMappedObject(0));
+                  }
+                  return null;
+                }));
+      }
+
+      start.countDown();
+      for (Future<?> f : writers) {
+        f.get();
+      }
+      writing.set(false);
+      for (Future<?> f : readers) {
+        f.get();
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    // every element was numbered exactly once, densely from 1
+    Assert.assertEquals(ELEMENTS, domain.getMaximumIndex());
+    boolean[] seen = new boolean[ELEMENTS];
+    for (int n = 1; n <= ELEMENTS; n++) {
+      DomainElement e = domain.getMappedObject(n);
+      int id = ((LocalElement) e.codeElement).getValueNumber();
+      Assert.assertFalse(seen[id]);
+      seen[id] = true;
+      Assert.assertEquals(n, domain.getMappedIndex(e));
+      Assert.assertTrue(domain.hasMappedIndex(e));
+    }
+    Assert.assertNull(domain.getMappedObject(ELEMENTS + 1));
+    Assert.assertEquals(ELEMENTS, domain.stream().count());
+  }
+}
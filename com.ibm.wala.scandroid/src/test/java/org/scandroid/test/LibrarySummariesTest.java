@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package org.scandroid.test;
+
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.classLoader.JarFileModule;
+import com.ibm.wala.classLoader.Language;
+import com.ibm.wala.dalvik.classLoader.DexIRFactory;
+import com.ibm.wala.dalvik.util.AndroidAnalysisScope;
+import com.ibm.wala.dataflow.IFDS.ICFGSupergraph;
+import com.ibm.wala.dataflow.IFDS.ISupergraph;
+import com.ibm.wala.dataflow.IFDS.TabulationResult;
+import com.ibm.wala.ipa.callgraph.AnalysisCacheImpl;
+import com.ibm.wala.ipa.callgraph.AnalysisOptions;
+import com.ibm.wala.ipa.callgraph.AnalysisScope;
+import com.ibm.wala.ipa.callgraph.CGNode;
+import com.ibm.wala.ipa.callgraph.CallGraph;
+import com.ibm.wala.ipa.callgraph.Entrypoint;
+import com.ibm.wala.ipa.callgraph.impl.DefaultEntrypoint;
+import com.ibm.wala.ipa.callgraph.impl.Util;
+import com.ibm.wala.ipa.callgraph.propagation.InstanceKey;
+import com.ibm.wala.ipa.callgraph.propagation.PointerAnalysis;
+import com.ibm.wala.ipa.callgraph.propagation.SSAPropagationCallGraphBuilder;
+import com.ibm.wala.ipa.cfg.BasicBlockInContext;
+import com.ibm.wala.ipa.cha.ClassHierarchyFactory;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import com.ibm.wala.ssa.analysis.IExplodedBasicBlock;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.util.collections.HashMapFactory;
+import com.ibm.wala.util.collections.HashSetFactory;
+import com.ibm.wala.util.intset.IntSet;
+import com.ibm.wala.util.io.TemporaryFile;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.jar.JarFile;
+import org.junit.Assert;
+import org.junit.Test;
+import org.scandroid.domain.CodeElement;
+import org.scandroid.domain.DomainElement;
+import org.scandroid.domain.IFDSTaintDomain;
+import org.scandroid.domain.LocalElement;
+import org.scandroid.flow.FlowAnalysis;
+import org.scandroid.flow.LibrarySummaries;
+import org.scandroid.flow.types.FlowType;
+import org.scandroid.flow.types.ParameterFlow;
+
+public class LibrarySummariesTest {
+
+  private static final String APK = "../com.ibm.wala.dalvik/StringTest.apk";
+
+  private static final String EXCLUSIONS =
+      "../com.ibm.wala.dalvik/src/test/resources/AndroidRegressionExclusions.txt";
+
+  private static final String APP_PACKAGE = "Lcom/example/stringtest/";
+
+  // everything but the app's own classes, including the support library it bundles
+  private static final Predicate<CGNode> IS_LIBRARY =
+      node -> {
+        IClass klass = node.getMethod().getDeclaringClass();
+        return !klass.getClassLoader().getReference().equals(ClassLoaderReference.Application)
+            || !klass.getName().toString().startsWith(APP_PACKAGE);
+      };
+
+  private static Set<DomainElement> facts(
+      TabulationResult<BasicBlockInContext<IExplodedBasicBlock>, CGNode, DomainElement> result,
+      IFDSTaintDomain<IExplodedBasicBlock> domain,
+      BasicBlockInContext<IExplodedBasicBlock> block) {
+    Set<DomainElement> facts = HashSetFactory.make();
+    IntSet s = result.getResult(block);
+    if (s != null) {
+      s.foreach(d -> facts.add(d == 0 ? null : domain.getMappedObject(d)));
+    }
+    return facts;
+  }
+
+  @Test
+  public void testSummariesMatchFullTabulation() throws Exception {
+    File androidJar = File.createTempFile("android", ".jar");
+    androidJar.deleteOnExit();
+    TemporaryFile.urlToFile(
+        androidJar, LibrarySummariesTest.class.getClassLoader().getResource("android.jar"));
+
+    AnalysisScope scope =
+        AndroidAnalysisScope.setUpAndroidAnalysisScope(
+            new File(APK).toURI(), EXCLUSIONS, LibrarySummariesTest.class.getClassLoader());
+    scope.addToScope(ClassLoaderReference.Primordial, new JarFileModule(new JarFile(androidJar)));
+    IClassHierarchy cha = ClassHierarchyFactory.make(scope);
+
+    // every method of the app is an entry point
+    List<Entrypoint> entrypoints = new ArrayList<>();
+    for (IClass klass : cha) {
+      if (klass.getName().toString().startsWith(APP_PACKAGE)) {
+        for (IMethod m : klass.getDeclaredMethods()) {
+          if (!m.isAbstract()) {
+            entrypoints.add(new DefaultEntrypoint(m, cha));
+          }
+        }
+      }
+    }
+    Assert.assertFalse(entrypoints.isEmpty());
+    AnalysisOptions options = new AnalysisOptions(scope, entrypoints);
+    SSAPropagationCallGraphBuilder cgb =
+        Util.makeZeroCFABuilder(
+            Language.JAVA, options, new AnalysisCacheImpl(new DexIRFactory()), cha);
+    CallGraph cg = cgb.makeCallGraph(options);
+    PointerAnalysis<InstanceKey> pa = cgb.getPointerAnalysis();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ISupergraph<BasicBlockInContext<IExplodedBasicBlock>, CGNode> graph =
+        (ISupergraph) ICFGSupergraph.make(cg);
+
+    // the parameters of the entry points are tainted
+    Map<
+            BasicBlockInContext<IExplodedBasicBlock>,
+            Map<FlowType<IExplodedBasicBlock>, Set<CodeElement>>>
+        taints = HashMapFactory.make();
+    for (CGNode node : cg.getEntrypointNodes()) {
+      for (BasicBlockInContext<IExplodedBasicBlock> entry : graph.getEntriesForProcedure(node)) {
+        Map<FlowType<IExplodedBasicBlock>, Set<CodeElement>> atEntry = HashMapFactory.make();
+        for (int i = 1; i <= node.getMethod().getNumberOfParameters(); i++) {
+          Set<CodeElement> param = HashSetFactory.make();
+          param.add(new LocalElement(i));
+          atEntry.put(new ParameterFlow<>(entry, i, true), param);
+        }
+        taints.put(entry, atEntry);
+      }
+    }
+
+    IFDSTaintDomain<IExplodedBasicBlock> fullDomain = new IFDSTaintDomain<>();
+    TabulationResult<BasicBlockInContext<IExplodedBasicBlock>, CGNode, DomainElement> full =
+        FlowAnalysis.analyze(graph, cg, pa, taints, fullDomain);
+
+    // compute, persist, and reload the summaries
+    String hash = LibrarySummaries.hash(androidJar, new File(APK));
+    LibrarySummaries computed =
+        LibrarySummaries.compute(hash, full, graph, fullDomain, cg, IS_LIBRARY, node -> false);
+    Assert.assertTrue(computed.size() > 0);
+    File file = File.createTempFile("summaries", ".txt");
+    file.deleteOnExit();
+    computed.save(file);
+    Assert.assertNull(LibrarySummaries.load(file, "another library"));
+    LibrarySummaries loaded = LibrarySummaries.load(file, hash);
+    Assert.assertNotNull(loaded);
+    Assert.assertEquals(computed.size(), loaded.size());
+
+    IFDSTaintDomain<IExplodedBasicBlock> summaryDomain = new IFDSTaintDomain<>();
+    TabulationResult<BasicBlockInContext<IExplodedBasicBlock>, CGNode, DomainElement> summarized =
+        FlowAnalysis.analyze(graph, cg, pa, taints, summaryDomain, loaded);
+
+    // the app sees the same taints with the summaries as without them
+    for (BasicBlockInContext<IExplodedBasicBlock> block : graph) {
+      if (!IS_LIBRARY.test(block.getNode())) {
+        Assert.assertEquals(
+            block.toString(),
+            facts(full, fullDomain, block),
+            facts(summarized, summaryDomain, block));
+      }
+    }
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package org.scandroid.test;
+
+import com.ibm.wala.dataflow.graph.BasicFramework;
+import com.ibm.wala.dataflow.graph.DataflowSolver;
+import com.ibm.wala.util.graph.Graph;
+import com.ibm.wala.util.graph.impl.SlowSparseNumberedGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.scandroid.prefixtransfer.InstanceKeySite;
+import org.scandroid.prefixtransfer.PrefixSolver;
+import org.scandroid.prefixtransfer.PrefixSolver.Component;
+import org.scandroid.prefixtransfer.PrefixTransferFunctionProvider;
+import org.scandroid.prefixtransfer.PrefixVariable;
+import org.scandroid.prefixtransfer.modeledAllocations.ConstantString;
+import org.scandroid.prefixtransfer.modeledAllocations.UriAppendString;
+import org.scandroid.prefixtransfer.modeledAllocations.UriParseString;
+
+/**
+ * Compares {@link PrefixSolver} with the DataflowSolver over {@link
+ * PrefixTransferFunctionProvider}, on a graph of independent and dependent components, with and
+ * without cycles.
+ */
+public class PrefixSolverTest {
+
+  private static final int COPIES = 16;
+
+  /** The common prefix of the known prefixes of deps. */
+  private static class Join extends InstanceKeySite {
+    private final int instanceID;
+    private final List<Integer> deps;
+
+    Join(int instanceID, Integer... deps) {
+      this.instanceID = instanceID;
+      this.deps = Arrays.asList(deps);
+    }
+
+    @Override
+    public PrefixVariable propagate(PrefixVariable input) {
+      PrefixVariable result = new PrefixVariable();
+      result.copyState(input);
+      String prefix = null;
+      for (Integer dep : deps) {
+        String p = input.getPrefix(dep);
+        if (p != null) {
+          prefix = prefix == null ? p : PrefixVariable.intersect(prefix, p);
+        }
+      }
+      if (prefix != null) {
+        result.update(instanceID, prefix);
+      }
+      return result;
+    }
+
+    @Override
+    public int instanceID() {
+      return instanceID;
+    }
+
+    @Override
+    public String toString() {
+      return "Join(instanceID = " + instanceID + "; deps = " + deps + ')';
+    }
+  }
+
+  /** The prefix of dep without its last character, so a cycle through it shortens slowly. */
+  private static class Chop extends InstanceKeySite {
+    private final int instanceID;
+    private final int dep;
+
+    Chop(int instanceID, int dep) {
+      this.instanceID = instanceID;
+      this.dep = dep;
+    }
+
+    @Override
+    public PrefixVariable propagate(PrefixVariable input) {
+      PrefixVariable result = new PrefixVariable();
+      result.copyState(input);
+      String p = input.getPrefix(dep);
+      if (p != null) {
+        result.update(instanceID, p.isEmpty() ? p : p.substring(0, p.length() - 1));
+      }
+      return result;
+    }
+
+    @Override
+    public int instanceID() {
+      return instanceID;
+    }
+
+    @Override
+    public String toString() {
+      return "Chop(instanceID = " + instanceID + "; dep = " + dep + ')';
+    }
+  }
+
+  private final List<InstanceKeySite> sites = new ArrayList<>();
+
+  private final Graph<InstanceKeySite> graph = SlowSparseNumberedGraph.make();
+
+  private InstanceKeySite add(InstanceKeySite site, InstanceKeySite... preds) {
+    sites.add(site);
+    graph.addNode(site);
+    for (InstanceKeySite pred : preds) {
+      graph.addEdge(pred, site);
+    }
+    return site;
+  }
+
+  /*
+   * Each copy parses a constant URI and appends a constant to it, outside of any cycle, and joins
+   * the URI with a chopped copy of itself, and of the previous copy, in a cycle that only
+   * stabilizes once the prefix is empty. The copies are independent but for that last edge.
+   */
+  private Graph<InstanceKeySite> makeGraph() {
+    InstanceKeySite previous = null;
+    for (int k = 0; k < COPIES; k++) {
+      int id = 10 * k;
+      InstanceKeySite uri = add(new ConstantString(id, "content://org.scandroid/" + k));
+      InstanceKeySite segment = add(new ConstantString(id + 1, "segment" + k));
+      InstanceKeySite parse = add(new UriParseString(id + 2, id), uri);
+      add(new UriAppendString(id + 3, id + 2, id + 1), parse, segment);
+
+      InstanceKeySite join =
+          previous == null
+              ? add(new Join(id + 4, id, id + 5), uri)
+              : add(new Join(id + 4, id, id + 5, id - 6), uri, previous);
+      InstanceKeySite chop = add(new Chop(id + 5, id + 4), join);
+      graph.addEdge(chop, join);
+
+      // a node depending on itself
+      InstanceKeySite self = add(new Join(id + 6, id + 1, id + 6), segment);
+      graph.addEdge(self, self);
+
+      previous = add(new Join(id + 7, id + 4), join);
+      if (k % 2 == 0) {
+        previous = null;
+      }
+    }
+    return graph;
+  }
+
+  private DataflowSolver<InstanceKeySite, PrefixVariable> dataflow() throws Exception {
+    DataflowSolver<InstanceKeySite, PrefixVariable> solver =
+        new DataflowSolver<InstanceKeySite, PrefixVariable>(
+            new BasicFramework<>(graph, new PrefixTransferFunctionProvider())) {
+          @Override
+          protected PrefixVariable makeNodeVariable(InstanceKeySite n, boolean IN) {
+            return new PrefixVariable();
+          }
+
+          @Override
+          protected PrefixVariable makeEdgeVariable(InstanceKeySite src, InstanceKeySite dst) {
+            return new PrefixVariable();
+          }
+
+          @Override
+          protected PrefixVariable[] makeStmtRHS(int size) {
+            return new PrefixVariable[size];
+          }
+        };
+    solver.solve(null);
+    return solver;
+  }
+
+  private void assertSameAsDataflow(PrefixSolver solver) throws Exception {
+    DataflowSolver<InstanceKeySite, PrefixVariable> dataflow = dataflow();
+    for (InstanceKeySite site : sites) {
+      PrefixVariable expected = dataflow.getOut(site);
+      PrefixVariable actual = solver.getOut(site);
+      Assert.assertEquals(site.toString(), expected.knownPrefixes, actual.knownPrefixes);
+      Assert.assertEquals(site.toString(), expected.fullPrefixKnown, actual.fullPrefixKnown);
+    }
+  }
+
+  private static void assertCounted(PrefixSolver solver) {
+    int total = 0;
+    boolean cyclic = false;
+    for (Component c : solver.getComponents()) {
+      if (c.isCyclic()) {
+        cyclic = true;
+        Assert.assertTrue(c.toString(), c.getIterations() > c.getNodes().size());
+      } else {
+        Assert.assertEquals(c.toString(), 1, c.getNodes().size());
+        Assert.assertEquals(c.toString(), 1, c.getIterations());
+      }
+      total += c.getIterations();
+    }
+    Assert.assertTrue(cyclic);
+    Assert.assertEquals(total, solver.getTotalIterations());
+  }
+
+  @Test
+  public void testSerialMatchesDataflowSolver() throws Exception {
+    PrefixSolver solver = new PrefixSolver(makeGraph(), Integer.MAX_VALUE, 1);
+    solver.solve();
+    assertSameAsDataflow(solver);
+    assertCounted(solver);
+    Assert.assertEquals("content://org.scandroid/0/segment0", solver.getPrefix(sites.get(3)));
+    Assert.assertEquals("", solver.getPrefix(sites.get(4)));
+  }
+
+  @Test
+  public void testParallelMatchesDataflowSolver() throws Exception {
+    PrefixSolver solver = new PrefixSolver(makeGraph(), Integer.MAX_VALUE, 4);
+    solver.solve();
+    assertSameAsDataflow(solver);
+    assertCounted(solver);
+  }
+
+  @Test
+  public void testWideningIsSound() throws Exception {
+    PrefixSolver exact = new PrefixSolver(makeGraph(), Integer.MAX_VALUE, 1);
+    exact.solve();
+    for (int nThreads : new int[] {1, 4}) {
+      PrefixSolver widened = new PrefixSolver(graph, 1, nThreads);
+      widened.solve();
+      Assert.assertTrue(widened.getTotalIterations() < exact.getTotalIterations());
+
+      // a widened prefix is a prefix of the exact one
+      for (InstanceKeySite site : sites) {
+        Map<Integer, String> expected = exact.getOut(site).knownPrefixes;
+        for (Map.Entry<Integer, String> e : expected.entrySet()) {
+          String w = widened.getOut(site).getPrefix(e.getKey());
+          Assert.assertNotNull(site.toString(), w);
+          Assert.assertTrue(site + ": " + w, e.getValue().startsWith(w));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package org.scandroid.test;
+
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.classLoader.JarFileModule;
+import com.ibm.wala.dalvik.util.AndroidAnalysisScope;
+import com.ibm.wala.ipa.callgraph.AnalysisScope;
+import com.ibm.wala.ipa.cha.ClassHierarchyFactory;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.MethodReference;
+import com.ibm.wala.types.TypeReference;
+import com.ibm.wala.util.collections.HashMapFactory;
+import com.ibm.wala.util.collections.HashSetFactory;
+import com.ibm.wala.util.io.TemporaryFile;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.jar.JarFile;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.scandroid.spec.AndroidSpecs;
+import org.scandroid.spec.CallArgSinkSpec;
+import org.scandroid.spec.CallRetSourceSpec;
+import org.scandroid.spec.EntryArgSourceSpec;
+import org.scandroid.spec.ISpecs;
+import org.scandroid.spec.MethodNamePattern;
+import org.scandroid.spec.SinkSpec;
+import org.scandroid.spec.SourceSpec;
+import org.scandroid.spec.SpecIndex;
+
+/** Compares the lookups of {@link SpecIndex} with resolving every pattern, as before the index. */
+public class SpecIndexTest {
+
+  private static final String APK = "../com.ibm.wala.dalvik/StringTest.apk";
+
+  private static final String EXCLUSIONS =
+      "../com.ibm.wala.dalvik/src/test/resources/AndroidRegressionExclusions.txt";
+
+  private static final String MAIN_ACTIVITY = "Lcom/example/stringtest/MainActivity";
+
+  private static IClassHierarchy cha;
+
+  private static ISpecs specs;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    File androidJar = File.createTempFile("android", ".jar");
+    androidJar.deleteOnExit();
+    TemporaryFile.urlToFile(
+        androidJar, SpecIndexTest.class.getClassLoader().getResource("android.jar"));
+    AnalysisScope scope =
+        AndroidAnalysisScope.setUpAndroidAnalysisScope(
+            new File(APK).toURI(), EXCLUSIONS, SpecIndexTest.class.getClassLoader());
+    scope.addToScope(ClassLoaderReference.Primordial, new JarFileModule(new JarFile(androidJar)));
+    cha = ClassHierarchyFactory.make(scope);
+
+    ISpecs android = new AndroidSpecs();
+    List<SourceSpec> sources = new ArrayList<>(Arrays.asList(android.getSourceSpecs()));
+    List<SinkSpec> sinks = new ArrayList<>(Arrays.asList(android.getSinkSpecs()));
+    // a method the app inherits, named on the app's class
+    sources.add(new CallRetSourceSpec(new MethodNamePattern(MAIN_ACTIVITY, "getIntent"), null));
+    // a method of a superclass, overridden in the app
+    sources.add(
+        new EntryArgSourceSpec(
+            new MethodNamePattern("Landroid/app/Activity", "onCreate", "(Landroid/os/Bundle;)V"),
+            null));
+    // methods of interfaces
+    sinks.add(new CallArgSinkSpec(new MethodNamePattern("Ljava/lang/Runnable", "run"), null));
+    sinks.add(
+        new CallArgSinkSpec(
+            new MethodNamePattern("Ljava/lang/CharSequence", "length", "()I"), null));
+    // a class not in the hierarchy
+    sources.add(new CallRetSourceSpec(new MethodNamePattern("Lno/such/Class", "m"), null));
+
+    SourceSpec[] sourceSpecs = sources.toArray(new SourceSpec[0]);
+    SinkSpec[] sinkSpecs = sinks.toArray(new SinkSpec[0]);
+    specs =
+        new ISpecs() {
+          @Override
+          public MethodNamePattern[] getEntrypointSpecs() {
+            return android.getEntrypointSpecs();
+          }
+
+          @Override
+          public SourceSpec[] getSourceSpecs() {
+            return sourceSpecs;
+          }
+
+          @Override
+          public SinkSpec[] getSinkSpecs() {
+            return sinkSpecs;
+          }
+        };
+  }
+
+  // the methods each pattern matches, by the linear scan the index replaces
+  private final Map<MethodNamePattern, Set<IMethod>> scanned = HashMapFactory.make();
+
+  private Set<IMethod> scan(MethodNamePattern p) {
+    return scanned.computeIfAbsent(p, k -> HashSetFactory.make(k.getPossibleTargets(cha)));
+  }
+
+  private <S> List<S> scan(S[] specs, IMethod m, Function<S, MethodNamePattern> pattern) {
+    List<S> result = new ArrayList<>();
+    for (S spec : specs) {
+      MethodNamePattern p = pattern.apply(spec);
+      if (p != null && scan(p).contains(m)) {
+        result.add(spec);
+      }
+    }
+    return result;
+  }
+
+  @Test
+  public void testLookupsMatchLinearScan() {
+    SpecIndex index = new SpecIndex(specs, cha);
+    Assert.assertSame(cha, index.getClassHierarchy());
+
+    // the targets of every pattern
+    Set<IMethod> specified = HashSetFactory.make();
+    List<MethodNamePattern> patterns = new ArrayList<>();
+    for (SourceSpec spec : specs.getSourceSpecs()) {
+      patterns.add(spec.getNamePattern());
+    }
+    for (SinkSpec spec : specs.getSinkSpecs()) {
+      patterns.add(spec.getNamePattern());
+    }
+    for (MethodNamePattern p : patterns) {
+      if (p != null) {
+        Assert.assertEquals(p.toString(), scan(p), index.getTargets(p));
+        specified.addAll(scan(p));
+      }
+    }
+
+    // the specs of every specified method
+    for (IMethod m : specified) {
+      Assert.assertEquals(
+          m.toString(),
+          scan(specs.getSourceSpecs(), m, SourceSpec::getNamePattern),
+          index.getSourceSpecs(m));
+      Assert.assertEquals(
+          m.toString(),
+          scan(specs.getSinkSpecs(), m, SinkSpec::getNamePattern),
+          index.getSinkSpecs(m));
+    }
+
+    // the inherited, overriding and interface methods were all found
+    IClass main =
+        cha.lookupClass(
+            TypeReference.findOrCreate(ClassLoaderReference.Application, MAIN_ACTIVITY));
+    Assert.assertNotNull(main);
+    IMethod getIntent = null;
+    IMethod onCreate = null;
+    for (IMethod m : main.getAllMethods()) {
+      if (m.getName().toString().equals("getIntent")) {
+        getIntent = m;
+      } else if (m.getName().toString().equals("onCreate") && m.getDeclaringClass() == main) {
+        onCreate = m;
+      }
+    }
+    Assert.assertTrue(specified.contains(getIntent));
+    Assert.assertTrue(specified.contains(onCreate));
+    Assert.assertFalse(index.getSourceSpecs(onCreate).isEmpty());
+    Assert.assertTrue(
+        specified.stream().anyMatch(m -> m.getReference().getName().toString().equals("run")));
+
+    // the specified targets of calls to every method of the app and of the classes specs name
+    Set<MethodReference> calls = HashSetFactory.make();
+    for (IClass c : cha) {
+      boolean named = false;
+      for (MethodNamePattern p : patterns) {
+        named |= p != null && c.getName().toString().equals(p.getClassName());
+      }
+      if (named || c.getClassLoader().getReference().equals(ClassLoaderReference.Application)) {
+        for (IMethod m : c.getAllMethods()) {
+          calls.add(m.getReference());
+        }
+      }
+    }
+    for (MethodReference call : calls) {
+      Set<IMethod> expected = HashSetFactory.make();
+      for (IMethod m : cha.getPossibleTargets(call)) {
+        if (specified.contains(m)) {
+          expected.add(m);
+        }
+      }
+      Assert.assertEquals(call.toString(), expected, index.getSpecifiedTargets(call));
+    }
+
+    // methods no spec matches have none
+    for (IMethod m : main.getDeclaredMethods()) {
+      if (!specified.contains(m)) {
+        Assert.assertEquals(Collections.emptyList(), index.getSourceSpecs(m));
+        Assert.assertEquals(Collections.emptyList(), index.getSinkSpecs(m));
+      }
+    }
+  }
+}
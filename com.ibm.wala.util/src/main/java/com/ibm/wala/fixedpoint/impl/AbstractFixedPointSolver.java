@@ -84,6 +84,9 @@ public abstract class AbstractFixedPointSolver<T extends IVariable<T>>
   /** During verbose evaluation, holds the number of dataflow equations evaluated */
   private int nEvaluated = 0;
 
+  /** The number of dataflow equations evaluated, eager evaluations included */
+  private long nTotalEvaluated = 0;
+
   /** During verbose evaluation, holds the number of dataflow equations created */
   private int nCreated = 0;
 
@@ -108,6 +111,11 @@ public abstract class AbstractFixedPointSolver<T extends IVariable<T>>
     return workList.isEmpty();
   }
 
+  /** @return the number of statements currently on the work list */
+  public int getWorkListSize() {
+    return workList.size();
+  }
+
   /**
    * Solve the set of dataflow graph.
    *
@@ -136,6 +144,7 @@ public abstract class AbstractFixedPointSolver<T extends IVariable<T>>
         System.err.println(("Before evaluation " + s));
       }
       byte code = s.evaluate();
+      nTotalEvaluated++;
       nEvaluated++;
       if (verbose) {
         if (nEvaluated % getVerboseInterval() == 0) {
@@ -278,6 +287,7 @@ public abstract class AbstractFixedPointSolver<T extends IVariable<T>>
   private void incorporateNewStatement(boolean toWorkList, boolean eager, AbstractStatement s) {
     if (eager) {
       byte code = s.evaluate();
+      nTotalEvaluated++;
       if (verbose) {
         nEvaluated++;
         if (nEvaluated % getVerboseInterval() == 0) {
@@ -547,6 +557,14 @@ public abstract class AbstractFixedPointSolver<T extends IVariable<T>>
     nEvaluated++;
   }
 
+  /**
+   * @return the number of equations evaluated so far, including those evaluated eagerly when added.
+   *     Unlike {@link #getNumberOfEvaluations()}, this does not influence the solver.
+   */
+  public long getTotalEvaluations() {
+    return nTotalEvaluated;
+  }
+
   /** a method that will be called every N evaluations. subclasses should override as desired. */
   protected void periodicMaintenance() {}
 
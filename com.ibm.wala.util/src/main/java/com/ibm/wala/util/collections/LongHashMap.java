@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 IBM Corporation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ */
+package com.ibm.wala.util.collections;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A map from primitive longs to non-null objects, implemented with open addressing and linear
+ * probing. Unlike a {@code HashMap<Long,V>} or a map keyed by {@link Pair}s of ints, neither
+ * lookups nor insertions allocate. Entries cannot be removed.
+ *
+ * <p>Two ints are conveniently combined into a key with {@link #key(int, int)}.
+ */
+public class LongHashMap<V> {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  /** keys; a slot is empty iff its value is null */
+  private long[] keys;
+
+  private Object[] values;
+
+  private int size = 0;
+
+  public LongHashMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /** @param expectedSize number of entries that fit without resizing */
+  public LongHashMap(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize * 2 - 1) << 1);
+    keys = new long[capacity];
+    values = new Object[capacity];
+  }
+
+  /** @return a key combining hi and lo */
+  public static long key(int hi, int lo) {
+    return ((long) hi << 32) | (lo & 0xffffffffL);
+  }
+
+  private static int hash(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  private int slot(long key) {
+    int mask = keys.length - 1;
+    int i = hash(key) & mask;
+    while (values[i] != null && keys[i] != key) {
+      i = (i + 1) & mask;
+    }
+    return i;
+  }
+
+  /** @return the value mapped to key, or null if none */
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    return (V) values[slot(key)];
+  }
+
+  public boolean containsKey(long key) {
+    return values[slot(key)] != null;
+  }
+
+  /**
+   * map key to value
+   *
+   * @return the value previously mapped to key, or null if none
+   */
+  @SuppressWarnings("unchecked")
+  public V put(long key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("null value");
+    }
+    int i = slot(key);
+    V old = (V) values[i];
+    keys[i] = key;
+    values[i] = value;
+    if (old == null && ++size * 2 > keys.length) {
+      grow();
+    }
+    return old;
+  }
+
+  /**
+   * map key to value, unless it is already mapped
+   *
+   * @return the value previously mapped to key, or null if none, in which case value was added
+   */
+  @SuppressWarnings("unchecked")
+  public V putIfAbsent(long key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("null value");
+    }
+    int i = slot(key);
+    if (values[i] != null) {
+      return (V) values[i];
+    }
+    keys[i] = key;
+    values[i] = value;
+    if (++size * 2 > keys.length) {
+      grow();
+    }
+    return null;
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    keys = new long[oldKeys.length * 2];
+    values = new Object[oldValues.length * 2];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != null) {
+        int j = slot(oldKeys[i]);
+        keys[j] = oldKeys[i];
+        values[j] = oldValues[i];
+      }
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** @return the values of this map, which must not be modified during iteration */
+  public Iterable<V> values() {
+    return () ->
+        new Iterator<V>() {
+          private int next = advance(0);
+
+          private int advance(int i) {
+            while (i < values.length && values[i] == null) {
+              i++;
+            }
+            return i;
+          }
+
+          @Override
+          public boolean hasNext() {
+            return next < values.length;
+          }
+
+          @SuppressWarnings("unchecked")
+          @Override
+          public V next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            V result = (V) values[next];
+            next = advance(next + 1);
+            return result;
+          }
+        };
+  }
+}